@@ -0,0 +1,17 @@
+-- state_quiz.db as created by schema version 2, with sample user data.
+-- One statement per line; loaded by QuizDBHelperMigrationTest.
+CREATE TABLE states (id INTEGER PRIMARY KEY AUTOINCREMENT, state_name TEXT NOT NULL, capital_city TEXT NOT NULL, city2 TEXT NOT NULL, city3 TEXT NOT NULL, statehood_year INTEGER, capital_since_year INTEGER, capital_rank INTEGER);
+CREATE TABLE quizzes (id INTEGER PRIMARY KEY AUTOINCREMENT, date TEXT, score INTEGER DEFAULT 0, questions_answered INTEGER DEFAULT 0, state1_id INTEGER, state2_id INTEGER, state3_id INTEGER, state4_id INTEGER, state5_id INTEGER, state6_id INTEGER, FOREIGN KEY(state1_id) REFERENCES states(id), FOREIGN KEY(state2_id) REFERENCES states(id), FOREIGN KEY(state3_id) REFERENCES states(id), FOREIGN KEY(state4_id) REFERENCES states(id), FOREIGN KEY(state5_id) REFERENCES states(id), FOREIGN KEY(state6_id) REFERENCES states(id));
+INSERT INTO states (state_name, capital_city, city2, city3, statehood_year, capital_since_year, capital_rank) VALUES ('Alabama', 'Montgomery', '', '', 1819, 1846, 3);
+INSERT INTO states (state_name, capital_city, city2, city3, statehood_year, capital_since_year, capital_rank) VALUES ('Alaska', 'Juneau', '', '', 1959, 1906, 3);
+INSERT INTO states (state_name, capital_city, city2, city3, statehood_year, capital_since_year, capital_rank) VALUES ('Arizona', 'Phoenix', '', '', 1912, 1889, 1);
+INSERT INTO states (state_name, capital_city, city2, city3, statehood_year, capital_since_year, capital_rank) VALUES ('Arkansas', 'Little Rock', '', '', 1836, 1821, 1);
+INSERT INTO states (state_name, capital_city, city2, city3, statehood_year, capital_since_year, capital_rank) VALUES ('California', 'Sacramento', '', '', 1850, 1854, 6);
+INSERT INTO states (state_name, capital_city, city2, city3, statehood_year, capital_since_year, capital_rank) VALUES ('Colorado', 'Denver', '', '', 1876, 1867, 1);
+INSERT INTO states (state_name, capital_city, city2, city3, statehood_year, capital_since_year, capital_rank) VALUES ('Connecticut', 'Hartford', '', '', 1788, 1875, 3);
+INSERT INTO quizzes (date, score, questions_answered, state1_id, state2_id, state3_id, state4_id, state5_id, state6_id) VALUES ('2025-10-01 09:15:00', 4, 6, 1, 2, 3, 4, 5, 6);
+INSERT INTO quizzes (date, score, questions_answered, state1_id, state2_id, state3_id, state4_id, state5_id, state6_id) VALUES ('2025-10-02 18:40:12', 6, 6, 7, 6, 5, 4, 3, 2);
+INSERT INTO quizzes (date, score, questions_answered, state1_id, state2_id, state3_id, state4_id, state5_id, state6_id) VALUES (NULL, 1, 2, 2, 3, 4, 5, 6, 7);
+CREATE INDEX idx_quizzes_in_progress ON quizzes (id) WHERE date IS NULL;
+CREATE INDEX idx_quizzes_completed ON quizzes (date, id) WHERE date IS NOT NULL;
+PRAGMA user_version = 2;
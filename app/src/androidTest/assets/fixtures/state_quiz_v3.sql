@@ -0,0 +1,37 @@
+-- state_quiz.db as created by schema version 3, with sample user data.
+-- One statement per line; loaded by QuizDBHelperMigrationTest.
+CREATE TABLE states (id INTEGER PRIMARY KEY AUTOINCREMENT, state_name TEXT NOT NULL, capital_city TEXT NOT NULL, city2 TEXT NOT NULL, city3 TEXT NOT NULL, statehood_year INTEGER, capital_since_year INTEGER, capital_rank INTEGER);
+CREATE TABLE quiz_questions (quiz_id INTEGER NOT NULL, position INTEGER NOT NULL, state_id INTEGER NOT NULL, choices TEXT NOT NULL, correct_index INTEGER NOT NULL, answer_index INTEGER, PRIMARY KEY (quiz_id, position), FOREIGN KEY(quiz_id) REFERENCES quizzes(id) ON DELETE CASCADE, FOREIGN KEY(state_id) REFERENCES states(id)) WITHOUT ROWID;
+CREATE INDEX idx_quiz_questions_state ON quiz_questions (state_id);
+CREATE TABLE "quizzes" (id INTEGER PRIMARY KEY AUTOINCREMENT, date TEXT, score INTEGER DEFAULT 0, questions_answered INTEGER DEFAULT 0, question_count INTEGER NOT NULL DEFAULT 6);
+CREATE INDEX idx_quizzes_in_progress ON quizzes (id) WHERE date IS NULL;
+CREATE INDEX idx_quizzes_completed ON quizzes (date, id) WHERE date IS NOT NULL;
+INSERT INTO states (state_name, capital_city, city2, city3, statehood_year, capital_since_year, capital_rank) VALUES ('Alabama', 'Montgomery', '', '', 1819, 1846, 3);
+INSERT INTO states (state_name, capital_city, city2, city3, statehood_year, capital_since_year, capital_rank) VALUES ('Alaska', 'Juneau', '', '', 1959, 1906, 3);
+INSERT INTO states (state_name, capital_city, city2, city3, statehood_year, capital_since_year, capital_rank) VALUES ('Arizona', 'Phoenix', '', '', 1912, 1889, 1);
+INSERT INTO states (state_name, capital_city, city2, city3, statehood_year, capital_since_year, capital_rank) VALUES ('Arkansas', 'Little Rock', '', '', 1836, 1821, 1);
+INSERT INTO states (state_name, capital_city, city2, city3, statehood_year, capital_since_year, capital_rank) VALUES ('California', 'Sacramento', '', '', 1850, 1854, 6);
+INSERT INTO states (state_name, capital_city, city2, city3, statehood_year, capital_since_year, capital_rank) VALUES ('Colorado', 'Denver', '', '', 1876, 1867, 1);
+INSERT INTO states (state_name, capital_city, city2, city3, statehood_year, capital_since_year, capital_rank) VALUES ('Connecticut', 'Hartford', '', '', 1788, 1875, 3);
+INSERT INTO quizzes (date, score, questions_answered, question_count) VALUES ('2025-10-01 09:15:00', 4, 6, 6);
+INSERT INTO quizzes (date, score, questions_answered, question_count) VALUES ('2025-10-02 18:40:12', 6, 6, 6);
+INSERT INTO quizzes (date, score, questions_answered, question_count) VALUES (NULL, 1, 2, 6);
+INSERT INTO quiz_questions (quiz_id, position, state_id, choices, correct_index, answer_index) VALUES (1, 0, 1, 'Montgomery' || char(31) || 'Phoenix' || char(31) || 'Little Rock', 0, 0);
+INSERT INTO quiz_questions (quiz_id, position, state_id, choices, correct_index, answer_index) VALUES (1, 1, 2, 'Montgomery' || char(31) || 'Juneau' || char(31) || 'Sacramento', 1, 1);
+INSERT INTO quiz_questions (quiz_id, position, state_id, choices, correct_index, answer_index) VALUES (1, 2, 3, 'Sacramento' || char(31) || 'Juneau' || char(31) || 'Phoenix', 2, 2);
+INSERT INTO quiz_questions (quiz_id, position, state_id, choices, correct_index, answer_index) VALUES (1, 3, 4, 'Little Rock' || char(31) || 'Montgomery' || char(31) || 'Hartford', 0, 0);
+INSERT INTO quiz_questions (quiz_id, position, state_id, choices, correct_index, answer_index) VALUES (1, 4, 5, 'Montgomery' || char(31) || 'Sacramento' || char(31) || 'Little Rock', 1, 2);
+INSERT INTO quiz_questions (quiz_id, position, state_id, choices, correct_index, answer_index) VALUES (1, 5, 6, 'Sacramento' || char(31) || 'Phoenix' || char(31) || 'Denver', 2, 0);
+INSERT INTO quiz_questions (quiz_id, position, state_id, choices, correct_index, answer_index) VALUES (2, 0, 7, 'Hartford' || char(31) || 'Montgomery' || char(31) || 'Juneau', 0, 0);
+INSERT INTO quiz_questions (quiz_id, position, state_id, choices, correct_index, answer_index) VALUES (2, 1, 6, 'Sacramento' || char(31) || 'Denver' || char(31) || 'Hartford', 1, 1);
+INSERT INTO quiz_questions (quiz_id, position, state_id, choices, correct_index, answer_index) VALUES (2, 2, 5, 'Phoenix' || char(31) || 'Hartford' || char(31) || 'Sacramento', 2, 2);
+INSERT INTO quiz_questions (quiz_id, position, state_id, choices, correct_index, answer_index) VALUES (2, 3, 4, 'Little Rock' || char(31) || 'Juneau' || char(31) || 'Montgomery', 0, 0);
+INSERT INTO quiz_questions (quiz_id, position, state_id, choices, correct_index, answer_index) VALUES (2, 4, 3, 'Little Rock' || char(31) || 'Phoenix' || char(31) || 'Juneau', 1, 1);
+INSERT INTO quiz_questions (quiz_id, position, state_id, choices, correct_index, answer_index) VALUES (2, 5, 2, 'Montgomery' || char(31) || 'Little Rock' || char(31) || 'Juneau', 2, 2);
+INSERT INTO quiz_questions (quiz_id, position, state_id, choices, correct_index, answer_index) VALUES (3, 0, 2, 'Juneau' || char(31) || 'Little Rock' || char(31) || 'Phoenix', 0, 0);
+INSERT INTO quiz_questions (quiz_id, position, state_id, choices, correct_index, answer_index) VALUES (3, 1, 3, 'Juneau' || char(31) || 'Phoenix' || char(31) || 'Little Rock', 1, 2);
+INSERT INTO quiz_questions (quiz_id, position, state_id, choices, correct_index, answer_index) VALUES (3, 2, 4, 'Phoenix' || char(31) || 'Hartford' || char(31) || 'Little Rock', 2, NULL);
+INSERT INTO quiz_questions (quiz_id, position, state_id, choices, correct_index, answer_index) VALUES (3, 3, 5, 'Sacramento' || char(31) || 'Montgomery' || char(31) || 'Denver', 0, NULL);
+INSERT INTO quiz_questions (quiz_id, position, state_id, choices, correct_index, answer_index) VALUES (3, 4, 6, 'Phoenix' || char(31) || 'Denver' || char(31) || 'Little Rock', 1, NULL);
+INSERT INTO quiz_questions (quiz_id, position, state_id, choices, correct_index, answer_index) VALUES (3, 5, 7, 'Sacramento' || char(31) || 'Juneau' || char(31) || 'Hartford', 2, NULL);
+PRAGMA user_version = 3;
@@ -0,0 +1,60 @@
+-- state_quiz.db as created by schema version 7, with sample user data.
+-- One statement per line; loaded by QuizDBHelperMigrationTest.
+CREATE TABLE states (id INTEGER PRIMARY KEY AUTOINCREMENT, state_name TEXT NOT NULL, capital_city TEXT NOT NULL, city2 TEXT NOT NULL, city3 TEXT NOT NULL, statehood_year INTEGER, capital_since_year INTEGER, capital_rank INTEGER, latitude REAL, longitude REAL, deck TEXT NOT NULL DEFAULT 'us_states');
+CREATE INDEX idx_states_deck ON states (deck, state_name);
+CREATE TABLE quiz_questions (quiz_id INTEGER NOT NULL, position INTEGER NOT NULL, state_id INTEGER NOT NULL, choices TEXT NOT NULL, correct_index INTEGER NOT NULL, answer_index INTEGER, PRIMARY KEY (quiz_id, position), FOREIGN KEY(quiz_id) REFERENCES quizzes(id) ON DELETE CASCADE, FOREIGN KEY(state_id) REFERENCES states(id)) WITHOUT ROWID;
+CREATE INDEX idx_quiz_questions_state ON quiz_questions (state_id);
+CREATE TABLE "quizzes" (id INTEGER PRIMARY KEY AUTOINCREMENT, date TEXT, score INTEGER DEFAULT 0, questions_answered INTEGER DEFAULT 0, question_count INTEGER NOT NULL DEFAULT 6);
+CREATE INDEX idx_quizzes_in_progress ON quizzes (id) WHERE date IS NULL;
+CREATE INDEX idx_quizzes_completed ON quizzes (date, id) WHERE date IS NOT NULL;
+CREATE TABLE state_stats (state_id INTEGER PRIMARY KEY, attempts INTEGER NOT NULL DEFAULT 0, correct INTEGER NOT NULL DEFAULT 0, box INTEGER NOT NULL DEFAULT 2, last_quiz INTEGER NOT NULL DEFAULT 0, FOREIGN KEY(state_id) REFERENCES states(id));
+CREATE TABLE quiz_stats (id INTEGER PRIMARY KEY CHECK (id = 0), quizzes_completed INTEGER NOT NULL DEFAULT 0, questions_asked INTEGER NOT NULL DEFAULT 0, questions_answered INTEGER NOT NULL DEFAULT 0, correct_answers INTEGER NOT NULL DEFAULT 0, best_percent INTEGER NOT NULL DEFAULT 0);
+CREATE TABLE daily_stats (day TEXT PRIMARY KEY, quizzes_completed INTEGER NOT NULL DEFAULT 0, questions_asked INTEGER NOT NULL DEFAULT 0, correct_answers INTEGER NOT NULL DEFAULT 0) WITHOUT ROWID;
+INSERT INTO states (state_name, capital_city, city2, city3, statehood_year, capital_since_year, capital_rank, latitude, longitude) VALUES ('Alabama', 'Montgomery', '', '', 1819, 1846, 3, 32.377716, -86.300568);
+INSERT INTO states (state_name, capital_city, city2, city3, statehood_year, capital_since_year, capital_rank, latitude, longitude) VALUES ('Alaska', 'Juneau', '', '', 1959, 1906, 3, 58.301598, -134.420212);
+INSERT INTO states (state_name, capital_city, city2, city3, statehood_year, capital_since_year, capital_rank, latitude, longitude) VALUES ('Arizona', 'Phoenix', '', '', 1912, 1889, 1, 33.448143, -112.096962);
+INSERT INTO states (state_name, capital_city, city2, city3, statehood_year, capital_since_year, capital_rank, latitude, longitude) VALUES ('Arkansas', 'Little Rock', '', '', 1836, 1821, 1, 34.746613, -92.288986);
+INSERT INTO states (state_name, capital_city, city2, city3, statehood_year, capital_since_year, capital_rank, latitude, longitude) VALUES ('California', 'Sacramento', '', '', 1850, 1854, 6, 38.576668, -121.493629);
+INSERT INTO states (state_name, capital_city, city2, city3, statehood_year, capital_since_year, capital_rank, latitude, longitude) VALUES ('Colorado', 'Denver', '', '', 1876, 1867, 1, 39.739227, -104.984856);
+INSERT INTO states (state_name, capital_city, city2, city3, statehood_year, capital_since_year, capital_rank, latitude, longitude) VALUES ('Connecticut', 'Hartford', '', '', 1788, 1875, 3, 41.764046, -72.682198);
+INSERT INTO states (state_name, capital_city, city2, city3, statehood_year, capital_since_year, capital_rank, latitude, longitude, deck) VALUES ('Ontario', 'Toronto', '', '', 1867, 1867, 1, 43.6625, -79.3916, 'ca_provinces');
+INSERT INTO states (state_name, capital_city, city2, city3, statehood_year, capital_since_year, capital_rank, latitude, longitude, deck) VALUES ('Quebec', 'Quebec City', '', '', 1867, 1867, 2, 46.8087, -71.2145, 'ca_provinces');
+INSERT INTO quizzes (date, score, questions_answered, question_count) VALUES ('2025-10-01 09:15:00', 4, 6, 6);
+INSERT INTO quizzes (date, score, questions_answered, question_count) VALUES ('2025-10-02 18:40:12', 6, 6, 6);
+INSERT INTO quizzes (date, score, questions_answered, question_count) VALUES (NULL, 1, 2, 6);
+INSERT INTO quizzes (date, score, questions_answered, question_count) VALUES ('2025-10-02 20:05:30', 3, 5, 6);
+INSERT INTO quiz_questions (quiz_id, position, state_id, choices, correct_index, answer_index) VALUES (1, 0, 1, 'Montgomery' || char(31) || 'Phoenix' || char(31) || 'Little Rock', 0, 0);
+INSERT INTO quiz_questions (quiz_id, position, state_id, choices, correct_index, answer_index) VALUES (1, 1, 2, 'Montgomery' || char(31) || 'Juneau' || char(31) || 'Sacramento', 1, 1);
+INSERT INTO quiz_questions (quiz_id, position, state_id, choices, correct_index, answer_index) VALUES (1, 2, 3, 'Sacramento' || char(31) || 'Juneau' || char(31) || 'Phoenix', 2, 2);
+INSERT INTO quiz_questions (quiz_id, position, state_id, choices, correct_index, answer_index) VALUES (1, 3, 4, 'Little Rock' || char(31) || 'Montgomery' || char(31) || 'Hartford', 0, 0);
+INSERT INTO quiz_questions (quiz_id, position, state_id, choices, correct_index, answer_index) VALUES (1, 4, 5, 'Montgomery' || char(31) || 'Sacramento' || char(31) || 'Little Rock', 1, 2);
+INSERT INTO quiz_questions (quiz_id, position, state_id, choices, correct_index, answer_index) VALUES (1, 5, 6, 'Sacramento' || char(31) || 'Phoenix' || char(31) || 'Denver', 2, 0);
+INSERT INTO quiz_questions (quiz_id, position, state_id, choices, correct_index, answer_index) VALUES (2, 0, 7, 'Hartford' || char(31) || 'Montgomery' || char(31) || 'Juneau', 0, 0);
+INSERT INTO quiz_questions (quiz_id, position, state_id, choices, correct_index, answer_index) VALUES (2, 1, 6, 'Sacramento' || char(31) || 'Denver' || char(31) || 'Hartford', 1, 1);
+INSERT INTO quiz_questions (quiz_id, position, state_id, choices, correct_index, answer_index) VALUES (2, 2, 5, 'Phoenix' || char(31) || 'Hartford' || char(31) || 'Sacramento', 2, 2);
+INSERT INTO quiz_questions (quiz_id, position, state_id, choices, correct_index, answer_index) VALUES (2, 3, 4, 'Little Rock' || char(31) || 'Juneau' || char(31) || 'Montgomery', 0, 0);
+INSERT INTO quiz_questions (quiz_id, position, state_id, choices, correct_index, answer_index) VALUES (2, 4, 3, 'Little Rock' || char(31) || 'Phoenix' || char(31) || 'Juneau', 1, 1);
+INSERT INTO quiz_questions (quiz_id, position, state_id, choices, correct_index, answer_index) VALUES (2, 5, 2, 'Montgomery' || char(31) || 'Little Rock' || char(31) || 'Juneau', 2, 2);
+INSERT INTO quiz_questions (quiz_id, position, state_id, choices, correct_index, answer_index) VALUES (3, 0, 2, 'Juneau' || char(31) || 'Little Rock' || char(31) || 'Phoenix', 0, 0);
+INSERT INTO quiz_questions (quiz_id, position, state_id, choices, correct_index, answer_index) VALUES (3, 1, 3, 'Juneau' || char(31) || 'Phoenix' || char(31) || 'Little Rock', 1, 2);
+INSERT INTO quiz_questions (quiz_id, position, state_id, choices, correct_index, answer_index) VALUES (3, 2, 4, 'Phoenix' || char(31) || 'Hartford' || char(31) || 'Little Rock', 2, NULL);
+INSERT INTO quiz_questions (quiz_id, position, state_id, choices, correct_index, answer_index) VALUES (3, 3, 5, 'Sacramento' || char(31) || 'Montgomery' || char(31) || 'Denver', 0, NULL);
+INSERT INTO quiz_questions (quiz_id, position, state_id, choices, correct_index, answer_index) VALUES (3, 4, 6, 'Phoenix' || char(31) || 'Denver' || char(31) || 'Little Rock', 1, NULL);
+INSERT INTO quiz_questions (quiz_id, position, state_id, choices, correct_index, answer_index) VALUES (3, 5, 7, 'Sacramento' || char(31) || 'Juneau' || char(31) || 'Hartford', 2, NULL);
+INSERT INTO quiz_questions (quiz_id, position, state_id, choices, correct_index, answer_index) VALUES (4, 0, 1, 'Montgomery' || char(31) || 'Juneau' || char(31) || 'Phoenix', 0, 0);
+INSERT INTO quiz_questions (quiz_id, position, state_id, choices, correct_index, answer_index) VALUES (4, 1, 2, 'Juneau' || char(31) || 'Montgomery' || char(31) || 'Phoenix', 0, 0);
+INSERT INTO quiz_questions (quiz_id, position, state_id, choices, correct_index, answer_index) VALUES (4, 2, 3, 'Phoenix' || char(31) || 'Montgomery' || char(31) || 'Juneau', 0, 0);
+INSERT INTO quiz_questions (quiz_id, position, state_id, choices, correct_index, answer_index) VALUES (4, 3, 4, 'Little Rock' || char(31) || 'Montgomery' || char(31) || 'Juneau', 0, 1);
+INSERT INTO quiz_questions (quiz_id, position, state_id, choices, correct_index, answer_index) VALUES (4, 4, 5, 'Sacramento' || char(31) || 'Montgomery' || char(31) || 'Juneau', 0, 2);
+INSERT INTO quiz_questions (quiz_id, position, state_id, choices, correct_index, answer_index) VALUES (4, 5, 6, 'Denver' || char(31) || 'Montgomery' || char(31) || 'Juneau', 0, NULL);
+INSERT INTO state_stats (state_id, attempts, correct, box, last_quiz) VALUES (1, 2, 2, 3, 3);
+INSERT INTO state_stats (state_id, attempts, correct, box, last_quiz) VALUES (2, 3, 3, 3, 3);
+INSERT INTO state_stats (state_id, attempts, correct, box, last_quiz) VALUES (3, 3, 3, 3, 3);
+INSERT INTO state_stats (state_id, attempts, correct, box, last_quiz) VALUES (4, 3, 2, 2, 3);
+INSERT INTO state_stats (state_id, attempts, correct, box, last_quiz) VALUES (5, 3, 1, 0, 3);
+INSERT INTO state_stats (state_id, attempts, correct, box, last_quiz) VALUES (6, 3, 1, 0, 3);
+INSERT INTO state_stats (state_id, attempts, correct, box, last_quiz) VALUES (7, 1, 1, 3, 3);
+INSERT INTO quiz_stats (id, quizzes_completed, questions_asked, questions_answered, correct_answers, best_percent) VALUES (0, 3, 18, 17, 13, 100);
+INSERT INTO daily_stats (day, quizzes_completed, questions_asked, correct_answers) VALUES ('2025-10-01', 1, 6, 4);
+INSERT INTO daily_stats (day, quizzes_completed, questions_asked, correct_answers) VALUES ('2025-10-02', 2, 12, 9);
+PRAGMA user_version = 7;
@@ -0,0 +1,301 @@
+package edu.uga.cs.statecapitalsquiz.database;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import edu.uga.cs.statecapitalsquiz.models.Deck;
+import edu.uga.cs.statecapitalsquiz.models.Quiz;
+import edu.uga.cs.statecapitalsquiz.models.QuizQuestion;
+import edu.uga.cs.statecapitalsquiz.models.StateItem;
+import edu.uga.cs.statecapitalsquiz.utils.BackupReader;
+import edu.uga.cs.statecapitalsquiz.utils.BackupWriter;
+
+import static org.junit.Assert.*;
+
+/**
+ * Backs up the history of one database and restores it into another, checking that
+ * restores are idempotent, keep the stats tables equal to a recompute from the
+ * quizzes, match states across installs and leave nothing behind when they fail.
+ */
+@RunWith(AndroidJUnit4.class)
+public class HistoryBackupTest {
+
+    private static final String SOURCE_DB = "backup-test-source.db";
+    private static final String TARGET_DB = "backup-test-target.db";
+
+    // A deck this version of the app does not bundle
+    private static final String RETIRED_DECK = "retired";
+
+    // The stats tables, and the same sums computed from scratch the way migration 4 -> 5 did
+    private static final String STATE_STATS =
+            "SELECT state_id, attempts, correct FROM state_stats ORDER BY state_id";
+    private static final String STATE_STATS_RECOMPUTED =
+            "SELECT q.state_id, COUNT(*), SUM(CASE WHEN q.answer_index = q.correct_index THEN 1 ELSE 0 END) "
+                    + "FROM quiz_questions q JOIN quizzes z ON z.id = q.quiz_id "
+                    + "WHERE z.date IS NOT NULL GROUP BY q.state_id ORDER BY q.state_id";
+    private static final String QUIZ_STATS =
+            "SELECT quizzes_completed, questions_asked, questions_answered, correct_answers, best_percent "
+                    + "FROM quiz_stats WHERE id = 0";
+    private static final String QUIZ_STATS_RECOMPUTED =
+            "SELECT COUNT(*), IFNULL(SUM(question_count), 0), IFNULL(SUM(questions_answered), 0), "
+                    + "IFNULL(SUM(score), 0), IFNULL(MAX(score * 100 / NULLIF(question_count, 0)), 0) "
+                    + "FROM quizzes WHERE date IS NOT NULL";
+    private static final String DAILY_STATS =
+            "SELECT day, quizzes_completed, questions_asked, correct_answers FROM daily_stats ORDER BY day";
+    private static final String DAILY_STATS_RECOMPUTED =
+            "SELECT substr(date, 1, 10), COUNT(*), SUM(question_count), SUM(score) "
+                    + "FROM quizzes WHERE date IS NOT NULL GROUP BY substr(date, 1, 10) ORDER BY 1";
+
+    private Context targetContext;
+    private SQLiteDatabase source;
+    private SQLiteDatabase target;
+
+    @Before
+    public void setUp() {
+        targetContext = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        targetContext.deleteDatabase(SOURCE_DB);
+        targetContext.deleteDatabase(TARGET_DB);
+        source = new QuizDBHelper(targetContext, SOURCE_DB).getWritableDatabase();
+        target = new QuizDBHelper(targetContext, TARGET_DB).getWritableDatabase();
+    }
+
+    @After
+    public void tearDown() {
+        source.close();
+        target.close();
+        targetContext.deleteDatabase(SOURCE_DB);
+        targetContext.deleteDatabase(TARGET_DB);
+    }
+
+    @Test
+    public void restoreTwice_secondRestoreIsNoOp() throws IOException {
+        byte[] backup = backup(playHistory(), false);
+
+        assertEquals(3, restore(target, backup));
+        List<String> afterFirst = snapshot(target);
+        assertEquals(0, restore(target, backup));
+        assertEquals(afterFirst, snapshot(target));
+    }
+
+    @Test
+    public void restore_statsMatchRecompute() throws IOException {
+        byte[] backup = backup(playHistory(), true);
+        // Local history the restored quizzes are added to
+        QuizData local = new QuizData(null, target);
+        playQuiz(local, target, "2025-03-02 08:15:00", new int[]{1, 1, 0}, "Texas", "Ohio", "Iowa");
+
+        assertEquals(3, restore(target, backup));
+        assertEquals(4, count(target, "SELECT COUNT(*) FROM quizzes WHERE date IS NOT NULL"));
+        assertStatsMatchRecompute(target);
+        assertEquals(Arrays.asList("2025-03-01|2|6|4", "2025-03-02|2|6|3"), rows(target, DAILY_STATS));
+    }
+
+    @Test
+    public void restore_bringsBackUnbundledDecksAndSchedules() throws IOException {
+        byte[] backup = backup(playHistory(), false);
+
+        restore(target, backup);
+        assertEquals(1, count(target, "SELECT COUNT(*) FROM states WHERE deck = '" + RETIRED_DECK + "'"));
+        // Every state the restored quizzes asked has a schedule
+        assertEquals(0, count(target, "SELECT COUNT(*) FROM quiz_questions q "
+                + "LEFT JOIN state_stats t ON t.state_id = q.state_id WHERE t.state_id IS NULL"));
+    }
+
+    @Test
+    public void corruptBackup_rollsBackEverything() throws IOException {
+        byte[] backup = backup(playHistory(), false);
+        List<String> before = snapshot(target);
+
+        byte[] truncated = Arrays.copyOf(backup, backup.length - 5);
+        byte[] flipped = backup.clone();
+        flipped[backup.length / 2] ^= 0x10;
+        for (byte[] corrupt : new byte[][]{truncated, flipped}) {
+            try {
+                restore(target, corrupt);
+                fail("Restored a corrupt backup");
+            } catch (IOException expected) {
+                // Expected
+            }
+            assertEquals(before, snapshot(target));
+        }
+        assertEquals(0, count(target, "SELECT COUNT(*) FROM states WHERE deck = '" + RETIRED_DECK + "'"));
+
+        // The failed attempts leave nothing that stops a good backup from restoring
+        assertEquals(3, restore(target, backup));
+        assertStatsMatchRecompute(target);
+    }
+
+    @Test
+    public void renamedState_isMatchedByCapital() throws IOException {
+        byte[] backup = backup(playHistory(), false);
+        target.execSQL("UPDATE states SET state_name = 'State of Georgia' WHERE state_name = 'Georgia'");
+        int states = count(target, "SELECT COUNT(*) FROM states WHERE deck = '" + Deck.DEFAULT_ID + "'");
+
+        restore(target, backup);
+        assertEquals(states, count(target, "SELECT COUNT(*) FROM states WHERE deck = '" + Deck.DEFAULT_ID + "'"));
+        assertEquals(0, count(target, "SELECT COUNT(*) FROM states WHERE state_name = 'Georgia'"));
+        assertEquals(2, count(target, "SELECT COUNT(*) FROM quiz_questions q JOIN states s ON s.id = q.state_id "
+                + "WHERE s.state_name = 'State of Georgia'"));
+    }
+
+    @Test
+    public void stateMissingFromBundledDeck_isNotAdded() throws IOException {
+        byte[] backup = backup(playHistory(), false);
+        // Neither the name nor the capital matches any more
+        target.execSQL("DELETE FROM states WHERE state_name = 'Maine'");
+        int states = count(target, "SELECT COUNT(*) FROM states WHERE deck = '" + Deck.DEFAULT_ID + "'");
+
+        assertEquals(3, restore(target, backup));
+        assertEquals(states, count(target, "SELECT COUNT(*) FROM states WHERE deck = '" + Deck.DEFAULT_ID + "'"));
+        assertEquals(0, count(target, "SELECT COUNT(*) FROM states WHERE state_name = 'Maine'"));
+        // Its question is left out; the quiz keeps its score and length
+        assertEquals(8, count(target, "SELECT COUNT(*) FROM quiz_questions"));
+        assertEquals(9, count(target, "SELECT questions_asked FROM quiz_stats WHERE id = 0"));
+        assertStatsMatch(target, STATE_STATS, STATE_STATS_RECOMPUTED);
+    }
+
+    /**
+     * Complete three quizzes on the source database, over two days and two decks,
+     * and leave one in progress (which is not part of the history)
+     */
+    private QuizData playHistory() {
+        QuizData data = new QuizData(null, source);
+        data.insertState(RETIRED_DECK, new StateItem(0, "Deseret", "Salt Lake City", "Provo", "Ogden",
+                1849, 1849, 1));
+        playQuiz(data, source, "2025-03-01 09:00:00", new int[]{1, 1, 0}, "Georgia", "Ohio", "Deseret");
+        playQuiz(data, source, "2025-03-01 21:30:00", new int[]{1, 0, 1}, "Maine", "Georgia", "Utah");
+        playQuiz(data, source, "2025-03-02 07:45:00", new int[]{0, 0, 1}, "Iowa", "Texas", "Ohio");
+
+        Quiz unfinished = new Quiz();
+        data.createNewQuiz(unfinished, Arrays.asList(question(data, source, "Texas")));
+        return data;
+    }
+
+    /**
+     * Create and complete a quiz asking the named states, with 1 for each right answer
+     */
+    private static void playQuiz(QuizData data, SQLiteDatabase db, String date, int[] correct,
+                                 String... stateNames) {
+        List<QuizQuestion> questions = new ArrayList<>();
+        for (String name : stateNames) {
+            questions.add(question(data, db, name));
+        }
+        Quiz quiz = new Quiz();
+        assertNotEquals(-1, data.createNewQuiz(quiz, questions));
+
+        int score = 0;
+        for (int i = 0; i < questions.size(); i++) {
+            questions.get(i).setAnswerIndex(correct[i] == 1 ? 0 : 2);
+            score += correct[i];
+        }
+        quiz.setScore(score);
+        quiz.setQuestionsAnswered(questions.size());
+        quiz.setDate(date);
+        assertTrue(data.completeQuiz(quiz, questions));
+    }
+
+    /**
+     * A question about the named state whose right answer is choice 0
+     */
+    private static QuizQuestion question(QuizData data, SQLiteDatabase db, String stateName) {
+        int id = (int) DatabaseUtils.longForQuery(db, "SELECT id FROM states WHERE state_name = ?",
+                new String[]{stateName});
+        StateItem state = data.getStateById(id);
+        return new QuizQuestion(state, new String[]{state.getCapitalCity(), "Springfield", "Riverside"}, 0);
+    }
+
+    private static byte[] backup(QuizData data, boolean compress) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (BackupWriter writer = new BackupWriter(Channels.newChannel(out), compress)) {
+            assertEquals(3, data.backupHistory(writer));
+        }
+        return out.toByteArray();
+    }
+
+    private static int restore(SQLiteDatabase db, byte[] backup) throws IOException {
+        try (BackupReader reader = new BackupReader(Channels.newChannel(new ByteArrayInputStream(backup)))) {
+            return new HistoryBackup(db).restore(reader, new TestDecks());
+        }
+    }
+
+    private static void assertStatsMatchRecompute(SQLiteDatabase db) {
+        assertStatsMatch(db, STATE_STATS, STATE_STATS_RECOMPUTED);
+        assertStatsMatch(db, QUIZ_STATS, QUIZ_STATS_RECOMPUTED);
+        assertStatsMatch(db, DAILY_STATS, DAILY_STATS_RECOMPUTED);
+    }
+
+    private static void assertStatsMatch(SQLiteDatabase db, String stats, String recomputed) {
+        assertEquals(rows(db, recomputed), rows(db, stats));
+    }
+
+    /**
+     * Every row of the tables a restore writes to
+     */
+    private static List<String> snapshot(SQLiteDatabase db) {
+        List<String> rows = new ArrayList<>();
+        rows.addAll(rows(db, "SELECT * FROM states ORDER BY id"));
+        rows.addAll(rows(db, "SELECT * FROM quizzes ORDER BY id"));
+        rows.addAll(rows(db, "SELECT * FROM quiz_questions ORDER BY quiz_id, position"));
+        rows.addAll(rows(db, "SELECT * FROM state_stats ORDER BY state_id"));
+        rows.addAll(rows(db, QUIZ_STATS));
+        rows.addAll(rows(db, DAILY_STATS));
+        return rows;
+    }
+
+    private static int count(SQLiteDatabase db, String sql) {
+        try (Cursor cursor = db.rawQuery(sql, null)) {
+            cursor.moveToFirst();
+            return cursor.getInt(0);
+        }
+    }
+
+    /**
+     * Each row as its columns joined with "|"
+     */
+    private static List<String> rows(SQLiteDatabase db, String sql) {
+        List<String> rows = new ArrayList<>();
+        try (Cursor cursor = db.rawQuery(sql, null)) {
+            while (cursor.moveToNext()) {
+                StringBuilder row = new StringBuilder();
+                for (int i = 0; i < cursor.getColumnCount(); i++) {
+                    row.append(i > 0 ? "|" : "").append(cursor.getString(i));
+                }
+                rows.add(row.toString());
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Bundles only the default deck, which the seed has already loaded
+     */
+    private static final class TestDecks implements HistoryBackup.DeckLoader {
+        @Override
+        public boolean isBundled(String deck) {
+            return Deck.DEFAULT_ID.equals(deck);
+        }
+
+        @Override
+        public void loadDeck(String deck) {
+            fail("Seeded deck " + deck + " was loaded again");
+        }
+    }
+}
@@ -0,0 +1,479 @@
+package edu.uga.cs.statecapitalsquiz.database;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Upgrades databases built from fixtures of each old schema version and checks
+ * that user data survives and the migrated schema matches a fresh install.
+ *
+ * <p>Fixtures live in {@code androidTest/assets/fixtures/state_quiz_v<N>.sql}.</p>
+ */
+@RunWith(AndroidJUnit4.class)
+public class QuizDBHelperMigrationTest {
+
+    private static final String MIGRATED_DB = "migration-test.db";
+    private static final String FRESH_DB = "migration-test-fresh.db";
+
+    private Context targetContext;
+
+    @Before
+    public void setUp() {
+        targetContext = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        targetContext.deleteDatabase(MIGRATED_DB);
+        targetContext.deleteDatabase(FRESH_DB);
+    }
+
+    @After
+    public void tearDown() {
+        targetContext.deleteDatabase(MIGRATED_DB);
+        targetContext.deleteDatabase(FRESH_DB);
+    }
+
+    @Test
+    public void migrateFromV1_keepsStatesAndQuizzes() throws IOException {
+        createFromFixture(1);
+
+        SQLiteDatabase db = new QuizDBHelper(targetContext, MIGRATED_DB).getWritableDatabase();
+        try {
+            assertEquals(7, count(db, "SELECT COUNT(*) FROM states"));
+            assertEquals(3, count(db, "SELECT COUNT(*) FROM quizzes"));
+            assertEquals(2, count(db, "SELECT COUNT(*) FROM quizzes WHERE date IS NOT NULL"));
+
+            try (Cursor cursor = db.rawQuery(
+                    "SELECT capital_city FROM states WHERE state_name = 'Arkansas'", null)) {
+                assertTrue(cursor.moveToFirst());
+                assertEquals("Little Rock", cursor.getString(0));
+            }
+            try (Cursor cursor = db.rawQuery(
+                    "SELECT score, questions_answered FROM quizzes WHERE date = '2025-10-02 18:40:12'", null)) {
+                assertTrue(cursor.moveToFirst());
+                assertEquals(6, cursor.getInt(0));
+                assertEquals(6, cursor.getInt(1));
+            }
+        } finally {
+            db.close();
+        }
+    }
+
+    @Test
+    public void migrateFromV1_createsHotPathIndexes() throws IOException {
+        createFromFixture(1);
+
+        SQLiteDatabase db = new QuizDBHelper(targetContext, MIGRATED_DB).getWritableDatabase();
+        try {
+            List<String> indexes = schema(db, "index");
+            assertTrue(indexes.toString(), containsName(indexes, "idx_quizzes_in_progress"));
+            assertTrue(indexes.toString(), containsName(indexes, "idx_quizzes_completed"));
+            assertTrue(indexes.toString(), containsName(indexes, "idx_states_deck"));
+        } finally {
+            db.close();
+        }
+    }
+
+    @Test
+    public void migrateFromV1_movesQuizStatesIntoQuestionRows() throws IOException {
+        createFromFixture(1);
+
+        SQLiteDatabase db = new QuizDBHelper(targetContext, MIGRATED_DB).getWritableDatabase();
+        try {
+            assertEquals(18, count(db, "SELECT COUNT(*) FROM quiz_questions"));
+            assertEquals(3, count(db, "SELECT COUNT(*) FROM quizzes WHERE question_count = 6"));
+
+            List<Integer> stateIds = new ArrayList<>();
+            try (Cursor cursor = db.rawQuery("SELECT q.state_id FROM quiz_questions q "
+                    + "JOIN quizzes z ON z.id = q.quiz_id "
+                    + "WHERE z.date = '2025-10-02 18:40:12' ORDER BY q.position", null)) {
+                while (cursor.moveToNext()) {
+                    stateIds.add(cursor.getInt(0));
+                }
+            }
+            assertEquals(Arrays.asList(7, 6, 5, 4, 3, 2), stateIds);
+
+            try (Cursor cursor = db.rawQuery("SELECT choices, correct_index, answer_index "
+                    + "FROM quiz_questions WHERE state_id = 7", null)) {
+                assertTrue(cursor.moveToFirst());
+                assertArrayEquals(new String[]{"Hartford", "", ""},
+                        QuizQuestionRowMapper.decodeChoices(cursor.getString(0)));
+                assertEquals(0, cursor.getInt(1));
+                assertTrue(cursor.isNull(2));
+            }
+        } finally {
+            db.close();
+        }
+    }
+
+    @Test
+    public void migrateFromV1_countsLegacyQuizzesInTotalsOnly() throws IOException {
+        createFromFixture(1);
+
+        SQLiteDatabase db = new QuizDBHelper(targetContext, MIGRATED_DB).getWritableDatabase();
+        try {
+            assertEquals(2, count(db, "SELECT quizzes_completed FROM quiz_stats WHERE id = 0"));
+            assertEquals(10, count(db, "SELECT correct_answers FROM quiz_stats WHERE id = 0"));
+            // Version 1 stored no answers, so no state has a correct answer on record
+            assertEquals(12, count(db, "SELECT SUM(attempts) FROM state_stats"));
+            assertEquals(0, count(db, "SELECT SUM(correct) FROM state_stats"));
+        } finally {
+            db.close();
+        }
+    }
+
+    @Test
+    public void migrateFromV1_matchesFreshSchema() throws IOException {
+        assertMigratedSchemaMatchesFresh(1);
+    }
+
+    @Test
+    public void migrateFromV2_keepsQuizzesAsQuestionRows() throws IOException {
+        createFromFixture(2);
+
+        SQLiteDatabase db = new QuizDBHelper(targetContext, MIGRATED_DB).getWritableDatabase();
+        try {
+            assertEquals(7, count(db, "SELECT COUNT(*) FROM states"));
+            assertEquals(3, count(db, "SELECT COUNT(*) FROM quizzes"));
+            assertEquals(18, count(db, "SELECT COUNT(*) FROM quiz_questions"));
+            assertEquals(1, count(db, "SELECT COUNT(*) FROM quizzes WHERE date IS NULL"));
+        } finally {
+            db.close();
+        }
+    }
+
+    @Test
+    public void migrateFromV2_deletingQuizCascadesToQuestions() throws IOException {
+        createFromFixture(2);
+
+        SQLiteDatabase db = new QuizDBHelper(targetContext, MIGRATED_DB).getWritableDatabase();
+        try {
+            assertEquals(1, count(db, "PRAGMA foreign_keys"));
+            assertEquals(1, new QuizData(null, db).deleteIncompleteQuizzes());
+            assertEquals(2, count(db, "SELECT COUNT(*) FROM quizzes"));
+            assertEquals(12, count(db, "SELECT COUNT(*) FROM quiz_questions"));
+            assertEquals(0, count(db, "SELECT COUNT(*) FROM quiz_questions WHERE quiz_id NOT IN "
+                    + "(SELECT id FROM quizzes)"));
+        } finally {
+            db.close();
+        }
+    }
+
+    @Test
+    public void migrateFromV2_matchesFreshSchema() throws IOException {
+        assertMigratedSchemaMatchesFresh(2);
+    }
+
+    @Test
+    public void migrateFromV3_keepsQuestionsAndAnswers() throws IOException {
+        createFromFixture(3);
+
+        SQLiteDatabase db = new QuizDBHelper(targetContext, MIGRATED_DB).getWritableDatabase();
+        try {
+            assertEquals(3, count(db, "SELECT COUNT(*) FROM quizzes"));
+            assertEquals(18, count(db, "SELECT COUNT(*) FROM quiz_questions"));
+            assertEquals(2, count(db, "SELECT COUNT(*) FROM quiz_questions "
+                    + "WHERE quiz_id = 3 AND answer_index IS NOT NULL"));
+
+            try (Cursor cursor = db.rawQuery("SELECT choices, correct_index FROM quiz_questions "
+                    + "WHERE quiz_id = 2 AND position = 0", null)) {
+                assertTrue(cursor.moveToFirst());
+                String[] choices = QuizQuestionRowMapper.decodeChoices(cursor.getString(0));
+                assertEquals(3, choices.length);
+                assertEquals("Hartford", choices[cursor.getInt(1)]);
+            }
+        } finally {
+            db.close();
+        }
+    }
+
+    @Test
+    public void migrateFromV3_addsEmptyCoordinates() throws IOException {
+        createFromFixture(3);
+
+        SQLiteDatabase db = new QuizDBHelper(targetContext, MIGRATED_DB).getWritableDatabase();
+        try {
+            assertEquals(7, count(db, "SELECT COUNT(*) FROM states"));
+            // Filled in from the CSV by the splash screen, not by the migration
+            assertEquals(7, count(db, "SELECT COUNT(*) FROM states "
+                    + "WHERE latitude IS NULL AND longitude IS NULL"));
+        } finally {
+            db.close();
+        }
+    }
+
+    @Test
+    public void migrateFromV3_matchesFreshSchema() throws IOException {
+        assertMigratedSchemaMatchesFresh(3);
+    }
+
+    @Test
+    public void migrateFromV4_keepsCoordinatesAndQuizzes() throws IOException {
+        createFromFixture(4);
+
+        SQLiteDatabase db = new QuizDBHelper(targetContext, MIGRATED_DB).getWritableDatabase();
+        try {
+            assertEquals(7, count(db, "SELECT COUNT(*) FROM states WHERE latitude IS NOT NULL"));
+            assertEquals(4, count(db, "SELECT COUNT(*) FROM quizzes"));
+            assertEquals(24, count(db, "SELECT COUNT(*) FROM quiz_questions"));
+        } finally {
+            db.close();
+        }
+    }
+
+    @Test
+    public void migrateFromV4_backfillsStatsFromCompletedQuizzes() throws IOException {
+        createFromFixture(4);
+
+        SQLiteDatabase db = new QuizDBHelper(targetContext, MIGRATED_DB).getWritableDatabase();
+        try {
+            try (Cursor cursor = db.rawQuery("SELECT quizzes_completed, questions_asked, "
+                    + "questions_answered, correct_answers, best_percent FROM quiz_stats WHERE id = 0", null)) {
+                assertTrue(cursor.moveToFirst());
+                assertEquals(3, cursor.getInt(0));
+                assertEquals(18, cursor.getInt(1));
+                assertEquals(17, cursor.getInt(2));
+                assertEquals(13, cursor.getInt(3));
+                assertEquals(100, cursor.getInt(4));
+            }
+
+            // The unfinished quiz (id 3) is not counted
+            assertEquals(7, count(db, "SELECT COUNT(*) FROM state_stats"));
+            try (Cursor cursor = db.rawQuery("SELECT attempts, correct FROM state_stats t "
+                    + "JOIN states s ON s.id = t.state_id WHERE s.state_name = 'California'", null)) {
+                assertTrue(cursor.moveToFirst());
+                assertEquals(3, cursor.getInt(0));
+                assertEquals(1, cursor.getInt(1));
+            }
+
+            List<String> days = new ArrayList<>();
+            try (Cursor cursor = db.rawQuery("SELECT day, quizzes_completed, questions_asked, "
+                    + "correct_answers FROM daily_stats ORDER BY day", null)) {
+                while (cursor.moveToNext()) {
+                    days.add(cursor.getString(0) + " " + cursor.getInt(1) + " "
+                            + cursor.getInt(2) + " " + cursor.getInt(3));
+                }
+            }
+            assertEquals(Arrays.asList("2025-10-01 1 6 4", "2025-10-02 2 12 9"), days);
+        } finally {
+            db.close();
+        }
+    }
+
+    @Test
+    public void migrateFromV4_matchesFreshSchema() throws IOException {
+        assertMigratedSchemaMatchesFresh(4);
+    }
+
+    @Test
+    public void migrateFromV5_keepsStats() throws IOException {
+        createFromFixture(5);
+
+        SQLiteDatabase db = new QuizDBHelper(targetContext, MIGRATED_DB).getWritableDatabase();
+        try {
+            assertEquals(7, count(db, "SELECT COUNT(*) FROM state_stats"));
+            assertEquals(13, count(db, "SELECT correct_answers FROM quiz_stats WHERE id = 0"));
+            assertEquals(2, count(db, "SELECT COUNT(*) FROM daily_stats"));
+        } finally {
+            db.close();
+        }
+    }
+
+    @Test
+    public void migrateFromV5_estimatesScheduleFromAccuracy() throws IOException {
+        createFromFixture(5);
+
+        SQLiteDatabase db = new QuizDBHelper(targetContext, MIGRATED_DB).getWritableDatabase();
+        try {
+            // Always right -> box 3, at least half right -> box 2, otherwise box 0
+            assertEquals(3, count(db, "SELECT box FROM state_stats WHERE state_id = 2"));
+            assertEquals(2, count(db, "SELECT box FROM state_stats WHERE state_id = 4"));
+            assertEquals(0, count(db, "SELECT box FROM state_stats WHERE state_id = 5"));
+            // Every state counts as asked in the latest of the 3 completed quizzes
+            assertEquals(7, count(db, "SELECT COUNT(*) FROM state_stats WHERE last_quiz = 3"));
+        } finally {
+            db.close();
+        }
+    }
+
+    @Test
+    public void migrateFromV5_matchesFreshSchema() throws IOException {
+        assertMigratedSchemaMatchesFresh(5);
+    }
+
+    @Test
+    public void migrateFromV6_putsExistingStatesInDefaultDeck() throws IOException {
+        createFromFixture(6);
+
+        SQLiteDatabase db = new QuizDBHelper(targetContext, MIGRATED_DB).getWritableDatabase();
+        try {
+            assertEquals(7, count(db, "SELECT COUNT(*) FROM states WHERE deck = 'us_states'"));
+            assertEquals(0, count(db, "SELECT COUNT(*) FROM states WHERE deck != 'us_states'"));
+            // IDs, and so every quiz question and stats row, are unchanged
+            assertEquals(24, count(db, "SELECT COUNT(*) FROM quiz_questions q "
+                    + "JOIN states s ON s.id = q.state_id"));
+            assertEquals(0, count(db, "SELECT box FROM state_stats WHERE state_id = 5"));
+        } finally {
+            db.close();
+        }
+    }
+
+    @Test
+    public void migrateFromV6_newDeckRowsStaySeparate() throws IOException {
+        createFromFixture(6);
+
+        SQLiteDatabase db = new QuizDBHelper(targetContext, MIGRATED_DB).getWritableDatabase();
+        try {
+            db.execSQL("INSERT INTO states (state_name, capital_city, city2, city3, deck) "
+                    + "VALUES ('Ontario', 'Toronto', '', '', 'ca_provinces')");
+            assertEquals(1, count(db, "SELECT COUNT(*) FROM states WHERE deck = 'ca_provinces'"));
+            assertEquals(7, count(db, "SELECT COUNT(*) FROM states WHERE deck = 'us_states'"));
+        } finally {
+            db.close();
+        }
+    }
+
+    @Test
+    public void migrateFromV6_matchesFreshSchema() throws IOException {
+        assertMigratedSchemaMatchesFresh(6);
+    }
+
+    @Test
+    public void migrateFromV7_indexesExistingStatesForSearch() throws IOException {
+        createFromFixture(7);
+
+        SQLiteDatabase db = new QuizDBHelper(targetContext, MIGRATED_DB).getWritableDatabase();
+        try {
+            assertEquals(9, count(db, "SELECT COUNT(*) FROM states_fts"));
+            assertEquals(1, count(db, "SELECT COUNT(*) FROM states_fts WHERE states_fts MATCH 'mont*'"));
+            assertEquals(1, count(db, "SELECT COUNT(*) FROM states_fts WHERE states_fts MATCH 'toronto*'"));
+            // Case and accents are ignored on both sides
+            assertEquals(1, count(db, "SELECT COUNT(*) FROM states_fts WHERE states_fts MATCH 'QU\u00c9BEC*'"));
+        } finally {
+            db.close();
+        }
+    }
+
+    @Test
+    public void migrateFromV7_keepsSearchIndexInSync() throws IOException {
+        createFromFixture(7);
+
+        SQLiteDatabase db = new QuizDBHelper(targetContext, MIGRATED_DB).getWritableDatabase();
+        try {
+            db.execSQL("INSERT INTO states (state_name, capital_city, city2, city3, deck) "
+                    + "VALUES ('Manitoba', 'Winnipeg', '', '', 'ca_provinces')");
+            db.execSQL("UPDATE states SET capital_city = 'Tuscaloosa' WHERE state_name = 'Alabama'");
+            db.execSQL("DELETE FROM states WHERE state_name = 'Ontario'");
+
+            assertEquals(1, count(db, "SELECT COUNT(*) FROM states_fts WHERE states_fts MATCH 'winni*'"));
+            assertEquals(1, count(db, "SELECT COUNT(*) FROM states_fts WHERE states_fts MATCH 'tusc*'"));
+            assertEquals(0, count(db, "SELECT COUNT(*) FROM states_fts WHERE states_fts MATCH 'mont*'"));
+            assertEquals(0, count(db, "SELECT COUNT(*) FROM states_fts WHERE states_fts MATCH 'toronto*'"));
+            // Throws if the index and the states table disagree
+            db.execSQL("INSERT INTO states_fts (states_fts) VALUES ('integrity-check')");
+        } finally {
+            db.close();
+        }
+    }
+
+    @Test
+    public void migrateFromV7_matchesFreshSchema() throws IOException {
+        assertMigratedSchemaMatchesFresh(7);
+    }
+
+    @Test
+    public void freshInstall_startsWithEmptyStats() {
+        SQLiteDatabase db = new QuizDBHelper(targetContext, FRESH_DB).getWritableDatabase();
+        try {
+            assertEquals(0, count(db, "SELECT quizzes_completed FROM quiz_stats WHERE id = 0"));
+            assertEquals(0, count(db, "SELECT COUNT(*) FROM state_stats"));
+            assertEquals(0, count(db, "SELECT COUNT(*) FROM daily_stats"));
+        } finally {
+            db.close();
+        }
+    }
+
+    private void assertMigratedSchemaMatchesFresh(int fixtureVersion) throws IOException {
+        createFromFixture(fixtureVersion);
+
+        SQLiteDatabase migrated = new QuizDBHelper(targetContext, MIGRATED_DB).getWritableDatabase();
+        SQLiteDatabase fresh = new QuizDBHelper(targetContext, FRESH_DB).getWritableDatabase();
+        try {
+            assertEquals(fresh.getVersion(), migrated.getVersion());
+            assertEquals(schema(fresh, "table"), schema(migrated, "table"));
+            assertEquals(schema(fresh, "index"), schema(migrated, "index"));
+            assertEquals(schema(fresh, "trigger"), schema(migrated, "trigger"));
+        } finally {
+            migrated.close();
+            fresh.close();
+        }
+    }
+
+    /**
+     * Build the test database from a fixture of the given schema version
+     */
+    private void createFromFixture(int version) throws IOException {
+        Context testContext = InstrumentationRegistry.getInstrumentation().getContext();
+        SQLiteDatabase db = SQLiteDatabase.openOrCreateDatabase(
+                targetContext.getDatabasePath(MIGRATED_DB), null);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                testContext.getAssets().open("fixtures/state_quiz_v" + version + ".sql")))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty() && !line.startsWith("--")) {
+                    db.execSQL(line);
+                }
+            }
+            assertEquals(version, db.getVersion());
+        } finally {
+            db.close();
+        }
+    }
+
+    private static int count(SQLiteDatabase db, String sql) {
+        try (Cursor cursor = db.rawQuery(sql, null)) {
+            cursor.moveToFirst();
+            return cursor.getInt(0);
+        }
+    }
+
+    /**
+     * "name: sql" for every user object of one type, sorted by name
+     */
+    private static List<String> schema(SQLiteDatabase db, String type) {
+        List<String> objects = new ArrayList<>();
+        try (Cursor cursor = db.rawQuery("SELECT name, sql FROM sqlite_master WHERE type = ? "
+                + "AND name NOT LIKE 'sqlite_%' AND name != 'android_metadata' ORDER BY name",
+                new String[]{type})) {
+            while (cursor.moveToNext()) {
+                objects.add(cursor.getString(0) + ": " + cursor.getString(1));
+            }
+        }
+        return objects;
+    }
+
+    private static boolean containsName(List<String> objects, String name) {
+        for (String object : objects) {
+            if (object.startsWith(name + ":")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -2,6 +2,9 @@ package edu.uga.cs.statecapitalsquiz;
 
 import android.os.Bundle;
 
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
 import androidx.activity.EdgeToEdge;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.graphics.Insets;
@@ -13,6 +16,12 @@ import androidx.navigation.ui.NavigationUI;
 
 import com.google.android.material.appbar.MaterialToolbar;
 
+import java.io.FileDescriptor;
+import java.io.PrintWriter;
+
+import edu.uga.cs.statecapitalsquiz.database.DeckRegistry;
+import edu.uga.cs.statecapitalsquiz.utils.Metrics;
+
 /**
  * MainActivity
  *
@@ -31,6 +40,10 @@ import com.google.android.material.appbar.MaterialToolbar;
  * <p><b>Lifecycle notes:</b> This Activity contains no custom state. All screen content is provided
  * by fragments controlled through the navigation graph. If you add global UI (menus, etc.),
  * this is the place to wire them to the NavController.</p>
+ *
+ * <p><b>Metrics:</b> Latency metrics are recorded in debug builds and printed by
+ * {@code adb shell dumpsys activity edu.uga.cs.statecapitalsquiz/.MainActivity}.
+ * Add {@code metrics json} for JSON, or {@code metrics reset|on|off} to control recording.</p>
  */
 public class MainActivity extends AppCompatActivity {
     private NavController navController;
@@ -38,6 +51,11 @@ public class MainActivity extends AppCompatActivity {
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        if (BuildConfig.DEBUG) {
+            Metrics.setEnabled(true);
+        }
+        // Restore the selected deck before any fragment reads the catalog
+        DeckRegistry.getInstance(this);
         EdgeToEdge.enable(this);
         setContentView(R.layout.activity_main);
         ViewCompat.setOnApplyWindowInsetsListener(findViewById(R.id.main), (v, insets) -> {
@@ -64,4 +82,33 @@ public class MainActivity extends AppCompatActivity {
         return navController != null && navController.navigateUp()
                 || super.onSupportNavigateUp();
     }
+
+    @Override
+    public void dump(@NonNull String prefix, @Nullable FileDescriptor fd,
+                     @NonNull PrintWriter writer, @Nullable String[] args) {
+        if (args != null && args.length > 0 && "metrics".equals(args[0])) {
+            String command = args.length > 1 ? args[1] : "";
+            switch (command) {
+                case "json":
+                    writer.println(Metrics.toJson());
+                    break;
+                case "reset":
+                    Metrics.reset();
+                    writer.println("Metrics reset");
+                    break;
+                case "on":
+                case "off":
+                    Metrics.setEnabled("on".equals(command));
+                    writer.println("Metrics " + (Metrics.isEnabled() ? "enabled" : "disabled"));
+                    break;
+                default:
+                    Metrics.dump(writer);
+                    break;
+            }
+            return;
+        }
+
+        super.dump(prefix, fd, writer, args);
+        Metrics.dump(writer);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,193 @@
+package edu.uga.cs.statecapitalsquiz.database;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteTransactionListener;
+import android.util.Log;
+
+import edu.uga.cs.statecapitalsquiz.utils.LatencyTimer;
+import edu.uga.cs.statecapitalsquiz.utils.Metrics;
+
+/**
+ * Process-wide owner of the app's single database connection pool.
+ *
+ * <p>There is one {@link QuizDBHelper} per process, opened on first use with
+ * write-ahead logging so readers (history, catalog) never wait for the writer
+ * (answers, results). Every user of the database holds a reference while it works:
+ * {@link #acquire()}/{@link #release()} directly, or for the duration of a
+ * {@link #read(Session)} or {@link #write(Session)} session. The database stays open
+ * between sessions, so opening a screen does not pay for helper construction or a
+ * re-open, and nothing can close it while a session is still running.</p>
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public final class DatabaseManager {
+
+    private static final String TAG = "DatabaseManager";
+    private static final LatencyTimer OPEN_TIMER = Metrics.timer(Metrics.DB_OPEN);
+
+    private static DatabaseManager instance;
+
+    private final QuizDBHelper dbHelper;
+
+    private SQLiteDatabase db;
+    private int references = 0;
+    private boolean closeRequested = false;
+
+    /**
+     * Work done against the database within one session
+     *
+     * @param <T> Result type
+     */
+    public interface Session<T> {
+        T run(QuizData data);
+    }
+
+    private DatabaseManager(Context context) {
+        dbHelper = new QuizDBHelper(context.getApplicationContext());
+        dbHelper.setWriteAheadLoggingEnabled(true);
+    }
+
+    /**
+     * @param context Any context; only the application context is kept
+     * @return The process-wide manager
+     */
+    public static synchronized DatabaseManager getInstance(Context context) {
+        if (instance == null) {
+            instance = new DatabaseManager(context);
+        }
+        return instance;
+    }
+
+    /**
+     * Take a reference to the database, opening it if needed.
+     * Every call must be matched by one call to {@link #release()}.
+     *
+     * @return The open database
+     */
+    public synchronized SQLiteDatabase acquire() {
+        if (db == null || !db.isOpen()) {
+            long start = OPEN_TIMER.start();
+            db = dbHelper.getWritableDatabase();
+            OPEN_TIMER.stop(start);
+            Log.d(TAG, "Database opened");
+        }
+        closeRequested = false;
+        references++;
+        return db;
+    }
+
+    /**
+     * Give back a reference taken with {@link #acquire()}
+     */
+    public synchronized void release() {
+        if (references <= 0) {
+            throw new IllegalStateException("release() without a matching acquire()");
+        }
+        references--;
+        if (references == 0 && closeRequested) {
+            closeNow();
+        }
+    }
+
+    /**
+     * Close the database once no session is using it (immediately if none is).
+     * The next {@link #acquire()} opens it again.
+     */
+    public synchronized void closeWhenIdle() {
+        closeRequested = true;
+        if (references == 0) {
+            closeNow();
+        }
+    }
+
+    /**
+     * Run read-only work. Reads see the last committed data and, with write-ahead
+     * logging, run alongside a write session instead of waiting for it.
+     *
+     * @param work Queries to run
+     * @return The work's result
+     */
+    public <T> T read(Session<T> work) {
+        SQLiteDatabase database = acquire();
+        try {
+            return work.run(new QuizData(this, database));
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Run work in one write transaction, committed if the work returns normally
+     * and rolled back if it throws. Changes the work made to quizzes are reported to
+     * {@link QuizChangeNotifier} after the commit, and only if it commits: a nested
+     * transaction that ended without success rolls the whole session back without
+     * throwing, and then nothing is reported.
+     *
+     * <p>Sessions do not nest: the transaction listener runs when its own level ends,
+     * so a session inside another would report its changes before they commit.</p>
+     *
+     * @param work Inserts/updates to run
+     * @return The work's result
+     * @throws IllegalStateException if this thread is already in a transaction
+     */
+    public <T> T write(Session<T> work) {
+        SQLiteDatabase database = acquire();
+        try {
+            if (database.inTransaction()) {
+                throw new IllegalStateException("write() inside another transaction on this thread");
+            }
+            QuizData data = new QuizData(this, database);
+            T result;
+            Outcome outcome = new Outcome();
+            database.beginTransactionWithListenerNonExclusive(outcome);
+            try {
+                result = work.run(data);
+                database.setTransactionSuccessful();
+            } finally {
+                database.endTransaction();
+            }
+            if (outcome.committed) {
+                data.publishChanges();
+            } else {
+                Log.w(TAG, "Write session rolled back by a failed nested transaction");
+            }
+            return result;
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Records whether a session's transaction commits or rolls back. Android calls
+     * it when the level it was registered on ends, which for a session (never nested)
+     * is the outermost transaction; a failed COMMIT still throws from endTransaction().
+     */
+    private static final class Outcome implements SQLiteTransactionListener {
+        boolean committed = false;
+
+        @Override
+        public void onBegin() {
+        }
+
+        @Override
+        public void onCommit() {
+            committed = true;
+        }
+
+        @Override
+        public void onRollback() {
+            committed = false;
+        }
+    }
+
+    private void closeNow() {
+        if (db != null) {
+            dbHelper.close();
+            db = null;
+            closeRequested = false;
+            Log.d(TAG, "Database closed");
+        }
+    }
+}
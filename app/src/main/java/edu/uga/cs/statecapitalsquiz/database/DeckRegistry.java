@@ -0,0 +1,94 @@
+package edu.uga.cs.statecapitalsquiz.database;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import java.util.List;
+
+import edu.uga.cs.statecapitalsquiz.models.Deck;
+import edu.uga.cs.statecapitalsquiz.utils.AndroidAssetSource;
+import edu.uga.cs.statecapitalsquiz.utils.AndroidLogger;
+import edu.uga.cs.statecapitalsquiz.utils.DeckManifest;
+
+/**
+ * Process-wide list of the bundled decks and the one the user is playing.
+ *
+ * <p>Created once when the app starts: it reads the small deck manifest, restores
+ * the saved choice of deck and points {@link StateCatalogCache} at it. No deck's
+ * contents are read here; the catalog cache loads the selected deck on first use.</p>
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public final class DeckRegistry {
+
+    private static final String TAG = "DeckRegistry";
+
+    private static final String PREFS_NAME = "decks";
+    private static final String KEY_SELECTED_DECK = "selected_deck";
+
+    private static DeckRegistry instance;
+
+    private final DeckManifest manifest;
+    private final SharedPreferences prefs;
+
+    private DeckRegistry(Context context) {
+        manifest = DeckManifest.load(new AndroidAssetSource(context), AndroidLogger.INSTANCE);
+        prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+
+        // A saved deck that is no longer in the manifest falls back to the default
+        Deck selected = manifest.find(prefs.getString(KEY_SELECTED_DECK, null));
+        StateCatalogCache.getInstance().select(selected != null ? selected : manifest.getDefault());
+    }
+
+    /**
+     * @param context Any context; only the application context is kept
+     * @return The process-wide registry
+     */
+    public static synchronized DeckRegistry getInstance(Context context) {
+        if (instance == null) {
+            instance = new DeckRegistry(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * @return Every bundled deck, in manifest order
+     */
+    public List<Deck> getDecks() {
+        return manifest.getDecks();
+    }
+
+    /**
+     * @param id Deck ID
+     * @return The bundled deck with this ID, or null if there is none
+     */
+    public Deck find(String id) {
+        return manifest.find(id);
+    }
+
+    /**
+     * @return The deck being played
+     */
+    public Deck getSelected() {
+        return StateCatalogCache.getInstance().getDeck();
+    }
+
+    /**
+     * Play another deck from now on and remember the choice. The previous deck's
+     * catalog is evicted; the new deck is loaded (and imported, if it never was)
+     * by the caller or on first use.
+     *
+     * @param deck Deck to play
+     * @return true if the deck changed
+     */
+    public boolean select(Deck deck) {
+        prefs.edit().putString(KEY_SELECTED_DECK, deck.getId()).apply();
+        boolean changed = StateCatalogCache.getInstance().select(deck);
+        if (changed) {
+            Log.d(TAG, "Selected deck " + deck.getId());
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,568 @@
+package edu.uga.cs.statecapitalsquiz.database;
+
+import android.database.Cursor;
+import android.database.DatabaseUtils;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.util.Log;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import edu.uga.cs.statecapitalsquiz.models.StateItem;
+import edu.uga.cs.statecapitalsquiz.utils.BackupFormat;
+import edu.uga.cs.statecapitalsquiz.utils.BackupFormatException;
+import edu.uga.cs.statecapitalsquiz.utils.BackupReader;
+import edu.uga.cs.statecapitalsquiz.utils.BackupWriter;
+
+/**
+ * Copies the quiz history between the database and a backup file.
+ *
+ * <p>A backup holds every completed quiz with its questions and answers, the states
+ * those questions asked and each state's spaced-repetition box. States are matched by
+ * deck and name (then capital) on restore, since row IDs differ between installs. The aggregate stats
+ * tables are not copied: they are sums over the completed quizzes, so a restore adds
+ * the quizzes it inserts to them, the way migration 4 -> 5 first filled them. A quiz
+ * still in progress is not part of the history and is left out.</p>
+ *
+ * <p>Export reads each table in keyset pages ({@code WHERE id > last ORDER BY id LIMIT n}),
+ * so every cursor window holds one small page and no query ever counts or buffers a
+ * whole table. Restore applies records as the reader streams them, inside a single
+ * transaction that only commits once the whole backup has been read and verified.</p>
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public class HistoryBackup {
+
+    private static final String TAG = "HistoryBackup";
+
+    // Rows per export query; a page of quizzes and its questions fit in one cursor window
+    private static final int PAGE_SIZE = 500;
+
+    // Every state with stats has been asked by a completed quiz, and every question of
+    // a completed quiz has stats, so these are exactly the states the history refers to
+    private static final String EXPORT_DECKS_QUERY =
+            "SELECT DISTINCT s." + QuizDBHelper.STATES_DECK +
+                    " FROM " + QuizDBHelper.TABLE_STATE_STATS + " t" +
+                    " JOIN " + QuizDBHelper.TABLE_STATES + " s" +
+                    " ON s." + QuizDBHelper.STATES_ID + " = t." + QuizDBHelper.STATE_STATS_STATE_ID;
+    private static final String EXPORT_STATES_QUERY =
+            "SELECT " + StateRowMapper.columns("s") + ", s." + QuizDBHelper.STATES_DECK +
+                    ", t." + QuizDBHelper.STATE_STATS_BOX + ", t." + QuizDBHelper.STATE_STATS_LAST_QUIZ +
+                    " FROM " + QuizDBHelper.TABLE_STATE_STATS + " t" +
+                    " JOIN " + QuizDBHelper.TABLE_STATES + " s" +
+                    " ON s." + QuizDBHelper.STATES_ID + " = t." + QuizDBHelper.STATE_STATS_STATE_ID +
+                    " WHERE t." + QuizDBHelper.STATE_STATS_STATE_ID + " > ?" +
+                    " ORDER BY t." + QuizDBHelper.STATE_STATS_STATE_ID +
+                    " LIMIT " + PAGE_SIZE;
+    private static final String EXPORT_QUIZZES_QUERY =
+            "SELECT " + QuizDBHelper.QUIZZES_ID + ", " + QuizDBHelper.QUIZZES_DATE + ", " +
+                    QuizDBHelper.QUIZZES_SCORE + ", " + QuizDBHelper.QUIZZES_QUESTIONS_ANSWERED + ", " +
+                    QuizDBHelper.QUIZZES_QUESTION_COUNT +
+                    " FROM " + QuizDBHelper.TABLE_QUIZZES +
+                    " WHERE " + QuizDBHelper.QUIZZES_ID + " > ? AND " + QuizDBHelper.QUIZZES_DATE + " IS NOT NULL" +
+                    " ORDER BY " + QuizDBHelper.QUIZZES_ID +
+                    " LIMIT " + PAGE_SIZE;
+    // The questions of one page of quizzes: a range of the primary key, already in order
+    private static final String EXPORT_QUESTIONS_QUERY =
+            "SELECT " + QuizDBHelper.QUESTIONS_QUIZ_ID + ", " + QuizDBHelper.QUESTIONS_POSITION + ", " +
+                    QuizDBHelper.QUESTIONS_STATE_ID + ", " + QuizDBHelper.QUESTIONS_CHOICES + ", " +
+                    QuizDBHelper.QUESTIONS_CORRECT_INDEX + ", " + QuizDBHelper.QUESTIONS_ANSWER_INDEX +
+                    " FROM " + QuizDBHelper.TABLE_QUIZ_QUESTIONS +
+                    " WHERE " + QuizDBHelper.QUESTIONS_QUIZ_ID + " > ? AND " +
+                    QuizDBHelper.QUESTIONS_QUIZ_ID + " <= ?" +
+                    " ORDER BY " + QuizDBHelper.QUESTIONS_QUIZ_ID + ", " + QuizDBHelper.QUESTIONS_POSITION;
+
+    private static final String IS_DECK_EMPTY_QUERY =
+            "SELECT NOT EXISTS (SELECT 1 FROM " + QuizDBHelper.TABLE_STATES +
+                    " WHERE " + QuizDBHelper.STATES_DECK + " = ?)";
+    // Answered from idx_states_deck
+    private static final String FIND_STATE_QUERY =
+            "SELECT IFNULL(MIN(" + QuizDBHelper.STATES_ID + "), -1) FROM " + QuizDBHelper.TABLE_STATES +
+                    " WHERE " + QuizDBHelper.STATES_DECK + " = ? AND " + QuizDBHelper.STATES_NAME + " = ?";
+    // A state renamed since the backup still has its capital; reads one deck's rows
+    private static final String FIND_STATE_BY_CAPITAL_QUERY =
+            "SELECT IFNULL(MIN(" + QuizDBHelper.STATES_ID + "), -1) FROM " + QuizDBHelper.TABLE_STATES +
+                    " WHERE " + QuizDBHelper.STATES_DECK + " = ? AND " + QuizDBHelper.STATES_CAPITAL + " = ?";
+    private static final String HAS_STATE_STATS_QUERY =
+            "SELECT EXISTS (SELECT 1 FROM " + QuizDBHelper.TABLE_STATE_STATS +
+                    " WHERE " + QuizDBHelper.STATE_STATS_STATE_ID + " = ?)";
+    // A quiz already on this device: completed at the same second with the same result.
+    // Only quizzes from before the restore are compared, using idx_quizzes_completed.
+    private static final String FIND_DUPLICATE_QUERY =
+            "SELECT EXISTS (SELECT 1 FROM " + QuizDBHelper.TABLE_QUIZZES +
+                    " WHERE " + QuizDBHelper.QUIZZES_DATE + " = ? AND " + QuizDBHelper.QUIZZES_ID + " <= ?" +
+                    " AND " + QuizDBHelper.QUIZZES_SCORE + " = ?" +
+                    " AND " + QuizDBHelper.QUIZZES_QUESTIONS_ANSWERED + " = ?" +
+                    " AND " + QuizDBHelper.QUIZZES_QUESTION_COUNT + " = ?)";
+    private static final String INSERT_QUIZ =
+            "INSERT INTO " + QuizDBHelper.TABLE_QUIZZES + " (" +
+                    QuizDBHelper.QUIZZES_DATE + ", " + QuizDBHelper.QUIZZES_SCORE + ", " +
+                    QuizDBHelper.QUIZZES_QUESTIONS_ANSWERED + ", " + QuizDBHelper.QUIZZES_QUESTION_COUNT +
+                    ") VALUES (?, ?, ?, ?)";
+
+    private static final String INSERT_STATE_STATS =
+            "INSERT OR IGNORE INTO " + QuizDBHelper.TABLE_STATE_STATS + " (" +
+                    QuizDBHelper.STATE_STATS_STATE_ID + ") VALUES (?)";
+    private static final String UPDATE_SCHEDULE =
+            "UPDATE " + QuizDBHelper.TABLE_STATE_STATS + " SET " +
+                    QuizDBHelper.STATE_STATS_BOX + " = ?, " + QuizDBHelper.STATE_STATS_LAST_QUIZ + " = ?" +
+                    " WHERE " + QuizDBHelper.STATE_STATS_STATE_ID + " = ?";
+    private static final String INSERT_QUIZ_STATS =
+            "INSERT OR IGNORE INTO " + QuizDBHelper.TABLE_QUIZ_STATS + " (" +
+                    QuizDBHelper.QUIZ_STATS_ID + ") VALUES (0)";
+    private static final String UPDATE_QUIZ_STATS =
+            "UPDATE " + QuizDBHelper.TABLE_QUIZ_STATS + " SET " +
+                    QuizDBHelper.QUIZ_STATS_QUIZZES + " = " + QuizDBHelper.QUIZ_STATS_QUIZZES + " + ?, " +
+                    QuizDBHelper.QUIZ_STATS_QUESTIONS + " = " + QuizDBHelper.QUIZ_STATS_QUESTIONS + " + ?, " +
+                    QuizDBHelper.QUIZ_STATS_ANSWERED + " = " + QuizDBHelper.QUIZ_STATS_ANSWERED + " + ?, " +
+                    QuizDBHelper.QUIZ_STATS_CORRECT + " = " + QuizDBHelper.QUIZ_STATS_CORRECT + " + ?, " +
+                    QuizDBHelper.QUIZ_STATS_BEST_PERCENT + " = MAX(" + QuizDBHelper.QUIZ_STATS_BEST_PERCENT + ", ?)" +
+                    " WHERE " + QuizDBHelper.QUIZ_STATS_ID + " = 0";
+    // Per-state and per-day totals of the restored quizzes (every quiz after the given ID).
+    // The unary + keeps SQLite from grouping through idx_quiz_questions_state, which
+    // would read every question on the device instead of the restored range.
+    private static final String RESTORED_STATE_TOTALS =
+            "SELECT " + QuizDBHelper.QUESTIONS_STATE_ID + ", COUNT(*), " +
+                    "SUM(CASE WHEN " + QuizDBHelper.QUESTIONS_ANSWER_INDEX + " = " +
+                    QuizDBHelper.QUESTIONS_CORRECT_INDEX + " THEN 1 ELSE 0 END)" +
+                    " FROM " + QuizDBHelper.TABLE_QUIZ_QUESTIONS +
+                    " WHERE " + QuizDBHelper.QUESTIONS_QUIZ_ID + " > ?" +
+                    " GROUP BY +" + QuizDBHelper.QUESTIONS_STATE_ID;
+    private static final String RESTORED_DAY_TOTALS =
+            "SELECT substr(" + QuizDBHelper.QUIZZES_DATE + ", 1, 10), COUNT(*), " +
+                    "SUM(" + QuizDBHelper.QUIZZES_QUESTION_COUNT + "), SUM(" + QuizDBHelper.QUIZZES_SCORE + ")" +
+                    " FROM " + QuizDBHelper.TABLE_QUIZZES +
+                    " WHERE " + QuizDBHelper.QUIZZES_ID + " > ? AND length(" + QuizDBHelper.QUIZZES_DATE + ") >= 10" +
+                    " GROUP BY 1";
+
+    private final SQLiteDatabase db;
+
+    /**
+     * Constructor
+     *
+     * @param db Open database; writable for {@link #restore}
+     */
+    public HistoryBackup(SQLiteDatabase db) {
+        this.db = db;
+    }
+
+    // ==================== EXPORT ====================
+
+    /**
+     * Write the whole history to a backup and finish it
+     *
+     * @param writer Backup to write; the caller closes it
+     * @return Number of quizzes written
+     * @throws IOException if the backup cannot be written
+     */
+    public int export(BackupWriter writer) throws IOException {
+        Cursor decks = db.rawQuery(EXPORT_DECKS_QUERY, null);
+        try {
+            while (decks.moveToNext()) {
+                writer.writeDeck(decks.getString(0));
+            }
+        } finally {
+            decks.close();
+        }
+
+        exportStates(writer);
+        exportQuizzes(writer);
+        writer.finish();
+
+        Log.d(TAG, "Backed up " + writer.getQuizCount() + " quizzes, "
+                + writer.getQuestionCount() + " questions");
+        return writer.getQuizCount();
+    }
+
+    private void exportStates(BackupWriter writer) throws IOException {
+        int lastId = 0;
+        int rows;
+        do {
+            Cursor cursor = db.rawQuery(EXPORT_STATES_QUERY, new String[]{String.valueOf(lastId)});
+            try {
+                StateRowMapper mapper = new StateRowMapper(cursor);
+                int deckIndex = cursor.getColumnIndexOrThrow(QuizDBHelper.STATES_DECK);
+                int boxIndex = cursor.getColumnIndexOrThrow(QuizDBHelper.STATE_STATS_BOX);
+                int lastQuizIndex = cursor.getColumnIndexOrThrow(QuizDBHelper.STATE_STATS_LAST_QUIZ);
+                rows = 0;
+                while (cursor.moveToNext()) {
+                    StateItem state = mapper.map(cursor);
+                    writer.writeState(cursor.getString(deckIndex), state,
+                            cursor.getInt(boxIndex), cursor.getInt(lastQuizIndex));
+                    lastId = state.getId();
+                    rows++;
+                }
+            } finally {
+                cursor.close();
+            }
+        } while (rows == PAGE_SIZE);
+    }
+
+    private void exportQuizzes(BackupWriter writer) throws IOException {
+        int lastId = 0;
+        int rows;
+        do {
+            Cursor quizzes = db.rawQuery(EXPORT_QUIZZES_QUERY, new String[]{String.valueOf(lastId)});
+            Cursor questions = null;
+            try {
+                rows = quizzes.getCount();
+                if (rows == 0) {
+                    break;
+                }
+                quizzes.moveToLast();
+                int pageEnd = quizzes.getInt(0);
+                quizzes.moveToPosition(-1);
+
+                questions = db.rawQuery(EXPORT_QUESTIONS_QUERY,
+                        new String[]{String.valueOf(lastId), String.valueOf(pageEnd)});
+                boolean hasQuestion = questions.moveToNext();
+                while (quizzes.moveToNext()) {
+                    int quizId = quizzes.getInt(0);
+                    writer.writeQuiz(quizzes.getString(1), quizzes.getInt(2), quizzes.getInt(3),
+                            quizzes.getInt(4));
+
+                    // Questions of quizzes still in progress fall between pages' quizzes
+                    while (hasQuestion && questions.getInt(0) < quizId) {
+                        hasQuestion = questions.moveToNext();
+                    }
+                    while (hasQuestion && questions.getInt(0) == quizId) {
+                        writer.writeQuestion(questions.getInt(1), questions.getInt(2),
+                                questions.getString(3), questions.getInt(4),
+                                questions.isNull(5) ? -1 : questions.getInt(5));
+                        hasQuestion = questions.moveToNext();
+                    }
+                }
+                lastId = pageEnd;
+            } finally {
+                quizzes.close();
+                if (questions != null) {
+                    questions.close();
+                }
+            }
+        } while (rows == PAGE_SIZE);
+    }
+
+    // ==================== RESTORE ====================
+
+    /**
+     * Add the quizzes of a backup that are not on this device yet, in one transaction.
+     * Nothing is committed unless the whole backup reads back intact.
+     *
+     * <p>Decks the backup refers to are imported first if this device never loaded
+     * them. A state is matched by name, or by capital if it was renamed since. A state a
+     * bundled deck no longer has is not added to it, since it would become a quiz item:
+     * questions about it are left out of the restored quizzes, which keep their scores.
+     * Only a deck this app does not bundle, which can never be played, gets the
+     * backup's states as new rows. A state keeps its spaced-repetition box if it already
+     * has one here; otherwise it takes the backup's, counting the backup's quizzes as
+     * taken after this device's.</p>
+     *
+     * @param reader Backup to read; the caller closes it
+     * @param loader Imports the decks the backup refers to and says which are bundled
+     * @return Number of quizzes restored
+     * @throws BackupFormatException if the backup is truncated or corrupt
+     * @throws IOException if the backup or a deck cannot be read
+     */
+    public int restore(BackupReader reader, DeckLoader loader) throws IOException {
+        // Every restored quiz gets a higher ID than this (AUTOINCREMENT never reuses IDs)
+        long lastLocalQuiz = DatabaseUtils.longForQuery(db, "SELECT IFNULL(MAX(" + QuizDBHelper.QUIZZES_ID
+                + "), 0) FROM " + QuizDBHelper.TABLE_QUIZZES, null);
+        int completedBefore = (int) DatabaseUtils.longForQuery(db, "SELECT IFNULL(MAX("
+                + QuizDBHelper.QUIZ_STATS_QUIZZES + "), 0) FROM " + QuizDBHelper.TABLE_QUIZ_STATS, null);
+
+        StateMap states = new StateMap();
+        Set<String> bundledDecks = new HashSet<>();
+        Totals totals = new Totals();
+        int skipped = 0;
+        int dropped = 0;
+        // Row ID of the quiz whose questions are being read, or -1 if it is a duplicate
+        long quizId = -1;
+
+        SQLiteStatement isDeckEmpty = db.compileStatement(IS_DECK_EMPTY_QUERY);
+        SQLiteStatement findState = db.compileStatement(FIND_STATE_QUERY);
+        SQLiteStatement findStateByCapital = db.compileStatement(FIND_STATE_BY_CAPITAL_QUERY);
+        SQLiteStatement insertState = db.compileStatement(StateImporter.INSERT_STATE_SQL);
+        SQLiteStatement hasStats = db.compileStatement(HAS_STATE_STATS_QUERY);
+        SQLiteStatement findDuplicate = db.compileStatement(FIND_DUPLICATE_QUERY);
+        SQLiteStatement insertQuiz = db.compileStatement(INSERT_QUIZ);
+        SQLiteStatement insertQuestion = db.compileStatement(QuizData.INSERT_QUESTION);
+        db.beginTransaction();
+        try {
+            for (int type = reader.next(); type != BackupFormat.END; type = reader.next()) {
+                switch (type) {
+                    case BackupFormat.DECK:
+                        if (loader.isBundled(reader.getDeck())) {
+                            bundledDecks.add(reader.getDeck());
+                            isDeckEmpty.bindString(1, reader.getDeck());
+                            if (isDeckEmpty.simpleQueryForLong() != 0) {
+                                loader.loadDeck(reader.getDeck());
+                            }
+                        }
+                        break;
+
+                    case BackupFormat.STATE: {
+                        StateItem state = reader.getState();
+                        long stateId = findState(findState, findStateByCapital, reader.getDeck(), state);
+                        if (stateId == -1) {
+                            if (bundledDecks.contains(reader.getDeck())) {
+                                states.add(state.getId(), StateMap.NO_STATE, StateMap.KEEP_SCHEDULE, 0);
+                                break;
+                            }
+                            StateImporter.bindState(insertState, reader.getDeck(), state);
+                            stateId = insertState.executeInsert();
+                        }
+                        hasStats.bindLong(1, stateId);
+                        boolean scheduled = hasStats.simpleQueryForLong() != 0;
+                        states.add(state.getId(), (int) stateId,
+                                scheduled ? StateMap.KEEP_SCHEDULE : reader.getBox(), reader.getLastQuiz());
+                        break;
+                    }
+
+                    case BackupFormat.QUIZ:
+                        if (reader.getDate() == null) {
+                            throw new BackupFormatException("Backup has a quiz that was never completed");
+                        }
+                        findDuplicate.bindString(1, reader.getDate());
+                        findDuplicate.bindLong(2, lastLocalQuiz);
+                        findDuplicate.bindLong(3, reader.getScore());
+                        findDuplicate.bindLong(4, reader.getQuestionsAnswered());
+                        findDuplicate.bindLong(5, reader.getQuestionCount());
+                        if (findDuplicate.simpleQueryForLong() != 0) {
+                            quizId = -1;
+                            skipped++;
+                            break;
+                        }
+                        insertQuiz.bindString(1, reader.getDate());
+                        insertQuiz.bindLong(2, reader.getScore());
+                        insertQuiz.bindLong(3, reader.getQuestionsAnswered());
+                        insertQuiz.bindLong(4, reader.getQuestionCount());
+                        quizId = insertQuiz.executeInsert();
+                        totals.add(reader.getScore(), reader.getQuestionsAnswered(), reader.getQuestionCount());
+                        break;
+
+                    case BackupFormat.QUESTION: {
+                        if (quizId == -1) {
+                            break;
+                        }
+                        int stateId = states.find(reader.getStateId());
+                        if (stateId == StateMap.NO_STATE) {
+                            dropped++;
+                            break;
+                        }
+                        insertQuestion.bindLong(1, quizId);
+                        insertQuestion.bindLong(2, reader.getPosition());
+                        insertQuestion.bindLong(3, stateId);
+                        insertQuestion.bindString(4, reader.getChoices());
+                        insertQuestion.bindLong(5, reader.getCorrectIndex());
+                        if (reader.getAnswerIndex() >= 0) {
+                            insertQuestion.bindLong(6, reader.getAnswerIndex());
+                        } else {
+                            insertQuestion.bindNull(6);
+                        }
+                        insertQuestion.executeInsert();
+                        break;
+                    }
+
+                    default:
+                        break;
+                }
+            }
+
+            if (totals.quizzes > 0) {
+                addToStats(lastLocalQuiz, totals);
+            }
+            restoreSchedule(states, completedBefore, completedBefore + totals.quizzes);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+            isDeckEmpty.close();
+            findState.close();
+            findStateByCapital.close();
+            insertState.close();
+            hasStats.close();
+            findDuplicate.close();
+            insertQuiz.close();
+            insertQuestion.close();
+        }
+
+        Log.d(TAG, "Restored " + totals.quizzes + " quizzes, skipped " + skipped + " already here");
+        if (dropped > 0) {
+            Log.w(TAG, "Left out " + dropped + " questions about states the decks no longer have");
+        }
+        return totals.quizzes;
+    }
+
+    /**
+     * @return Row ID of the deck's state with the backup state's name, or else its
+     *         capital; -1 if there is none
+     */
+    private static long findState(SQLiteStatement byName, SQLiteStatement byCapital, String deck,
+                                  StateItem state) {
+        byName.bindString(1, deck);
+        byName.bindString(2, state.getStateName());
+        long stateId = byName.simpleQueryForLong();
+        if (stateId == -1 && state.getCapitalCity() != null) {
+            byCapital.bindString(1, deck);
+            byCapital.bindString(2, state.getCapitalCity());
+            stateId = byCapital.simpleQueryForLong();
+        }
+        return stateId;
+    }
+
+    /**
+     * Add the restored quizzes (every quiz after lastLocalQuiz) to the stats tables
+     */
+    private void addToStats(long lastLocalQuiz, Totals totals) {
+        db.execSQL(INSERT_QUIZ_STATS);
+        db.execSQL(UPDATE_QUIZ_STATS, new Object[]{totals.quizzes, totals.questions, totals.answered,
+                totals.correct, totals.bestPercent});
+
+        addTotals(QuizDBHelper.TABLE_STATE_STATS, QuizDBHelper.STATE_STATS_STATE_ID,
+                new String[]{QuizDBHelper.STATE_STATS_ATTEMPTS, QuizDBHelper.STATE_STATS_CORRECT},
+                RESTORED_STATE_TOTALS, lastLocalQuiz);
+        addTotals(QuizDBHelper.TABLE_DAILY_STATS, QuizDBHelper.DAILY_STATS_DAY,
+                new String[]{QuizDBHelper.DAILY_STATS_QUIZZES, QuizDBHelper.DAILY_STATS_QUESTIONS,
+                        QuizDBHelper.DAILY_STATS_CORRECT},
+                RESTORED_DAY_TOTALS, lastLocalQuiz);
+    }
+
+    /**
+     * Add grouped totals to a stats table, creating missing rows. The totals are
+     * collected once into a keyed temp table, so each stats row is updated with two
+     * primary key lookups (SQLite on API 24 has no UPSERT or UPDATE ... FROM).
+     */
+    private void addTotals(String table, String key, String[] columns, String totalsQuery, long lastLocalQuiz) {
+        String restored = "restored_" + table;
+
+        StringBuilder create = new StringBuilder("CREATE TEMP TABLE " + restored + " (" + key + " PRIMARY KEY");
+        StringBuilder update = new StringBuilder("UPDATE " + table + " SET ");
+        for (int i = 0; i < columns.length; i++) {
+            create.append(", ").append(columns[i]).append(" INTEGER NOT NULL");
+            update.append(i > 0 ? ", " : "").append(columns[i]).append(" = ").append(columns[i])
+                    .append(" + (SELECT r.").append(columns[i]).append(" FROM temp.").append(restored)
+                    .append(" r WHERE r.").append(key).append(" = ").append(table).append(".").append(key).append(")");
+        }
+        create.append(")");
+        update.append(" WHERE ").append(key).append(" IN (SELECT ").append(key).append(" FROM temp.")
+                .append(restored).append(")");
+
+        db.execSQL(create.toString());
+        try {
+            db.execSQL("INSERT INTO temp." + restored + " " + totalsQuery, new Object[]{lastLocalQuiz});
+            db.execSQL("INSERT OR IGNORE INTO " + table + " (" + key + ") SELECT " + key
+                    + " FROM temp." + restored);
+            db.execSQL(update.toString());
+        } finally {
+            db.execSQL("DROP TABLE temp." + restored);
+        }
+    }
+
+    /**
+     * Give states that had no schedule on this device the one from the backup
+     */
+    private void restoreSchedule(StateMap states, int completedBefore, int completedAfter) {
+        SQLiteStatement insertStats = db.compileStatement(INSERT_STATE_STATS);
+        SQLiteStatement updateSchedule = db.compileStatement(UPDATE_SCHEDULE);
+        try {
+            for (int i = 0; i < states.size; i++) {
+                if (states.boxes[i] == StateMap.KEEP_SCHEDULE) {
+                    continue;
+                }
+                insertStats.bindLong(1, states.localIds[i]);
+                insertStats.executeInsert();
+                updateSchedule.bindLong(1, states.boxes[i]);
+                updateSchedule.bindLong(2, Math.min(completedBefore + states.lastQuizzes[i], completedAfter));
+                updateSchedule.bindLong(3, states.localIds[i]);
+                updateSchedule.executeUpdateDelete();
+            }
+        } finally {
+            insertStats.close();
+            updateSchedule.close();
+        }
+    }
+
+    /**
+     * Knows the decks bundled with the app and imports their rows during a restore
+     */
+    public interface DeckLoader {
+        /**
+         * @param deck Deck ID from the backup
+         * @return true if this version of the app bundles (and can play) the deck
+         */
+        boolean isBundled(String deck);
+
+        /**
+         * Called, inside the restore transaction, for each bundled deck in the backup
+         * that has no rows on this device
+         *
+         * @param deck Deck ID
+         * @throws IOException if the deck cannot be read
+         */
+        void loadDeck(String deck) throws IOException;
+    }
+
+    /**
+     * Backup state IDs and the matching state on this device with its restored
+     * schedule, in parallel arrays sorted by backup ID (the order the backup has them)
+     */
+    private static final class StateMap {
+        // Box of a state that keeps its schedule on this device
+        static final int KEEP_SCHEDULE = -1;
+        // Local ID of a state a bundled deck no longer has
+        static final int NO_STATE = -1;
+
+        int size = 0;
+        int[] backupIds = new int[64];
+        int[] localIds = new int[64];
+        int[] boxes = new int[64];
+        int[] lastQuizzes = new int[64];
+
+        void add(int backupId, int localId, int box, int lastQuiz) {
+            if (size == backupIds.length) {
+                int capacity = size * 2;
+                backupIds = Arrays.copyOf(backupIds, capacity);
+                localIds = Arrays.copyOf(localIds, capacity);
+                boxes = Arrays.copyOf(boxes, capacity);
+                lastQuizzes = Arrays.copyOf(lastQuizzes, capacity);
+            }
+            backupIds[size] = backupId;
+            localIds[size] = localId;
+            boxes[size] = box;
+            lastQuizzes[size] = lastQuiz;
+            size++;
+        }
+
+        int find(int backupId) throws BackupFormatException {
+            int index = Arrays.binarySearch(backupIds, 0, size, backupId);
+            if (index < 0) {
+                throw new BackupFormatException("Backup has a question about a state it does not contain");
+            }
+            return localIds[index];
+        }
+    }
+
+    /**
+     * Sums over the restored quizzes for quiz_stats
+     */
+    private static final class Totals {
+        int quizzes = 0;
+        long questions = 0;
+        long answered = 0;
+        long correct = 0;
+        int bestPercent = 0;
+
+        void add(int score, int questionsAnswered, int questionCount) {
+            quizzes++;
+            questions += questionCount;
+            answered += questionsAnswered;
+            correct += score;
+            if (questionCount > 0) {
+                bestPercent = Math.max(bestPercent, score * 100 / questionCount);
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package edu.uga.cs.statecapitalsquiz.database;
+
+import android.database.sqlite.SQLiteDatabase;
+
+/**
+ * One step of a schema upgrade, from {@link #startVersion} to {@link #endVersion}.
+ *
+ * <p>Steps must preserve existing data: alter or rebuild tables instead of dropping
+ * them. They run inside the transaction SQLiteOpenHelper opens for onCreate/onUpgrade,
+ * so a failing step leaves the database at its previous version.</p>
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public abstract class Migration {
+
+    public final int startVersion;
+    public final int endVersion;
+
+    /**
+     * Constructor
+     *
+     * @param startVersion Schema version this step upgrades from
+     * @param endVersion Schema version this step upgrades to
+     */
+    protected Migration(int startVersion, int endVersion) {
+        this.startVersion = startVersion;
+        this.endVersion = endVersion;
+    }
+
+    /**
+     * Apply this step
+     *
+     * @param db Database at startVersion
+     */
+    public abstract void migrate(SQLiteDatabase db);
+}
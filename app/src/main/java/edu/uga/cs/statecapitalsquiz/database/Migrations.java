@@ -0,0 +1,315 @@
+package edu.uga.cs.statecapitalsquiz.database;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+/**
+ * Ordered list of every schema migration.
+ *
+ * <p>To change the schema: add a new {@link Migration} from the current version to the
+ * next one at the end of {@link #ALL}, bump {@code QuizDBHelper.DATABASE_VERSION}, and add
+ * a fixture of the old version to the migration tests. Never edit a step that has
+ * already shipped.</p>
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public final class Migrations {
+
+    private static final String TAG = "Migrations";
+
+    // getCurrentQuiz(): WHERE date IS NULL ORDER BY id DESC LIMIT 1
+    private static final String CREATE_IN_PROGRESS_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_quizzes_in_progress ON "
+                    + QuizDBHelper.TABLE_QUIZZES + " (" + QuizDBHelper.QUIZZES_ID + ") "
+                    + "WHERE " + QuizDBHelper.QUIZZES_DATE + " IS NULL";
+
+    // History paging: WHERE date IS NOT NULL ORDER BY date, id
+    private static final String CREATE_COMPLETED_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_quizzes_completed ON "
+                    + QuizDBHelper.TABLE_QUIZZES + " (" + QuizDBHelper.QUIZZES_DATE + ", "
+                    + QuizDBHelper.QUIZZES_ID + ") "
+                    + "WHERE " + QuizDBHelper.QUIZZES_DATE + " IS NOT NULL";
+
+    /**
+     * v2: indexes for the in-progress quiz lookup and the completed-quiz history
+     */
+    static final Migration MIGRATION_1_2 = new Migration(1, 2) {
+        @Override
+        public void migrate(SQLiteDatabase db) {
+            db.execSQL(CREATE_IN_PROGRESS_INDEX);
+            db.execSQL(CREATE_COMPLETED_INDEX);
+        }
+    };
+
+    /**
+     * v3: questions move out of the fixed state1_id..state6_id columns into
+     * quiz_questions, one row per (quiz_id, position), so quizzes can have any length.
+     *
+     * <p>Version 1 quizzes did not record choice order or answers, so their questions
+     * are stored with the capital first (correct_index 0) and no answer.</p>
+     */
+    static final Migration MIGRATION_2_3 = new Migration(2, 3) {
+        @Override
+        public void migrate(SQLiteDatabase db) {
+            db.execSQL("CREATE TABLE " + QuizDBHelper.TABLE_QUIZ_QUESTIONS + " ("
+                    + QuizDBHelper.QUESTIONS_QUIZ_ID + " INTEGER NOT NULL, "
+                    + QuizDBHelper.QUESTIONS_POSITION + " INTEGER NOT NULL, "
+                    + QuizDBHelper.QUESTIONS_STATE_ID + " INTEGER NOT NULL, "
+                    + QuizDBHelper.QUESTIONS_CHOICES + " TEXT NOT NULL, "
+                    + QuizDBHelper.QUESTIONS_CORRECT_INDEX + " INTEGER NOT NULL, "
+                    + QuizDBHelper.QUESTIONS_ANSWER_INDEX + " INTEGER, "
+                    + "PRIMARY KEY (" + QuizDBHelper.QUESTIONS_QUIZ_ID + ", " + QuizDBHelper.QUESTIONS_POSITION + "), "
+                    + "FOREIGN KEY(" + QuizDBHelper.QUESTIONS_QUIZ_ID + ") REFERENCES "
+                    + QuizDBHelper.TABLE_QUIZZES + "(" + QuizDBHelper.QUIZZES_ID + ") ON DELETE CASCADE, "
+                    + "FOREIGN KEY(" + QuizDBHelper.QUESTIONS_STATE_ID + ") REFERENCES "
+                    + QuizDBHelper.TABLE_STATES + "(" + QuizDBHelper.STATES_ID + ")"
+                    + ") WITHOUT ROWID");
+            // Per-state analytics: how often each state is asked and answered correctly
+            db.execSQL("CREATE INDEX idx_quiz_questions_state ON "
+                    + QuizDBHelper.TABLE_QUIZ_QUESTIONS + " (" + QuizDBHelper.QUESTIONS_STATE_ID + ")");
+
+            String[] legacyColumns = {
+                    QuizDBHelper.QUIZZES_STATE1, QuizDBHelper.QUIZZES_STATE2, QuizDBHelper.QUIZZES_STATE3,
+                    QuizDBHelper.QUIZZES_STATE4, QuizDBHelper.QUIZZES_STATE5, QuizDBHelper.QUIZZES_STATE6
+            };
+            for (int position = 0; position < legacyColumns.length; position++) {
+                String column = legacyColumns[position];
+                db.execSQL("INSERT INTO " + QuizDBHelper.TABLE_QUIZ_QUESTIONS + " ("
+                        + QuizDBHelper.QUESTIONS_QUIZ_ID + ", " + QuizDBHelper.QUESTIONS_POSITION + ", "
+                        + QuizDBHelper.QUESTIONS_STATE_ID + ", " + QuizDBHelper.QUESTIONS_CHOICES + ", "
+                        + QuizDBHelper.QUESTIONS_CORRECT_INDEX + ") "
+                        + "SELECT z." + QuizDBHelper.QUIZZES_ID + ", " + position + ", z." + column + ", "
+                        + "s." + QuizDBHelper.STATES_CAPITAL + " || char(31) || s." + QuizDBHelper.STATES_CITY2
+                        + " || char(31) || s." + QuizDBHelper.STATES_CITY3 + ", 0 "
+                        + "FROM " + QuizDBHelper.TABLE_QUIZZES + " z JOIN " + QuizDBHelper.TABLE_STATES + " s "
+                        + "ON s." + QuizDBHelper.STATES_ID + " = z." + column);
+            }
+
+            // Rebuild quizzes without the state columns (SQLite cannot drop columns here)
+            db.execSQL("CREATE TABLE quizzes_new ("
+                    + QuizDBHelper.QUIZZES_ID + " INTEGER PRIMARY KEY AUTOINCREMENT, "
+                    + QuizDBHelper.QUIZZES_DATE + " TEXT, "
+                    + QuizDBHelper.QUIZZES_SCORE + " INTEGER DEFAULT 0, "
+                    + QuizDBHelper.QUIZZES_QUESTIONS_ANSWERED + " INTEGER DEFAULT 0, "
+                    + QuizDBHelper.QUIZZES_QUESTION_COUNT + " INTEGER NOT NULL DEFAULT 6"
+                    + ")");
+            db.execSQL("INSERT INTO quizzes_new ("
+                    + QuizDBHelper.QUIZZES_ID + ", " + QuizDBHelper.QUIZZES_DATE + ", "
+                    + QuizDBHelper.QUIZZES_SCORE + ", " + QuizDBHelper.QUIZZES_QUESTIONS_ANSWERED + ", "
+                    + QuizDBHelper.QUIZZES_QUESTION_COUNT + ") "
+                    + "SELECT " + QuizDBHelper.QUIZZES_ID + ", " + QuizDBHelper.QUIZZES_DATE + ", "
+                    + QuizDBHelper.QUIZZES_SCORE + ", " + QuizDBHelper.QUIZZES_QUESTIONS_ANSWERED + ", 6 "
+                    + "FROM " + QuizDBHelper.TABLE_QUIZZES);
+            db.execSQL("DROP TABLE " + QuizDBHelper.TABLE_QUIZZES);
+            db.execSQL("ALTER TABLE quizzes_new RENAME TO " + QuizDBHelper.TABLE_QUIZZES);
+
+            // Dropping the old table dropped its indexes
+            db.execSQL(CREATE_IN_PROGRESS_INDEX);
+            db.execSQL(CREATE_COMPLETED_INDEX);
+        }
+    };
+
+    /**
+     * 3 -> 4: capital coordinates for the distractor engine. Existing rows get
+     * NULLs; the splash screen fills them in from the CSV asset on next launch.
+     */
+    static final Migration MIGRATION_3_4 = new Migration(3, 4) {
+        @Override
+        public void migrate(SQLiteDatabase db) {
+            db.execSQL("ALTER TABLE " + QuizDBHelper.TABLE_STATES
+                    + " ADD COLUMN " + QuizDBHelper.STATES_LATITUDE + " REAL");
+            db.execSQL("ALTER TABLE " + QuizDBHelper.TABLE_STATES
+                    + " ADD COLUMN " + QuizDBHelper.STATES_LONGITUDE + " REAL");
+        }
+    };
+
+    /**
+     * 4 -> 5: aggregate statistics tables, kept up to date by QuizData.completeQuiz()
+     * in the same transaction that completes a quiz, so the stats screen never scans
+     * the quiz history. Existing completed quizzes are counted in once here.
+     *
+     * <p>Quizzes migrated from version 1 have no recorded answers, so they add to the
+     * overall totals (from their stored score) but not to any state's correct count.</p>
+     */
+    static final Migration MIGRATION_4_5 = new Migration(4, 5) {
+        @Override
+        public void migrate(SQLiteDatabase db) {
+            db.execSQL("CREATE TABLE " + QuizDBHelper.TABLE_STATE_STATS + " ("
+                    + QuizDBHelper.STATE_STATS_STATE_ID + " INTEGER PRIMARY KEY, "
+                    + QuizDBHelper.STATE_STATS_ATTEMPTS + " INTEGER NOT NULL DEFAULT 0, "
+                    + QuizDBHelper.STATE_STATS_CORRECT + " INTEGER NOT NULL DEFAULT 0, "
+                    + "FOREIGN KEY(" + QuizDBHelper.STATE_STATS_STATE_ID + ") REFERENCES "
+                    + QuizDBHelper.TABLE_STATES + "(" + QuizDBHelper.STATES_ID + ")"
+                    + ")");
+            db.execSQL("CREATE TABLE " + QuizDBHelper.TABLE_QUIZ_STATS + " ("
+                    + QuizDBHelper.QUIZ_STATS_ID + " INTEGER PRIMARY KEY CHECK ("
+                    + QuizDBHelper.QUIZ_STATS_ID + " = 0), "
+                    + QuizDBHelper.QUIZ_STATS_QUIZZES + " INTEGER NOT NULL DEFAULT 0, "
+                    + QuizDBHelper.QUIZ_STATS_QUESTIONS + " INTEGER NOT NULL DEFAULT 0, "
+                    + QuizDBHelper.QUIZ_STATS_ANSWERED + " INTEGER NOT NULL DEFAULT 0, "
+                    + QuizDBHelper.QUIZ_STATS_CORRECT + " INTEGER NOT NULL DEFAULT 0, "
+                    + QuizDBHelper.QUIZ_STATS_BEST_PERCENT + " INTEGER NOT NULL DEFAULT 0"
+                    + ")");
+            db.execSQL("CREATE TABLE " + QuizDBHelper.TABLE_DAILY_STATS + " ("
+                    + QuizDBHelper.DAILY_STATS_DAY + " TEXT PRIMARY KEY, "
+                    + QuizDBHelper.DAILY_STATS_QUIZZES + " INTEGER NOT NULL DEFAULT 0, "
+                    + QuizDBHelper.DAILY_STATS_QUESTIONS + " INTEGER NOT NULL DEFAULT 0, "
+                    + QuizDBHelper.DAILY_STATS_CORRECT + " INTEGER NOT NULL DEFAULT 0"
+                    + ") WITHOUT ROWID");
+
+            String completed = QuizDBHelper.QUIZZES_DATE + " IS NOT NULL";
+            db.execSQL("INSERT INTO " + QuizDBHelper.TABLE_STATE_STATS + " ("
+                    + QuizDBHelper.STATE_STATS_STATE_ID + ", " + QuizDBHelper.STATE_STATS_ATTEMPTS + ", "
+                    + QuizDBHelper.STATE_STATS_CORRECT + ") "
+                    + "SELECT q." + QuizDBHelper.QUESTIONS_STATE_ID + ", COUNT(*), "
+                    + "SUM(CASE WHEN q." + QuizDBHelper.QUESTIONS_ANSWER_INDEX + " = q."
+                    + QuizDBHelper.QUESTIONS_CORRECT_INDEX + " THEN 1 ELSE 0 END) "
+                    + "FROM " + QuizDBHelper.TABLE_QUIZ_QUESTIONS + " q JOIN " + QuizDBHelper.TABLE_QUIZZES + " z "
+                    + "ON z." + QuizDBHelper.QUIZZES_ID + " = q." + QuizDBHelper.QUESTIONS_QUIZ_ID + " "
+                    + "WHERE z." + completed + " GROUP BY q." + QuizDBHelper.QUESTIONS_STATE_ID);
+            db.execSQL("INSERT INTO " + QuizDBHelper.TABLE_QUIZ_STATS + " ("
+                    + QuizDBHelper.QUIZ_STATS_ID + ", " + QuizDBHelper.QUIZ_STATS_QUIZZES + ", "
+                    + QuizDBHelper.QUIZ_STATS_QUESTIONS + ", " + QuizDBHelper.QUIZ_STATS_ANSWERED + ", "
+                    + QuizDBHelper.QUIZ_STATS_CORRECT + ", " + QuizDBHelper.QUIZ_STATS_BEST_PERCENT + ") "
+                    + "SELECT 0, COUNT(*), "
+                    + "IFNULL(SUM(" + QuizDBHelper.QUIZZES_QUESTION_COUNT + "), 0), "
+                    + "IFNULL(SUM(" + QuizDBHelper.QUIZZES_QUESTIONS_ANSWERED + "), 0), "
+                    + "IFNULL(SUM(" + QuizDBHelper.QUIZZES_SCORE + "), 0), "
+                    + "IFNULL(MAX(" + QuizDBHelper.QUIZZES_SCORE + " * 100 / NULLIF("
+                    + QuizDBHelper.QUIZZES_QUESTION_COUNT + ", 0)), 0) "
+                    + "FROM " + QuizDBHelper.TABLE_QUIZZES + " WHERE " + completed);
+            db.execSQL("INSERT INTO " + QuizDBHelper.TABLE_DAILY_STATS + " ("
+                    + QuizDBHelper.DAILY_STATS_DAY + ", " + QuizDBHelper.DAILY_STATS_QUIZZES + ", "
+                    + QuizDBHelper.DAILY_STATS_QUESTIONS + ", " + QuizDBHelper.DAILY_STATS_CORRECT + ") "
+                    + "SELECT substr(" + QuizDBHelper.QUIZZES_DATE + ", 1, 10), COUNT(*), "
+                    + "SUM(" + QuizDBHelper.QUIZZES_QUESTION_COUNT + "), SUM(" + QuizDBHelper.QUIZZES_SCORE + ") "
+                    + "FROM " + QuizDBHelper.TABLE_QUIZZES + " WHERE " + completed
+                    + " GROUP BY substr(" + QuizDBHelper.QUIZZES_DATE + ", 1, 10)");
+        }
+    };
+
+    /**
+     * 5 -> 6: spaced-repetition schedule per state (Leitner box and the number of the
+     * last quiz that asked it), updated by QuizData.completeQuiz() with the stats.
+     *
+     * <p>Existing boxes are estimated from each state's accuracy so far, and every
+     * state with stats counts as asked in the latest quiz. The default box must match
+     * StateScheduler.NEW_BOX.</p>
+     */
+    static final Migration MIGRATION_5_6 = new Migration(5, 6) {
+        @Override
+        public void migrate(SQLiteDatabase db) {
+            db.execSQL("ALTER TABLE " + QuizDBHelper.TABLE_STATE_STATS
+                    + " ADD COLUMN " + QuizDBHelper.STATE_STATS_BOX + " INTEGER NOT NULL DEFAULT 2");
+            db.execSQL("ALTER TABLE " + QuizDBHelper.TABLE_STATE_STATS
+                    + " ADD COLUMN " + QuizDBHelper.STATE_STATS_LAST_QUIZ + " INTEGER NOT NULL DEFAULT 0");
+
+            String attempts = QuizDBHelper.STATE_STATS_ATTEMPTS;
+            String correct = QuizDBHelper.STATE_STATS_CORRECT;
+            db.execSQL("UPDATE " + QuizDBHelper.TABLE_STATE_STATS + " SET "
+                    + QuizDBHelper.STATE_STATS_BOX + " = CASE"
+                    + " WHEN " + correct + " = " + attempts + " THEN 3"
+                    + " WHEN " + correct + " * 2 >= " + attempts + " THEN 2"
+                    + " ELSE 0 END, "
+                    + QuizDBHelper.STATE_STATS_LAST_QUIZ + " = (SELECT " + QuizDBHelper.QUIZ_STATS_QUIZZES
+                    + " FROM " + QuizDBHelper.TABLE_QUIZ_STATS + " WHERE " + QuizDBHelper.QUIZ_STATS_ID + " = 0)");
+        }
+    };
+
+    /**
+     * 6 -> 7: decks. The states table becomes the item table of every deck, with
+     * a deck column naming each row's deck; existing rows belong to the US states
+     * deck. A deck is loaded with WHERE deck = ? ORDER BY state_name, which the new
+     * index answers without reading other decks or sorting.
+     *
+     * <p>The default must match Deck.DEFAULT_ID.</p>
+     */
+    static final Migration MIGRATION_6_7 = new Migration(6, 7) {
+        @Override
+        public void migrate(SQLiteDatabase db) {
+            db.execSQL("ALTER TABLE " + QuizDBHelper.TABLE_STATES
+                    + " ADD COLUMN " + QuizDBHelper.STATES_DECK + " TEXT NOT NULL DEFAULT 'us_states'");
+            db.execSQL("CREATE INDEX idx_states_deck ON " + QuizDBHelper.TABLE_STATES + " ("
+                    + QuizDBHelper.STATES_DECK + ", " + QuizDBHelper.STATES_NAME + ")");
+        }
+    };
+
+    /**
+     * 7 -> 8: full-text search index over state and capital names, for typeahead
+     * lookups of every deck.
+     *
+     * <p>states_fts is an FTS4 table that indexes the states table in place (external
+     * content, docid = states.id) instead of keeping a second copy of the names.
+     * Triggers keep it in sync with every insert, delete and name change, whichever
+     * code path writes the row: the importer, the seed copy or a migration. The
+     * unicode61 tokenizer folds case and drops accents, and the prefix indexes answer
+     * prefix terms of up to 3 characters without scanning every word that starts with
+     * them, which keeps one-letter typeahead fast on large catalogs.</p>
+     */
+    static final Migration MIGRATION_7_8 = new Migration(7, 8) {
+        @Override
+        public void migrate(SQLiteDatabase db) {
+            String fts = QuizDBHelper.TABLE_STATES_FTS;
+            String names = QuizDBHelper.STATES_NAME + ", " + QuizDBHelper.STATES_CAPITAL;
+            String newRow = "new." + QuizDBHelper.STATES_ID + ", new." + QuizDBHelper.STATES_NAME
+                    + ", new." + QuizDBHelper.STATES_CAPITAL;
+            String deleteOld = "DELETE FROM " + fts + " WHERE docid = old." + QuizDBHelper.STATES_ID + "; ";
+            String insertNew = "INSERT INTO " + fts + " (docid, " + names + ") VALUES (" + newRow + "); ";
+
+            db.execSQL("CREATE VIRTUAL TABLE " + fts + " USING fts4("
+                    + "content=\"" + QuizDBHelper.TABLE_STATES + "\", " + names + ", "
+                    + "prefix=\"1,2,3\", tokenize=unicode61 \"remove_diacritics=1\")");
+            db.execSQL("CREATE TRIGGER " + fts + "_before_update BEFORE UPDATE OF " + names
+                    + " ON " + QuizDBHelper.TABLE_STATES + " BEGIN " + deleteOld + "END");
+            db.execSQL("CREATE TRIGGER " + fts + "_before_delete BEFORE DELETE"
+                    + " ON " + QuizDBHelper.TABLE_STATES + " BEGIN " + deleteOld + "END");
+            db.execSQL("CREATE TRIGGER " + fts + "_after_update AFTER UPDATE OF " + names
+                    + " ON " + QuizDBHelper.TABLE_STATES + " BEGIN " + insertNew + "END");
+            db.execSQL("CREATE TRIGGER " + fts + "_after_insert AFTER INSERT"
+                    + " ON " + QuizDBHelper.TABLE_STATES + " BEGIN " + insertNew + "END");
+            // Index the rows already there
+            db.execSQL("INSERT INTO " + fts + " (" + fts + ") VALUES ('rebuild')");
+        }
+    };
+
+    static final Migration[] ALL = {
+            MIGRATION_1_2,
+            MIGRATION_2_3,
+            MIGRATION_3_4,
+            MIGRATION_4_5,
+            MIGRATION_5_6,
+            MIGRATION_6_7,
+            MIGRATION_7_8
+    };
+
+    private Migrations() {
+    }
+
+    /**
+     * Apply every migration between two versions, in order
+     *
+     * @param db Database at fromVersion
+     * @param fromVersion Current schema version
+     * @param toVersion Target schema version
+     * @throws IllegalStateException if no chain of migrations connects the versions
+     */
+    static void migrate(SQLiteDatabase db, int fromVersion, int toVersion) {
+        int version = fromVersion;
+        for (Migration migration : ALL) {
+            if (version >= toVersion) {
+                break;
+            }
+            if (migration.startVersion == version) {
+                Log.d(TAG, "Migrating database " + migration.startVersion + " -> " + migration.endVersion);
+                migration.migrate(db);
+                version = migration.endVersion;
+            }
+        }
+
+        if (version != toVersion) {
+            throw new IllegalStateException("No migration path from version "
+                    + fromVersion + " to " + toVersion);
+        }
+    }
+}
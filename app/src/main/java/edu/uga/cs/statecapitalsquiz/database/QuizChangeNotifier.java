@@ -0,0 +1,100 @@
+package edu.uga.cs.statecapitalsquiz.database;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Process-wide change notifications for the completed quizzes (the history).
+ *
+ * <p>{@link QuizData} reports every write that completes, restores or updates a
+ * completed quiz. Writes to the quiz in progress are not reported.
+ * A write inside a {@link DatabaseManager#write(DatabaseManager.Session)} session is
+ * reported once the session commits, so an observer that queries in response always
+ * sees the change. Observers are called on the UI thread, and any number of writes
+ * made before they run are coalesced into one call.</p>
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public final class QuizChangeNotifier {
+
+    private static QuizChangeNotifier instance;
+
+    /**
+     * Called on the UI thread after completed quizzes were added or updated
+     */
+    public interface Observer {
+        void onQuizzesChanged();
+    }
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    // Only touched on the UI thread
+    private final List<Observer> observers = new ArrayList<>();
+    // Set while a delivery is posted but has not run yet
+    private final AtomicBoolean pending = new AtomicBoolean(false);
+
+    private QuizChangeNotifier() {
+    }
+
+    /**
+     * @return The process-wide notifier
+     */
+    public static synchronized QuizChangeNotifier getInstance() {
+        if (instance == null) {
+            instance = new QuizChangeNotifier();
+        }
+        return instance;
+    }
+
+    /**
+     * Observe changes until the owner reaches ON_DESTROY. Must be called on the UI
+     * thread. For fragments, pass {@code getViewLifecycleOwner()} so the observer
+     * follows the view.
+     *
+     * @param owner Lifecycle to follow
+     * @param observer Observer to call
+     */
+    public void observe(@NonNull LifecycleOwner owner, @NonNull Observer observer) {
+        Lifecycle lifecycle = owner.getLifecycle();
+        if (lifecycle.getCurrentState() == Lifecycle.State.DESTROYED) {
+            return;
+        }
+        observers.add(observer);
+        lifecycle.addObserver(new LifecycleEventObserver() {
+            @Override
+            public void onStateChanged(@NonNull LifecycleOwner source, @NonNull Lifecycle.Event event) {
+                if (event == Lifecycle.Event.ON_DESTROY) {
+                    observers.remove(observer);
+                    source.getLifecycle().removeObserver(this);
+                }
+            }
+        });
+    }
+
+    /**
+     * Tell observers that completed quizzes changed. Safe to call from any thread; the data
+     * must already be committed.
+     */
+    void notifyQuizzesChanged() {
+        if (pending.compareAndSet(false, true)) {
+            mainHandler.post(this::deliver);
+        }
+    }
+
+    private void deliver() {
+        pending.set(false);
+        // Copied so an observer may stop observing while being called
+        for (Observer observer : new ArrayList<>(observers)) {
+            observer.onQuizzesChanged();
+        }
+    }
+}
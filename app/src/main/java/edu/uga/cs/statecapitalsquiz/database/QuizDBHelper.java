@@ -1,20 +1,57 @@
 package edu.uga.cs.statecapitalsquiz.database;
 
 import android.content.Context;
+import android.database.Cursor;
+import android.database.SQLException;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
+import android.util.Log;
+
+import androidx.annotation.VisibleForTesting;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import edu.uga.cs.statecapitalsquiz.BuildConfig;
 
 /**
  * Database helper for managing SQLite database creation and upgrades.
- * Creates two tables: states and quizzes.
+ * Creates three tables: states, quizzes and quiz_questions, plus the aggregate
+ * statistics tables state_stats, quiz_stats and daily_stats. The states table holds
+ * the items of every deck, partitioned by its deck column, and is indexed for name
+ * search by the full-text table states_fts.
+ *
+ * <p>onCreate() builds the version 1 schema and then replays every step in
+ * {@link Migrations}, so fresh installs and upgraded installs end up with exactly
+ * the same schema, and upgrades never drop user data.</p>
+ *
+ * <p>Foreign keys are enforced once the database is open, so deleting a quiz
+ * deletes its questions. Migrations run before that, with enforcement off: their
+ * table rebuilds drop tables that other tables still reference.</p>
+ *
+ * <p>On first launch the database is built from a prebuilt seed file
+ * ({@code assets/databases/state_seed.db}, compiled from the CSV at build time)
+ * instead of parsing the CSV on the device. If the seed is missing or its
+ * version does not match, the helper falls back to an empty database and the
+ * splash screen imports the CSV instead. The seed holds only the default deck;
+ * other decks are imported from their CSV when first played.</p>
  *
  * @author StateCapitalsQuiz Team
  * @version 1.0
  */
 public class QuizDBHelper extends SQLiteOpenHelper {
 
+    private static final String TAG = "QuizDBHelper";
+
     private static final String DATABASE_NAME = "state_quiz.db";
-    private static final int DATABASE_VERSION = 1;
+    private static final int DATABASE_VERSION = 8;
+
+    // Prebuilt seed database generated by the compileSeedDatabase Gradle task
+    private static final String SEED_ASSET = "databases/state_seed.db";
+    private static final String SEED_FILE_NAME = "state_seed.db";
 
     // States table
     public static final String TABLE_STATES = "states";
@@ -26,6 +63,14 @@ public class QuizDBHelper extends SQLiteOpenHelper {
     public static final String STATES_STATEHOOD_YEAR = "statehood_year";
     public static final String STATES_CAPITAL_SINCE = "capital_since_year";
     public static final String STATES_CAPITAL_RANK = "capital_rank";
+    public static final String STATES_LATITUDE = "latitude";
+    public static final String STATES_LONGITUDE = "longitude";
+    // Deck the row belongs to (Deck.getId()); each deck is one partition of the table
+    public static final String STATES_DECK = "deck";
+
+    // Full-text index over state and capital names (FTS4, docid = states.id),
+    // kept in sync with the states table by triggers
+    public static final String TABLE_STATES_FTS = "states_fts";
 
     // Quizzes table
     public static final String TABLE_QUIZZES = "quizzes";
@@ -33,14 +78,56 @@ public class QuizDBHelper extends SQLiteOpenHelper {
     public static final String QUIZZES_DATE = "date";
     public static final String QUIZZES_SCORE = "score";
     public static final String QUIZZES_QUESTIONS_ANSWERED = "questions_answered";
-    public static final String QUIZZES_STATE1 = "state1_id";
-    public static final String QUIZZES_STATE2 = "state2_id";
-    public static final String QUIZZES_STATE3 = "state3_id";
-    public static final String QUIZZES_STATE4 = "state4_id";
-    public static final String QUIZZES_STATE5 = "state5_id";
-    public static final String QUIZZES_STATE6 = "state6_id";
-
-    // Create states table SQL
+    public static final String QUIZZES_QUESTION_COUNT = "question_count";
+
+    // Fixed question columns of the version 1 quizzes table, moved into
+    // quiz_questions by Migrations.MIGRATION_2_3
+    static final String QUIZZES_STATE1 = "state1_id";
+    static final String QUIZZES_STATE2 = "state2_id";
+    static final String QUIZZES_STATE3 = "state3_id";
+    static final String QUIZZES_STATE4 = "state4_id";
+    static final String QUIZZES_STATE5 = "state5_id";
+    static final String QUIZZES_STATE6 = "state6_id";
+
+    // Quiz questions table (one row per question, keyed by quiz and position)
+    public static final String TABLE_QUIZ_QUESTIONS = "quiz_questions";
+    public static final String QUESTIONS_QUIZ_ID = "quiz_id";
+    public static final String QUESTIONS_POSITION = "position";
+    public static final String QUESTIONS_STATE_ID = "state_id";
+    public static final String QUESTIONS_CHOICES = "choices";
+    public static final String QUESTIONS_CORRECT_INDEX = "correct_index";
+    public static final String QUESTIONS_ANSWER_INDEX = "answer_index";
+
+    // Per-state totals over completed quizzes (one row per state asked)
+    public static final String TABLE_STATE_STATS = "state_stats";
+    public static final String STATE_STATS_STATE_ID = "state_id";
+    public static final String STATE_STATS_ATTEMPTS = "attempts";
+    public static final String STATE_STATS_CORRECT = "correct";
+    // Spaced-repetition schedule, see StateScheduler
+    public static final String STATE_STATS_BOX = "box";
+    public static final String STATE_STATS_LAST_QUIZ = "last_quiz";
+
+    // Overall totals over completed quizzes (a single row, id 0)
+    public static final String TABLE_QUIZ_STATS = "quiz_stats";
+    public static final String QUIZ_STATS_ID = "id";
+    public static final String QUIZ_STATS_QUIZZES = "quizzes_completed";
+    public static final String QUIZ_STATS_QUESTIONS = "questions_asked";
+    public static final String QUIZ_STATS_ANSWERED = "questions_answered";
+    public static final String QUIZ_STATS_CORRECT = "correct_answers";
+    public static final String QUIZ_STATS_BEST_PERCENT = "best_percent";
+
+    // Totals per completion day ("yyyy-MM-dd"), for trends
+    public static final String TABLE_DAILY_STATS = "daily_stats";
+    public static final String DAILY_STATS_DAY = "day";
+    public static final String DAILY_STATS_QUIZZES = "quizzes_completed";
+    public static final String DAILY_STATS_QUESTIONS = "questions_asked";
+    public static final String DAILY_STATS_CORRECT = "correct_answers";
+
+    // Separates the answer choices stored in one quiz_questions.choices value
+    // (ASCII unit separator, char(31) in SQL)
+    public static final char CHOICE_SEPARATOR = '\u001F';
+
+    // Create states table SQL (version 1; later changes live in Migrations)
     private static final String CREATE_STATES_TABLE =
             "CREATE TABLE " + TABLE_STATES + " (" +
                     STATES_ID + " INTEGER PRIMARY KEY AUTOINCREMENT, " +
@@ -53,7 +140,7 @@ public class QuizDBHelper extends SQLiteOpenHelper {
                     STATES_CAPITAL_RANK + " INTEGER" +
                     ")";
 
-    // Create quizzes table SQL
+    // Create quizzes table SQL (version 1; later changes live in Migrations)
     private static final String CREATE_QUIZZES_TABLE =
             "CREATE TABLE " + TABLE_QUIZZES + " (" +
                     QUIZZES_ID + " INTEGER PRIMARY KEY AUTOINCREMENT, " +
@@ -74,13 +161,55 @@ public class QuizDBHelper extends SQLiteOpenHelper {
                     "FOREIGN KEY(" + QUIZZES_STATE6 + ") REFERENCES " + TABLE_STATES + "(" + STATES_ID + ")" +
                     ")";
 
+    // Copy every seed row into the (empty) states table in one statement; the rows
+    // take the deck column's default, the US states deck, and the search index
+    // triggers add them to states_fts
+    private static final String COPY_SEED_STATES =
+            "INSERT INTO " + TABLE_STATES + " (" +
+                    STATES_NAME + ", " + STATES_CAPITAL + ", " + STATES_CITY2 + ", " + STATES_CITY3 + ", " +
+                    STATES_STATEHOOD_YEAR + ", " + STATES_CAPITAL_SINCE + ", " + STATES_CAPITAL_RANK + ", " +
+                    STATES_LATITUDE + ", " + STATES_LONGITUDE +
+                    ") SELECT " +
+                    "state_name, capital_city, city2, city3, statehood_year, capital_since_year, capital_rank, " +
+                    "latitude, longitude " +
+                    "FROM seed.states ORDER BY rowid";
+
+    // Only check for a missing database once per helper
+    private boolean seedChecked = false;
+
+    private final Context context;
+
     /**
      * Constructor
      *
      * @param context Application context
      */
     public QuizDBHelper(Context context) {
-        super(context, DATABASE_NAME, null, DATABASE_VERSION);
+        this(context, DATABASE_NAME);
+    }
+
+    /**
+     * Constructor for a database file other than the app's own (used by tests)
+     *
+     * @param context Application context
+     * @param name Database file name
+     */
+    @VisibleForTesting
+    QuizDBHelper(Context context, String name) {
+        super(context, name, null, DATABASE_VERSION);
+        this.context = context.getApplicationContext();
+    }
+
+    @Override
+    public SQLiteDatabase getWritableDatabase() {
+        installSeedDatabase();
+        return super.getWritableDatabase();
+    }
+
+    @Override
+    public SQLiteDatabase getReadableDatabase() {
+        installSeedDatabase();
+        return super.getReadableDatabase();
     }
 
     /**
@@ -90,15 +219,124 @@ public class QuizDBHelper extends SQLiteOpenHelper {
     public void onCreate(SQLiteDatabase db) {
         db.execSQL(CREATE_STATES_TABLE);
         db.execSQL(CREATE_QUIZZES_TABLE);
+        Migrations.migrate(db, 1, DATABASE_VERSION);
+    }
+
+    /**
+     * Enforce foreign keys after any migration. Not done in onConfigure(): the
+     * migrations run in a transaction, where the pragma cannot be switched off, and
+     * dropping the old quizzes table in 2 -> 3 would then cascade to every question.
+     */
+    @Override
+    public void onOpen(SQLiteDatabase db) {
+        super.onOpen(db);
+        if (!db.isReadOnly()) {
+            db.setForeignKeyConstraintsEnabled(true);
+        }
     }
 
     /**
-     * Called when database needs to be upgraded
+     * Called when database needs to be upgraded.
+     * Applies the migration steps in order, keeping all existing data.
      */
     @Override
     public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
-        db.execSQL("DROP TABLE IF EXISTS " + TABLE_QUIZZES);
-        db.execSQL("DROP TABLE IF EXISTS " + TABLE_STATES);
-        onCreate(db);
+        Migrations.migrate(db, oldVersion, newVersion);
+    }
+
+    /**
+     * Build the database from the prebuilt seed if it does not exist yet.
+     *
+     * <p>The seed is copied out of the APK, attached to a short-lived connection,
+     * and its rows copied into a freshly created schema with a single
+     * INSERT ... SELECT. The finished file is stamped with DATABASE_VERSION, so
+     * the normal open below sees an up-to-date database and skips onCreate().
+     * A separate connection is used because attaching a database permanently
+     * disables write-ahead logging on the connection that attached it.</p>
+     */
+    private void installSeedDatabase() {
+        synchronized (this) {
+            if (seedChecked) {
+                return;
+            }
+            seedChecked = true;
+
+            File dbFile = context.getDatabasePath(getDatabaseName());
+            if (dbFile.exists()) {
+                return;
+            }
+
+            File seedFile = new File(context.getCacheDir(), SEED_FILE_NAME);
+            SQLiteDatabase db = null;
+            try {
+                copySeedAsset(seedFile);
+
+                File parent = dbFile.getParentFile();
+                if (parent != null && !parent.exists()) {
+                    parent.mkdirs();
+                }
+
+                db = SQLiteDatabase.openOrCreateDatabase(dbFile, null);
+                db.execSQL("ATTACH DATABASE ? AS seed", new Object[]{seedFile.getPath()});
+
+                int seedVersion = getSeedVersion(db);
+                if (seedVersion != BuildConfig.SEED_DATABASE_VERSION) {
+                    Log.w(TAG, "Seed version " + seedVersion + " does not match "
+                            + BuildConfig.SEED_DATABASE_VERSION + ", skipping prebuilt data");
+                    db.close();
+                    db = null;
+                    SQLiteDatabase.deleteDatabase(dbFile);
+                    return;
+                }
+
+                db.beginTransaction();
+                try {
+                    onCreate(db);
+                    db.execSQL(COPY_SEED_STATES);
+                    db.setVersion(DATABASE_VERSION);
+                    db.setTransactionSuccessful();
+                } finally {
+                    db.endTransaction();
+                }
+                db.execSQL("DETACH DATABASE seed");
+                Log.d(TAG, "Installed prebuilt seed database");
+
+            } catch (IOException | SQLException e) {
+                Log.w(TAG, "Prebuilt seed unavailable, falling back to CSV import", e);
+                if (db != null) {
+                    db.close();
+                    db = null;
+                }
+                SQLiteDatabase.deleteDatabase(dbFile);
+            } finally {
+                if (db != null) {
+                    db.close();
+                }
+                seedFile.delete();
+            }
+        }
+    }
+
+    /**
+     * Copy the seed asset out of the APK so SQLite can open it
+     */
+    private void copySeedAsset(File target) throws IOException {
+        try (InputStream in = context.getAssets().open(SEED_ASSET);
+             OutputStream out = new FileOutputStream(target)) {
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    /**
+     * Read the version stamped into the attached seed by the build
+     */
+    private static int getSeedVersion(SQLiteDatabase db) {
+        try (Cursor cursor = db.rawQuery("PRAGMA seed.user_version", null)) {
+            return cursor.moveToFirst() ? cursor.getInt(0) : 0;
+        }
     }
-}
\ No newline at end of file
+}
@@ -3,17 +3,30 @@ package edu.uga.cs.statecapitalsquiz.database;
 import android.content.ContentValues;
 import android.content.Context;
 import android.database.Cursor;
+import android.database.DatabaseUtils;
 import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
 import android.util.Log;
 
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.List;
 import java.util.Random;
-import java.util.Set;
 
 import edu.uga.cs.statecapitalsquiz.models.Quiz;
+import edu.uga.cs.statecapitalsquiz.models.QuizQuestion;
+import edu.uga.cs.statecapitalsquiz.models.QuizStats;
 import edu.uga.cs.statecapitalsquiz.models.StateItem;
+import edu.uga.cs.statecapitalsquiz.models.StateTable;
+import edu.uga.cs.statecapitalsquiz.utils.BackupReader;
+import edu.uga.cs.statecapitalsquiz.utils.BackupWriter;
+import edu.uga.cs.statecapitalsquiz.utils.CSVParser;
+import edu.uga.cs.statecapitalsquiz.utils.LatencyTimer;
+import edu.uga.cs.statecapitalsquiz.utils.Metrics;
+import edu.uga.cs.statecapitalsquiz.utils.RandomSampler;
+import edu.uga.cs.statecapitalsquiz.utils.SearchQuery;
+import edu.uga.cs.statecapitalsquiz.utils.StateScheduler;
 
 /**
  * Database operations class for CRUD operations on states and quizzes.
@@ -26,49 +39,213 @@ public class QuizData {
 
     private static final String TAG = "QuizData";
 
+    // One latency timer per query, see Metrics
+    private static final LatencyTimer IS_DECK_EMPTY_TIMER =
+            Metrics.timer(Metrics.DB_QUERY_PREFIX + "isDeckEmpty");
+    private static final LatencyTimer INSERT_STATES_TIMER =
+            Metrics.timer(Metrics.DB_QUERY_PREFIX + "insertStates");
+    private static final LatencyTimer GET_STATE_TABLE_TIMER =
+            Metrics.timer(Metrics.DB_QUERY_PREFIX + "getStateTable");
+    private static final LatencyTimer SELECT_RANDOM_STATES_TIMER =
+            Metrics.timer(Metrics.DB_QUERY_PREFIX + "selectRandomStates");
+    private static final LatencyTimer CREATE_NEW_QUIZ_TIMER =
+            Metrics.timer(Metrics.DB_QUERY_PREFIX + "createNewQuiz");
+    private static final LatencyTimer UPDATE_ANSWER_TIMER =
+            Metrics.timer(Metrics.DB_QUERY_PREFIX + "updateAnswer");
+    private static final LatencyTimer REFRESH_QUIZ_PROGRESS_TIMER =
+            Metrics.timer(Metrics.DB_QUERY_PREFIX + "refreshQuizProgress");
+    private static final LatencyTimer COMPLETE_QUIZ_TIMER =
+            Metrics.timer(Metrics.DB_QUERY_PREFIX + "completeQuiz");
+    private static final LatencyTimer GET_QUIZ_QUESTIONS_TIMER =
+            Metrics.timer(Metrics.DB_QUERY_PREFIX + "getQuizQuestions");
+    private static final LatencyTimer QUERY_QUIZ_WITH_STATES_TIMER =
+            Metrics.timer(Metrics.DB_QUERY_PREFIX + "queryQuizWithStates");
+    private static final LatencyTimer GET_ALL_COMPLETED_QUIZZES_TIMER =
+            Metrics.timer(Metrics.DB_QUERY_PREFIX + "getAllCompletedQuizzes");
+    private static final LatencyTimer GET_COMPLETED_QUIZZES_PAGE_TIMER =
+            Metrics.timer(Metrics.DB_QUERY_PREFIX + "getCompletedQuizzesPage");
+    private static final LatencyTimer GET_STATS_TIMER =
+            Metrics.timer(Metrics.DB_QUERY_PREFIX + "getStats");
+    private static final LatencyTimer LOAD_SCHEDULER_TIMER =
+            Metrics.timer(Metrics.DB_QUERY_PREFIX + "loadScheduler");
+    private static final LatencyTimer BACKUP_HISTORY_TIMER =
+            Metrics.timer(Metrics.DB_QUERY_PREFIX + "backupHistory");
+    private static final LatencyTimer RESTORE_HISTORY_TIMER =
+            Metrics.timer(Metrics.DB_QUERY_PREFIX + "restoreHistory");
+    private static final LatencyTimer SEARCH_STATES_TIMER =
+            Metrics.timer(Metrics.DB_QUERY_PREFIX + "searchStates");
+
+    // Number of weakest states and recent days on the stats screen
+    private static final int STATS_WEAKEST_STATES = 5;
+    private static final int STATS_RECENT_DAYS = 7;
+
+    // Columns shown in the history list
+    private static final String[] HISTORY_PROJECTION = {
+            QuizDBHelper.QUIZZES_ID,
+            QuizDBHelper.QUIZZES_DATE,
+            QuizDBHelper.QUIZZES_SCORE,
+            QuizDBHelper.QUIZZES_QUESTIONS_ANSWERED,
+            QuizDBHelper.QUIZZES_QUESTION_COUNT
+    };
+
+    static final String INSERT_QUESTION =
+            "INSERT INTO " + QuizDBHelper.TABLE_QUIZ_QUESTIONS + " (" +
+                    QuizDBHelper.QUESTIONS_QUIZ_ID + ", " +
+                    QuizDBHelper.QUESTIONS_POSITION + ", " +
+                    QuizDBHelper.QUESTIONS_STATE_ID + ", " +
+                    QuizDBHelper.QUESTIONS_CHOICES + ", " +
+                    QuizDBHelper.QUESTIONS_CORRECT_INDEX + ", " +
+                    QuizDBHelper.QUESTIONS_ANSWER_INDEX +
+                    ") VALUES (?, ?, ?, ?, ?, ?)";
+
+    // Aggregate updates run once per completed quiz (SQLite on API 24 has no UPSERT,
+    // so each row is created with INSERT OR IGNORE and then incremented)
+    private static final String INSERT_STATE_STATS =
+            "INSERT OR IGNORE INTO " + QuizDBHelper.TABLE_STATE_STATS + " (" +
+                    QuizDBHelper.STATE_STATS_STATE_ID + ") VALUES (?)";
+    // Also moves the state between Leitner boxes as StateScheduler.nextBox() does
+    private static final String UPDATE_STATE_STATS =
+            "UPDATE " + QuizDBHelper.TABLE_STATE_STATS + " SET " +
+                    QuizDBHelper.STATE_STATS_ATTEMPTS + " = " + QuizDBHelper.STATE_STATS_ATTEMPTS + " + 1, " +
+                    QuizDBHelper.STATE_STATS_CORRECT + " = " + QuizDBHelper.STATE_STATS_CORRECT + " + ?1, " +
+                    QuizDBHelper.STATE_STATS_BOX + " = CASE WHEN ?1 THEN MIN(" + QuizDBHelper.STATE_STATS_BOX +
+                    " + 1, " + StateScheduler.MAX_BOX + ") ELSE 0 END, " +
+                    QuizDBHelper.STATE_STATS_LAST_QUIZ + " = ?2" +
+                    " WHERE " + QuizDBHelper.STATE_STATS_STATE_ID + " = ?3";
+    private static final String INSERT_QUIZ_STATS =
+            "INSERT OR IGNORE INTO " + QuizDBHelper.TABLE_QUIZ_STATS + " (" +
+                    QuizDBHelper.QUIZ_STATS_ID + ") VALUES (0)";
+    private static final String UPDATE_QUIZ_STATS =
+            "UPDATE " + QuizDBHelper.TABLE_QUIZ_STATS + " SET " +
+                    QuizDBHelper.QUIZ_STATS_QUIZZES + " = " + QuizDBHelper.QUIZ_STATS_QUIZZES + " + 1, " +
+                    QuizDBHelper.QUIZ_STATS_QUESTIONS + " = " + QuizDBHelper.QUIZ_STATS_QUESTIONS + " + ?, " +
+                    QuizDBHelper.QUIZ_STATS_ANSWERED + " = " + QuizDBHelper.QUIZ_STATS_ANSWERED + " + ?, " +
+                    QuizDBHelper.QUIZ_STATS_CORRECT + " = " + QuizDBHelper.QUIZ_STATS_CORRECT + " + ?, " +
+                    QuizDBHelper.QUIZ_STATS_BEST_PERCENT + " = MAX(" + QuizDBHelper.QUIZ_STATS_BEST_PERCENT + ", ?)" +
+                    " WHERE " + QuizDBHelper.QUIZ_STATS_ID + " = 0";
+    private static final String INSERT_DAILY_STATS =
+            "INSERT OR IGNORE INTO " + QuizDBHelper.TABLE_DAILY_STATS + " (" +
+                    QuizDBHelper.DAILY_STATS_DAY + ") VALUES (?)";
+    private static final String UPDATE_DAILY_STATS =
+            "UPDATE " + QuizDBHelper.TABLE_DAILY_STATS + " SET " +
+                    QuizDBHelper.DAILY_STATS_QUIZZES + " = " + QuizDBHelper.DAILY_STATS_QUIZZES + " + 1, " +
+                    QuizDBHelper.DAILY_STATS_QUESTIONS + " = " + QuizDBHelper.DAILY_STATS_QUESTIONS + " + ?, " +
+                    QuizDBHelper.DAILY_STATS_CORRECT + " = " + QuizDBHelper.DAILY_STATS_CORRECT + " + ?" +
+                    " WHERE " + QuizDBHelper.DAILY_STATS_DAY + " = ?";
+
+    // Lowest accuracy first. Accuracy is computed, so no index can supply the order:
+    // this scans and sorts state_stats, which has at most one row per state (a few
+    // hundred at most across every deck) however long the history
+    private static final String WEAKEST_STATES_QUERY =
+            "SELECT s." + QuizDBHelper.STATES_NAME + ", t." + QuizDBHelper.STATE_STATS_ATTEMPTS +
+                    ", t." + QuizDBHelper.STATE_STATS_CORRECT +
+                    " FROM " + QuizDBHelper.TABLE_STATE_STATS + " t" +
+                    " JOIN " + QuizDBHelper.TABLE_STATES + " s" +
+                    " ON s." + QuizDBHelper.STATES_ID + " = t." + QuizDBHelper.STATE_STATS_STATE_ID +
+                    " WHERE t." + QuizDBHelper.STATE_STATS_ATTEMPTS + " > 0" +
+                    " ORDER BY CAST(t." + QuizDBHelper.STATE_STATS_CORRECT + " AS REAL) / t." +
+                    QuizDBHelper.STATE_STATS_ATTEMPTS + ", t." + QuizDBHelper.STATE_STATS_ATTEMPTS + " DESC" +
+                    " LIMIT " + STATS_WEAKEST_STATES;
+
+    // States whose name or capital matches a full-text expression. CROSS JOIN makes
+    // SQLite drive the lookup from the index, and with no ORDER BY it stops after LIMIT rows.
+    private static final String SEARCH_STATES_QUERY =
+            "SELECT " + StateRowMapper.columns("s") +
+                    " FROM " + QuizDBHelper.TABLE_STATES_FTS + " f" +
+                    " CROSS JOIN " + QuizDBHelper.TABLE_STATES + " s" +
+                    " ON s." + QuizDBHelper.STATES_ID + " = f.docid" +
+                    " WHERE f." + QuizDBHelper.TABLE_STATES_FTS + " MATCH ?" +
+                    " LIMIT ?";
+
+    // A quiz's questions with their states, in order
+    private static final String QUIZ_QUESTIONS_QUERY =
+            "SELECT " + StateRowMapper.columns("s") + ", " + QuizQuestionRowMapper.QUESTION_COLUMNS +
+                    " FROM " + QuizDBHelper.TABLE_QUIZ_QUESTIONS + " q" +
+                    " JOIN " + QuizDBHelper.TABLE_STATES + " s" +
+                    " ON s." + QuizDBHelper.STATES_ID + " = q." + QuizDBHelper.QUESTIONS_STATE_ID +
+                    " WHERE q." + QuizDBHelper.QUESTIONS_QUIZ_ID + " = ?" +
+                    " ORDER BY q." + QuizDBHelper.QUESTIONS_POSITION;
+
+    private final DatabaseManager manager;
     private SQLiteDatabase db;
-    private QuizDBHelper dbHelper;
-    private Context context;
+    // References this object took with open() and has not yet given back
+    private int openCount = 0;
+    // Completed quizzes changed inside a transaction that has not committed yet
+    private boolean quizzesChanged = false;
 
     /**
-     * Constructor
+     * Constructor. Cheap: the connection is shared through {@link DatabaseManager}
+     * and no context is kept.
      *
-     * @param context Application context
+     * @param context Any context
      */
     public QuizData(Context context) {
-        this.context = context;
-        this.dbHelper = new QuizDBHelper(context);
+        this.manager = DatabaseManager.getInstance(context);
+    }
+
+    /**
+     * Constructor for a session that already holds a reference to the database
+     */
+    QuizData(DatabaseManager manager, SQLiteDatabase db) {
+        this.manager = manager;
+        this.db = db;
     }
 
     /**
-     * Open database connection
+     * Take a reference to the shared database. Match with {@link #close()}.
+     * Prefer {@link #read(DatabaseManager.Session)} and {@link #write(DatabaseManager.Session)}.
      */
-    public void open() {
-        db = dbHelper.getWritableDatabase();
-        Log.d(TAG, "Database opened");
+    public synchronized void open() {
+        db = manager.acquire();
+        openCount++;
     }
 
     /**
-     * Close database connection
+     * Give back a reference taken by {@link #open()}. The shared database itself
+     * stays open for other users; calling this without a matching open() does nothing.
      */
-    public void close() {
-        if (dbHelper != null) {
-            dbHelper.close();
+    public synchronized void close() {
+        if (openCount > 0) {
+            openCount--;
+            manager.release();
         }
-        Log.d(TAG, "Database closed");
     }
 
     /**
-     * Check if states table is empty
+     * Run queries in a read session on the shared database
+     *
+     * @param work Queries to run
+     * @return The work's result
+     */
+    public <T> T read(DatabaseManager.Session<T> work) {
+        return manager.read(work);
+    }
+
+    /**
+     * Run inserts/updates in one write transaction on the shared database
+     *
+     * @param work Writes to run
+     * @return The work's result
+     */
+    public <T> T write(DatabaseManager.Session<T> work) {
+        return manager.write(work);
+    }
+
+    /**
+     * Check if a deck has not been imported yet. Reads at most one index entry,
+     * however many rows the deck or the other decks have.
      *
-     * @return true if no states in database
+     * @param deck Deck ID
+     * @return true if the deck has no rows in the database
      */
-    public boolean isDBEmpty() {
-        Cursor cursor = db.rawQuery("SELECT COUNT(*) FROM " + QuizDBHelper.TABLE_STATES, null);
-        cursor.moveToFirst();
-        int count = cursor.getInt(0);
-        cursor.close();
-        return count == 0;
+    public boolean isDeckEmpty(String deck) {
+        long start = IS_DECK_EMPTY_TIMER.start();
+        try {
+            return DatabaseUtils.longForQuery(db, "SELECT EXISTS (SELECT 1 FROM " + QuizDBHelper.TABLE_STATES
+                    + " WHERE " + QuizDBHelper.STATES_DECK + " = ?)", new String[]{deck}) == 0;
+        } finally {
+            IS_DECK_EMPTY_TIMER.stop(start);
+        }
     }
 
     // ==================== STATE OPERATIONS ====================
@@ -76,11 +253,13 @@ public class QuizData {
     /**
      * Insert a state into the database
      *
+     * @param deck ID of the deck the state belongs to
      * @param state StateItem to insert
      * @return Row ID of inserted state
      */
-    public long insertState(StateItem state) {
+    public long insertState(String deck, StateItem state) {
         ContentValues values = new ContentValues();
+        values.put(QuizDBHelper.STATES_DECK, deck);
         values.put(QuizDBHelper.STATES_NAME, state.getStateName());
         values.put(QuizDBHelper.STATES_CAPITAL, state.getCapitalCity());
         values.put(QuizDBHelper.STATES_CITY2, state.getCity2());
@@ -88,43 +267,85 @@ public class QuizData {
         values.put(QuizDBHelper.STATES_STATEHOOD_YEAR, state.getStatehoodYear());
         values.put(QuizDBHelper.STATES_CAPITAL_SINCE, state.getCapitalSinceYear());
         values.put(QuizDBHelper.STATES_CAPITAL_RANK, state.getCapitalRank());
+        if (state.hasCoordinates()) {
+            values.put(QuizDBHelper.STATES_LATITUDE, state.getLatitude());
+            values.put(QuizDBHelper.STATES_LONGITUDE, state.getLongitude());
+        }
 
         long result = db.insert(QuizDBHelper.TABLE_STATES, null, values);
+        StateCatalogCache.getInstance().invalidate();
         Log.d(TAG, "Inserted state: " + state.getStateName() + " (ID: " + result + ")");
         return result;
     }
 
     /**
-     * Get all states from database
+     * Insert every row of a deck's CSV in a single transaction, streaming rows from
+     * the parser into the database (used the first time the deck is played)
+     *
+     * @param deck ID of the deck being imported
+     * @param parser Parser for the deck's CSV
+     * @param listener Optional progress callback
+     * @return Number of rows inserted
+     * @throws IOException if the CSV cannot be read or is malformed
+     */
+    public int insertStates(String deck, CSVParser parser, StateImporter.OnProgressListener listener)
+            throws IOException {
+        long start = INSERT_STATES_TIMER.start();
+        try {
+            return new StateImporter(db, deck).importStates(parser, listener);
+        } finally {
+            StateCatalogCache.getInstance().invalidate();
+            INSERT_STATES_TIMER.stop(start);
+        }
+    }
+
+    /**
+     * Fill in missing capital coordinates from freshly parsed states
      *
-     * @return List of all StateItem objects
+     * @param deck ID of the deck the states belong to
+     * @param states States parsed from the deck's CSV
+     * @return Number of rows updated
      */
-    public List<StateItem> getAllStates() {
-        List<StateItem> states = new ArrayList<>();
+    public int updateStateCoordinates(String deck, List<StateItem> states) {
+        try {
+            return new StateImporter(db, deck).updateCoordinates(states);
+        } finally {
+            StateCatalogCache.getInstance().invalidate();
+        }
+    }
 
+    /**
+     * Get one deck's states from database, read straight into a columnar table
+     * without a StateItem per row. Walks the deck's range of idx_states_deck, so
+     * other decks are never read and no sort is needed.
+     *
+     * @param deck Deck ID
+     * @return Table of the deck's states, sorted by name
+     */
+    public StateTable getStateTable(String deck) {
+        long start = GET_STATE_TABLE_TIMER.start();
         Cursor cursor = db.query(
                 QuizDBHelper.TABLE_STATES,
-                null, null, null, null, null,
+                StateRowMapper.PROJECTION,
+                QuizDBHelper.STATES_DECK + " = ?",
+                new String[]{deck},
+                null, null,
                 QuizDBHelper.STATES_NAME + " ASC"
         );
+        try {
+            StateRowMapper mapper = new StateRowMapper(cursor);
+            StateTable.Builder builder = new StateTable.Builder(cursor.getCount());
+            while (cursor.moveToNext()) {
+                mapper.addTo(cursor, builder);
+            }
 
-        while (cursor.moveToNext()) {
-            StateItem state = new StateItem();
-            state.setId(cursor.getInt(cursor.getColumnIndexOrThrow(QuizDBHelper.STATES_ID)));
-            state.setStateName(cursor.getString(cursor.getColumnIndexOrThrow(QuizDBHelper.STATES_NAME)));
-            state.setCapitalCity(cursor.getString(cursor.getColumnIndexOrThrow(QuizDBHelper.STATES_CAPITAL)));
-            state.setCity2(cursor.getString(cursor.getColumnIndexOrThrow(QuizDBHelper.STATES_CITY2)));
-            state.setCity3(cursor.getString(cursor.getColumnIndexOrThrow(QuizDBHelper.STATES_CITY3)));
-            state.setStatehoodYear(cursor.getInt(cursor.getColumnIndexOrThrow(QuizDBHelper.STATES_STATEHOOD_YEAR)));
-            state.setCapitalSinceYear(cursor.getInt(cursor.getColumnIndexOrThrow(QuizDBHelper.STATES_CAPITAL_SINCE)));
-            state.setCapitalRank(cursor.getInt(cursor.getColumnIndexOrThrow(QuizDBHelper.STATES_CAPITAL_RANK)));
-
-            states.add(state);
+            StateTable states = builder.build();
+            Log.d(TAG, "Retrieved " + states.size() + " states of " + deck);
+            return states;
+        } finally {
+            cursor.close();
+            GET_STATE_TABLE_TIMER.stop(start);
         }
-
-        cursor.close();
-        Log.d(TAG, "Retrieved " + states.size() + " states");
-        return states;
     }
 
     /**
@@ -136,90 +357,240 @@ public class QuizData {
     public StateItem getStateById(int id) {
         Cursor cursor = db.query(
                 QuizDBHelper.TABLE_STATES,
-                null,
+                StateRowMapper.PROJECTION,
                 QuizDBHelper.STATES_ID + "=?",
                 new String[]{String.valueOf(id)},
                 null, null, null
         );
 
-        StateItem state = null;
-        if (cursor.moveToFirst()) {
-            state = new StateItem();
-            state.setId(cursor.getInt(cursor.getColumnIndexOrThrow(QuizDBHelper.STATES_ID)));
-            state.setStateName(cursor.getString(cursor.getColumnIndexOrThrow(QuizDBHelper.STATES_NAME)));
-            state.setCapitalCity(cursor.getString(cursor.getColumnIndexOrThrow(QuizDBHelper.STATES_CAPITAL)));
-            state.setCity2(cursor.getString(cursor.getColumnIndexOrThrow(QuizDBHelper.STATES_CITY2)));
-            state.setCity3(cursor.getString(cursor.getColumnIndexOrThrow(QuizDBHelper.STATES_CITY3)));
-            state.setStatehoodYear(cursor.getInt(cursor.getColumnIndexOrThrow(QuizDBHelper.STATES_STATEHOOD_YEAR)));
-            state.setCapitalSinceYear(cursor.getInt(cursor.getColumnIndexOrThrow(QuizDBHelper.STATES_CAPITAL_SINCE)));
-            state.setCapitalRank(cursor.getInt(cursor.getColumnIndexOrThrow(QuizDBHelper.STATES_CAPITAL_RANK)));
+        return RowMapper.mapFirst(cursor, new StateRowMapper(cursor));
+    }
+
+    /**
+     * Find the states whose name or capital has words starting with the words typed,
+     * e.g. "new yo" finds New York. Case and accents are ignored. Only decks already
+     * imported (played at least once) are indexed; a bundled deck that was never
+     * played is not searched.
+     *
+     * <p>Uses the states_fts full-text index, so the cost depends on the number of
+     * matches returned, not on the size of the catalog.</p>
+     *
+     * @param text Text typed by the user
+     * @param limit Maximum number of states to return
+     * @return Matching states in index order (each deck in import order); empty if
+     *         the text has no words
+     */
+    public List<StateItem> searchStates(String text, int limit) {
+        String match = SearchQuery.toPrefixMatch(text);
+        if (match == null) {
+            return new ArrayList<>();
         }
 
-        cursor.close();
-        return state;
+        long start = SEARCH_STATES_TIMER.start();
+        try {
+            Cursor cursor = db.rawQuery(SEARCH_STATES_QUERY, new String[]{match, String.valueOf(limit)});
+            return RowMapper.mapAll(cursor, new StateRowMapper(cursor));
+        } finally {
+            SEARCH_STATES_TIMER.stop(start);
+        }
     }
 
     /**
-     * Select N random unique state IDs
+     * Select N random unique state IDs of one deck without loading the catalog.
      *
+     * <p>A deck's IDs are normally contiguous (each deck is filled in one bulk load),
+     * so they are sampled directly from [MIN(id), MAX(id)] with Floyd's algorithm.
+     * If the IDs have gaps, SQLite picks the rows with ORDER BY RANDOM() LIMIT n,
+     * which keeps only n rows in memory instead of returning the whole deck.</p>
+     *
+     * @param deck Deck ID
      * @param count Number of states to select (typically 6)
      * @return Array of random state IDs with no duplicates
      */
-    public int[] selectRandomStates(int count) {
-        List<StateItem> allStates = getAllStates();
+    public int[] selectRandomStates(String deck, int count) {
+        long start = SELECT_RANDOM_STATES_TIMER.start();
+        try {
+            String[] args = {deck};
+            String inDeck = " FROM " + QuizDBHelper.TABLE_STATES + " WHERE " + QuizDBHelper.STATES_DECK + " = ?";
+            Cursor cursor = db.rawQuery("SELECT MIN(" + QuizDBHelper.STATES_ID + "), MAX("
+                    + QuizDBHelper.STATES_ID + "), COUNT(*)" + inDeck, args);
+            cursor.moveToFirst();
+            int minId = cursor.getInt(0);
+            int maxId = cursor.getInt(1);
+            int total = cursor.getInt(2);
+            cursor.close();
 
-        if (allStates.size() < count) {
-            Log.e(TAG, "Not enough states in database!");
-            return new int[0];
-        }
+            if (total < count) {
+                Log.e(TAG, "Not enough states in database!");
+                return new int[0];
+            }
 
-        Random random = new Random();
-        Set<Integer> selectedIds = new HashSet<>();
+            if (maxId - minId + 1 == total) {
+                return RandomSampler.sampleRange(minId, maxId, count, new Random());
+            }
 
-        // Keep selecting until we have enough unique IDs
-        while (selectedIds.size() < count) {
-            int randomIndex = random.nextInt(allStates.size());
-            selectedIds.add(allStates.get(randomIndex).getId());
-        }
+            int[] result = new int[count];
+            cursor = db.rawQuery("SELECT " + QuizDBHelper.STATES_ID + inDeck
+                    + " ORDER BY RANDOM() LIMIT " + count, args);
+            int i = 0;
+            while (cursor.moveToNext()) {
+                result[i++] = cursor.getInt(0);
+            }
+            cursor.close();
 
-        // Convert Set to int array
-        int[] result = new int[count];
-        int i = 0;
-        for (Integer id : selectedIds) {
-            result[i++] = id;
+            Log.d(TAG, "Selected " + count + " random state IDs");
+            return result;
+        } finally {
+            SELECT_RANDOM_STATES_TIMER.stop(start);
         }
-
-        Log.d(TAG, "Selected " + count + " random state IDs");
-        return result;
     }
 
     // ==================== QUIZ OPERATIONS ====================
 
     /**
-     * Create a new quiz with given state IDs
+     * Report a change to the completed quizzes, holding it back until the enclosing
+     * transaction commits. Methods with their own transaction call this after ending it.
+     * Changes to the quiz in progress are not reported: nothing observes it, and the
+     * answer journal rewrites it several times a second.
+     */
+    private void onQuizzesChanged() {
+        if (db.inTransaction()) {
+            quizzesChanged = true;
+        } else {
+            QuizChangeNotifier.getInstance().notifyQuizzesChanged();
+        }
+    }
+
+    /**
+     * Report the quiz changes made in a write session, once it has committed
+     */
+    void publishChanges() {
+        if (quizzesChanged) {
+            quizzesChanged = false;
+            QuizChangeNotifier.getInstance().notifyQuizzesChanged();
+        }
+    }
+
+    /**
+     * Insert a new quiz and all of its questions in one transaction
      *
-     * @param stateIds Array of 6 state IDs for the quiz
+     * @param quiz Quiz to insert; its ID is set to the new row ID
+     * @param questions Questions in the order they are shown
      * @return Quiz ID of newly created quiz
+     * @throws android.database.SQLException if the quiz cannot be inserted; nothing is
+     *         saved, and an enclosing write session rolls back with it
      */
-    public long createNewQuiz(int[] stateIds) {
-        if (stateIds.length != 6) {
-            Log.e(TAG, "Quiz must have exactly 6 states!");
-            return -1;
+    public long createNewQuiz(Quiz quiz, List<QuizQuestion> questions) {
+        long start = CREATE_NEW_QUIZ_TIMER.start();
+        try {
+            db.beginTransaction();
+            SQLiteStatement insertQuestion = null;
+            try {
+                ContentValues values = new ContentValues();
+                values.put(QuizDBHelper.QUIZZES_SCORE, quiz.getScore());
+                values.put(QuizDBHelper.QUIZZES_QUESTIONS_ANSWERED, quiz.getQuestionsAnswered());
+                values.put(QuizDBHelper.QUIZZES_QUESTION_COUNT, questions.size());
+
+                long quizId = db.insertOrThrow(QuizDBHelper.TABLE_QUIZZES, null, values);
+
+                insertQuestion = db.compileStatement(INSERT_QUESTION);
+                for (int position = 0; position < questions.size(); position++) {
+                    QuizQuestion question = questions.get(position);
+                    insertQuestion.clearBindings();
+                    insertQuestion.bindLong(1, quizId);
+                    insertQuestion.bindLong(2, position);
+                    insertQuestion.bindLong(3, question.getState().getId());
+                    insertQuestion.bindString(4, QuizQuestionRowMapper.encodeChoices(question.getAnswerChoices()));
+                    insertQuestion.bindLong(5, question.getCorrectAnswerIndex());
+                    if (question.isAnswered()) {
+                        insertQuestion.bindLong(6, question.getAnswerIndex());
+                    } else {
+                        insertQuestion.bindNull(6);
+                    }
+                    insertQuestion.executeInsert();
+                }
+
+                db.setTransactionSuccessful();
+                quiz.setId((int) quizId);
+                quiz.setQuestionCount(questions.size());
+                Log.d(TAG, "Created new quiz with ID: " + quizId + " (" + questions.size() + " questions)");
+                return quizId;
+            } finally {
+                if (insertQuestion != null) {
+                    insertQuestion.close();
+                }
+                db.endTransaction();
+            }
+        } finally {
+            CREATE_NEW_QUIZ_TIMER.stop(start);
         }
+    }
 
-        ContentValues values = new ContentValues();
-        values.put(QuizDBHelper.QUIZZES_SCORE, 0);
-        values.put(QuizDBHelper.QUIZZES_QUESTIONS_ANSWERED, 0);
-        values.put(QuizDBHelper.QUIZZES_STATE1, stateIds[0]);
-        values.put(QuizDBHelper.QUIZZES_STATE2, stateIds[1]);
-        values.put(QuizDBHelper.QUIZZES_STATE3, stateIds[2]);
-        values.put(QuizDBHelper.QUIZZES_STATE4, stateIds[3]);
-        values.put(QuizDBHelper.QUIZZES_STATE5, stateIds[4]);
-        values.put(QuizDBHelper.QUIZZES_STATE6, stateIds[5]);
+    /**
+     * Record the user's answer to one question
+     *
+     * @param quizId Quiz ID
+     * @param position 0-based question position
+     * @param answerIndex Index of the chosen answer, or -1 to clear it
+     */
+    public void updateAnswer(int quizId, int position, int answerIndex) {
+        long start = UPDATE_ANSWER_TIMER.start();
+        try {
+            ContentValues values = new ContentValues();
+            if (answerIndex >= 0) {
+                values.put(QuizDBHelper.QUESTIONS_ANSWER_INDEX, answerIndex);
+            } else {
+                values.putNull(QuizDBHelper.QUESTIONS_ANSWER_INDEX);
+            }
+
+            db.update(
+                    QuizDBHelper.TABLE_QUIZ_QUESTIONS,
+                    values,
+                    QuizDBHelper.QUESTIONS_QUIZ_ID + "=? AND " + QuizDBHelper.QUESTIONS_POSITION + "=?",
+                    new String[]{String.valueOf(quizId), String.valueOf(position)}
+            );
+        } finally {
+            UPDATE_ANSWER_TIMER.stop(start);
+        }
+    }
 
-        long quizId = db.insert(QuizDBHelper.TABLE_QUIZZES, null, values);
-        Log.d(TAG, "Created new quiz with ID: " + quizId);
-        return quizId;
+    /**
+     * Recompute a quiz's score and questions answered from its recorded answers
+     *
+     * @param quizId Quiz ID to update
+     */
+    public void refreshQuizProgress(int quizId) {
+        long start = REFRESH_QUIZ_PROGRESS_TIMER.start();
+        try {
+            String id = String.valueOf(quizId);
+            db.execSQL("UPDATE " + QuizDBHelper.TABLE_QUIZZES + " SET "
+                            + QuizDBHelper.QUIZZES_QUESTIONS_ANSWERED + " = (SELECT COUNT(*) FROM "
+                            + QuizDBHelper.TABLE_QUIZ_QUESTIONS + " WHERE " + QuizDBHelper.QUESTIONS_QUIZ_ID
+                            + " = ? AND " + QuizDBHelper.QUESTIONS_ANSWER_INDEX + " IS NOT NULL), "
+                            + QuizDBHelper.QUIZZES_SCORE + " = (SELECT COUNT(*) FROM "
+                            + QuizDBHelper.TABLE_QUIZ_QUESTIONS + " WHERE " + QuizDBHelper.QUESTIONS_QUIZ_ID
+                            + " = ? AND " + QuizDBHelper.QUESTIONS_ANSWER_INDEX + " = "
+                            + QuizDBHelper.QUESTIONS_CORRECT_INDEX + ")"
+                            + " WHERE " + QuizDBHelper.QUIZZES_ID + " = ?",
+                    new Object[]{id, id, id});
+        } finally {
+            REFRESH_QUIZ_PROGRESS_TIMER.stop(start);
+        }
+    }
+
+    /**
+     * Delete every quiz that was started but never completed, with its questions.
+     * Only the newest unfinished quiz can be resumed, so older ones are dead rows.
+     *
+     * @return Number of quizzes deleted
+     */
+    public int deleteIncompleteQuizzes() {
+        // quiz_questions' foreign key deletes the questions (ON DELETE CASCADE)
+        int rows = db.delete(QuizDBHelper.TABLE_QUIZZES, QuizDBHelper.QUIZZES_DATE + " IS NULL", null);
+        if (rows > 0) {
+            Log.d(TAG, "Deleted " + rows + " incomplete quizzes");
+        }
+        return rows;
     }
 
     /**
@@ -240,70 +611,181 @@ public class QuizData {
                 QuizDBHelper.QUIZZES_ID + "=?",
                 new String[]{String.valueOf(quizId)}
         );
+        // Only a completed quiz is in the history (a primary key lookup)
+        if (rows > 0 && DatabaseUtils.longForQuery(db, "SELECT " + QuizDBHelper.QUIZZES_DATE
+                + " IS NOT NULL FROM " + QuizDBHelper.TABLE_QUIZZES + " WHERE " + QuizDBHelper.QUIZZES_ID
+                + " = ?", new String[]{String.valueOf(quizId)}) != 0) {
+            onQuizzesChanged();
+        }
 
         Log.d(TAG, "Updated quiz " + quizId + " - Score: " + score + ", Answered: " + questionsAnswered);
     }
 
     /**
-     * Mark quiz as complete with final score and date
+     * Mark quiz as complete: store every answer, the final score and the date,
+     * and add the quiz to the statistics tables, all in one transaction.
+     *
+     * <p>Only the first call for a quiz changes anything; saving an already completed
+     * quiz again (e.g. after the results screen is recreated) leaves the quiz and the
+     * statistics as they are.</p>
      *
-     * @param quizId Quiz ID to complete
-     * @param finalScore Final score
-     * @param date Completion date/time
+     * @param quiz Quiz with its final score, questions answered and completion date
+     * @param questions The quiz's questions with the user's answers
+     * @return true if this call completed the quiz, false if it was already complete
      */
-    public void completeQuiz(int quizId, int finalScore, String date) {
-        ContentValues values = new ContentValues();
-        values.put(QuizDBHelper.QUIZZES_SCORE, finalScore);
-        values.put(QuizDBHelper.QUIZZES_QUESTIONS_ANSWERED, 6);
-        values.put(QuizDBHelper.QUIZZES_DATE, date);
+    public boolean completeQuiz(Quiz quiz, List<QuizQuestion> questions) {
+        long start = COMPLETE_QUIZ_TIMER.start();
+        try {
+            db.beginTransaction();
+            try {
+                ContentValues values = new ContentValues();
+                values.put(QuizDBHelper.QUIZZES_SCORE, quiz.getScore());
+                values.put(QuizDBHelper.QUIZZES_QUESTIONS_ANSWERED, quiz.getQuestionsAnswered());
+                values.put(QuizDBHelper.QUIZZES_DATE, quiz.getDate());
 
-        db.update(
-                QuizDBHelper.TABLE_QUIZZES,
-                values,
-                QuizDBHelper.QUIZZES_ID + "=?",
-                new String[]{String.valueOf(quizId)}
-        );
+                int rows = db.update(
+                        QuizDBHelper.TABLE_QUIZZES,
+                        values,
+                        QuizDBHelper.QUIZZES_ID + "=? AND " + QuizDBHelper.QUIZZES_DATE + " IS NULL",
+                        new String[]{String.valueOf(quiz.getId())}
+                );
+                if (rows == 0) {
+                    // Nothing was written; ending this level unsuccessfully would roll
+                    // back the rest of the caller's session
+                    db.setTransactionSuccessful();
+                    return false;
+                }
+
+                for (int position = 0; position < questions.size(); position++) {
+                    updateAnswer(quiz.getId(), position, questions.get(position).getAnswerIndex());
+                }
+                recordStats(quiz, questions);
 
-        Log.d(TAG, "Completed quiz " + quizId + " with score: " + finalScore);
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+            onQuizzesChanged();
+
+            Log.d(TAG, "Completed quiz " + quiz.getId() + " with score: " + quiz.getScore());
+            return true;
+        } finally {
+            COMPLETE_QUIZ_TIMER.stop(start);
+        }
+    }
+
+    /**
+     * Add a newly completed quiz to state_stats, quiz_stats and daily_stats.
+     * Runs inside the completeQuiz() transaction.
+     */
+    private void recordStats(Quiz quiz, List<QuizQuestion> questions) {
+        int questionCount = questions.size();
+        int bestPercent = questionCount > 0 ? quiz.getScore() * 100 / questionCount : 0;
+        db.execSQL(INSERT_QUIZ_STATS);
+        db.execSQL(UPDATE_QUIZ_STATS, new Object[]{
+                questionCount, quiz.getQuestionsAnswered(), quiz.getScore(), bestPercent});
+        // This quiz's number in the spaced-repetition schedule
+        long quizNumber = DatabaseUtils.longForQuery(db, "SELECT " + QuizDBHelper.QUIZ_STATS_QUIZZES
+                + " FROM " + QuizDBHelper.TABLE_QUIZ_STATS + " WHERE " + QuizDBHelper.QUIZ_STATS_ID + " = 0", null);
+
+        SQLiteStatement insertState = db.compileStatement(INSERT_STATE_STATS);
+        SQLiteStatement updateState = db.compileStatement(UPDATE_STATE_STATS);
+        try {
+            for (int i = 0; i < questions.size(); i++) {
+                QuizQuestion question = questions.get(i);
+                long stateId = question.getState().getId();
+                insertState.bindLong(1, stateId);
+                insertState.executeInsert();
+                updateState.bindLong(1, question.isAnsweredCorrectly() ? 1 : 0);
+                updateState.bindLong(2, quizNumber);
+                updateState.bindLong(3, stateId);
+                updateState.executeUpdateDelete();
+            }
+        } finally {
+            insertState.close();
+            updateState.close();
+        }
+
+        String date = quiz.getDate();
+        if (date != null && date.length() >= 10) {
+            String day = date.substring(0, 10);
+            db.execSQL(INSERT_DAILY_STATS, new Object[]{day});
+            db.execSQL(UPDATE_DAILY_STATS, new Object[]{questionCount, quiz.getScore(), day});
+        }
     }
 
     /**
-     * Get a specific quiz by ID
+     * Get a specific quiz by ID, including its state IDs
      *
      * @param quizId Quiz ID
      * @return Quiz object or null if not found
      */
     public Quiz getQuizById(int quizId) {
-        Cursor cursor = db.query(
-                QuizDBHelper.TABLE_QUIZZES,
-                null,
-                QuizDBHelper.QUIZZES_ID + "=?",
-                new String[]{String.valueOf(quizId)},
-                null, null, null
-        );
+        return queryQuizWithStates("z." + QuizDBHelper.QUIZZES_ID + " = ?",
+                new String[]{String.valueOf(quizId)});
+    }
 
-        Quiz quiz = null;
-        if (cursor.moveToFirst()) {
-            quiz = new Quiz();
-            quiz.setId(cursor.getInt(cursor.getColumnIndexOrThrow(QuizDBHelper.QUIZZES_ID)));
-            quiz.setDate(cursor.getString(cursor.getColumnIndexOrThrow(QuizDBHelper.QUIZZES_DATE)));
-            quiz.setScore(cursor.getInt(cursor.getColumnIndexOrThrow(QuizDBHelper.QUIZZES_SCORE)));
-            quiz.setQuestionsAnswered(cursor.getInt(cursor.getColumnIndexOrThrow(QuizDBHelper.QUIZZES_QUESTIONS_ANSWERED)));
-
-            int[] stateIds = new int[6];
-            stateIds[0] = cursor.getInt(cursor.getColumnIndexOrThrow(QuizDBHelper.QUIZZES_STATE1));
-            stateIds[1] = cursor.getInt(cursor.getColumnIndexOrThrow(QuizDBHelper.QUIZZES_STATE2));
-            stateIds[2] = cursor.getInt(cursor.getColumnIndexOrThrow(QuizDBHelper.QUIZZES_STATE3));
-            stateIds[3] = cursor.getInt(cursor.getColumnIndexOrThrow(QuizDBHelper.QUIZZES_STATE4));
-            stateIds[4] = cursor.getInt(cursor.getColumnIndexOrThrow(QuizDBHelper.QUIZZES_STATE5));
-            stateIds[5] = cursor.getInt(cursor.getColumnIndexOrThrow(QuizDBHelper.QUIZZES_STATE6));
-            quiz.setStateIds(stateIds);
+    /**
+     * Get the questions of a quiz in order, with their states, in a single join
+     * over the (quiz_id, position) primary key
+     *
+     * @param quizId Quiz ID
+     * @return Questions with choices and any recorded answers
+     */
+    public List<QuizQuestion> getQuizQuestions(int quizId) {
+        long start = GET_QUIZ_QUESTIONS_TIMER.start();
+        try {
+            Cursor cursor = db.rawQuery(QUIZ_QUESTIONS_QUERY, new String[]{String.valueOf(quizId)});
+            return RowMapper.mapAll(cursor, new QuizQuestionRowMapper(cursor));
+        } finally {
+            GET_QUIZ_QUESTIONS_TIMER.stop(start);
         }
-
-        cursor.close();
-        return quiz;
     }
 
+    /**
+     * Read one quiz row joined with its question rows, so the quiz and its
+     * state IDs come back from a single indexed query
+     *
+     * @param where Condition on the quiz (alias "z")
+     * @param args Arguments for the condition
+     * @return Quiz object or null if not found
+     */
+    private Quiz queryQuizWithStates(String where, String[] args) {
+        long start = QUERY_QUIZ_WITH_STATES_TIMER.start();
+        try {
+            Cursor cursor = db.rawQuery("SELECT z." + QuizDBHelper.QUIZZES_ID
+                    + ", z." + QuizDBHelper.QUIZZES_DATE
+                    + ", z." + QuizDBHelper.QUIZZES_SCORE
+                    + ", z." + QuizDBHelper.QUIZZES_QUESTIONS_ANSWERED
+                    + ", z." + QuizDBHelper.QUIZZES_QUESTION_COUNT
+                    + ", q." + QuizDBHelper.QUESTIONS_STATE_ID
+                    + " FROM " + QuizDBHelper.TABLE_QUIZZES + " z"
+                    + " LEFT JOIN " + QuizDBHelper.TABLE_QUIZ_QUESTIONS + " q"
+                    + " ON q." + QuizDBHelper.QUESTIONS_QUIZ_ID + " = z." + QuizDBHelper.QUIZZES_ID
+                    + " WHERE " + where
+                    + " ORDER BY q." + QuizDBHelper.QUESTIONS_POSITION, args);
+
+            try {
+                if (!cursor.moveToFirst()) {
+                    return null;
+                }
+
+                Quiz quiz = new QuizRowMapper(cursor).map(cursor);
+                int stateIndex = cursor.getColumnIndex(QuizDBHelper.QUESTIONS_STATE_ID);
+                int[] stateIds = new int[cursor.isNull(stateIndex) ? 0 : cursor.getCount()];
+                for (int i = 0; i < stateIds.length; i++) {
+                    cursor.moveToPosition(i);
+                    stateIds[i] = cursor.getInt(stateIndex);
+                }
+                quiz.setStateIds(stateIds);
+                return quiz;
+            } finally {
+                cursor.close();
+            }
+        } finally {
+            QUERY_QUIZ_WITH_STATES_TIMER.stop(start);
+        }
+    }
 
     /**
      * Get all completed quizzes ordered by date (newest first)
@@ -311,38 +793,180 @@ public class QuizData {
      * @return List of completed Quiz objects
      */
     public List<Quiz> getAllCompletedQuizzes() {
-        List<Quiz> quizzes = new ArrayList<>();
+        long start = GET_ALL_COMPLETED_QUIZZES_TIMER.start();
+        try {
+            Cursor cursor = db.query(
+                    QuizDBHelper.TABLE_QUIZZES,
+                    QuizRowMapper.PROJECTION,
+                    QuizDBHelper.QUIZZES_DATE + " IS NOT NULL",
+                    null, null, null,
+                    QuizDBHelper.QUIZZES_DATE + " DESC"
+            );
 
-        Cursor cursor = db.query(
-                QuizDBHelper.TABLE_QUIZZES,
-                null,
-                QuizDBHelper.QUIZZES_DATE + " IS NOT NULL",
-                null, null, null,
-                QuizDBHelper.QUIZZES_DATE + " DESC"
-        );
+            List<Quiz> quizzes = RowMapper.mapAll(cursor, new QuizRowMapper(cursor));
+            Log.d(TAG, "Retrieved " + quizzes.size() + " completed quizzes");
+            return quizzes;
+        } finally {
+            GET_ALL_COMPLETED_QUIZZES_TIMER.stop(start);
+        }
+    }
+
+    /**
+     * Get one page of completed quizzes using keyset pagination on (date, id).
+     *
+     * <p>Pages are addressed by the last row already shown rather than by an OFFSET,
+     * so every page costs the same no matter how deep into the history it is.</p>
+     *
+     * @param anchor Boundary quiz (exclusive), or null to start from the newest quiz
+     * @param older true to read quizzes older than the anchor (newest first),
+     *              false to read quizzes newer than the anchor
+     * @param limit Maximum number of quizzes to return
+     * @return Quizzes ordered newest first (without state IDs)
+     */
+    public List<Quiz> getCompletedQuizzesPage(Quiz anchor, boolean older, int limit) {
+        long start = GET_COMPLETED_QUIZZES_PAGE_TIMER.start();
+        try {
+            String selection = QuizDBHelper.QUIZZES_DATE + " IS NOT NULL";
+            String[] args = null;
+            if (anchor != null) {
+                // Written as a range on date plus a tie-break so SQLite can walk
+                // idx_quizzes_completed in order and stop after `limit` rows
+                String op = older ? "<" : ">";
+                selection += " AND " + QuizDBHelper.QUIZZES_DATE + " " + op + "= ?"
+                        + " AND (" + QuizDBHelper.QUIZZES_DATE + " " + op + " ? OR "
+                        + QuizDBHelper.QUIZZES_ID + " " + op + " ?)";
+                args = new String[]{anchor.getDate(), anchor.getDate(), String.valueOf(anchor.getId())};
+            }
+
+            String direction = older ? " DESC" : " ASC";
+            Cursor cursor = db.query(
+                    QuizDBHelper.TABLE_QUIZZES,
+                    HISTORY_PROJECTION,
+                    selection,
+                    args,
+                    null, null,
+                    QuizDBHelper.QUIZZES_DATE + direction + ", " + QuizDBHelper.QUIZZES_ID + direction,
+                    String.valueOf(limit)
+            );
 
-        while (cursor.moveToNext()) {
-            Quiz quiz = new Quiz();
-            quiz.setId(cursor.getInt(cursor.getColumnIndexOrThrow(QuizDBHelper.QUIZZES_ID)));
-            quiz.setDate(cursor.getString(cursor.getColumnIndexOrThrow(QuizDBHelper.QUIZZES_DATE)));
-            quiz.setScore(cursor.getInt(cursor.getColumnIndexOrThrow(QuizDBHelper.QUIZZES_SCORE)));
-            quiz.setQuestionsAnswered(cursor.getInt(cursor.getColumnIndexOrThrow(QuizDBHelper.QUIZZES_QUESTIONS_ANSWERED)));
-
-            int[] stateIds = new int[6];
-            stateIds[0] = cursor.getInt(cursor.getColumnIndexOrThrow(QuizDBHelper.QUIZZES_STATE1));
-            stateIds[1] = cursor.getInt(cursor.getColumnIndexOrThrow(QuizDBHelper.QUIZZES_STATE2));
-            stateIds[2] = cursor.getInt(cursor.getColumnIndexOrThrow(QuizDBHelper.QUIZZES_STATE3));
-            stateIds[3] = cursor.getInt(cursor.getColumnIndexOrThrow(QuizDBHelper.QUIZZES_STATE4));
-            stateIds[4] = cursor.getInt(cursor.getColumnIndexOrThrow(QuizDBHelper.QUIZZES_STATE5));
-            stateIds[5] = cursor.getInt(cursor.getColumnIndexOrThrow(QuizDBHelper.QUIZZES_STATE6));
-            quiz.setStateIds(stateIds);
-
-            quizzes.add(quiz);
+            List<Quiz> quizzes = RowMapper.mapAll(cursor, new QuizRowMapper(cursor));
+            if (!older) {
+                Collections.reverse(quizzes);
+            }
+            return quizzes;
+        } finally {
+            GET_COMPLETED_QUIZZES_PAGE_TIMER.stop(start);
         }
+    }
+
+    // ==================== STATISTICS ====================
+
+    /**
+     * Read the user's statistics from the aggregate tables. The totals and recent
+     * days are primary-key reads; the weakest states sort state_stats, whose size is
+     * bounded by the number of states played, not quizzes. None of it grows with the
+     * number of quizzes taken.
+     *
+     * @return Totals, weakest states and recent days
+     */
+    public QuizStats getStats() {
+        long start = GET_STATS_TIMER.start();
+        try {
+            int quizzes = 0;
+            int questions = 0;
+            int answered = 0;
+            int correct = 0;
+            int bestPercent = 0;
+            Cursor cursor = db.query(
+                    QuizDBHelper.TABLE_QUIZ_STATS,
+                    new String[]{QuizDBHelper.QUIZ_STATS_QUIZZES, QuizDBHelper.QUIZ_STATS_QUESTIONS,
+                            QuizDBHelper.QUIZ_STATS_ANSWERED, QuizDBHelper.QUIZ_STATS_CORRECT,
+                            QuizDBHelper.QUIZ_STATS_BEST_PERCENT},
+                    QuizDBHelper.QUIZ_STATS_ID + " = 0", null, null, null, null
+            );
+            try {
+                if (cursor.moveToFirst()) {
+                    quizzes = cursor.getInt(0);
+                    questions = cursor.getInt(1);
+                    answered = cursor.getInt(2);
+                    correct = cursor.getInt(3);
+                    bestPercent = cursor.getInt(4);
+                }
+            } finally {
+                cursor.close();
+            }
+
+            List<QuizStats.StateAccuracy> weakest = new ArrayList<>();
+            cursor = db.rawQuery(WEAKEST_STATES_QUERY, null);
+            try {
+                while (cursor.moveToNext()) {
+                    weakest.add(new QuizStats.StateAccuracy(
+                            cursor.getString(0), cursor.getInt(1), cursor.getInt(2)));
+                }
+            } finally {
+                cursor.close();
+            }
+
+            List<QuizStats.DayTotals> days = new ArrayList<>();
+            cursor = db.query(
+                    QuizDBHelper.TABLE_DAILY_STATS,
+                    new String[]{QuizDBHelper.DAILY_STATS_DAY, QuizDBHelper.DAILY_STATS_QUIZZES,
+                            QuizDBHelper.DAILY_STATS_QUESTIONS, QuizDBHelper.DAILY_STATS_CORRECT},
+                    null, null, null, null,
+                    QuizDBHelper.DAILY_STATS_DAY + " DESC",
+                    String.valueOf(STATS_RECENT_DAYS)
+            );
+            try {
+                while (cursor.moveToNext()) {
+                    days.add(new QuizStats.DayTotals(
+                            cursor.getString(0), cursor.getInt(1), cursor.getInt(2), cursor.getInt(3)));
+                }
+            } finally {
+                cursor.close();
+            }
 
-        cursor.close();
-        Log.d(TAG, "Retrieved " + quizzes.size() + " completed quizzes");
-        return quizzes;
+            return new QuizStats(quizzes, questions, answered, correct, bestPercent, weakest, days);
+        } finally {
+            GET_STATS_TIMER.stop(start);
+        }
+    }
+
+    /**
+     * Build the spaced-repetition scheduler for a deck's catalog from the saved
+     * schedule. Reads one row per state of the deck that has been asked, never the
+     * quiz history or other decks.
+     *
+     * @param deck Deck ID
+     * @param states The deck's catalog, which the scheduler picks from
+     * @return Scheduler with every state's box and last quiz restored
+     */
+    public StateScheduler loadScheduler(String deck, StateTable states) {
+        long start = LOAD_SCHEDULER_TIMER.start();
+        try {
+            StateScheduler scheduler = new StateScheduler(states);
+            scheduler.setQuizzesCompleted((int) DatabaseUtils.longForQuery(db,
+                    "SELECT IFNULL(MAX(" + QuizDBHelper.QUIZ_STATS_QUIZZES + "), 0) FROM "
+                            + QuizDBHelper.TABLE_QUIZ_STATS, null));
+
+            Cursor cursor = db.query(
+                    QuizDBHelper.TABLE_STATE_STATS,
+                    new String[]{QuizDBHelper.STATE_STATS_STATE_ID, QuizDBHelper.STATE_STATS_BOX,
+                            QuizDBHelper.STATE_STATS_LAST_QUIZ},
+                    QuizDBHelper.STATE_STATS_STATE_ID + " IN (SELECT " + QuizDBHelper.STATES_ID
+                            + " FROM " + QuizDBHelper.TABLE_STATES + " WHERE " + QuizDBHelper.STATES_DECK + " = ?)",
+                    new String[]{deck}, null, null, null
+            );
+            try {
+                while (cursor.moveToNext()) {
+                    scheduler.setHistory(cursor.getInt(0), cursor.getInt(1), cursor.getInt(2));
+                }
+            } finally {
+                cursor.close();
+            }
+            return scheduler;
+        } finally {
+            LOAD_SCHEDULER_TIMER.stop(start);
+        }
     }
 
     /**
@@ -351,33 +975,53 @@ public class QuizData {
      * @return Quiz object or null if no incomplete quiz exists
      */
     public Quiz getCurrentQuiz() {
-        Cursor cursor = db.query(
-                QuizDBHelper.TABLE_QUIZZES,
-                null,
-                QuizDBHelper.QUIZZES_DATE + " IS NULL",
-                null, null, null,
-                QuizDBHelper.QUIZZES_ID + " DESC",
-                "1"
-        );
+        return queryQuizWithStates("z." + QuizDBHelper.QUIZZES_ID + " = (SELECT "
+                + QuizDBHelper.QUIZZES_ID + " FROM " + QuizDBHelper.TABLE_QUIZZES
+                + " WHERE " + QuizDBHelper.QUIZZES_DATE + " IS NULL"
+                + " ORDER BY " + QuizDBHelper.QUIZZES_ID + " DESC LIMIT 1)", null);
+    }
 
-        Quiz quiz = null;
-        if (cursor.moveToFirst()) {
-            quiz = new Quiz();
-            quiz.setId(cursor.getInt(cursor.getColumnIndexOrThrow(QuizDBHelper.QUIZZES_ID)));
-            quiz.setScore(cursor.getInt(cursor.getColumnIndexOrThrow(QuizDBHelper.QUIZZES_SCORE)));
-            quiz.setQuestionsAnswered(cursor.getInt(cursor.getColumnIndexOrThrow(QuizDBHelper.QUIZZES_QUESTIONS_ANSWERED)));
-
-            int[] stateIds = new int[6];
-            stateIds[0] = cursor.getInt(cursor.getColumnIndexOrThrow(QuizDBHelper.QUIZZES_STATE1));
-            stateIds[1] = cursor.getInt(cursor.getColumnIndexOrThrow(QuizDBHelper.QUIZZES_STATE2));
-            stateIds[2] = cursor.getInt(cursor.getColumnIndexOrThrow(QuizDBHelper.QUIZZES_STATE3));
-            stateIds[3] = cursor.getInt(cursor.getColumnIndexOrThrow(QuizDBHelper.QUIZZES_STATE4));
-            stateIds[4] = cursor.getInt(cursor.getColumnIndexOrThrow(QuizDBHelper.QUIZZES_STATE5));
-            stateIds[5] = cursor.getInt(cursor.getColumnIndexOrThrow(QuizDBHelper.QUIZZES_STATE6));
-            quiz.setStateIds(stateIds);
+    // ==================== BACKUP ====================
+
+    /**
+     * Write the completed quizzes, their questions and the states they asked to a
+     * backup, reading a page at a time so memory use does not grow with the history
+     *
+     * @param writer Backup to write and finish; the caller closes it
+     * @return Number of quizzes backed up
+     * @throws IOException if the backup cannot be written
+     */
+    public int backupHistory(BackupWriter writer) throws IOException {
+        long start = BACKUP_HISTORY_TIMER.start();
+        try {
+            return new HistoryBackup(db).export(writer);
+        } finally {
+            BACKUP_HISTORY_TIMER.stop(start);
         }
+    }
 
-        cursor.close();
-        return quiz;
+    /**
+     * Add the quizzes of a backup that are not on this device yet, with their
+     * questions and statistics, in one transaction
+     *
+     * @param reader Backup to read; the caller closes it
+     * @param loader Says which decks are bundled and imports those the backup needs
+     *               that were never loaded here
+     * @return Number of quizzes restored (0 if all were already here)
+     * @throws IOException if the backup is invalid or cannot be read; nothing is restored
+     */
+    public int restoreHistory(BackupReader reader, HistoryBackup.DeckLoader loader) throws IOException {
+        long start = RESTORE_HISTORY_TIMER.start();
+        try {
+            int restored = new HistoryBackup(db).restore(reader, loader);
+            if (restored > 0) {
+                onQuizzesChanged();
+            }
+            return restored;
+        } finally {
+            // Restored states and schedules change what the catalog holds
+            StateCatalogCache.getInstance().invalidate();
+            RESTORE_HISTORY_TIMER.stop(start);
+        }
     }
-}
\ No newline at end of file
+}
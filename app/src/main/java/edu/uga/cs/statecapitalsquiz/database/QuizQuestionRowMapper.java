@@ -0,0 +1,64 @@
+package edu.uga.cs.statecapitalsquiz.database;
+
+import android.database.Cursor;
+import android.text.TextUtils;
+
+import edu.uga.cs.statecapitalsquiz.models.QuizQuestion;
+
+/**
+ * Maps rows of quiz_questions joined with states to {@link QuizQuestion} objects.
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public class QuizQuestionRowMapper implements RowMapper<QuizQuestion> {
+
+    /**
+     * Question columns, qualified with the "q" alias used by {@link QuizData}
+     */
+    static final String QUESTION_COLUMNS =
+            "q." + QuizDBHelper.QUESTIONS_CHOICES + ", "
+                    + "q." + QuizDBHelper.QUESTIONS_CORRECT_INDEX + ", "
+                    + "q." + QuizDBHelper.QUESTIONS_ANSWER_INDEX;
+
+    private final StateRowMapper stateMapper;
+    private final int choicesIndex;
+    private final int correctIndex;
+    private final int answerIndex;
+
+    /**
+     * Resolve column indices for the given cursor
+     *
+     * @param cursor Cursor over quiz_questions joined with states
+     */
+    public QuizQuestionRowMapper(Cursor cursor) {
+        stateMapper = new StateRowMapper(cursor);
+        choicesIndex = cursor.getColumnIndex(QuizDBHelper.QUESTIONS_CHOICES);
+        correctIndex = cursor.getColumnIndex(QuizDBHelper.QUESTIONS_CORRECT_INDEX);
+        answerIndex = cursor.getColumnIndex(QuizDBHelper.QUESTIONS_ANSWER_INDEX);
+    }
+
+    @Override
+    public QuizQuestion map(Cursor cursor) {
+        QuizQuestion question = new QuizQuestion(stateMapper.map(cursor),
+                decodeChoices(cursor.getString(choicesIndex)), cursor.getInt(correctIndex));
+        if (answerIndex >= 0 && !cursor.isNull(answerIndex)) {
+            question.setAnswerIndex(cursor.getInt(answerIndex));
+        }
+        return question;
+    }
+
+    /**
+     * Join answer choices into the single value stored in quiz_questions.choices
+     */
+    static String encodeChoices(String[] choices) {
+        return TextUtils.join(String.valueOf(QuizDBHelper.CHOICE_SEPARATOR), choices);
+    }
+
+    /**
+     * Split a stored choices value back into its answer choices (empty choices are kept)
+     */
+    static String[] decodeChoices(String value) {
+        return value.split(String.valueOf(QuizDBHelper.CHOICE_SEPARATOR), -1);
+    }
+}
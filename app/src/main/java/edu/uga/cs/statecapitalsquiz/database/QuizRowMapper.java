@@ -0,0 +1,56 @@
+package edu.uga.cs.statecapitalsquiz.database;
+
+import android.database.Cursor;
+
+import edu.uga.cs.statecapitalsquiz.models.Quiz;
+
+/**
+ * Maps rows of the quizzes table to {@link Quiz} objects.
+ * State IDs live in quiz_questions and are filled in by {@link QuizData}.
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public class QuizRowMapper implements RowMapper<Quiz> {
+
+    /**
+     * Every column of the quizzes table
+     */
+    public static final String[] PROJECTION = {
+            QuizDBHelper.QUIZZES_ID,
+            QuizDBHelper.QUIZZES_DATE,
+            QuizDBHelper.QUIZZES_SCORE,
+            QuizDBHelper.QUIZZES_QUESTIONS_ANSWERED,
+            QuizDBHelper.QUIZZES_QUESTION_COUNT
+    };
+
+    private final int idIndex;
+    private final int dateIndex;
+    private final int scoreIndex;
+    private final int questionsAnsweredIndex;
+    private final int questionCountIndex;
+
+    /**
+     * Resolve column indices for the given cursor
+     *
+     * @param cursor Cursor over the quizzes table
+     */
+    public QuizRowMapper(Cursor cursor) {
+        idIndex = cursor.getColumnIndex(QuizDBHelper.QUIZZES_ID);
+        dateIndex = cursor.getColumnIndex(QuizDBHelper.QUIZZES_DATE);
+        scoreIndex = cursor.getColumnIndex(QuizDBHelper.QUIZZES_SCORE);
+        questionsAnsweredIndex = cursor.getColumnIndex(QuizDBHelper.QUIZZES_QUESTIONS_ANSWERED);
+        questionCountIndex = cursor.getColumnIndex(QuizDBHelper.QUIZZES_QUESTION_COUNT);
+    }
+
+    @Override
+    public Quiz map(Cursor cursor) {
+        Quiz quiz = new Quiz();
+        if (idIndex >= 0) quiz.setId(cursor.getInt(idIndex));
+        if (dateIndex >= 0) quiz.setDate(cursor.getString(dateIndex));
+        if (scoreIndex >= 0) quiz.setScore(cursor.getInt(scoreIndex));
+        if (questionsAnsweredIndex >= 0) quiz.setQuestionsAnswered(cursor.getInt(questionsAnsweredIndex));
+        if (questionCountIndex >= 0) quiz.setQuestionCount(cursor.getInt(questionCountIndex));
+        return quiz;
+    }
+}
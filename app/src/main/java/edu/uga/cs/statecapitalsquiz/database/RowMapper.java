@@ -0,0 +1,62 @@
+package edu.uga.cs.statecapitalsquiz.database;
+
+import android.database.Cursor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maps the current row of a {@link Cursor} to a model object.
+ *
+ * <p>Implementations resolve their column indices once, when they are created for a
+ * cursor, so mapping a row is just positional reads. Columns missing from the query's
+ * projection are skipped, which lets callers select only the columns they need.</p>
+ *
+ * @param <T> Model type produced for each row
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public interface RowMapper<T> {
+
+    /**
+     * Build an object from the cursor's current row
+     *
+     * @param cursor Cursor positioned on a row (the same cursor the mapper was created for)
+     * @return Mapped object
+     */
+    T map(Cursor cursor);
+
+    /**
+     * Map every row of the cursor and close it
+     *
+     * @param cursor Query result
+     * @param mapper Mapper created for this cursor
+     * @return List with one object per row
+     */
+    static <T> List<T> mapAll(Cursor cursor, RowMapper<T> mapper) {
+        try {
+            List<T> rows = new ArrayList<>(cursor.getCount());
+            while (cursor.moveToNext()) {
+                rows.add(mapper.map(cursor));
+            }
+            return rows;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    /**
+     * Map the first row of the cursor (if any) and close it
+     *
+     * @param cursor Query result
+     * @param mapper Mapper created for this cursor
+     * @return Mapped object, or null if the cursor is empty
+     */
+    static <T> T mapFirst(Cursor cursor, RowMapper<T> mapper) {
+        try {
+            return cursor.moveToFirst() ? mapper.map(cursor) : null;
+        } finally {
+            cursor.close();
+        }
+    }
+}
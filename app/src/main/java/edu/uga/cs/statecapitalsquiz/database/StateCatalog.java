@@ -0,0 +1,95 @@
+package edu.uga.cs.statecapitalsquiz.database;
+
+import edu.uga.cs.statecapitalsquiz.models.Deck;
+import edu.uga.cs.statecapitalsquiz.models.StateItem;
+import edu.uga.cs.statecapitalsquiz.models.StateTable;
+import edu.uga.cs.statecapitalsquiz.utils.DistractorEngine;
+import edu.uga.cs.statecapitalsquiz.utils.StateScheduler;
+
+/**
+ * Immutable snapshot of one deck's partition of the states table.
+ * Holds the deck's states in name order as a columnar {@link StateTable}, which also
+ * indexes them by ID, and a {@link DistractorEngine} whose spatial index is built
+ * once per snapshot. Instances are shared across screens through {@link StateCatalogCache}.
+ *
+ * <p>The catalog also carries the user's {@link StateScheduler}. Unlike the states,
+ * the scheduler changes: each completed quiz is recorded into it in place, so it
+ * stays in step with the database without reloading the catalog.</p>
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public final class StateCatalog {
+
+    private final Deck deck;
+    private final StateTable states;
+    private final DistractorEngine distractors;
+    private final StateScheduler scheduler;
+
+    /**
+     * Constructor
+     *
+     * @param deck Deck the states belong to
+     * @param states States as read from the database (already sorted by name)
+     * @param scheduler Spaced-repetition scheduler built over the same table
+     */
+    public StateCatalog(Deck deck, StateTable states, StateScheduler scheduler) {
+        this.deck = deck;
+        this.states = states;
+        this.distractors = new DistractorEngine(states);
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * @return Deck the catalog holds
+     */
+    public Deck getDeck() {
+        return deck;
+    }
+
+    /**
+     * @return Table of all of the deck's states, sorted by name
+     */
+    public StateTable getStates() {
+        return states;
+    }
+
+    /**
+     * @return Distractor engine built over {@link #getStates()}
+     */
+    public DistractorEngine getDistractors() {
+        return distractors;
+    }
+
+    /**
+     * @return Spaced-repetition scheduler over {@link #getStates()}
+     */
+    public StateScheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Look up a state by its database ID
+     *
+     * @param id State ID
+     * @return A copy of the state, or null if not found
+     */
+    public StateItem getStateById(int id) {
+        int row = states.rowOf(id);
+        return row >= 0 ? states.getState(row) : null;
+    }
+
+    /**
+     * @return Number of states in the catalog
+     */
+    public int size() {
+        return states.size();
+    }
+
+    /**
+     * @return true if the catalog has no states
+     */
+    public boolean isEmpty() {
+        return states.isEmpty();
+    }
+}
@@ -0,0 +1,142 @@
+package edu.uga.cs.statecapitalsquiz.database;
+
+import android.util.Log;
+
+import edu.uga.cs.statecapitalsquiz.models.Deck;
+import edu.uga.cs.statecapitalsquiz.models.StateTable;
+
+/**
+ * Process-wide cache of the {@link StateCatalog} of the selected deck.
+ *
+ * <p>A deck's rows only change when they are inserted (the deck's first import),
+ * so its catalog is read from SQLite once and then served from memory. Any write to
+ * the states table goes through {@link QuizData}, which calls {@link #invalidate()}.</p>
+ *
+ * <p>Only the selected deck is ever loaded. Selecting another deck with
+ * {@link #select(Deck)} drops the cached catalog, with its distractor index and
+ * scheduler, before the new deck is read, so memory holds one deck at a time
+ * however many decks there are.</p>
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public final class StateCatalogCache {
+
+    private static final String TAG = "StateCatalogCache";
+
+    private static StateCatalogCache instance;
+
+    private volatile Deck deck = Deck.DEFAULT;
+    private volatile StateCatalog catalog;
+
+    // Bumped on every invalidation or deck change so a load that raced with it is not published
+    private int generation = 0;
+
+    private StateCatalogCache() {
+    }
+
+    /**
+     * @return The process-wide cache
+     */
+    public static synchronized StateCatalogCache getInstance() {
+        if (instance == null) {
+            instance = new StateCatalogCache();
+        }
+        return instance;
+    }
+
+    /**
+     * @return The deck whose catalog is served
+     */
+    public Deck getDeck() {
+        return deck;
+    }
+
+    /**
+     * Serve another deck from now on, evicting the current deck's catalog.
+     * Selecting the deck already served keeps its catalog.
+     *
+     * @param deck Deck to serve
+     * @return true if the deck changed
+     */
+    public synchronized boolean select(Deck deck) {
+        if (deck.getId().equals(this.deck.getId())) {
+            return false;
+        }
+        Log.d(TAG, "Switching from " + this.deck.getId() + " to " + deck.getId()
+                + (catalog != null ? ", evicting " + catalog.size() + " states" : ""));
+        this.deck = deck;
+        generation++;
+        catalog = null;
+        return true;
+    }
+
+    /**
+     * Get the cached catalog without touching the database
+     *
+     * @return The selected deck's catalog, or null if it has not been loaded yet
+     */
+    public StateCatalog peek() {
+        return catalog;
+    }
+
+    /**
+     * Get the selected deck's catalog, reading it from the database on a cache miss.
+     * Must not be called on the UI thread unless {@link #peek()} returned non-null.
+     *
+     * @param quizData Open database operations object
+     * @return The current catalog
+     */
+    public StateCatalog load(QuizData quizData) {
+        StateCatalog cached = catalog;
+        if (cached != null) {
+            return cached;
+        }
+
+        int loadGeneration;
+        Deck loadDeck;
+        synchronized (this) {
+            loadGeneration = generation;
+            loadDeck = deck;
+        }
+
+        StateTable states = quizData.getStateTable(loadDeck.getId());
+        StateCatalog loaded = new StateCatalog(loadDeck, states,
+                quizData.loadScheduler(loadDeck.getId(), states));
+
+        synchronized (this) {
+            if (loadGeneration == generation && !loaded.isEmpty()) {
+                catalog = loaded;
+                Log.d(TAG, "Cached " + loaded.size() + " states of " + loadDeck.getId());
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Bring the cache up to date after a quiz's schedule was saved. The catalog that
+     * was cached before the write has not seen it, so it is returned for the caller to
+     * record the quiz into. A catalog published since may or may not have read the
+     * saved schedule, so it is dropped to be reloaded, and loads still in flight are
+     * not published.
+     *
+     * @param before Result of {@link #peek()} taken before the write began
+     * @return The catalog to record the quiz into, or null if there is none
+     */
+    public synchronized StateCatalog afterScheduleWrite(StateCatalog before) {
+        generation++;
+        if (before != null && catalog == before) {
+            return before;
+        }
+        catalog = null;
+        return null;
+    }
+
+    /**
+     * Drop the cached catalog after the states table changes
+     */
+    public synchronized void invalidate() {
+        generation++;
+        catalog = null;
+    }
+}
@@ -0,0 +1,208 @@
+package edu.uga.cs.statecapitalsquiz.database;
+
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.util.Log;
+
+import java.io.IOException;
+import java.util.List;
+
+import edu.uga.cs.statecapitalsquiz.models.StateItem;
+import edu.uga.cs.statecapitalsquiz.utils.CSVParser;
+
+/**
+ * Bulk loader for one deck's partition of the states table.
+ * Inserts all rows inside a single transaction using one compiled INSERT
+ * statement that is re-bound for every row, instead of a separate implicit
+ * transaction and ContentValues object per state. Rows are inserted as the
+ * CSV is parsed, so a large deck is never held in memory as a list.
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public class StateImporter {
+
+    private static final String TAG = "StateImporter";
+
+    // Report progress every N rows so large decks don't flood the UI thread
+    private static final int PROGRESS_INTERVAL = 25;
+
+    // Also used by HistoryBackup for restored states missing on this device
+    static final String INSERT_STATE_SQL =
+            "INSERT INTO " + QuizDBHelper.TABLE_STATES + " (" +
+                    QuizDBHelper.STATES_NAME + ", " +
+                    QuizDBHelper.STATES_CAPITAL + ", " +
+                    QuizDBHelper.STATES_CITY2 + ", " +
+                    QuizDBHelper.STATES_CITY3 + ", " +
+                    QuizDBHelper.STATES_STATEHOOD_YEAR + ", " +
+                    QuizDBHelper.STATES_CAPITAL_SINCE + ", " +
+                    QuizDBHelper.STATES_CAPITAL_RANK + ", " +
+                    QuizDBHelper.STATES_LATITUDE + ", " +
+                    QuizDBHelper.STATES_LONGITUDE + ", " +
+                    QuizDBHelper.STATES_DECK +
+                    ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_COORDINATES_SQL =
+            "UPDATE " + QuizDBHelper.TABLE_STATES + " SET " +
+                    QuizDBHelper.STATES_LATITUDE + " = ?, " +
+                    QuizDBHelper.STATES_LONGITUDE + " = ?" +
+                    " WHERE " + QuizDBHelper.STATES_DECK + " = ? AND " + QuizDBHelper.STATES_NAME + " = ?";
+
+    private final SQLiteDatabase db;
+    private final String deck;
+
+    /**
+     * Constructor
+     *
+     * @param db Open, writable database
+     * @param deck ID of the deck whose rows are written
+     */
+    public StateImporter(SQLiteDatabase db, String deck) {
+        this.db = db;
+        this.deck = deck;
+    }
+
+    /**
+     * Insert all states in one transaction as the parser reads them, without first
+     * collecting the whole deck in memory.
+     * Either every row is committed or none are; a parse error rolls back every row.
+     *
+     * @param parser Parser for the states CSV
+     * @param listener Optional progress callback (called on the importing thread)
+     * @return Number of rows inserted
+     * @throws IOException if the CSV cannot be read or is malformed
+     */
+    public int importStates(CSVParser parser, OnProgressListener listener) throws IOException {
+        Inserter inserter = new Inserter(listener);
+        db.beginTransaction();
+        try {
+            parser.parse(inserter);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+            inserter.close();
+        }
+        return inserter.finish();
+    }
+
+    /**
+     * Fill in coordinates for states already in the table (rows imported before
+     * the coordinate columns existed), matching rows by state name, in one transaction
+     *
+     * @param states States parsed from the CSV
+     * @return Number of rows updated
+     */
+    public int updateCoordinates(List<StateItem> states) {
+        int updated = 0;
+
+        SQLiteStatement statement = db.compileStatement(UPDATE_COORDINATES_SQL);
+        db.beginTransaction();
+        try {
+            for (StateItem state : states) {
+                if (!state.hasCoordinates()) {
+                    continue;
+                }
+                statement.clearBindings();
+                bindCoordinates(statement, 1, state);
+                statement.bindString(3, deck);
+                bindText(statement, 4, state.getStateName());
+                updated += statement.executeUpdateDelete();
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+            statement.close();
+        }
+
+        Log.d(TAG, "Updated coordinates of " + updated + " states");
+        return updated;
+    }
+
+    /**
+     * Bind every parameter of {@link #INSERT_STATE_SQL}
+     */
+    static void bindState(SQLiteStatement statement, String deck, StateItem state) {
+        statement.clearBindings();
+        bindText(statement, 1, state.getStateName());
+        bindText(statement, 2, state.getCapitalCity());
+        bindText(statement, 3, state.getCity2());
+        bindText(statement, 4, state.getCity3());
+        statement.bindLong(5, state.getStatehoodYear());
+        statement.bindLong(6, state.getCapitalSinceYear());
+        statement.bindLong(7, state.getCapitalRank());
+        bindCoordinates(statement, 8, state);
+        statement.bindString(10, deck);
+    }
+
+    /**
+     * Bind latitude and longitude to two consecutive parameters, or NULLs if unknown
+     */
+    private static void bindCoordinates(SQLiteStatement statement, int index, StateItem state) {
+        if (state.hasCoordinates()) {
+            statement.bindDouble(index, state.getLatitude());
+            statement.bindDouble(index + 1, state.getLongitude());
+        } else {
+            statement.bindNull(index);
+            statement.bindNull(index + 1);
+        }
+    }
+
+    /**
+     * Bind a TEXT column, storing an empty string for missing values
+     * since the city columns are declared NOT NULL.
+     */
+    private static void bindText(SQLiteStatement statement, int index, String value) {
+        statement.bindString(index, value != null ? value : "");
+    }
+
+    /**
+     * Binds each state to one compiled INSERT and reports progress
+     */
+    private final class Inserter implements CSVParser.StateSink {
+        private final SQLiteStatement statement = db.compileStatement(INSERT_STATE_SQL);
+        private final OnProgressListener listener;
+        private int imported = 0;
+        private int parsed = 0;
+
+        Inserter(OnProgressListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public void accept(StateItem state) {
+            bindState(statement, deck, state);
+            if (statement.executeInsert() != -1) {
+                imported++;
+            }
+            parsed++;
+
+            if (listener != null && imported % PROGRESS_INTERVAL == 0) {
+                // The deck's size is not known until the last row is read
+                listener.onProgress(imported, -1);
+            }
+        }
+
+        void close() {
+            statement.close();
+        }
+
+        int finish() {
+            if (listener != null) {
+                listener.onProgress(imported, parsed);
+            }
+            Log.d(TAG, "Imported " + imported + " of " + parsed + " rows into " + deck);
+            return imported;
+        }
+    }
+
+    /**
+     * Callback interface for import progress
+     */
+    public interface OnProgressListener {
+        /**
+         * @param imported Rows inserted so far
+         * @param total Rows to insert, or -1 while still unknown
+         */
+        void onProgress(int imported, int total);
+    }
+}
@@ -0,0 +1,116 @@
+package edu.uga.cs.statecapitalsquiz.database;
+
+import android.database.Cursor;
+
+import edu.uga.cs.statecapitalsquiz.models.StateItem;
+import edu.uga.cs.statecapitalsquiz.models.StateTable;
+
+/**
+ * Maps rows of the states table to {@link StateItem} objects, or appends them
+ * to a {@link StateTable} without creating an object per row.
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public class StateRowMapper implements RowMapper<StateItem> {
+
+    /**
+     * Every column needed to build a complete StateItem
+     */
+    public static final String[] PROJECTION = {
+            QuizDBHelper.STATES_ID,
+            QuizDBHelper.STATES_NAME,
+            QuizDBHelper.STATES_CAPITAL,
+            QuizDBHelper.STATES_CITY2,
+            QuizDBHelper.STATES_CITY3,
+            QuizDBHelper.STATES_STATEHOOD_YEAR,
+            QuizDBHelper.STATES_CAPITAL_SINCE,
+            QuizDBHelper.STATES_CAPITAL_RANK,
+            QuizDBHelper.STATES_LATITUDE,
+            QuizDBHelper.STATES_LONGITUDE
+    };
+
+    /**
+     * {@link #PROJECTION} qualified with a table alias, for queries that join states
+     *
+     * @param alias Alias of the states table in the query
+     * @return The columns, comma-separated
+     */
+    static String columns(String alias) {
+        StringBuilder columns = new StringBuilder();
+        for (String column : PROJECTION) {
+            if (columns.length() > 0) {
+                columns.append(", ");
+            }
+            columns.append(alias).append('.').append(column);
+        }
+        return columns.toString();
+    }
+
+    private final int idIndex;
+    private final int nameIndex;
+    private final int capitalIndex;
+    private final int city2Index;
+    private final int city3Index;
+    private final int statehoodYearIndex;
+    private final int capitalSinceIndex;
+    private final int capitalRankIndex;
+    private final int latitudeIndex;
+    private final int longitudeIndex;
+
+    /**
+     * Resolve column indices for the given cursor
+     *
+     * @param cursor Cursor over the states table
+     */
+    public StateRowMapper(Cursor cursor) {
+        idIndex = cursor.getColumnIndex(QuizDBHelper.STATES_ID);
+        nameIndex = cursor.getColumnIndex(QuizDBHelper.STATES_NAME);
+        capitalIndex = cursor.getColumnIndex(QuizDBHelper.STATES_CAPITAL);
+        city2Index = cursor.getColumnIndex(QuizDBHelper.STATES_CITY2);
+        city3Index = cursor.getColumnIndex(QuizDBHelper.STATES_CITY3);
+        statehoodYearIndex = cursor.getColumnIndex(QuizDBHelper.STATES_STATEHOOD_YEAR);
+        capitalSinceIndex = cursor.getColumnIndex(QuizDBHelper.STATES_CAPITAL_SINCE);
+        capitalRankIndex = cursor.getColumnIndex(QuizDBHelper.STATES_CAPITAL_RANK);
+        latitudeIndex = cursor.getColumnIndex(QuizDBHelper.STATES_LATITUDE);
+        longitudeIndex = cursor.getColumnIndex(QuizDBHelper.STATES_LONGITUDE);
+    }
+
+    @Override
+    public StateItem map(Cursor cursor) {
+        StateItem state = new StateItem();
+        if (idIndex >= 0) state.setId(cursor.getInt(idIndex));
+        if (nameIndex >= 0) state.setStateName(cursor.getString(nameIndex));
+        if (capitalIndex >= 0) state.setCapitalCity(cursor.getString(capitalIndex));
+        if (city2Index >= 0) state.setCity2(cursor.getString(city2Index));
+        if (city3Index >= 0) state.setCity3(cursor.getString(city3Index));
+        if (statehoodYearIndex >= 0) state.setStatehoodYear(cursor.getInt(statehoodYearIndex));
+        if (capitalSinceIndex >= 0) state.setCapitalSinceYear(cursor.getInt(capitalSinceIndex));
+        if (capitalRankIndex >= 0) state.setCapitalRank(cursor.getInt(capitalRankIndex));
+        // NULL coordinates stay NaN
+        if (latitudeIndex >= 0 && !cursor.isNull(latitudeIndex)) state.setLatitude(cursor.getDouble(latitudeIndex));
+        if (longitudeIndex >= 0 && !cursor.isNull(longitudeIndex)) state.setLongitude(cursor.getDouble(longitudeIndex));
+        return state;
+    }
+
+    /**
+     * Append the cursor's current row to a table. The cursor must select
+     * every column in {@link #PROJECTION}.
+     *
+     * @param cursor Cursor positioned on a row (the same cursor the mapper was created for)
+     * @param builder Table being built
+     */
+    public void addTo(Cursor cursor, StateTable.Builder builder) {
+        builder.add(cursor.getInt(idIndex),
+                cursor.getString(nameIndex),
+                cursor.getString(capitalIndex),
+                cursor.getString(city2Index),
+                cursor.getString(city3Index),
+                cursor.getInt(statehoodYearIndex),
+                cursor.getInt(capitalSinceIndex),
+                cursor.getInt(capitalRankIndex),
+                // NULL coordinates stay NaN
+                cursor.isNull(latitudeIndex) ? Double.NaN : cursor.getDouble(latitudeIndex),
+                cursor.isNull(longitudeIndex) ? Double.NaN : cursor.getDouble(longitudeIndex));
+    }
+}
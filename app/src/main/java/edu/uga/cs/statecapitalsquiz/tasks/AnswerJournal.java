@@ -0,0 +1,108 @@
+package edu.uga.cs.statecapitalsquiz.tasks;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.util.SparseIntArray;
+
+import edu.uga.cs.statecapitalsquiz.database.QuizData;
+import edu.uga.cs.statecapitalsquiz.models.Quiz;
+import edu.uga.cs.statecapitalsquiz.utils.Metrics;
+
+/**
+ * Write-behind journal of the answers to an in-progress quiz.
+ *
+ * <p>Each selection is held in memory and the latest answer per question wins.
+ * {@link #FLUSH_DELAY_MS} after the first unsaved change, every pending answer is
+ * written in one transaction on the {@link TaskScheduler} writer thread, together
+ * with the quiz's running score. Tapping between choices therefore costs no disk
+ * write of its own, and at most the last {@link #FLUSH_DELAY_MS} of answers can be
+ * lost if the process dies.</p>
+ *
+ * <p>The quiz may still be waiting for its ID when answers are recorded. Flushes run
+ * on the same writer thread as {@link CreateQuizTask}, after it, so they see the ID.</p>
+ *
+ * <p>All methods must be called on the UI thread.</p>
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public class AnswerJournal {
+
+    private static final String TAG = "AnswerJournal";
+
+    /**
+     * How long answers are held before they are written
+     */
+    public static final long FLUSH_DELAY_MS = 500;
+
+    private final QuizData quizData;
+    private final Quiz quiz;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable flushRunnable = this::flush;
+
+    // 0-based position -> answer index (-1 = cleared), not yet handed to the writer
+    private SparseIntArray pending = new SparseIntArray();
+    private boolean flushScheduled = false;
+
+    /**
+     * Constructor
+     *
+     * @param quizData Database operations object
+     * @param quiz Quiz the answers belong to
+     */
+    public AnswerJournal(QuizData quizData, Quiz quiz) {
+        this.quizData = quizData;
+        this.quiz = quiz;
+    }
+
+    /**
+     * Record an answer; it is written with the next flush
+     *
+     * @param position 0-based question position
+     * @param answerIndex Index of the chosen answer, or -1 to clear it
+     */
+    public void record(int position, int answerIndex) {
+        pending.put(position, answerIndex);
+        if (!flushScheduled) {
+            flushScheduled = true;
+            handler.postDelayed(flushRunnable, FLUSH_DELAY_MS);
+        }
+    }
+
+    /**
+     * Hand every pending answer to the writer now (e.g. when the app is backgrounded)
+     */
+    public void flush() {
+        handler.removeCallbacks(flushRunnable);
+        flushScheduled = false;
+        if (pending.size() == 0) {
+            return;
+        }
+
+        SparseIntArray batch = pending;
+        pending = new SparseIntArray();
+        Metrics.count("answers.flushes", 1);
+        Metrics.count("answers.flushed", batch.size());
+        TaskScheduler.getInstance().submit(TaskScheduler.Priority.WRITE, null,
+                () -> write(batch), null, null);
+    }
+
+    private Integer write(SparseIntArray batch) {
+        int quizId = quiz.getId();
+        if (quizId <= 0) {
+            Log.w(TAG, "Quiz was never saved; dropping " + batch.size() + " answers");
+            return 0;
+        }
+
+        quizData.write(data -> {
+            for (int i = 0; i < batch.size(); i++) {
+                data.updateAnswer(quizId, batch.keyAt(i), batch.valueAt(i));
+            }
+            data.refreshQuizProgress(quizId);
+            return null;
+        });
+        Log.d(TAG, "Saved " + batch.size() + " answers for quiz " + quizId);
+        return batch.size();
+    }
+}
@@ -1,15 +1,17 @@
 package edu.uga.cs.statecapitalsquiz.tasks;
 
-import android.os.Handler;
-import android.os.Looper;
+import androidx.annotation.NonNull;
+import androidx.lifecycle.LifecycleOwner;
 
-import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
 //
 /**
  * A custom implementation of the deprecated AsyncTask to be used in modern Android versions.
  * This class allows background operations and publishing results on the UI thread.
  *
+ * <p>All tasks share the worker threads of {@link TaskScheduler} rather than creating their
+ * own. A task can be bound to a lifecycle with {@link #bindTo(LifecycleOwner)} so that
+ * onPostExecute() and onProgressUpdate() are skipped once that lifecycle is destroyed.</p>
+ *
  * @param <Params>   the type of the parameters sent to the task upon execution.
  * @param <Progress> the type of the progress units published during the background computation.
  * @param <Result>   the type of the result of the background computation.
@@ -18,8 +20,8 @@ public abstract class AsyncTask<Params, Progress, Result> {
 
     private static final String TAG = "AsyncTask";
 
-    private final Executor executor = Executors.newSingleThreadExecutor();
-    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final TaskScheduler scheduler = TaskScheduler.getInstance();
+    private CancellationToken token = new CancellationToken();
 
     /**
      * This method is invoked on the background thread immediately after onPreExecute()
@@ -47,16 +49,86 @@ public abstract class AsyncTask<Params, Progress, Result> {
         // Default is no-op
     }
 
+    /**
+     * Runs on the UI thread after publishProgress() is invoked from doInBackground().
+     *
+     * @param values The progress values passed to publishProgress().
+     */
+    protected void onProgressUpdate(Progress... values) {
+        // Default is no-op
+    }
+
+    /**
+     * Which worker pool this task runs on. Tasks that modify the database
+     * should override this to return {@link TaskScheduler.Priority#WRITE}.
+     *
+     * @return The priority for this task (READ by default).
+     */
+    protected TaskScheduler.Priority getPriority() {
+        return TaskScheduler.Priority.READ;
+    }
+
+    /**
+     * Key identifying requests that return the same data. While a task with this
+     * key is running, executing another one with the same key reuses its result
+     * instead of repeating the work.
+     *
+     * @return The coalescing key, or null (default) to always run.
+     */
+    protected String getCoalescingKey() {
+        return null;
+    }
+
+    /**
+     * Publishes progress updates from doInBackground(). Each call posts
+     * onProgressUpdate() to the UI thread.
+     *
+     * @param values The progress values to deliver to the UI thread.
+     */
+    @SafeVarargs
+    protected final void publishProgress(Progress... values) {
+        scheduler.postToMain(() -> {
+            if (!isCancelled()) {
+                onProgressUpdate(values);
+            }
+        });
+    }
+
+    /**
+     * Tie this task to a lifecycle. Callbacks are dropped once the owner is destroyed.
+     * Must be called on the UI thread before execute().
+     *
+     * @param owner For fragments, {@code getViewLifecycleOwner()}.
+     * @return This task, for chaining.
+     */
+    public final AsyncTask<Params, Progress, Result> bindTo(@NonNull LifecycleOwner owner) {
+        token = CancellationToken.forLifecycle(owner);
+        return this;
+    }
+
+    /**
+     * Cancel this task. Its callbacks will not run; a read that has not started yet is skipped.
+     */
+    public final void cancel() {
+        token.cancel();
+    }
+
+    /**
+     * @return true if the task was cancelled or its lifecycle destroyed
+     */
+    public final boolean isCancelled() {
+        return token.isCancelled();
+    }
+
     /**
      * Executes the task with the given parameters. This method must be invoked on the UI thread.
      *
      * @param params The parameters of the task.
      */
+    @SafeVarargs
     public final void execute(Params... params) {
         onPreExecute();
-        executor.execute(() -> {
-            Result result = doInBackground(params);
-            handler.post(() -> onPostExecute(result));
-        });
+        scheduler.submit(getPriority(), getCoalescingKey(),
+                () -> doInBackground(params), token, this::onPostExecute);
     }
 }
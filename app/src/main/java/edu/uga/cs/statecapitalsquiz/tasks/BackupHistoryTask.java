@@ -0,0 +1,106 @@
+package edu.uga.cs.statecapitalsquiz.tasks;
+
+import android.content.Context;
+import android.net.Uri;
+import android.os.ParcelFileDescriptor;
+import android.util.Log;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+
+import edu.uga.cs.statecapitalsquiz.database.QuizData;
+import edu.uga.cs.statecapitalsquiz.utils.BackupWriter;
+
+/**
+ * AsyncTask to back up the quiz history to a file the user picked.
+ * The history is streamed page by page through a file channel, so a backup of any
+ * size is written in constant memory.
+ *
+ * <p>Runs on the write thread although it only reads: no quiz can be created or
+ * completed while it runs, so the backup is a consistent copy, and it always runs to
+ * completion even if the screen that started it goes away.</p>
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public class BackupHistoryTask extends AsyncTask<Void, Void, Integer> {
+
+    private static final String TAG = "BackupHistoryTask";
+
+    private final Context context;
+    private final QuizData quizData;
+    private final Uri uri;
+    private final boolean compress;
+    private final OnBackupCompletedListener listener;
+
+    /**
+     * Constructor
+     *
+     * @param context Context used to open the file
+     * @param quizData Database operations object
+     * @param uri File to write, from the system file picker
+     * @param compress true to deflate the backup
+     * @param listener Callback for when the backup is written
+     */
+    public BackupHistoryTask(Context context, QuizData quizData, Uri uri, boolean compress,
+                             OnBackupCompletedListener listener) {
+        this.context = context.getApplicationContext();
+        this.quizData = quizData;
+        this.uri = uri;
+        this.compress = compress;
+        this.listener = listener;
+    }
+
+    /**
+     * Background operation - write the whole history to the file
+     *
+     * @return Number of quizzes backed up, or -1 on error
+     */
+    @Override
+    protected Integer doInBackground(Void... params) {
+        try {
+            ParcelFileDescriptor file = context.getContentResolver().openFileDescriptor(uri, "wt");
+            if (file == null) {
+                throw new FileNotFoundException("Cannot open " + uri);
+            }
+            // Closing the channel closes the file descriptor
+            try (FileChannel channel = new ParcelFileDescriptor.AutoCloseOutputStream(file).getChannel();
+                 BackupWriter writer = new BackupWriter(channel, compress)) {
+                return quizData.read(data -> {
+                    try {
+                        return data.backupHistory(writer);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error backing up history to " + uri, e);
+            return -1;
+        }
+    }
+
+    @Override
+    protected TaskScheduler.Priority getPriority() {
+        return TaskScheduler.Priority.WRITE;
+    }
+
+    @Override
+    protected void onPostExecute(Integer count) {
+        if (listener != null) {
+            listener.onBackupCompleted(count);
+        }
+    }
+
+    /**
+     * Callback interface for backup completion
+     */
+    public interface OnBackupCompletedListener {
+        /**
+         * @param quizzes Number of quizzes backed up, or -1 if the backup failed
+         */
+        void onBackupCompleted(int quizzes);
+    }
+}
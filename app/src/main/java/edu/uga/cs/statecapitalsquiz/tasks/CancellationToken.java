@@ -0,0 +1,60 @@
+package edu.uga.cs.statecapitalsquiz.tasks;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+/**
+ * Cancellation flag shared between a caller and the work it scheduled.
+ * A token bound to a lifecycle cancels itself when that lifecycle is destroyed,
+ * so results are never delivered to a fragment whose view is already gone.
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public class CancellationToken {
+
+    private volatile boolean cancelled = false;
+
+    /**
+     * Create a token that is cancelled when the owner reaches ON_DESTROY.
+     * Must be called on the UI thread. For fragments, pass
+     * {@code getViewLifecycleOwner()} so the token follows the view.
+     *
+     * @param owner Lifecycle to follow
+     * @return New token tied to the owner
+     */
+    public static CancellationToken forLifecycle(@NonNull LifecycleOwner owner) {
+        CancellationToken token = new CancellationToken();
+        Lifecycle lifecycle = owner.getLifecycle();
+        if (lifecycle.getCurrentState() == Lifecycle.State.DESTROYED) {
+            token.cancel();
+            return token;
+        }
+        lifecycle.addObserver(new LifecycleEventObserver() {
+            @Override
+            public void onStateChanged(@NonNull LifecycleOwner source, @NonNull Lifecycle.Event event) {
+                if (event == Lifecycle.Event.ON_DESTROY) {
+                    token.cancel();
+                    source.getLifecycle().removeObserver(this);
+                }
+            }
+        });
+        return token;
+    }
+
+    /**
+     * Cancel the token. Pending reads are skipped and callbacks are not delivered.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * @return true if cancel() has been called
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
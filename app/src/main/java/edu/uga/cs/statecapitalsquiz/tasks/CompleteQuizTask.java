@@ -0,0 +1,111 @@
+package edu.uga.cs.statecapitalsquiz.tasks;
+
+import android.util.Log;
+
+import java.util.List;
+
+import edu.uga.cs.statecapitalsquiz.database.QuizData;
+import edu.uga.cs.statecapitalsquiz.database.StateCatalog;
+import edu.uga.cs.statecapitalsquiz.database.StateCatalogCache;
+import edu.uga.cs.statecapitalsquiz.models.Quiz;
+import edu.uga.cs.statecapitalsquiz.models.QuizQuestion;
+import edu.uga.cs.statecapitalsquiz.utils.LatencyTimer;
+import edu.uga.cs.statecapitalsquiz.utils.Metrics;
+
+/**
+ * AsyncTask to save a finished quiz: every answer, the final score and the
+ * completion date, written in one transaction. Once saved, the quiz is recorded
+ * into the cached catalog's spaced-repetition scheduler.
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public class CompleteQuizTask extends AsyncTask<Void, Void, Long> {
+
+    /**
+     * Result when the quiz had already been completed, e.g. by an earlier save from
+     * a results screen that was since recreated; nothing was written
+     */
+    public static final long ALREADY_COMPLETED = 0L;
+
+    private static final String TAG = "CompleteQuizTask";
+    private static final LatencyTimer SAVE_TIMER = Metrics.timer(Metrics.QUIZ_SAVE_RESULTS);
+
+    private final QuizData quizData;
+    private final Quiz quiz;
+    private final List<QuizQuestion> questions;
+    private final OnQuizCompletedListener listener;
+
+    /**
+     * Constructor
+     *
+     * @param quizData Database operations object
+     * @param quiz Finished quiz (already saved by {@link CreateQuizTask})
+     * @param questions The quiz's questions with the user's answers
+     * @param listener Callback for when the quiz is saved
+     */
+    public CompleteQuizTask(QuizData quizData, Quiz quiz, List<QuizQuestion> questions,
+                            OnQuizCompletedListener listener) {
+        this.quizData = quizData;
+        this.quiz = quiz;
+        this.questions = questions;
+        this.listener = listener;
+    }
+
+    @Override
+    protected Long doInBackground(Void... params) {
+        // Runs on the writer thread after CreateQuizTask, which assigned the ID
+        if (quiz.getId() <= 0) {
+            Log.e(TAG, "Quiz was never saved, cannot complete it");
+            return -1L;
+        }
+
+        long start = SAVE_TIMER.start();
+        try {
+            StateCatalogCache cache = StateCatalogCache.getInstance();
+            StateCatalog before = cache.peek();
+            boolean completed = quizData.write(data -> data.completeQuiz(quiz, questions));
+            SAVE_TIMER.stop(start);
+
+            if (!completed) {
+                return ALREADY_COMPLETED;
+            }
+
+            // Only a catalog loaded before the write lacks the quiz; a later one read it from the table
+            StateCatalog catalog = cache.afterScheduleWrite(before);
+            if (catalog != null) {
+                catalog.getScheduler().recordQuiz(questions);
+            }
+
+            Log.d(TAG, "Quiz " + quiz.getId() + " completed");
+            return (long) quiz.getId();
+
+        } catch (Exception e) {
+            Log.e(TAG, "Error completing quiz", e);
+            return -1L;
+        }
+    }
+
+    @Override
+    protected TaskScheduler.Priority getPriority() {
+        return TaskScheduler.Priority.WRITE;
+    }
+
+    @Override
+    protected void onPostExecute(Long quizId) {
+        if (listener != null) {
+            listener.onQuizCompleted(quizId);
+        }
+    }
+
+    /**
+     * Callback interface for quiz completion
+     */
+    public interface OnQuizCompletedListener {
+        /**
+         * @param quizId ID of the quiz this task completed, {@link #ALREADY_COMPLETED}
+         *               if it was complete before, or -1 on error
+         */
+        void onQuizCompleted(long quizId);
+    }
+}
@@ -1,37 +1,45 @@
 package edu.uga.cs.statecapitalsquiz.tasks;
 
-import android.os.Handler;
-import android.os.Looper;
 import android.util.Log;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.List;
 
 import edu.uga.cs.statecapitalsquiz.database.QuizData;
 import edu.uga.cs.statecapitalsquiz.models.Quiz;
+import edu.uga.cs.statecapitalsquiz.models.QuizQuestion;
 
 /**
- * Task to create a new quiz with randomly selected states using Executors.
- * Runs on a background thread to avoid blocking the UI.
+ * Task to save a newly generated quiz and its questions to the database.
+ * Runs on the shared {@link TaskScheduler} writer thread to avoid blocking the UI.
+ * Because the writer runs tasks in order, later writes for the same quiz
+ * (such as completing it) always see the quiz's new ID. Any older unfinished
+ * quiz is deleted in the same transaction.
  *
  * @author StateCapitalsQuiz Team
- * @version 1.1
+ * @version 1.2
  */
 public class CreateQuizTask {
 
     private static final String TAG = "CreateQuizTask";
 
     private final QuizData quizData;
+    private final Quiz quiz;
+    private final List<QuizQuestion> questions;
     private final OnQuizCreatedListener listener;
 
     /**
      * Constructor
      *
      * @param quizData Database operations object
+     * @param quiz Generated quiz; its ID is set once it is saved
+     * @param questions The quiz's questions in order
      * @param listener Callback for when quiz is created
      */
-    public CreateQuizTask(QuizData quizData, OnQuizCreatedListener listener) {
+    public CreateQuizTask(QuizData quizData, Quiz quiz, List<QuizQuestion> questions,
+                          OnQuizCreatedListener listener) {
         this.quizData = quizData;
+        this.quiz = quiz;
+        this.questions = questions;
         this.listener = listener;
     }
 
@@ -39,30 +47,30 @@ public class CreateQuizTask {
      * Executes the task to create a quiz in the background.
      */
     public void execute() {
-        ExecutorService executor = Executors.newSingleThreadExecutor();
-        Handler handler = new Handler(Looper.getMainLooper());
-
-        executor.execute(() -> {
-            // Background work
-            Quiz quiz = doInBackground();
+        execute(null);
+    }
 
-            // Post result to main thread
-            handler.post(() -> onPostExecute(quiz));
-        });
+    /**
+     * Executes the task, dropping the callback if the token is cancelled.
+     * The quiz row is still written.
+     *
+     * @param token Cancellation token for the caller, or null
+     */
+    public void execute(CancellationToken token) {
+        TaskScheduler.getInstance().submit(TaskScheduler.Priority.WRITE, null,
+                this::doInBackground, token, this::onPostExecute);
     }
 
     private Quiz doInBackground() {
         try {
-            Log.d(TAG, "Creating new quiz");
-
-            // Select 6 random unique state IDs
-            int[] stateIds = quizData.selectRandomStates(6);
-
-            // Create quiz in database
-            long quizId = quizData.createNewQuiz(stateIds);
-
-            // Retrieve the created quiz
-            Quiz quiz = quizData.getQuizById((int) quizId);
+            Log.d(TAG, "Saving new quiz with " + questions.size() + " questions");
+
+            // A new quiz replaces any unfinished one, so only one can ever be resumed.
+            // If the insert fails it throws, and the deletion is rolled back with it.
+            long quizId = quizData.write(data -> {
+                data.deleteIncompleteQuizzes();
+                return data.createNewQuiz(quiz, questions);
+            });
 
             Log.d(TAG, "Quiz created with ID: " + quizId);
             return quiz;
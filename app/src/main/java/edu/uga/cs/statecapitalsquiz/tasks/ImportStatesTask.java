@@ -0,0 +1,109 @@
+package edu.uga.cs.statecapitalsquiz.tasks;
+
+import android.content.Context;
+import android.util.Log;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import edu.uga.cs.statecapitalsquiz.database.QuizData;
+import edu.uga.cs.statecapitalsquiz.models.Deck;
+import edu.uga.cs.statecapitalsquiz.utils.AndroidAssetSource;
+import edu.uga.cs.statecapitalsquiz.utils.AndroidLogger;
+import edu.uga.cs.statecapitalsquiz.utils.CSVParser;
+
+/**
+ * AsyncTask to parse one deck's CSV and bulk insert it into the database.
+ * Rows are inserted as they are parsed, on the background thread; progress is
+ * published back to the UI thread as rows are written.
+ * If the deck already has rows (imported before capital coordinates
+ * were added), only their missing coordinates are filled in.
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public class ImportStatesTask extends AsyncTask<Void, Integer, Integer> {
+
+    private static final String TAG = "ImportStatesTask";
+
+    private final Context context;
+    private final QuizData quizData;
+    private final Deck deck;
+    private final OnStatesImportedListener listener;
+
+    /**
+     * Constructor
+     *
+     * @param context Context used to open the CSV asset
+     * @param quizData Database operations object
+     * @param deck Deck to import
+     * @param listener Callback for progress and completion
+     */
+    public ImportStatesTask(Context context, QuizData quizData, Deck deck,
+                            OnStatesImportedListener listener) {
+        this.context = context.getApplicationContext();
+        this.quizData = quizData;
+        this.deck = deck;
+        this.listener = listener;
+    }
+
+    /**
+     * Background operation - parse the CSV and insert all rows in one transaction
+     *
+     * @return Number of states imported or updated, or -1 on error
+     */
+    @Override
+    protected Integer doInBackground(Void... params) {
+        CSVParser parser = new CSVParser(new AndroidAssetSource(context), deck.getAsset(),
+                AndroidLogger.INSTANCE);
+        String deckId = deck.getId();
+        try {
+            return quizData.write(data -> {
+                try {
+                    return data.isDeckEmpty(deckId)
+                            ? data.insertStates(deckId, parser, (done, total) -> publishProgress(done, total))
+                            : data.updateStateCoordinates(deckId, parser.parseCSV());
+                } catch (IOException e) {
+                    // Rolls back the write session
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+        } catch (Exception e) {
+            Log.e(TAG, "Error importing " + deck, e);
+            return -1;
+        }
+    }
+
+    @Override
+    protected TaskScheduler.Priority getPriority() {
+        return TaskScheduler.Priority.WRITE;
+    }
+
+    @Override
+    protected void onProgressUpdate(Integer... values) {
+        if (listener != null) {
+            listener.onImportProgress(values[0], values[1]);
+        }
+    }
+
+    @Override
+    protected void onPostExecute(Integer count) {
+        if (listener != null) {
+            listener.onStatesImported(count);
+        }
+    }
+
+    /**
+     * Callback interface for import progress and completion
+     */
+    public interface OnStatesImportedListener {
+        /**
+         * @param imported Rows written so far
+         * @param total Rows in the CSV, or -1 until it has been read to the end
+         */
+        void onImportProgress(int imported, int total);
+
+        void onStatesImported(int count);
+    }
+}
@@ -0,0 +1,72 @@
+package edu.uga.cs.statecapitalsquiz.tasks;
+
+import android.util.Log;
+
+import java.util.List;
+
+import edu.uga.cs.statecapitalsquiz.database.QuizData;
+import edu.uga.cs.statecapitalsquiz.models.Quiz;
+import edu.uga.cs.statecapitalsquiz.models.QuizQuestion;
+
+/**
+ * AsyncTask to load the unfinished quiz, if any, with its questions and the
+ * answers saved so far by {@link AnswerJournal}.
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public class LoadCurrentQuizTask extends AsyncTask<Void, Void, Quiz> {
+
+    private static final String TAG = "LoadCurrentQuizTask";
+
+    private final QuizData quizData;
+    private final OnCurrentQuizLoadedListener listener;
+    // Written in the background, read in onPostExecute
+    private List<QuizQuestion> questions;
+
+    /**
+     * Constructor
+     *
+     * @param quizData Database operations object
+     * @param listener Callback for when the quiz is loaded
+     */
+    public LoadCurrentQuizTask(QuizData quizData, OnCurrentQuizLoadedListener listener) {
+        this.quizData = quizData;
+        this.listener = listener;
+    }
+
+    @Override
+    protected Quiz doInBackground(Void... params) {
+        try {
+            return quizData.read(data -> {
+                Quiz quiz = data.getCurrentQuiz();
+                if (quiz == null) {
+                    return null;
+                }
+                questions = data.getQuizQuestions(quiz.getId());
+                return questions.isEmpty() ? null : quiz;
+            });
+        } catch (Exception e) {
+            Log.e(TAG, "Error loading current quiz", e);
+            return null;
+        }
+    }
+
+    @Override
+    protected void onPostExecute(Quiz quiz) {
+        if (listener != null) {
+            listener.onCurrentQuizLoaded(quiz, quiz != null ? questions : null);
+        }
+    }
+
+    /**
+     * Callback interface for current quiz loading
+     */
+    public interface OnCurrentQuizLoadedListener {
+        /**
+         * @param quiz The unfinished quiz, or null if there is none
+         * @param questions Its questions with saved answers, or null
+         */
+        void onCurrentQuizLoaded(Quiz quiz, List<QuizQuestion> questions);
+    }
+}
@@ -0,0 +1,67 @@
+package edu.uga.cs.statecapitalsquiz.tasks;
+
+import android.util.Log;
+
+import java.util.List;
+
+import edu.uga.cs.statecapitalsquiz.database.QuizData;
+import edu.uga.cs.statecapitalsquiz.models.Quiz;
+
+/**
+ * AsyncTask to load one page of completed quizzes for the history screen.
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public class LoadQuizPageTask extends AsyncTask<Void, Void, List<Quiz>> {
+
+    private static final String TAG = "LoadQuizPageTask";
+
+    private final QuizData quizData;
+    private final Quiz anchor;
+    private final boolean older;
+    private final int pageSize;
+    private final OnPageLoadedListener listener;
+
+    /**
+     * Constructor
+     *
+     * @param quizData Database operations object
+     * @param anchor Boundary quiz (exclusive), or null for the first page
+     * @param older true to load quizzes older than the anchor, false for newer ones
+     * @param pageSize Maximum number of quizzes to load
+     * @param listener Callback for when the page is loaded
+     */
+    public LoadQuizPageTask(QuizData quizData, Quiz anchor, boolean older, int pageSize,
+                            OnPageLoadedListener listener) {
+        this.quizData = quizData;
+        this.anchor = anchor;
+        this.older = older;
+        this.pageSize = pageSize;
+        this.listener = listener;
+    }
+
+    @Override
+    protected List<Quiz> doInBackground(Void... params) {
+        try {
+            return quizData.read(data -> data.getCompletedQuizzesPage(anchor, older, pageSize));
+        } catch (Exception e) {
+            Log.e(TAG, "Error loading quiz page", e);
+            return null;
+        }
+    }
+
+    @Override
+    protected void onPostExecute(List<Quiz> page) {
+        if (listener != null) {
+            listener.onPageLoaded(page);
+        }
+    }
+
+    /**
+     * Callback interface for page loading completion
+     */
+    public interface OnPageLoadedListener {
+        void onPageLoaded(List<Quiz> page);
+    }
+}
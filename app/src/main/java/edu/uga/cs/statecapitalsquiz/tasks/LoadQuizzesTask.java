@@ -40,7 +40,7 @@ public class LoadQuizzesTask extends AsyncTask<Void, Void, List<Quiz>> {
         try {
             Log.d(TAG, "Loading past quizzes");
 
-            List<Quiz> quizzes = quizData.getAllCompletedQuizzes();
+            List<Quiz> quizzes = quizData.read(QuizData::getAllCompletedQuizzes);
 
             Log.d(TAG, "Loaded " + quizzes.size() + " past quizzes");
             return quizzes;
@@ -51,6 +51,14 @@ public class LoadQuizzesTask extends AsyncTask<Void, Void, List<Quiz>> {
         }
     }
 
+    /**
+     * Concurrent history loads share one query
+     */
+    @Override
+    protected String getCoalescingKey() {
+        return "load_completed_quizzes";
+    }
+
     /**
      * Called on UI thread after background work completes
      */
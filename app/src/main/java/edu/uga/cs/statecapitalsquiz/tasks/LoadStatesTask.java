@@ -1,32 +1,38 @@
 package edu.uga.cs.statecapitalsquiz.tasks;
 
 import android.util.Log;
-import java.util.List;
 
 import edu.uga.cs.statecapitalsquiz.database.QuizData;
-import edu.uga.cs.statecapitalsquiz.models.StateItem;
+import edu.uga.cs.statecapitalsquiz.database.StateCatalog;
+import edu.uga.cs.statecapitalsquiz.database.StateCatalogCache;
 
 /**
- * AsyncTask to load states from database.
+ * AsyncTask to load the selected deck's state catalog from database.
+ * Served from {@link StateCatalogCache} when possible; the database is only
+ * opened on a cache miss.
  */
-public class LoadStatesTask extends AsyncTask<Void, Void, List<StateItem>> {
+public class LoadStatesTask extends AsyncTask<Void, Void, StateCatalog> {
 
     private static final String TAG = "LoadStatesTask";
     private QuizData quizData;
     private OnStatesLoadedListener listener;
+    private final String deckId;
 
     public LoadStatesTask(QuizData quizData, OnStatesLoadedListener listener) {
         this.quizData = quizData;
         this.listener = listener;
+        this.deckId = StateCatalogCache.getInstance().getDeck().getId();
     }
 
     @Override
-    protected List<StateItem> doInBackground(Void... params) {
+    protected StateCatalog doInBackground(Void... params) {
         try {
-            quizData.open();
-            List<StateItem> states = quizData.getAllStates();
-            quizData.close();
-            return states;
+            StateCatalogCache cache = StateCatalogCache.getInstance();
+            StateCatalog catalog = cache.peek();
+            if (catalog == null) {
+                catalog = quizData.read(cache::load);
+            }
+            return catalog;
         } catch (Exception e) {
             Log.e(TAG, "Error loading states", e);
             return null;
@@ -34,13 +40,19 @@ public class LoadStatesTask extends AsyncTask<Void, Void, List<StateItem>> {
     }
 
     @Override
-    protected void onPostExecute(List<StateItem> states) {
+    protected String getCoalescingKey() {
+        // A load for a deck selected later must not share an earlier deck's result
+        return "load_states:" + deckId;
+    }
+
+    @Override
+    protected void onPostExecute(StateCatalog catalog) {
         if (listener != null) {
-            listener.onStatesLoaded(states);
+            listener.onStatesLoaded(catalog);
         }
     }
 
     public interface OnStatesLoadedListener {
-        void onStatesLoaded(List<StateItem> states);
+        void onStatesLoaded(StateCatalog catalog);
     }
 }
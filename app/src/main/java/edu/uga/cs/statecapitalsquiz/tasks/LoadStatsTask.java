@@ -0,0 +1,67 @@
+package edu.uga.cs.statecapitalsquiz.tasks;
+
+import android.util.Log;
+
+import edu.uga.cs.statecapitalsquiz.database.QuizData;
+import edu.uga.cs.statecapitalsquiz.models.QuizStats;
+
+/**
+ * AsyncTask to load the user's statistics from the aggregate stats tables.
+ * Runs on background thread to avoid blocking UI.
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public class LoadStatsTask extends AsyncTask<Void, Void, QuizStats> {
+
+    private static final String TAG = "LoadStatsTask";
+
+    private final QuizData quizData;
+    private final OnStatsLoadedListener listener;
+
+    /**
+     * Constructor
+     *
+     * @param quizData Database operations object
+     * @param listener Callback for when the stats are loaded
+     */
+    public LoadStatsTask(QuizData quizData, OnStatsLoadedListener listener) {
+        this.quizData = quizData;
+        this.listener = listener;
+    }
+
+    @Override
+    protected QuizStats doInBackground(Void... params) {
+        try {
+            return quizData.read(QuizData::getStats);
+        } catch (Exception e) {
+            Log.e(TAG, "Error loading stats", e);
+            return null;
+        }
+    }
+
+    /**
+     * Concurrent stats loads share one query
+     */
+    @Override
+    protected String getCoalescingKey() {
+        return "load_stats";
+    }
+
+    @Override
+    protected void onPostExecute(QuizStats stats) {
+        if (listener != null) {
+            listener.onStatsLoaded(stats);
+        }
+    }
+
+    /**
+     * Callback interface for stats loading completion
+     */
+    public interface OnStatsLoadedListener {
+        /**
+         * @param stats The stats, or null if they could not be read
+         */
+        void onStatsLoaded(QuizStats stats);
+    }
+}
@@ -0,0 +1,160 @@
+package edu.uga.cs.statecapitalsquiz.tasks;
+
+import android.util.Log;
+
+import java.util.List;
+
+import edu.uga.cs.statecapitalsquiz.database.QuizData;
+import edu.uga.cs.statecapitalsquiz.database.StateCatalog;
+import edu.uga.cs.statecapitalsquiz.database.StateCatalogCache;
+import edu.uga.cs.statecapitalsquiz.models.Quiz;
+import edu.uga.cs.statecapitalsquiz.models.QuizQuestion;
+import edu.uga.cs.statecapitalsquiz.utils.AndroidLogger;
+import edu.uga.cs.statecapitalsquiz.utils.QuizManager;
+
+/**
+ * Builds the next quiz ahead of time so "New Quiz" can start it instantly.
+ *
+ * <p>{@link #prepare(int)} picks the states and shuffles the choices on a READ
+ * worker, then saves the quiz with {@link CreateQuizTask}. The finished quiz is
+ * published on the UI thread, and {@link #take(int)} hands it over whole: the
+ * caller gets every part of the quiz or nothing. A quiz built from a deck that
+ * is no longer selected is never handed over. The quiz's ID may still be
+ * pending when it is taken. Writes for it queue behind the CreateQuizTask on the
+ * writer thread, so they always see the ID.</p>
+ *
+ * <p>All methods must be called on the UI thread.</p>
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public class QuizPreGenerator {
+
+    private static final String TAG = "QuizPreGenerator";
+
+    private final QuizData quizData;
+
+    private PreparedQuiz ready;
+    private boolean running = false;
+    // Bumped by cancel() so a build already in flight is thrown away
+    private int generation = 0;
+
+    /**
+     * Constructor
+     *
+     * @param quizData Database operations object
+     */
+    public QuizPreGenerator(QuizData quizData) {
+        this.quizData = quizData;
+    }
+
+    /**
+     * Start building a quiz of the given length, unless one is ready or being built
+     *
+     * @param questionCount Number of questions
+     */
+    public void prepare(int questionCount) {
+        if (running || (ready != null && ready.getQuestionCount() == questionCount)) {
+            return;
+        }
+
+        running = true;
+        int ticket = ++generation;
+        TaskScheduler.getInstance().submit(TaskScheduler.Priority.READ, null,
+                () -> build(questionCount), null, prepared -> {
+                    if (ticket != generation) {
+                        return;
+                    }
+                    running = false;
+                    if (prepared == null) {
+                        return;
+                    }
+                    new CreateQuizTask(quizData, prepared.getQuiz(), prepared.getQuestions(), null)
+                            .execute();
+                    ready = prepared;
+                });
+    }
+
+    /**
+     * Take the prepared quiz, leaving nothing behind
+     *
+     * @param questionCount Length the caller wants
+     * @return The quiz, or null if none is ready, it has a different length or it
+     *         is from another deck
+     */
+    public PreparedQuiz take(int questionCount) {
+        PreparedQuiz prepared = ready;
+        ready = null;
+        if (prepared == null || prepared.getQuestionCount() != questionCount
+                || !prepared.getDeckId().equals(StateCatalogCache.getInstance().getDeck().getId())) {
+            return null;
+        }
+        Log.d(TAG, "Handing over prepared quiz of " + questionCount + " questions");
+        return prepared;
+    }
+
+    /**
+     * Drop the prepared quiz and ignore any build still running.
+     * A quiz already saved stays unfinished and is deleted with the next new quiz.
+     */
+    public void cancel() {
+        generation++;
+        running = false;
+        ready = null;
+    }
+
+    private PreparedQuiz build(int questionCount) {
+        StateCatalogCache cache = StateCatalogCache.getInstance();
+        StateCatalog catalog = cache.peek();
+        if (catalog == null) {
+            catalog = quizData.read(cache::load);
+        }
+        if (catalog.size() < questionCount) {
+            Log.w(TAG, "Not enough states for a quiz of " + questionCount);
+            return null;
+        }
+
+        QuizManager manager = new QuizManager(questionCount, AndroidLogger.INSTANCE);
+        manager.setAllStates(catalog.getStates(), catalog.getDistractors());
+        manager.setScheduler(catalog.getScheduler());
+        Quiz quiz = manager.createNewQuiz();
+        return new PreparedQuiz(catalog.getDeck().getId(), manager, quiz, manager.getQuestions());
+    }
+
+    /**
+     * A generated quiz, its questions and the manager that scores it
+     */
+    public static final class PreparedQuiz {
+        private final String deckId;
+        private final QuizManager manager;
+        private final Quiz quiz;
+        private final List<QuizQuestion> questions;
+
+        PreparedQuiz(String deckId, QuizManager manager, Quiz quiz, List<QuizQuestion> questions) {
+            this.deckId = deckId;
+            this.manager = manager;
+            this.quiz = quiz;
+            this.questions = questions;
+        }
+
+        public String getDeckId() {
+            return deckId;
+        }
+
+        public QuizManager getManager() {
+            return manager;
+        }
+
+        public Quiz getQuiz() {
+            return quiz;
+        }
+
+        public List<QuizQuestion> getQuestions() {
+            return questions;
+        }
+
+        public int getQuestionCount() {
+            return questions.size();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package edu.uga.cs.statecapitalsquiz.tasks;
+
+import android.content.Context;
+import android.net.Uri;
+import android.os.ParcelFileDescriptor;
+import android.util.Log;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+
+import edu.uga.cs.statecapitalsquiz.database.DeckRegistry;
+import edu.uga.cs.statecapitalsquiz.database.HistoryBackup;
+import edu.uga.cs.statecapitalsquiz.database.QuizData;
+import edu.uga.cs.statecapitalsquiz.models.Deck;
+import edu.uga.cs.statecapitalsquiz.utils.AndroidAssetSource;
+import edu.uga.cs.statecapitalsquiz.utils.AndroidLogger;
+import edu.uga.cs.statecapitalsquiz.utils.BackupReader;
+import edu.uga.cs.statecapitalsquiz.utils.CSVParser;
+
+/**
+ * AsyncTask to restore quiz history from a backup file the user picked.
+ * The backup is streamed through a file channel and applied in one write session:
+ * either every new quiz is restored or, if the file turns out to be invalid, none is.
+ * Quizzes that are already on the device are skipped, so restoring twice is harmless.
+ * Decks the backup needs that were never played here are imported from their CSV first.
+ * States a bundled deck no longer has are not added to it, so they never become quiz items.
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public class RestoreHistoryTask extends AsyncTask<Void, Void, Integer> {
+
+    private static final String TAG = "RestoreHistoryTask";
+
+    private final Context context;
+    private final QuizData quizData;
+    private final Uri uri;
+    private final OnHistoryRestoredListener listener;
+
+    /**
+     * Constructor
+     *
+     * @param context Context used to open the file and the deck CSVs
+     * @param quizData Database operations object
+     * @param uri Backup to read, from the system file picker
+     * @param listener Callback for when the restore is done
+     */
+    public RestoreHistoryTask(Context context, QuizData quizData, Uri uri,
+                              OnHistoryRestoredListener listener) {
+        this.context = context.getApplicationContext();
+        this.quizData = quizData;
+        this.uri = uri;
+        this.listener = listener;
+    }
+
+    /**
+     * Background operation - read the backup and insert the quizzes not already here
+     *
+     * @return Number of quizzes restored, or -1 on error
+     */
+    @Override
+    protected Integer doInBackground(Void... params) {
+        try {
+            ParcelFileDescriptor file = context.getContentResolver().openFileDescriptor(uri, "r");
+            if (file == null) {
+                throw new FileNotFoundException("Cannot open " + uri);
+            }
+            // Closing the channel closes the file descriptor
+            try (FileChannel channel = new ParcelFileDescriptor.AutoCloseInputStream(file).getChannel();
+                 BackupReader reader = new BackupReader(channel)) {
+                return quizData.write(data -> {
+                    try {
+                        return data.restoreHistory(reader, new BundledDecks(data));
+                    } catch (IOException e) {
+                        // Rolls back the write session
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error restoring history from " + uri, e);
+            return -1;
+        }
+    }
+
+    /**
+     * The decks in the app's manifest, imported from their bundled CSV. A deck this
+     * version of the app does not bundle has its states restored from the backup alone.
+     */
+    private final class BundledDecks implements HistoryBackup.DeckLoader {
+        private final QuizData data;
+        private final DeckRegistry registry = DeckRegistry.getInstance(context);
+
+        BundledDecks(QuizData data) {
+            this.data = data;
+        }
+
+        @Override
+        public boolean isBundled(String deckId) {
+            if (registry.find(deckId) == null) {
+                Log.w(TAG, "Backup refers to unknown deck " + deckId);
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public void loadDeck(String deckId) throws IOException {
+            Deck deck = registry.find(deckId);
+            data.insertStates(deckId, new CSVParser(new AndroidAssetSource(context), deck.getAsset(),
+                    AndroidLogger.INSTANCE), null);
+        }
+    }
+
+    @Override
+    protected TaskScheduler.Priority getPriority() {
+        return TaskScheduler.Priority.WRITE;
+    }
+
+    @Override
+    protected void onPostExecute(Integer count) {
+        if (listener != null) {
+            listener.onHistoryRestored(count);
+        }
+    }
+
+    /**
+     * Callback interface for restore completion
+     */
+    public interface OnHistoryRestoredListener {
+        /**
+         * @param quizzes Number of quizzes restored (0 if all were already here),
+         *                or -1 if the backup could not be restored
+         */
+        void onHistoryRestored(int quizzes);
+    }
+}
@@ -0,0 +1,70 @@
+package edu.uga.cs.statecapitalsquiz.tasks;
+
+import android.util.Log;
+
+import java.util.List;
+
+import edu.uga.cs.statecapitalsquiz.database.QuizData;
+import edu.uga.cs.statecapitalsquiz.models.StateItem;
+
+/**
+ * AsyncTask to look up states and capitals by the words typed so far.
+ * Usually started through {@link StateSearcher}, which debounces typing and
+ * cancels searches that have been overtaken.
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public class SearchStatesTask extends AsyncTask<Void, Void, List<StateItem>> {
+
+    private static final String TAG = "SearchStatesTask";
+
+    private final QuizData quizData;
+    private final String text;
+    private final int limit;
+    private final OnSearchCompletedListener listener;
+
+    /**
+     * Constructor
+     *
+     * @param quizData Database operations object
+     * @param text Text typed by the user
+     * @param limit Maximum number of results
+     * @param listener Callback for when the results are ready
+     */
+    public SearchStatesTask(QuizData quizData, String text, int limit,
+                            OnSearchCompletedListener listener) {
+        this.quizData = quizData;
+        this.text = text;
+        this.limit = limit;
+        this.listener = listener;
+    }
+
+    @Override
+    protected List<StateItem> doInBackground(Void... params) {
+        try {
+            return quizData.read(data -> data.searchStates(text, limit));
+        } catch (Exception e) {
+            Log.e(TAG, "Error searching states", e);
+            return null;
+        }
+    }
+
+    @Override
+    protected void onPostExecute(List<StateItem> results) {
+        if (listener != null) {
+            listener.onSearchCompleted(text, results);
+        }
+    }
+
+    /**
+     * Callback interface for search completion
+     */
+    public interface OnSearchCompletedListener {
+        /**
+         * @param text The text that was searched for
+         * @param results Matching states, or null if the search failed
+         */
+        void onSearchCompleted(String text, List<StateItem> results);
+    }
+}
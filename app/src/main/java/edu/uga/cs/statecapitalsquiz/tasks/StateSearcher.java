@@ -0,0 +1,118 @@
+package edu.uga.cs.statecapitalsquiz.tasks;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import java.util.ArrayList;
+
+import edu.uga.cs.statecapitalsquiz.database.QuizData;
+
+/**
+ * Typeahead search over states and capitals.
+ *
+ * <p>Call {@link #search(String)} on every keystroke. The search runs once the text
+ * has been stable for {@link #DEBOUNCE_MS}, so a burst of typing costs one query.
+ * Starting a search cancels the one before it: a search still waiting for a worker
+ * thread is skipped, and one already running has its results dropped. Only results
+ * for the latest text reach the listener, never stale ones arriving out of order.</p>
+ *
+ * <p>All methods must be called on the UI thread. Pending and running searches are
+ * cancelled when the owner is destroyed.</p>
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public class StateSearcher {
+
+    /**
+     * How long the text must stay unchanged before it is searched
+     */
+    public static final long DEBOUNCE_MS = 150;
+
+    /**
+     * Maximum number of results per search
+     */
+    public static final int RESULT_LIMIT = 25;
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable runSearch = this::runSearch;
+
+    private final QuizData quizData;
+    private final LifecycleOwner owner;
+    private final SearchStatesTask.OnSearchCompletedListener listener;
+
+    private String pendingText;
+    private SearchStatesTask running;
+
+    /**
+     * Constructor
+     *
+     * @param quizData Database operations object
+     * @param owner Lifecycle to follow; for fragments, {@code getViewLifecycleOwner()}
+     * @param listener Receives the results for the latest text
+     */
+    public StateSearcher(QuizData quizData, @NonNull LifecycleOwner owner,
+                         SearchStatesTask.OnSearchCompletedListener listener) {
+        this.quizData = quizData;
+        this.owner = owner;
+        this.listener = listener;
+
+        owner.getLifecycle().addObserver(new LifecycleEventObserver() {
+            @Override
+            public void onStateChanged(@NonNull LifecycleOwner source, @NonNull Lifecycle.Event event) {
+                if (event == Lifecycle.Event.ON_DESTROY) {
+                    cancel();
+                    source.getLifecycle().removeObserver(this);
+                }
+            }
+        });
+    }
+
+    /**
+     * Search for the given text once typing pauses. Blank text clears the results
+     * straight away without a query.
+     *
+     * @param text Text typed so far
+     */
+    public void search(String text) {
+        cancel();
+        if (text == null || text.trim().isEmpty()) {
+            listener.onSearchCompleted(text, new ArrayList<>());
+            return;
+        }
+        pendingText = text;
+        handler.postDelayed(runSearch, DEBOUNCE_MS);
+    }
+
+    /**
+     * Drop the pending search, if any, and the results of the running one
+     */
+    public void cancel() {
+        handler.removeCallbacks(runSearch);
+        pendingText = null;
+        if (running != null) {
+            running.cancel();
+            running = null;
+        }
+    }
+
+    private void runSearch() {
+        String text = pendingText;
+        pendingText = null;
+        if (text == null || owner.getLifecycle().getCurrentState() == Lifecycle.State.DESTROYED) {
+            return;
+        }
+
+        // Callbacks of cancelled searches are never delivered, so this is always the latest
+        running = new SearchStatesTask(quizData, text, RESULT_LIMIT, (searched, results) -> {
+            running = null;
+            listener.onSearchCompleted(searched, results);
+        });
+        running.bindTo(owner).execute();
+    }
+}
@@ -0,0 +1,219 @@
+package edu.uga.cs.statecapitalsquiz.tasks;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * App-wide scheduler for background work.
+ *
+ * <p><b>Key responsibilities:</b></p>
+ * <ul>
+ *   <li>Own a fixed set of worker threads, split by {@link Priority}: a small pool for
+ *       UI-critical reads and a single writer thread (SQLite only allows one writer anyway).</li>
+ *   <li>Deliver results on the UI thread, skipping callbacks whose
+ *       {@link CancellationToken} has been cancelled.</li>
+ *   <li>Coalesce duplicate in-flight requests: work submitted with the same key while an
+ *       earlier submission is still running is not run again; its callback receives the
+ *       earlier result.</li>
+ * </ul>
+ *
+ * <p>The thread count stays constant no matter how many screens or tasks are created.</p>
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public final class TaskScheduler {
+
+    private static final String TAG = "TaskScheduler";
+
+    private static final int READ_THREADS = 2;
+    private static final int WRITE_THREADS = 1;
+
+    /**
+     * Which worker pool a piece of work runs on
+     */
+    public enum Priority {
+        /** Reads the UI is waiting on */
+        READ,
+        /** Writes; always run to completion even if the caller goes away */
+        WRITE
+    }
+
+    private static TaskScheduler instance;
+
+    private final ThreadPoolExecutor readExecutor;
+    private final ThreadPoolExecutor writeExecutor;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    // Coalescing key -> callbacks waiting on the in-flight result
+    private final Map<String, List<Delivery<?>>> inFlight = new HashMap<>();
+
+    private TaskScheduler() {
+        readExecutor = newPool("quiz-read", READ_THREADS, Process.THREAD_PRIORITY_DEFAULT);
+        writeExecutor = newPool("quiz-write", WRITE_THREADS, Process.THREAD_PRIORITY_BACKGROUND);
+    }
+
+    /**
+     * @return The process-wide scheduler
+     */
+    public static synchronized TaskScheduler getInstance() {
+        if (instance == null) {
+            instance = new TaskScheduler();
+        }
+        return instance;
+    }
+
+    /**
+     * Get the raw executor for a priority, for work that needs no callback
+     *
+     * @param priority Pool to use
+     * @return Executor backed by that pool
+     */
+    public Executor getExecutor(Priority priority) {
+        return priority == Priority.WRITE ? writeExecutor : readExecutor;
+    }
+
+    /**
+     * Run something on the UI thread
+     *
+     * @param runnable Code to run
+     */
+    public void postToMain(Runnable runnable) {
+        mainHandler.post(runnable);
+    }
+
+    /**
+     * Run work in the background and deliver its result on the UI thread.
+     *
+     * <p>READ work whose token is already cancelled when it reaches a worker is skipped.
+     * WRITE work always runs; cancellation only suppresses the callback.</p>
+     *
+     * @param priority Pool to run on
+     * @param coalesceKey Key identifying duplicate requests, or null to never coalesce
+     * @param work Background computation
+     * @param token Cancellation token for the caller (may be null)
+     * @param callback Called on the UI thread with the result (may be null)
+     */
+    public <T> void submit(Priority priority, String coalesceKey, Callable<T> work,
+                           CancellationToken token, Callback<T> callback) {
+        Delivery<T> delivery = new Delivery<>(token, callback);
+
+        if (coalesceKey != null) {
+            synchronized (inFlight) {
+                List<Delivery<?>> waiting = inFlight.get(coalesceKey);
+                if (waiting != null) {
+                    // Same request already running; piggyback on its result
+                    waiting.add(delivery);
+                    return;
+                }
+                waiting = new ArrayList<>();
+                waiting.add(delivery);
+                inFlight.put(coalesceKey, waiting);
+            }
+        }
+
+        getExecutor(priority).execute(() -> {
+            T result = null;
+            if (priority == Priority.WRITE || !allCancelled(coalesceKey, delivery)) {
+                try {
+                    result = work.call();
+                } catch (Exception e) {
+                    Log.e(TAG, "Background work failed", e);
+                }
+            }
+            deliverAll(coalesceKey, delivery, result);
+        });
+    }
+
+    private boolean allCancelled(String coalesceKey, Delivery<?> delivery) {
+        if (coalesceKey == null) {
+            return delivery.isCancelled();
+        }
+        synchronized (inFlight) {
+            List<Delivery<?>> waiting = inFlight.get(coalesceKey);
+            if (waiting == null) {
+                return true;
+            }
+            for (Delivery<?> d : waiting) {
+                if (!d.isCancelled()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void deliverAll(String coalesceKey, Delivery<T> delivery, T result) {
+        List<Delivery<?>> targets;
+        if (coalesceKey == null) {
+            targets = new ArrayList<>(1);
+            targets.add(delivery);
+        } else {
+            synchronized (inFlight) {
+                targets = inFlight.remove(coalesceKey);
+            }
+        }
+
+        mainHandler.post(() -> {
+            for (Delivery<?> target : targets) {
+                ((Delivery<T>) target).deliver(result);
+            }
+        });
+    }
+
+    private static ThreadPoolExecutor newPool(String name, int threads, int threadPriority) {
+        AtomicInteger count = new AtomicInteger(1);
+        ThreadFactory factory = runnable -> new Thread(() -> {
+            Process.setThreadPriority(threadPriority);
+            runnable.run();
+        }, name + "-" + count.getAndIncrement());
+
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), factory);
+    }
+
+    /**
+     * A callback paired with the token of the caller that asked for it
+     */
+    private static class Delivery<T> {
+        private final CancellationToken token;
+        private final Callback<T> callback;
+
+        Delivery(CancellationToken token, Callback<T> callback) {
+            this.token = token;
+            this.callback = callback;
+        }
+
+        boolean isCancelled() {
+            return token != null && token.isCancelled();
+        }
+
+        void deliver(T result) {
+            if (callback != null && !isCancelled()) {
+                callback.onResult(result);
+            }
+        }
+    }
+
+    /**
+     * Result callback, always invoked on the UI thread
+     */
+    public interface Callback<T> {
+        void onResult(T result);
+    }
+}
@@ -25,10 +25,11 @@ public class UpdateQuizTask extends AsyncTask<Void, Void, Long> {
         try {
             Log.d(TAG, "Updating quiz " + quiz.getId());
             
-            quizData.open();
-            quizData.updateQuizProgress(quiz.getId(), quiz.getScore(), quiz.getQuestionsAnswered());
-            quizData.close();
-            
+            quizData.write(data -> {
+                data.updateQuizProgress(quiz.getId(), quiz.getScore(), quiz.getQuestionsAnswered());
+                return null;
+            });
+
             Log.d(TAG, "Quiz updated");
             return (long) quiz.getId();
 
@@ -38,6 +39,11 @@ public class UpdateQuizTask extends AsyncTask<Void, Void, Long> {
         }
     }
 
+    @Override
+    protected TaskScheduler.Priority getPriority() {
+        return TaskScheduler.Priority.WRITE;
+    }
+
     @Override
     protected void onPostExecute(Long quizId) {
         if (listener != null) {
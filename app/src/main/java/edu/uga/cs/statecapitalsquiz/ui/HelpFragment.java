@@ -15,7 +15,7 @@ import edu.uga.cs.statecapitalsquiz.R;
  * HelpFragment
  *
  * <p><b>Purpose:</b> Shows rules/instructions for the quiz:
- * 6 questions, 3 choices each, swipe to move, and score displayed at the end.</p>
+ * 6 to 50 questions, 3 choices each, swipe to move, and score displayed at the end.</p>
  *
  * <p><b>Current state:</b> Placeholder text only.</p>
  *
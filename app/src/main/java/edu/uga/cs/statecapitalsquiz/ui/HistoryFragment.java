@@ -10,18 +10,28 @@ import android.widget.TextView;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.fragment.app.Fragment;
+import androidx.recyclerview.widget.AsyncDifferConfig;
+import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
-import java.util.List;
+import java.util.Objects;
 
 import edu.uga.cs.statecapitalsquiz.R;
 import edu.uga.cs.statecapitalsquiz.database.QuizData;
 import edu.uga.cs.statecapitalsquiz.models.Quiz;
-import edu.uga.cs.statecapitalsquiz.tasks.LoadQuizzesTask;
+import edu.uga.cs.statecapitalsquiz.tasks.TaskScheduler;
 
 /**
  * HistoryFragment - Displays past quiz results
+ *
+ * <p>Rows are loaded a page at a time by {@link HistoryPager} as the user scrolls,
+ * so opening the screen costs the same however many quizzes have been taken.</p>
+ *
+ * <p>Each new window is diffed against the one on screen on a background thread,
+ * and only the rows that changed are rebound, so a quiz completed while the screen
+ * is open slides in at the top without redrawing the list.</p>
  */
 public class HistoryFragment extends Fragment {
 
@@ -29,6 +39,8 @@ public class HistoryFragment extends Fragment {
     private RecyclerView recyclerView;
     private TextView tvEmptyState;
     private QuizData quizData;
+    private HistoryAdapter adapter;
+    private HistoryPager pager;
 
     @Nullable
     @Override
@@ -45,25 +57,35 @@ public class HistoryFragment extends Fragment {
         recyclerView = view.findViewById(R.id.recyclerView);
         tvEmptyState = view.findViewById(R.id.tvEmptyState);
 
-        recyclerView.setLayoutManager(new LinearLayoutManager(requireContext()));
+        LinearLayoutManager layoutManager = new LinearLayoutManager(requireContext());
+        recyclerView.setLayoutManager(layoutManager);
 
         quizData = new QuizData(requireContext());
-        loadHistory();
+        loadHistory(layoutManager);
     }
 
-    private void loadHistory() {
-        LoadQuizzesTask task = new LoadQuizzesTask(quizData,
-            new LoadQuizzesTask.OnQuizzesLoadedListener() {
-                @Override
-                public void onQuizzesLoaded(List<Quiz> quizzes) {
-                    if (quizzes == null || quizzes.isEmpty()) {
-                        showEmpty();
-                    } else {
-                        displayQuizzes(quizzes);
-                    }
-                }
-            });
-        task.execute();
+    private void loadHistory(LinearLayoutManager layoutManager) {
+        adapter = new HistoryAdapter();
+        recyclerView.setAdapter(adapter);
+
+        pager = new HistoryPager(quizData, getViewLifecycleOwner(), items -> {
+            adapter.submitList(items);
+            if (items.isEmpty()) {
+                showEmpty();
+            } else {
+                showList();
+            }
+        });
+
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView rv, int dx, int dy) {
+                pager.onScrolled(layoutManager.findFirstVisibleItemPosition(),
+                        layoutManager.findLastVisibleItemPosition());
+            }
+        });
+
+        pager.loadFirstPage();
     }
 
     private void showEmpty() {
@@ -71,23 +93,34 @@ public class HistoryFragment extends Fragment {
         tvEmptyState.setVisibility(View.VISIBLE);
     }
 
-    private void displayQuizzes(List<Quiz> quizzes) {
+    private void showList() {
         recyclerView.setVisibility(View.VISIBLE);
         tvEmptyState.setVisibility(View.GONE);
-        recyclerView.setAdapter(new HistoryAdapter(quizzes));
     }
 
-    @Override
-    public void onDestroyView() {
-        super.onDestroyView();
-        if (quizData != null) quizData.close();
-    }
+    static class HistoryAdapter extends ListAdapter<Quiz, HistoryAdapter.ViewHolder> {
 
-    static class HistoryAdapter extends RecyclerView.Adapter<HistoryAdapter.ViewHolder> {
-        private final List<Quiz> quizzes;
+        // A completed quiz is identified by its row ID; a row is redrawn only if what it shows changed
+        private static final DiffUtil.ItemCallback<Quiz> DIFF = new DiffUtil.ItemCallback<Quiz>() {
+            @Override
+            public boolean areItemsTheSame(@NonNull Quiz oldQuiz, @NonNull Quiz newQuiz) {
+                return oldQuiz.getId() == newQuiz.getId();
+            }
 
-        HistoryAdapter(List<Quiz> quizzes) {
-            this.quizzes = quizzes;
+            @Override
+            public boolean areContentsTheSame(@NonNull Quiz oldQuiz, @NonNull Quiz newQuiz) {
+                return oldQuiz.getScore() == newQuiz.getScore()
+                        && oldQuiz.getQuestionCount() == newQuiz.getQuestionCount()
+                        && Objects.equals(oldQuiz.getDate(), newQuiz.getDate());
+            }
+        };
+
+        HistoryAdapter() {
+            // Diff on the read pool rather than a thread pool of the adapter's own
+            super(new AsyncDifferConfig.Builder<>(DIFF)
+                    .setBackgroundThreadExecutor(
+                            TaskScheduler.getInstance().getExecutor(TaskScheduler.Priority.READ))
+                    .build());
         }
 
         @NonNull
@@ -100,14 +133,9 @@ public class HistoryFragment extends Fragment {
 
         @Override
         public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-            Quiz quiz = quizzes.get(position);
+            Quiz quiz = getItem(position);
             holder.tvDate.setText(quiz.getDate());
-            holder.tvScore.setText(quiz.getScore() + "/6");
-        }
-
-        @Override
-        public int getItemCount() {
-            return quizzes.size();
+            holder.tvScore.setText(quiz.getScore() + "/" + quiz.getQuestionCount());
         }
 
         static class ViewHolder extends RecyclerView.ViewHolder {
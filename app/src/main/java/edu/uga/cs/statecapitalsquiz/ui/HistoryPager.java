@@ -0,0 +1,231 @@
+package edu.uga.cs.statecapitalsquiz.ui;
+
+import androidx.lifecycle.LifecycleOwner;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import edu.uga.cs.statecapitalsquiz.database.QuizChangeNotifier;
+import edu.uga.cs.statecapitalsquiz.database.QuizData;
+import edu.uga.cs.statecapitalsquiz.models.Quiz;
+import edu.uga.cs.statecapitalsquiz.tasks.LoadQuizPageTask;
+
+/**
+ * HistoryPager
+ *
+ * <p><b>Purpose:</b> Keeps a bounded, scrollable window of completed quizzes for
+ * {@link HistoryFragment}. Pages are loaded with keyset pagination as the user nears
+ * either end of the window, and the page furthest from the viewport is dropped once
+ * more than {@link #MAX_PAGES} pages are held, so memory stays constant however long
+ * the history is.</p>
+ *
+ * <p>While the window includes the newest quiz, it follows {@link QuizChangeNotifier}:
+ * when completed quizzes change, the same number of newest rows is read again and
+ * published as a new list, which the adapter diffs against the old one off the UI
+ * thread. The quiz in progress is not in the history and does not trigger this. A quiz
+ * completed while the user is deep in the history is picked up by the normal
+ * newer-page load when they scroll back up.</p>
+ *
+ * <p>All methods must be called on the UI thread.</p>
+ */
+class HistoryPager {
+
+    static final int PAGE_SIZE = 30;
+    private static final int MAX_PAGES = 4;
+    // Start loading the next page when this many rows remain before the edge
+    private static final int PREFETCH_DISTANCE = 10;
+
+    /**
+     * Receives the window each time it changes, so the adapter can diff it
+     */
+    interface Listener {
+        /**
+         * @param items A new list holding the window's quizzes (newest first);
+         *              never modified afterwards
+         */
+        void onItemsChanged(List<Quiz> items);
+    }
+
+    private final QuizData quizData;
+    private final LifecycleOwner owner;
+    private final Listener listener;
+
+    private final List<Quiz> items = new ArrayList<>();
+    // Sizes of the pages currently in the window, top to bottom
+    private final Deque<Integer> pageSizes = new ArrayDeque<>();
+
+    private boolean loadingOlder = false;
+    private boolean loadingNewer = false;
+    private boolean refreshing = false;
+    // Quizzes changed while a load was running; refresh once it lands
+    private boolean stale = false;
+    private boolean hasOlder = true;
+    private boolean hasNewer = false;
+
+    HistoryPager(QuizData quizData, LifecycleOwner owner, Listener listener) {
+        this.quizData = quizData;
+        this.owner = owner;
+        this.listener = listener;
+    }
+
+    /**
+     * Load the newest page and follow changes to the quizzes for as long as the
+     * owner lives
+     */
+    void loadFirstPage() {
+        QuizChangeNotifier.getInstance().observe(owner, this::onQuizzesChanged);
+
+        loadingOlder = true;
+        new LoadQuizPageTask(quizData, null, true, PAGE_SIZE, page -> {
+            loadingOlder = false;
+            if (page == null) {
+                page = new ArrayList<>();
+            }
+            appendOlder(page);
+            // Published even when empty, so the screen can show its empty state
+            publish();
+            refreshIfStale();
+        }).bindTo(owner).execute();
+    }
+
+    /**
+     * Called as the list scrolls; loads more rows when nearing either end
+     *
+     * @param firstVisible Adapter position of the first visible row
+     * @param lastVisible Adapter position of the last visible row
+     */
+    void onScrolled(int firstVisible, int lastVisible) {
+        // One load at a time, so a page is never attached next to a dropped one
+        if (items.isEmpty() || isLoading()) {
+            return;
+        }
+        if (hasOlder && lastVisible >= items.size() - PREFETCH_DISTANCE) {
+            loadOlder();
+        } else if (hasNewer && firstVisible >= 0 && firstVisible <= PREFETCH_DISTANCE) {
+            loadNewer();
+        }
+    }
+
+    private void loadOlder() {
+        loadingOlder = true;
+        Quiz anchor = items.get(items.size() - 1);
+        new LoadQuizPageTask(quizData, anchor, true, PAGE_SIZE, page -> {
+            loadingOlder = false;
+            if (page != null && appendOlder(page)) {
+                publish();
+            }
+            refreshIfStale();
+        }).bindTo(owner).execute();
+    }
+
+    private void loadNewer() {
+        loadingNewer = true;
+        Quiz anchor = items.get(0);
+        new LoadQuizPageTask(quizData, anchor, false, PAGE_SIZE, page -> {
+            loadingNewer = false;
+            if (page != null && prependNewer(page)) {
+                publish();
+            }
+            refreshIfStale();
+        }).bindTo(owner).execute();
+    }
+
+    private void onQuizzesChanged() {
+        if (hasNewer) {
+            // The newest rows are not in the window; scrolling up loads them
+            return;
+        }
+        if (isLoading()) {
+            // Never swap the window under a page that is being loaded against it
+            stale = true;
+            return;
+        }
+        refresh();
+    }
+
+    /**
+     * Read the newest rows again, as many as the window holds (at least a page),
+     * and replace the window with them
+     */
+    private void refresh() {
+        refreshing = true;
+        int count = Math.max(items.size(), PAGE_SIZE);
+        new LoadQuizPageTask(quizData, null, true, count, rows -> {
+            refreshing = false;
+            if (rows != null) {
+                replaceWindow(rows, count);
+                publish();
+            }
+            refreshIfStale();
+        }).bindTo(owner).execute();
+    }
+
+    private void refreshIfStale() {
+        if (stale && !isLoading()) {
+            stale = false;
+            onQuizzesChanged();
+        }
+    }
+
+    private boolean isLoading() {
+        return loadingOlder || loadingNewer || refreshing;
+    }
+
+    private void replaceWindow(List<Quiz> rows, int requested) {
+        items.clear();
+        items.addAll(rows);
+        pageSizes.clear();
+        for (int start = 0; start < rows.size(); start += PAGE_SIZE) {
+            pageSizes.addLast(Math.min(PAGE_SIZE, rows.size() - start));
+        }
+        // A full read may have pushed older rows out of the window
+        hasOlder = rows.size() == requested;
+    }
+
+    private void publish() {
+        listener.onItemsChanged(new ArrayList<>(items));
+    }
+
+    /**
+     * @return true if the window changed
+     */
+    private boolean appendOlder(List<Quiz> page) {
+        hasOlder = page.size() == PAGE_SIZE;
+        if (page.isEmpty()) {
+            return false;
+        }
+
+        items.addAll(page);
+        pageSizes.addLast(page.size());
+
+        if (pageSizes.size() > MAX_PAGES) {
+            int dropped = pageSizes.removeFirst();
+            items.subList(0, dropped).clear();
+            hasNewer = true;
+        }
+        return true;
+    }
+
+    /**
+     * @return true if the window changed
+     */
+    private boolean prependNewer(List<Quiz> page) {
+        hasNewer = page.size() == PAGE_SIZE;
+        if (page.isEmpty()) {
+            return false;
+        }
+
+        items.addAll(0, page);
+        pageSizes.addFirst(page.size());
+
+        if (pageSizes.size() > MAX_PAGES) {
+            int dropped = pageSizes.removeLast();
+            int start = items.size() - dropped;
+            items.subList(start, items.size()).clear();
+            hasOlder = true;
+        }
+        return true;
+    }
+}
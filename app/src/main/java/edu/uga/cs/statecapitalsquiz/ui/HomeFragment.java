@@ -5,38 +5,66 @@ import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.Button;
+import android.widget.Toast;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.appcompat.app.AlertDialog;
 import androidx.fragment.app.Fragment;
+import androidx.lifecycle.ViewModelProvider;
 import androidx.navigation.Navigation;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import edu.uga.cs.statecapitalsquiz.R;
+import edu.uga.cs.statecapitalsquiz.database.DeckRegistry;
+import edu.uga.cs.statecapitalsquiz.database.QuizData;
+import edu.uga.cs.statecapitalsquiz.database.StateCatalog;
+import edu.uga.cs.statecapitalsquiz.database.StateCatalogCache;
+import edu.uga.cs.statecapitalsquiz.models.Deck;
+import edu.uga.cs.statecapitalsquiz.models.Quiz;
+import edu.uga.cs.statecapitalsquiz.models.QuizQuestion;
+import edu.uga.cs.statecapitalsquiz.tasks.AnswerJournal;
+import edu.uga.cs.statecapitalsquiz.tasks.ImportStatesTask;
+import edu.uga.cs.statecapitalsquiz.tasks.LoadCurrentQuizTask;
+import edu.uga.cs.statecapitalsquiz.tasks.LoadStatesTask;
+import edu.uga.cs.statecapitalsquiz.ui.quiz.QuizViewModel;
+import edu.uga.cs.statecapitalsquiz.utils.QuizManager;
 
 /**
  * HomeFragment
  *
  * <p><b>Purpose:</b> The app’s hub. From here the user can:</p>
  * <ul>
- *   <li>Start a new quiz (navigates to {@code QuizContainerFragment}).</li>
+ *   <li>Choose which deck to play (US states, Canadian provinces, ...).</li>
+ *   <li>Resume an unfinished quiz saved by {@link AnswerJournal}, if there is one.</li>
+ *   <li>Start a new quiz of a chosen length (navigates to {@code QuizContainerFragment}).</li>
  *   <li>View past results (navigates to {@code HistoryFragment}).</li>
+ *   <li>View statistics (navigates to {@code StatsFragment}).</li>
+ *   <li>Look up a state or capital (navigates to {@code SearchFragment}).</li>
  *   <li>Read help/instructions (navigates to {@code HelpFragment}).</li>
  * </ul>
  *
  * <p><b>Key responsibilities:</b></p>
  * <ul>
- *   <li>Inflate {@code fragment_home.xml} with three primary buttons.</li>
+ *   <li>Inflate {@code fragment_home.xml} with a deck button and five primary buttons, plus a
+ *       “Resume Quiz” button shown only when an unfinished quiz with answers exists.</li>
+ *   <li>Switch decks: the old deck's catalog is evicted and the new one is loaded,
+ *       importing its CSV the first time it is played.</li>
  *   <li>Wire button clicks to navigation graph actions:
  *     <ul>
  *       <li>{@code action_home_to_quiz}</li>
  *       <li>{@code action_home_to_history}</li>
+ *       <li>{@code action_home_to_stats}</li>
+ *       <li>{@code action_home_to_search}</li>
  *       <li>{@code action_home_to_help}</li>
  *     </ul>
  *   </li>
  * </ul>
  *
- * <p><b>Future work:</b> This screen can show the last score, “resume quiz” affordance,
- * or app settings. For now it’s a clean, minimal navigation hub.</p>
+ * <p><b>Future work:</b> This screen can show the last score or app settings.
+ * For now it’s a clean, minimal navigation hub.</p>
  */
 public class HomeFragment extends Fragment {
     @Nullable
@@ -51,17 +79,183 @@ public class HomeFragment extends Fragment {
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
 
+        Button btnDeck      = view.findViewById(R.id.btnDeck);
+        Button btnResumeQuiz = view.findViewById(R.id.btnResumeQuiz);
         Button btnStartQuiz = view.findViewById(R.id.btnStartQuiz);
         Button btnResults   = view.findViewById(R.id.btnResults);
+        Button btnStats     = view.findViewById(R.id.btnStats);
+        Button btnSearch    = view.findViewById(R.id.btnSearch);
         Button btnHelp      = view.findViewById(R.id.btnHelp);
 
-        btnStartQuiz.setOnClickListener(v ->
-                Navigation.findNavController(v).navigate(R.id.action_home_to_quiz));
+        showDeck(btnDeck);
+        btnDeck.setOnClickListener(v -> chooseDeck(btnDeck, btnStartQuiz));
+        if (StateCatalogCache.getInstance().peek() == null) {
+            // Just imported, or the deck was switched and its load did not finish
+            loadDeck(btnDeck, btnStartQuiz);
+        }
+
+        btnStartQuiz.setOnClickListener(this::chooseQuizLength);
 
         btnResults.setOnClickListener(v ->
                 Navigation.findNavController(v).navigate(R.id.action_home_to_history));
 
+        btnStats.setOnClickListener(v ->
+                Navigation.findNavController(v).navigate(R.id.action_home_to_stats));
+
+        btnSearch.setOnClickListener(v ->
+                Navigation.findNavController(v).navigate(R.id.action_home_to_search));
+
         btnHelp.setOnClickListener(v ->
                 Navigation.findNavController(v).navigate(R.id.action_home_to_help));
+
+        findUnfinishedQuiz(btnResumeQuiz);
+    }
+
+    private void showDeck(Button btnDeck) {
+        btnDeck.setText("Deck: " + DeckRegistry.getInstance(requireContext()).getSelected().getTitle());
+    }
+
+    /**
+     * Ask which deck to play. Choosing another deck evicts the current deck's
+     * catalog and loads the new one.
+     */
+    private void chooseDeck(Button btnDeck, Button btnStartQuiz) {
+        DeckRegistry registry = DeckRegistry.getInstance(requireContext());
+        List<Deck> decks = registry.getDecks();
+        String selectedId = registry.getSelected().getId();
+
+        String[] titles = new String[decks.size()];
+        int checked = -1;
+        for (int i = 0; i < titles.length; i++) {
+            titles[i] = decks.get(i).getTitle();
+            if (decks.get(i).getId().equals(selectedId)) {
+                checked = i;
+            }
+        }
+
+        new AlertDialog.Builder(requireContext())
+                .setTitle("Deck")
+                .setSingleChoiceItems(titles, checked, (d, which) -> {
+                    d.dismiss();
+                    if (registry.select(decks.get(which))) {
+                        loadDeck(btnDeck, btnStartQuiz);
+                    }
+                })
+                .setNegativeButton("Cancel", null)
+                .show();
+    }
+
+    /**
+     * Load the selected deck into the catalog cache, importing its CSV first if it
+     * has never been played. Starting a quiz waits until the deck is ready.
+     */
+    private void loadDeck(Button btnDeck, Button btnStartQuiz) {
+        Deck deck = DeckRegistry.getInstance(requireContext()).getSelected();
+        QuizData quizData = new QuizData(requireContext());
+        btnStartQuiz.setEnabled(false);
+        btnDeck.setText("Loading " + deck.getItems() + "…");
+
+        new LoadStatesTask(quizData, catalog -> {
+            if (catalog != null && !catalog.isEmpty()) {
+                showDeck(btnDeck);
+                btnStartQuiz.setEnabled(true);
+                return;
+            }
+
+            new ImportStatesTask(requireContext(), quizData, deck,
+                new ImportStatesTask.OnStatesImportedListener() {
+                    @Override
+                    public void onImportProgress(int imported, int total) {
+                        btnDeck.setText("Loading " + deck.getItems() + " (" + imported + ")");
+                    }
+
+                    @Override
+                    public void onStatesImported(int count) {
+                        if (count <= 0) {
+                            showDeck(btnDeck);
+                            // Leave Start disabled; another deck can still be chosen
+                            Toast.makeText(requireContext(), "Error loading " + deck.getTitle(),
+                                    Toast.LENGTH_LONG).show();
+                            return;
+                        }
+                        // The import invalidated the cache; Start needs the deck's size
+                        new LoadStatesTask(quizData, imported -> {
+                            showDeck(btnDeck);
+                            if (imported == null || imported.isEmpty()) {
+                                Toast.makeText(requireContext(), "Error loading " + deck.getTitle(),
+                                        Toast.LENGTH_LONG).show();
+                                return;
+                            }
+                            btnStartQuiz.setEnabled(true);
+                        }).bindTo(getViewLifecycleOwner()).execute();
+                    }
+                }).bindTo(getViewLifecycleOwner()).execute();
+        }).bindTo(getViewLifecycleOwner()).execute();
+    }
+
+    /**
+     * Show the resume button if the database holds an unfinished quiz with at least
+     * one saved answer. Skipped while a quiz is already open in this process.
+     */
+    private void findUnfinishedQuiz(Button btnResumeQuiz) {
+        QuizViewModel quizViewModel = new ViewModelProvider(requireActivity()).get(QuizViewModel.class);
+        if (quizViewModel.isQuizInitialized()) {
+            return;
+        }
+
+        QuizData quizData = new QuizData(requireContext());
+        new LoadCurrentQuizTask(quizData, (quiz, questions) -> {
+            if (quiz == null || quiz.getQuestionsAnswered() == 0) {
+                return;
+            }
+            btnResumeQuiz.setText("Resume Quiz (" + quiz.getQuestionsAnswered()
+                    + " of " + questions.size() + " answered)");
+            btnResumeQuiz.setVisibility(View.VISIBLE);
+            btnResumeQuiz.setOnClickListener(v -> resumeQuiz(v, quizData, quiz, questions));
+        }).bindTo(getViewLifecycleOwner()).execute();
+    }
+
+    private void resumeQuiz(View v, QuizData quizData, Quiz quiz, List<QuizQuestion> questions) {
+        QuizViewModel quizViewModel = new ViewModelProvider(requireActivity()).get(QuizViewModel.class);
+        quizViewModel.resumeQuiz(quiz, questions);
+        quizViewModel.attachJournal(new AnswerJournal(quizData, quiz));
+        Navigation.findNavController(v).navigate(R.id.action_home_to_quiz);
+    }
+
+    /**
+     * Ask how many questions the quiz should have, then start it.
+     * Only lengths the loaded catalog can fill are offered; if the catalog is not
+     * loaded (it was invalidated since), it is reloaded before anything is offered.
+     */
+    private void chooseQuizLength(View v) {
+        StateCatalog catalog = StateCatalogCache.getInstance().peek();
+        if (catalog == null) {
+            View view = requireView();
+            loadDeck(view.findViewById(R.id.btnDeck), (Button) v);
+            return;
+        }
+        int available = catalog.size();
+
+        List<Integer> lengths = new ArrayList<>();
+        for (int length : QuizManager.QUIZ_LENGTHS) {
+            if (length <= available) {
+                lengths.add(length);
+            }
+        }
+        String[] labels = new String[lengths.size()];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = lengths.get(i) + " questions";
+        }
+
+        QuizViewModel quizViewModel = new ViewModelProvider(requireActivity()).get(QuizViewModel.class);
+        new AlertDialog.Builder(requireContext())
+                .setTitle("Quiz length")
+                .setItems(labels, (d, which) -> {
+                    quizViewModel.resetForNewQuiz();
+                    quizViewModel.setQuestionCount(lengths.get(which));
+                    Navigation.findNavController(v).navigate(R.id.action_home_to_quiz);
+                })
+                .setNegativeButton("Cancel", null)
+                .show();
     }
 }
@@ -18,11 +18,13 @@ import androidx.navigation.Navigation;
 import edu.uga.cs.statecapitalsquiz.R;
 import edu.uga.cs.statecapitalsquiz.database.QuizData;
 import edu.uga.cs.statecapitalsquiz.models.Quiz;
-import edu.uga.cs.statecapitalsquiz.tasks.UpdateQuizTask;
+import edu.uga.cs.statecapitalsquiz.tasks.CompleteQuizTask;
 import edu.uga.cs.statecapitalsquiz.ui.quiz.QuizViewModel;
 
 /**
- * ResultsFragment - Displays final quiz score and saves to database
+ * ResultsFragment - Displays final quiz score and saves to database.
+ * While the score is showing, the next quiz of the same length is built and saved
+ * in the background so "New Quiz" opens it immediately.
  */
 public class ResultsFragment extends Fragment {
 
@@ -55,7 +57,7 @@ public class ResultsFragment extends Fragment {
         calculateAndDisplay();
 
         btnNewQuiz.setOnClickListener(v -> {
-            quizViewModel.resetForNewQuiz();
+            quizViewModel.startNextQuiz();
             Navigation.findNavController(v).navigate(R.id.action_results_to_quizContainer);
         });
 
@@ -65,12 +67,13 @@ public class ResultsFragment extends Fragment {
 
     private void calculateAndDisplay() {
         int score = quizViewModel.calculateScore();
-        tvScore.setText(score + "/6");
+        int total = quizViewModel.getQuestionCount();
+        tvScore.setText(score + "/" + total);
 
         String message;
-        if (score == 6) message = "Perfect! 🌟";
-        else if (score >= 4) message = "Great job! 👏";
-        else if (score >= 2) message = "Good effort! 📚";
+        if (score == total) message = "Perfect! 🌟";
+        else if (score * 3 >= total * 2) message = "Great job! 👏";
+        else if (score * 3 >= total) message = "Good effort! 📚";
         else message = "Keep trying! 💪";
         tvMessage.setText(message);
 
@@ -81,28 +84,25 @@ public class ResultsFragment extends Fragment {
         Quiz quiz = quizViewModel.getCurrentQuiz();
         if (quiz == null) {
             Log.e(TAG, "No quiz to save");
+            quizViewModel.prepareNextQuiz(quizData);
             return;
         }
 
-        quiz.setScore(score);
-        quiz.setQuestionsAnswered(6);
-
-        UpdateQuizTask task = new UpdateQuizTask(quizData, quiz,
-            new UpdateQuizTask.OnQuizUpdatedListener() {
+        // Saving again after the fragment is recreated finds the quiz already
+        // complete and writes nothing, so only the first save says so
+        CompleteQuizTask task = new CompleteQuizTask(quizData, quiz, quizViewModel.getAllQuestions(),
+            new CompleteQuizTask.OnQuizCompletedListener() {
                 @Override
-                public void onQuizUpdated(long quizId) {
-                    if (quizId != -1) {
+                public void onQuizCompleted(long quizId) {
+                    if (quizId > 0) {
                         Log.d(TAG, "Quiz saved: " + quizId);
                         Toast.makeText(requireContext(), "Quiz saved!", Toast.LENGTH_SHORT).show();
                     }
+                    // Built only now, so the quiz just finished has updated the
+                    // scheduler's weights and the finished quiz is dated first
+                    quizViewModel.prepareNextQuiz(quizData);
                 }
             });
-        task.execute();
-    }
-
-    @Override
-    public void onDestroyView() {
-        super.onDestroyView();
-        if (quizData != null) quizData.close();
+        task.bindTo(getViewLifecycleOwner()).execute();
     }
 }
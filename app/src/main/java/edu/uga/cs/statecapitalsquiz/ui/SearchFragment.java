@@ -0,0 +1,136 @@
+package edu.uga.cs.statecapitalsquiz.ui;
+
+import android.os.Bundle;
+import android.text.Editable;
+import android.text.TextWatcher;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.EditText;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.fragment.app.Fragment;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.uga.cs.statecapitalsquiz.R;
+import edu.uga.cs.statecapitalsquiz.database.QuizData;
+import edu.uga.cs.statecapitalsquiz.models.StateItem;
+import edu.uga.cs.statecapitalsquiz.tasks.StateSearcher;
+
+/**
+ * SearchFragment - Looks up states, provinces and capitals as the user types.
+ *
+ * <p>Each keystroke goes to a {@link StateSearcher}, which waits for typing to pause,
+ * queries the full-text index and drops results for text that has since changed.
+ * Any word may be the start of a name, and case and accents are ignored, so "sa"
+ * finds Sacramento and "québec" finds Quebec. Text restored after rotation goes
+ * through the same listener, so it is searched again.</p>
+ *
+ * <p>Only decks that have been imported are in the index, i.e. those played at
+ * least once (decks load lazily), so the screen says so when nothing matches.</p>
+ */
+public class SearchFragment extends Fragment {
+
+    private RecyclerView recyclerView;
+    private TextView tvNoMatches;
+    private SearchAdapter adapter;
+    private StateSearcher searcher;
+
+    @Nullable
+    @Override
+    public View onCreateView(@NonNull LayoutInflater inflater,
+                             @Nullable ViewGroup container,
+                             @Nullable Bundle savedInstanceState) {
+        return inflater.inflate(R.layout.fragment_search, container, false);
+    }
+
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+
+        recyclerView = view.findViewById(R.id.recyclerView);
+        tvNoMatches = view.findViewById(R.id.tvNoMatches);
+        EditText etSearch = view.findViewById(R.id.etSearch);
+
+        adapter = new SearchAdapter();
+        recyclerView.setLayoutManager(new LinearLayoutManager(requireContext()));
+        recyclerView.setAdapter(adapter);
+
+        searcher = new StateSearcher(new QuizData(requireContext()), getViewLifecycleOwner(),
+                this::showResults);
+
+        etSearch.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+            }
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {
+            }
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                searcher.search(s.toString());
+            }
+        });
+    }
+
+    private void showResults(String text, List<StateItem> results) {
+        if (results == null) {
+            results = new ArrayList<>();
+        }
+        adapter.setResults(results);
+
+        boolean noMatches = results.isEmpty() && text != null && !text.trim().isEmpty();
+        tvNoMatches.setVisibility(noMatches ? View.VISIBLE : View.GONE);
+        recyclerView.setVisibility(noMatches ? View.GONE : View.VISIBLE);
+    }
+
+    static class SearchAdapter extends RecyclerView.Adapter<SearchAdapter.ViewHolder> {
+        private List<StateItem> results = new ArrayList<>();
+
+        /**
+         * Show a new, small result list; a full rebind is cheaper than diffing it
+         */
+        void setResults(List<StateItem> results) {
+            this.results = results;
+            notifyDataSetChanged();
+        }
+
+        @NonNull
+        @Override
+        public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+            View view = LayoutInflater.from(parent.getContext())
+                    .inflate(R.layout.item_search_result, parent, false);
+            return new ViewHolder(view);
+        }
+
+        @Override
+        public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
+            StateItem state = results.get(position);
+            holder.tvStateName.setText(state.getStateName());
+            holder.tvCapital.setText(state.getCapitalCity());
+        }
+
+        @Override
+        public int getItemCount() {
+            return results.size();
+        }
+
+        static class ViewHolder extends RecyclerView.ViewHolder {
+            TextView tvStateName, tvCapital;
+
+            ViewHolder(View itemView) {
+                super(itemView);
+                tvStateName = itemView.findViewById(R.id.tvStateName);
+                tvCapital = itemView.findViewById(R.id.tvCapital);
+            }
+        }
+    }
+}
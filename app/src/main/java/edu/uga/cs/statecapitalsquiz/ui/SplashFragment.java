@@ -15,11 +15,14 @@ import androidx.fragment.app.Fragment;
 import androidx.navigation.Navigation;
 
 import edu.uga.cs.statecapitalsquiz.R;
+import edu.uga.cs.statecapitalsquiz.database.DeckRegistry;
 import edu.uga.cs.statecapitalsquiz.database.QuizData;
-import edu.uga.cs.statecapitalsquiz.models.StateItem;
+import edu.uga.cs.statecapitalsquiz.database.StateCatalog;
+import edu.uga.cs.statecapitalsquiz.models.Deck;
+import edu.uga.cs.statecapitalsquiz.tasks.ImportStatesTask;
 import edu.uga.cs.statecapitalsquiz.tasks.LoadStatesTask;
-import edu.uga.cs.statecapitalsquiz.utils.CSVParser;
-import java.util.List;
+import edu.uga.cs.statecapitalsquiz.utils.LatencyTimer;
+import edu.uga.cs.statecapitalsquiz.utils.Metrics;
 
 /**
  * SplashFragment
@@ -31,6 +34,8 @@ import java.util.List;
  * <p><b>Key responsibilities:</b></p>
  * <ul>
  *   <li>Inflate {@code fragment_splash.xml} (title, subtitle, progress indicator, Continue button).</li>
+ *   <li>Load the selected deck, importing its CSV the first time it is played. Other
+ *       decks are not touched, so startup does not slow down as decks are added.</li>
  *   <li>On button press, call the {@code action_splash_to_home} action in the navigation graph.</li>
  * </ul>
  *
@@ -40,9 +45,13 @@ import java.util.List;
 public class SplashFragment extends Fragment {
 
     private static final String TAG = "SplashFragment";
+    private static final LatencyTimer READY_TIMER = Metrics.timer(Metrics.STARTUP_SPLASH_TO_READY);
     private QuizData quizData;
+    private Deck deck;
     private Button btnContinue;
     private ProgressBar progressBar;
+    // READY_TIMER start for this view, 0 once recorded
+    private long readyStart;
 
     @Nullable
     @Override
@@ -56,11 +65,13 @@ public class SplashFragment extends Fragment {
     @Override
     public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
         super.onViewCreated(view, savedInstanceState);
+        readyStart = READY_TIMER.start();
 
         btnContinue = view.findViewById(R.id.btnContinue);
         progressBar = view.findViewById(R.id.progressBar);
 
         quizData = new QuizData(requireContext());
+        deck = DeckRegistry.getInstance(requireContext()).getSelected();
         
         btnContinue.setEnabled(false);
         btnContinue.setOnClickListener(v ->
@@ -70,60 +81,62 @@ public class SplashFragment extends Fragment {
     }
 
     private void loadStatesData() {
-        Log.d(TAG, "Loading states");
+        Log.d(TAG, "Loading " + deck);
         if (progressBar != null) progressBar.setVisibility(View.VISIBLE);
 
         LoadStatesTask task = new LoadStatesTask(quizData,
             new LoadStatesTask.OnStatesLoadedListener() {
                 @Override
-                public void onStatesLoaded(List<StateItem> states) {
-                    if (states == null || states.isEmpty()) {
+                public void onStatesLoaded(StateCatalog catalog) {
+                    if (catalog == null || catalog.isEmpty()) {
                         Log.d(TAG, "No states, loading CSV");
                         loadFromCSV();
+                    } else if (!catalog.getStates().hasAllCoordinates()) {
+                        // Imported before the schema had coordinates, or only partly backfilled
+                        Log.d(TAG, "States have no coordinates, reading them from CSV");
+                        loadFromCSV();
                     } else {
-                        Log.d(TAG, "Loaded " + states.size() + " states");
-                        onDataReady(states.size());
+                        Log.d(TAG, "Loaded " + catalog.size() + " states");
+                        onDataReady(catalog.size());
                     }
                 }
             });
-        task.execute();
+        task.bindTo(getViewLifecycleOwner()).execute();
     }
 
     private void loadFromCSV() {
-        try {
-            CSVParser parser = new CSVParser(requireContext());
-            List<StateItem> states = parser.parseCSV();
-
-            if (states == null || states.isEmpty()) {
-                Toast.makeText(requireContext(), "Error loading data", Toast.LENGTH_LONG).show();
-                return;
-            }
-
-            quizData.open();
-            for (StateItem state : states) {
-                quizData.insertState(state);
-            }
-            quizData.close();
-
-            Toast.makeText(requireContext(), "Loaded " + states.size() + " states", Toast.LENGTH_SHORT).show();
-            onDataReady(states.size());
-        } catch (Exception e) {
-            Log.e(TAG, "Error loading CSV", e);
-            Toast.makeText(requireContext(), "Error: " + e.getMessage(), Toast.LENGTH_LONG).show();
-        }
+        ImportStatesTask task = new ImportStatesTask(requireContext(), quizData, deck,
+            new ImportStatesTask.OnStatesImportedListener() {
+                @Override
+                public void onImportProgress(int imported, int total) {
+                    if (btnContinue != null) {
+                        btnContinue.setText(total < 0
+                                ? "Loading " + deck.getItems() + " (" + imported + ")"
+                                : "Loading " + deck.getItems() + " (" + imported + "/" + total + ")");
+                    }
+                }
+
+                @Override
+                public void onStatesImported(int count) {
+                    if (count <= 0) {
+                        Toast.makeText(requireContext(), "Error loading data", Toast.LENGTH_LONG).show();
+                        return;
+                    }
+                    Toast.makeText(requireContext(), "Loaded " + count + " " + deck.getItems(),
+                            Toast.LENGTH_SHORT).show();
+                    onDataReady(count);
+                }
+            });
+        task.bindTo(getViewLifecycleOwner()).execute();
     }
 
     private void onDataReady(int count) {
+        READY_TIMER.stop(readyStart);
+        readyStart = 0;
         if (progressBar != null) progressBar.setVisibility(View.GONE);
         if (btnContinue != null) {
             btnContinue.setEnabled(true);
-            btnContinue.setText("Continue (" + count + " states loaded)");
+            btnContinue.setText("Continue (" + count + " " + deck.getItems() + " loaded)");
         }
     }
-
-    @Override
-    public void onDestroyView() {
-        super.onDestroyView();
-        if (quizData != null) quizData.close();
-    }
 }
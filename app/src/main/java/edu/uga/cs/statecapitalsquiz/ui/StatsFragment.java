@@ -0,0 +1,170 @@
+package edu.uga.cs.statecapitalsquiz.ui;
+
+import android.net.Uri;
+import android.os.Bundle;
+import android.util.Log;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.Button;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.fragment.app.Fragment;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+
+import edu.uga.cs.statecapitalsquiz.R;
+import edu.uga.cs.statecapitalsquiz.database.QuizData;
+import edu.uga.cs.statecapitalsquiz.models.QuizStats;
+import edu.uga.cs.statecapitalsquiz.tasks.BackupHistoryTask;
+import edu.uga.cs.statecapitalsquiz.tasks.LoadStatsTask;
+import edu.uga.cs.statecapitalsquiz.tasks.RestoreHistoryTask;
+import edu.uga.cs.statecapitalsquiz.utils.BackupFormat;
+
+/**
+ * StatsFragment - Displays the user's statistics: overall totals, the states
+ * answered least accurately and the last few days of results.
+ *
+ * <p>Everything comes from the aggregate stats tables that are updated as each quiz
+ * is completed, so the screen opens in the same time however many quizzes have
+ * been taken.</p>
+ *
+ * <p>The history can also be backed up to a file the user picks and restored from
+ * one, e.g. after reinstalling the app or on a new device.</p>
+ */
+public class StatsFragment extends Fragment {
+
+    private static final String TAG = "StatsFragment";
+
+    private TextView tvEmptyState;
+    private View groupStats;
+    private TextView tvOverall;
+    private TextView tvWeakest;
+    private TextView tvRecent;
+    private Button btnBackupHistory;
+    private Button btnRestoreHistory;
+
+    // Registered up front, as the system file picker may outlive this fragment's view
+    private final ActivityResultLauncher<String> createBackup = registerForActivityResult(
+            new ActivityResultContracts.CreateDocument("application/octet-stream"), this::backupHistory);
+    private final ActivityResultLauncher<String[]> openBackup = registerForActivityResult(
+            new ActivityResultContracts.OpenDocument(), this::restoreHistory);
+
+    @Nullable
+    @Override
+    public View onCreateView(@NonNull LayoutInflater inflater,
+                             @Nullable ViewGroup container,
+                             @Nullable Bundle savedInstanceState) {
+        return inflater.inflate(R.layout.fragment_stats, container, false);
+    }
+
+    @Override
+    public void onViewCreated(@NonNull View view, @Nullable Bundle savedInstanceState) {
+        super.onViewCreated(view, savedInstanceState);
+
+        tvEmptyState = view.findViewById(R.id.tvEmptyState);
+        groupStats = view.findViewById(R.id.groupStats);
+        tvOverall = view.findViewById(R.id.tvOverall);
+        tvWeakest = view.findViewById(R.id.tvWeakest);
+        tvRecent = view.findViewById(R.id.tvRecent);
+        btnBackupHistory = view.findViewById(R.id.btnBackupHistory);
+        btnRestoreHistory = view.findViewById(R.id.btnRestoreHistory);
+
+        btnBackupHistory.setOnClickListener(v -> createBackup.launch("state-quiz-history-"
+                + new SimpleDateFormat("yyyy-MM-dd", Locale.US).format(new Date())
+                + BackupFormat.FILE_EXTENSION));
+        // Providers rarely know the backup's own type, so any file can be picked
+        btnRestoreHistory.setOnClickListener(v -> openBackup.launch(new String[]{"*/*"}));
+
+        loadStats();
+    }
+
+    private void loadStats() {
+        new LoadStatsTask(new QuizData(requireContext()), this::showStats)
+                .bindTo(getViewLifecycleOwner()).execute();
+    }
+
+    private void backupHistory(@Nullable Uri uri) {
+        if (uri == null || getView() == null) {
+            return;
+        }
+        setBackupEnabled(false);
+        new BackupHistoryTask(requireContext(), new QuizData(requireContext()), uri, true, quizzes -> {
+            setBackupEnabled(true);
+            Toast.makeText(requireContext(), quizzes < 0 ? "Error backing up history"
+                    : "Backed up " + quizzes + (quizzes == 1 ? " quiz" : " quizzes"),
+                    Toast.LENGTH_SHORT).show();
+        }).bindTo(getViewLifecycleOwner()).execute();
+    }
+
+    private void restoreHistory(@Nullable Uri uri) {
+        if (uri == null || getView() == null) {
+            return;
+        }
+        setBackupEnabled(false);
+        new RestoreHistoryTask(requireContext(), new QuizData(requireContext()), uri, quizzes -> {
+            setBackupEnabled(true);
+            if (quizzes < 0) {
+                Toast.makeText(requireContext(), "Error restoring history", Toast.LENGTH_LONG).show();
+                return;
+            }
+            Toast.makeText(requireContext(), quizzes == 0 ? "History is already up to date"
+                    : "Restored " + quizzes + (quizzes == 1 ? " quiz" : " quizzes"),
+                    Toast.LENGTH_SHORT).show();
+            if (quizzes > 0) {
+                loadStats();
+            }
+        }).bindTo(getViewLifecycleOwner()).execute();
+    }
+
+    private void setBackupEnabled(boolean enabled) {
+        btnBackupHistory.setEnabled(enabled);
+        btnRestoreHistory.setEnabled(enabled);
+    }
+
+    private void showStats(QuizStats stats) {
+        if (stats == null || stats.getQuizzesCompleted() == 0) {
+            Log.d(TAG, "No stats to show");
+            groupStats.setVisibility(View.GONE);
+            tvEmptyState.setVisibility(View.VISIBLE);
+            return;
+        }
+
+        tvOverall.setText("• Quizzes completed: " + stats.getQuizzesCompleted()
+                + "\n• Correct answers: " + stats.getCorrectAnswers() + " of " + stats.getQuestionsAsked()
+                + "\n• Average score: " + stats.getAveragePercent() + "%"
+                + "\n• Best score: " + stats.getBestPercent() + "%");
+
+        StringBuilder weakest = new StringBuilder();
+        for (QuizStats.StateAccuracy state : stats.getWeakestStates()) {
+            appendLine(weakest, "• " + state.getStateName() + ": " + state.getCorrect() + " of "
+                    + state.getAttempts() + " (" + state.getPercent() + "%)");
+        }
+        tvWeakest.setText(weakest);
+
+        StringBuilder recent = new StringBuilder();
+        for (QuizStats.DayTotals day : stats.getRecentDays()) {
+            appendLine(recent, "• " + day.getDay() + ": " + day.getQuizzesCompleted()
+                    + (day.getQuizzesCompleted() == 1 ? " quiz, " : " quizzes, ")
+                    + day.getPercent() + "% correct");
+        }
+        tvRecent.setText(recent);
+
+        tvEmptyState.setVisibility(View.GONE);
+        groupStats.setVisibility(View.VISIBLE);
+    }
+
+    private static void appendLine(StringBuilder text, String line) {
+        if (text.length() > 0) {
+            text.append('\n');
+        }
+        text.append(line);
+    }
+}
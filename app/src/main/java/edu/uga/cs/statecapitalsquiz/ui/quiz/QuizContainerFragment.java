@@ -4,11 +4,13 @@ import edu.uga.cs.statecapitalsquiz.ui.quiz.QuizViewModel;
 
 
 import android.os.Bundle;
+import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.Button;
 import android.widget.TextView;
+import android.widget.Toast;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -16,26 +18,31 @@ import androidx.appcompat.app.AlertDialog;
 import androidx.fragment.app.Fragment;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.navigation.Navigation;
+import androidx.recyclerview.widget.RecyclerView;
 import androidx.viewpager2.widget.ViewPager2;
 
 import edu.uga.cs.statecapitalsquiz.R;
 import edu.uga.cs.statecapitalsquiz.database.QuizData;
-import edu.uga.cs.statecapitalsquiz.models.StateItem;
+import edu.uga.cs.statecapitalsquiz.database.StateCatalog;
+import edu.uga.cs.statecapitalsquiz.database.StateCatalogCache;
+import edu.uga.cs.statecapitalsquiz.tasks.AnswerJournal;
+import edu.uga.cs.statecapitalsquiz.tasks.CancellationToken;
+import edu.uga.cs.statecapitalsquiz.tasks.CreateQuizTask;
 import edu.uga.cs.statecapitalsquiz.tasks.LoadStatesTask;
-import java.util.List;
 
 /**
  * QuizContainerFragment
  *
  * <p><b>Purpose:</b> Hosts the swipeable quiz experience using {@link androidx.viewpager2.widget.ViewPager2}.
- * It shows 6 question pages (one per fragment) and displays a bottom progress indicator with an optional
+ * It shows one question page per question (recycled views, not fragments) and displays a bottom progress indicator with an optional
  * “Finish Quiz” button on the last page.</p>
  *
  * <p><b>Key responsibilities:</b></p>
  * <ul>
- *   <li>Create and attach {@link QuizPagerAdapter} to a {@link androidx.viewpager2.widget.ViewPager2}.</li>
+ *   <li>Create and attach {@link QuizPagerAdapter} to a {@link androidx.viewpager2.widget.ViewPager2},
+ *       binding the neighbouring pages ahead of a swipe.</li>
  *   <li>Persist and restore the current page position across configuration changes (rotation).</li>
- *   <li>Display “Question X of 6” progress text; show/hide the “Finish” button on last page.</li>
+ *   <li>Display “Question X of N” progress text; show/hide the “Finish” button on last page.</li>
  *   <li>When Finish is pressed:
  *     <ul>
  *       <li>If some answers are missing, show a confirmation dialog.</li>
@@ -43,17 +50,22 @@ import java.util.List;
  *     </ul>
  *   </li>
  *   <li>Share a {@link QuizViewModel} with question pages to count unanswered questions.</li>
+ *   <li>Save the new quiz, attach an {@link AnswerJournal} for its answers, and flush the
+ *       journal when the screen is paused.</li>
  * </ul>
  *
  * <p><b>Why a container?</b> Separating the pager container from question pages keeps concerns clear:
  * this fragment manages navigation, progress UI, and finish validation; each page only manages its own UI.</p>
  *
- * <p><b>Future work:</b> When database integration is added, this fragment can initialize a “current quiz,”
- * load generated questions, and save per-question responses on pause/resume.</p>
+ * <p>A resumed quiz opens on its first unanswered question. A quiz built ahead of time by
+ * {@code QuizPreGenerator} arrives already saved, so its questions show on the first frame.</p>
  */
 public class QuizContainerFragment extends Fragment {
 
-    private static final int QUESTION_COUNT = 6;
+    private static final String TAG = "QuizContainerFragment";
+
+    // Pages kept bound on each side of the current one, so a swipe only moves views
+    private static final int OFFSCREEN_PAGES = 1;
 
     private ViewPager2 viewPager;
     private TextView tvProgress;
@@ -86,7 +98,9 @@ public class QuizContainerFragment extends Fragment {
         tvProgress = view.findViewById(R.id.tvProgress);
         btnFinish = view.findViewById(R.id.btnFinish);
 
-        QuizPagerAdapter adapter = new QuizPagerAdapter(this, QUESTION_COUNT);
+        QuizPagerAdapter adapter = new QuizPagerAdapter(quizViewModel);
+        viewPager.setOffscreenPageLimit(OFFSCREEN_PAGES);
+        configurePages((RecyclerView) viewPager.getChildAt(0));
         viewPager.setAdapter(adapter);
 
         // move to previously saved page (if any)
@@ -129,17 +143,37 @@ public class QuizContainerFragment extends Fragment {
     @Override
     public void onCreate(@Nullable Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        quizViewModel = new ViewModelProvider(requireActivity()).get(QuizViewModel.class);
+
         if (savedInstanceState != null) {
             restoredPosition = savedInstanceState.getInt(STATE_CURRENT_POS, 0);
+        } else {
+            restoredPosition = quizViewModel.getResumePosition();
         }
+    }
 
-        quizViewModel = new ViewModelProvider(requireActivity()).get(QuizViewModel.class);
+    @Override
+    public void onPause() {
+        super.onPause();
+        quizViewModel.flushAnswers();
+    }
+
+    /**
+     * Size the pager's view pool for the pages it recycles. Every page has the same
+     * layout, so the bound pages plus a few spare views cover any quiz length.
+     */
+    private void configurePages(RecyclerView pages) {
+        // Pages that scrolled just off-screen keep their binding, so swiping back is free
+        pages.setItemViewCacheSize(OFFSCREEN_PAGES + 1);
+        pages.getRecycledViewPool().setMaxRecycledViews(QuizPagerAdapter.VIEW_TYPE_QUESTION,
+                2 * OFFSCREEN_PAGES + 1);
     }
 
     private void updateUiForPosition(int position) {
-        String progress = "Question " + (position + 1) + " of " + QUESTION_COUNT;
+        int questionCount = quizViewModel.getQuestionCount();
+        String progress = "Question " + (position + 1) + " of " + questionCount;
         tvProgress.setText(progress);
-        btnFinish.setVisibility(position == QUESTION_COUNT - 1 ? View.VISIBLE : View.GONE);
+        btnFinish.setVisibility(position == questionCount - 1 ? View.VISIBLE : View.GONE);
     }
 
     @Override
@@ -152,33 +186,77 @@ public class QuizContainerFragment extends Fragment {
 
     private int countUnanswered() {                 // <-- add
         int unanswered = 0;
-        for (int q = 1; q <= QUESTION_COUNT; q++) {
+        for (int q = 1; q <= quizViewModel.getQuestionCount(); q++) {
             if (quizViewModel.getSelection(q) == 0) unanswered++;
         }
         return unanswered;
     }
 
     /**
-     * Load states from database and initialize quiz
+     * Load states and initialize quiz.
+     * Uses the cached catalog directly when available, so no database read is needed.
      */
     private void loadQuizData() {
         if (quizViewModel.isQuizInitialized()) {
             return;
         }
 
+        StateCatalog catalog = StateCatalogCache.getInstance().peek();
+        if (catalog != null) {
+            startQuiz(catalog);
+            return;
+        }
+
         QuizData quizData = new QuizData(requireContext());
         LoadStatesTask task = new LoadStatesTask(quizData,
             new LoadStatesTask.OnStatesLoadedListener() {
                 @Override
-                public void onStatesLoaded(List<StateItem> states) {
-                    if (states != null && !states.isEmpty()) {
-                        quizViewModel.initializeQuiz(states);
-                        if (viewPager.getAdapter() != null) {
-                            viewPager.getAdapter().notifyDataSetChanged();
-                        }
+                public void onStatesLoaded(StateCatalog catalog) {
+                    if (catalog == null || catalog.isEmpty()) {
+                        Log.e(TAG, "No states to build a quiz from");
+                        leaveQuiz("Error loading data");
+                        return;
+                    }
+                    if (startQuiz(catalog) && viewPager.getAdapter() != null) {
+                        viewPager.getAdapter().notifyDataSetChanged();
                     }
                 }
             });
-        task.execute();
+        task.bindTo(getViewLifecycleOwner()).execute();
+    }
+
+    /**
+     * Generate the quiz from the catalog and save it, or go back to the home screen
+     * if the deck has too few items for the chosen length
+     *
+     * @return true if the quiz was started
+     */
+    private boolean startQuiz(StateCatalog catalog) {
+        if (!quizViewModel.initializeQuiz(catalog)) {
+            Log.w(TAG, "Only " + catalog.size() + " states for a quiz of "
+                    + quizViewModel.getQuestionCount());
+            leaveQuiz("Not enough " + catalog.getDeck().getItems() + " for "
+                    + quizViewModel.getQuestionCount() + " questions");
+            return false;
+        }
+        saveNewQuiz();
+        return true;
+    }
+
+    private void leaveQuiz(String message) {
+        Toast.makeText(requireContext(), message, Toast.LENGTH_LONG).show();
+        Navigation.findNavController(requireView()).popBackStack();
+    }
+
+    /**
+     * Save the freshly generated quiz and its questions so it has a database ID
+     * by the time answers and results are written
+     */
+    private void saveNewQuiz() {
+        QuizData quizData = new QuizData(requireContext());
+        quizViewModel.attachJournal(new AnswerJournal(quizData, quizViewModel.getCurrentQuiz()));
+        new CreateQuizTask(quizData, quizViewModel.getCurrentQuiz(), quizViewModel.getAllQuestions(),
+                quiz -> Log.d(TAG, quiz != null ? "Saved quiz " + quiz.getId() : "Quiz not saved"))
+                .execute(CancellationToken.forLifecycle(getViewLifecycleOwner()));
     }
-}
+}
\ No newline at end of file
@@ -1,46 +1,178 @@
 package edu.uga.cs.statecapitalsquiz.ui.quiz;
 
+import android.util.Log;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.RadioGroup;
+import android.widget.TextView;
+
 import androidx.annotation.NonNull;
-import androidx.fragment.app.Fragment;
-import androidx.viewpager2.adapter.FragmentStateAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.List;
+
+import edu.uga.cs.statecapitalsquiz.R;
+import edu.uga.cs.statecapitalsquiz.models.QuizQuestion;
 
 /**
  * QuizPagerAdapter
  *
- * <p><b>Purpose:</b> A {@link androidx.viewpager2.adapter.FragmentStateAdapter} that supplies
- * one {@link QuestionFragment} per quiz page to the {@link androidx.viewpager2.widget.ViewPager2}.</p>
+ * <p><b>Purpose:</b> A {@link RecyclerView.Adapter} that renders each quiz question as a
+ * page of the {@link androidx.viewpager2.widget.ViewPager2}.</p>
  *
  * <p><b>Key responsibilities:</b></p>
  * <ul>
- *   <li>Report a fixed item count (6 for this project).</li>
- *   <li>Create each {@link QuestionFragment} with its 1-based question number via {@link QuestionFragment#newInstance(int)}.</li>
+ *   <li>Report the quiz length as the item count, with each question's position as its stable ID.</li>
+ *   <li>Bind the question number, prompt and 3 choices of {@link QuizViewModel#getQuestion(int)}
+ *       into a recycled {@code item_question} view.</li>
+ *   <li>Save a new selection to the {@link QuizViewModel} and rebind only the page's choices.</li>
  * </ul>
  *
- * <p><b>Why FragmentStateAdapter?</b> It correctly handles fragment lifecycle and state
- * when swiping between pages and during configuration changes.</p>
+ * <p><b>Why not one fragment per page?</b> Pages are plain views recycled through the
+ * pager's view pool, so a swipe rebinds a few {@link TextView}s instead of creating a
+ * fragment, inflating its layout and looking up its ViewModel. Long quizzes swipe as
+ * cheaply as short ones.</p>
  *
- * <p><b>Future work:</b> The adapter can accept a data model (list of questions with state/cities)
- * to bind real text instead of placeholders.</p>
+ * @author StateCapitalsQuiz Team
+ * @version 2.0
  */
-public class QuizPagerAdapter extends FragmentStateAdapter {
-    private final int count;
+public class QuizPagerAdapter extends RecyclerView.Adapter<QuizPagerAdapter.QuestionViewHolder> {
+
+    private static final String TAG = "QuizPagerAdapter";
+
+    /**
+     * The only view type; every page uses the same layout, so all pages share one pool
+     */
+    static final int VIEW_TYPE_QUESTION = 0;
 
-    public QuizPagerAdapter(@NonNull Fragment parent, int count) {
-        super(parent);
-        this.count = count;
+    // Payload for a rebind that only touches the checked choice
+    private static final Object PAYLOAD_SELECTION = new Object();
+
+    private static final int[] CHOICE_IDS = {R.id.rbChoice1, R.id.rbChoice2, R.id.rbChoice3};
+
+    private final QuizViewModel quizViewModel;
+
+    public QuizPagerAdapter(@NonNull QuizViewModel quizViewModel) {
+        this.quizViewModel = quizViewModel;
+        setHasStableIds(true);
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        return VIEW_TYPE_QUESTION;
+    }
+
+    @Override
+    public long getItemId(int position) {
+        // A quiz's questions never move, so the position identifies the question
+        return position;
     }
 
     @NonNull
     @Override
-    public Fragment createFragment(int position) {
-        // position is 0..count-1
-        // For now we pass only the index; later we’ll pass state/capital/options.
-        return QuestionFragment.newInstance(position + 1); // 1-based for display
+    public QuestionViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext())
+                .inflate(R.layout.item_question, parent, false);
+        QuestionViewHolder holder = new QuestionViewHolder(view);
+
+        // One listener per view, reading the holder's current position when it fires
+        holder.rgChoices.setOnCheckedChangeListener((group, checkedId) -> {
+            int position = holder.getBindingAdapterPosition();
+            if (holder.binding || position == RecyclerView.NO_POSITION) {
+                return;
+            }
+            int choice = choiceFor(checkedId);
+            quizViewModel.setSelection(position + 1, choice);
+            Log.d(TAG, "Q" + (position + 1) + ": User selected choice " + choice);
+            notifyItemChanged(position, PAYLOAD_SELECTION);
+        });
+        return holder;
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull QuestionViewHolder holder, int position) {
+        int questionNumber = position + 1;
+        holder.tvQuestionNumber.setText("Question " + questionNumber + " of " + getItemCount());
+
+        QuizQuestion question = quizViewModel.getQuestion(questionNumber);
+        if (question != null) {
+            holder.tvPrompt.setText(question.getQuestionText());
+            String[] choices = question.getAnswerChoices();
+            for (int i = 0; i < CHOICE_IDS.length; i++) {
+                holder.choices[i].setText(choices[i]);
+            }
+        } else {
+            // Fallback if data not loaded yet; the container rebinds once it is
+            holder.tvPrompt.setText("Loading question " + questionNumber + "...");
+            for (TextView choice : holder.choices) {
+                choice.setText("Loading...");
+            }
+        }
+
+        bindSelection(holder, questionNumber);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull QuestionViewHolder holder, int position,
+                                 @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        // Only the selection changed: leave the text alone
+        bindSelection(holder, position + 1);
     }
 
     @Override
     public int getItemCount() {
-        return count;
+        return quizViewModel.getQuestionCount();
     }
-}
 
+    /**
+     * Check the saved choice, or none, without reporting it back as a new selection
+     */
+    private void bindSelection(QuestionViewHolder holder, int questionNumber) {
+        int saved = quizViewModel.getSelection(questionNumber); // 1, 2, 3, or 0
+        int checkedId = saved > 0 ? CHOICE_IDS[saved - 1] : View.NO_ID;
+        if (holder.rgChoices.getCheckedRadioButtonId() == checkedId) {
+            return;
+        }
+
+        holder.binding = true;
+        if (checkedId == View.NO_ID) {
+            holder.rgChoices.clearCheck();
+        } else {
+            holder.rgChoices.check(checkedId);
+        }
+        holder.binding = false;
+    }
+
+    private static int choiceFor(int checkedId) {
+        for (int i = 0; i < CHOICE_IDS.length; i++) {
+            if (CHOICE_IDS[i] == checkedId) {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    static class QuestionViewHolder extends RecyclerView.ViewHolder {
+        final TextView tvQuestionNumber, tvPrompt;
+        final RadioGroup rgChoices;
+        final TextView[] choices = new TextView[CHOICE_IDS.length];
+
+        // True while the adapter sets the checked choice, so the listener ignores it
+        boolean binding;
+
+        QuestionViewHolder(View itemView) {
+            super(itemView);
+            tvQuestionNumber = itemView.findViewById(R.id.tvQuestionNumber);
+            tvPrompt = itemView.findViewById(R.id.tvPrompt);
+            rgChoices = itemView.findViewById(R.id.rgChoices);
+            for (int i = 0; i < CHOICE_IDS.length; i++) {
+                choices[i] = itemView.findViewById(CHOICE_IDS[i]);
+            }
+        }
+    }
+}
@@ -1,13 +1,15 @@
 package edu.uga.cs.statecapitalsquiz.ui.quiz;
 
 import androidx.lifecycle.ViewModel;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
+import edu.uga.cs.statecapitalsquiz.database.QuizData;
+import edu.uga.cs.statecapitalsquiz.database.StateCatalog;
 import edu.uga.cs.statecapitalsquiz.models.Quiz;
 import edu.uga.cs.statecapitalsquiz.models.QuizQuestion;
-import edu.uga.cs.statecapitalsquiz.models.StateItem;
+import edu.uga.cs.statecapitalsquiz.tasks.AnswerJournal;
+import edu.uga.cs.statecapitalsquiz.tasks.QuizPreGenerator;
+import edu.uga.cs.statecapitalsquiz.utils.AndroidLogger;
 import edu.uga.cs.statecapitalsquiz.utils.QuizManager;
 
 /**
@@ -19,9 +21,11 @@ import edu.uga.cs.statecapitalsquiz.utils.QuizManager;
  * <p><b>Key responsibilities:</b></p>
  * <ul>
  *   <li>Store current quiz and questions</li>
- *   <li>Track user selections (questionNumber → answerIndex mapping)</li>
+ *   <li>Track user selections as each question's answer index</li>
  *   <li>Initialize quiz with real state data from database</li>
- *   <li>Provide questions to ViewPager fragments</li>
+ *   <li>Save each selection through an {@link AnswerJournal}, and resume a saved quiz</li>
+ *   <li>Build the next quiz in the background with a {@link QuizPreGenerator}</li>
+ *   <li>Provide questions to the ViewPager pages</li>
  * </ul>
  *
  * @author StateCapitalsQuiz Team
@@ -30,44 +34,43 @@ import edu.uga.cs.statecapitalsquiz.utils.QuizManager;
 public class QuizViewModel extends ViewModel {
 
     // === ORIGINAL PARTNER CODE (Selection tracking) ===
-    private final Map<Integer, Integer> selections = new HashMap<>();
-    private final Map<Integer, String> userAnswers = new HashMap<>();
+    // Each QuizQuestion's answer index is the only record of the user's choice
 
     /**
      * Store user's choice for a question
      *
-     * @param questionNumber 1-based question number (1-6)
+     * @param questionNumber 1-based question number
      * @param choice 1=first radio, 2=second, 3=third, 0=none
      */
     public void setSelection(int questionNumber, int choice) {
-        selections.put(questionNumber, choice);
-
-        // Also store the actual answer text
         QuizQuestion question = getQuestion(questionNumber);
-        if (question != null && choice >= 1 && choice <= 3) {
-            String[] choices = question.getAnswerChoices();
-            userAnswers.put(questionNumber, choices[choice - 1]); // Convert 1-based to 0-based
+        if (question == null) {
+            return;
+        }
+        question.setAnswerIndex(choice - 1); // Convert 1-based to 0-based
+        if (journal != null) {
+            journal.record(questionNumber - 1, choice - 1);
         }
     }
 
     /**
      * Retrieve user's choice for a question
      *
-     * @param questionNumber 1-based question number (1-6)
+     * @param questionNumber 1-based question number
      * @return 1, 2, 3, or 0 if none selected
      */
     public int getSelection(int questionNumber) {
-        Integer value = selections.get(questionNumber);
-        return (value == null) ? 0 : value;
+        QuizQuestion question = getQuestion(questionNumber);
+        return question == null ? 0 : question.getAnswerIndex() + 1;
     }
 
     /**
      * Count how many questions remain unanswered
      *
-     * @return number of questions with no selection (0 to 6)
+     * @return number of questions with no selection (0 to the quiz length)
      */
     public int countUnanswered() {
-        int total = 6;
+        int total = questionCount;
         int answered = 0;
         for (int i = 1; i <= total; i++) {
             if (getSelection(i) != 0) {
@@ -78,11 +81,15 @@ public class QuizViewModel extends ViewModel {
     }
 
     /**
-     * Clear all selections (for new quiz)
+     * Clear all selections (for new quiz). The chosen quiz length is kept;
+     * any quiz built in advance is dropped.
      */
     public void clearAll() {
-        selections.clear();
-        userAnswers.clear();
+        flushAnswers();
+        journal = null;
+        if (preGenerator != null) {
+            preGenerator.cancel();
+        }
         currentQuiz = null;
         questions = null;
         quizManager = null;
@@ -95,31 +102,145 @@ public class QuizViewModel extends ViewModel {
     private List<QuizQuestion> questions;
     private QuizManager quizManager;
     private boolean quizInitialized = false;
+    private int questionCount = Quiz.DEFAULT_QUESTION_COUNT;
+    private AnswerJournal journal;
+    private QuizData quizData;
+    private QuizPreGenerator preGenerator;
+
+    /**
+     * Choose the length of the next quiz (has no effect on a quiz already started)
+     *
+     * @param questionCount Number of questions
+     */
+    public void setQuestionCount(int questionCount) {
+        if (!quizInitialized) {
+            this.questionCount = questionCount;
+        }
+    }
+
+    /**
+     * @return Number of questions in the current (or next) quiz
+     */
+    public int getQuestionCount() {
+        return questionCount;
+    }
 
     /**
-     * Initialize a new quiz with state data from database
+     * Initialize a new quiz from the cached catalog, reusing its distractor index
+     * and picking states with its spaced-repetition scheduler
      *
-     * @param allStates List of all states from database
+     * @param catalog Cached state catalog
+     * @return false if the catalog has fewer states than the quiz needs, in which
+     *         case no quiz is started
      */
-    public void initializeQuiz(List<StateItem> allStates) {
+    public boolean initializeQuiz(StateCatalog catalog) {
         if (quizInitialized) {
-            return;
+            return true;
+        }
+        if (catalog.size() < questionCount) {
+            return false;
         }
 
-        quizManager = new QuizManager();
-        quizManager.setAllStates(allStates);
+        quizManager = new QuizManager(questionCount, AndroidLogger.INSTANCE);
+        quizManager.setAllStates(catalog.getStates(), catalog.getDistractors());
+        quizManager.setScheduler(catalog.getScheduler());
+        startQuiz();
+        return true;
+    }
 
+    private void startQuiz() {
         currentQuiz = quizManager.createNewQuiz();
         questions = quizManager.getQuestions();
 
         quizInitialized = true;
     }
 
+    /**
+     * Continue a quiz saved before the app was closed, with its saved answers
+     *
+     * @param quiz The unfinished quiz
+     * @param savedQuestions Its questions in order, with saved answers
+     */
+    public void resumeQuiz(Quiz quiz, List<QuizQuestion> savedQuestions) {
+        clearAll();
+
+        currentQuiz = quiz;
+        questions = savedQuestions;
+        questionCount = savedQuestions.size();
+        quizManager = new QuizManager(questionCount, AndroidLogger.INSTANCE);
+        quizManager.resumeQuiz(quiz, savedQuestions);
+
+        quizInitialized = true;
+    }
+
+    /**
+     * Start saving selections for the current quiz
+     *
+     * @param journal Journal bound to {@link #getCurrentQuiz()}
+     */
+    public void attachJournal(AnswerJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Write any selections the journal is still holding
+     */
+    public void flushAnswers() {
+        if (journal != null) {
+            journal.flush();
+        }
+    }
+
+    /**
+     * @return 0-based position of the first unanswered question, or 0 if all are answered
+     */
+    public int getResumePosition() {
+        for (int i = 1; i <= questionCount; i++) {
+            if (getSelection(i) == 0) {
+                return i - 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Start building the next quiz, of the current length, in the background
+     *
+     * @param quizData Database operations object
+     */
+    public void prepareNextQuiz(QuizData quizData) {
+        if (preGenerator == null) {
+            this.quizData = quizData;
+            preGenerator = new QuizPreGenerator(quizData);
+        }
+        preGenerator.prepare(questionCount);
+    }
+
+    /**
+     * Reset for a new quiz, taking over the quiz from {@link #prepareNextQuiz(QuizData)}
+     * if it is ready. Otherwise this is the same as {@link #resetForNewQuiz()} and the
+     * quiz screen generates one itself.
+     */
+    public void startNextQuiz() {
+        QuizPreGenerator.PreparedQuiz prepared =
+                preGenerator != null ? preGenerator.take(questionCount) : null;
+        clearAll();
+        if (prepared == null) {
+            return;
+        }
+
+        currentQuiz = prepared.getQuiz();
+        questions = prepared.getQuestions();
+        quizManager = prepared.getManager();
+        journal = new AnswerJournal(quizData, currentQuiz);
+        quizInitialized = true;
+    }
+
     /**
      * Get question data for a specific question number
-     * QuestionFragment calls this to display real state/capital data
+     * QuizPagerAdapter calls this to display real state/capital data
      *
-     * @param questionNumber 1-based question number (1-6)
+     * @param questionNumber 1-based question number
      * @return QuizQuestion, or null if not initialized
      */
     public QuizQuestion getQuestion(int questionNumber) {
@@ -132,7 +253,7 @@ public class QuizViewModel extends ViewModel {
     /**
      * Get all questions for this quiz
      *
-     * @return List of 6 QuizQuestions, or null if not initialized
+     * @return List of QuizQuestions, or null if not initialized
      */
     public List<QuizQuestion> getAllQuestions() {
         return questions;
@@ -148,26 +269,20 @@ public class QuizViewModel extends ViewModel {
     }
 
     /**
-     * Record all user answers and calculate final score
-     * Call this from ResultsFragment
+     * Score the user's answers and date the quiz as completed.
+     * Call this from ResultsFragment; calling it again (e.g. after the fragment is
+     * recreated) returns the same score and keeps the first completion date.
      *
-     * @return Final score (0-6)
+     * @return Final score (0 to the quiz length)
      */
     public int calculateScore() {
         if (quizManager == null || questions == null) {
             return 0;
         }
 
-        // Record all answers in QuizManager
-        for (int i = 1; i <= questions.size(); i++) {
-            String userAnswer = userAnswers.get(i);
-            if (userAnswer != null) {
-                QuizQuestion question = questions.get(i - 1);
-                quizManager.recordAnswer(question, userAnswer);
-            }
-        }
-
-        return quizManager.getFinalScore();
+        int score = quizManager.scoreQuiz();
+        quizManager.completeQuiz();
+        return score;
     }
 
     /**
@@ -185,4 +300,12 @@ public class QuizViewModel extends ViewModel {
     public void resetForNewQuiz() {
         clearAll();
     }
+
+    @Override
+    protected void onCleared() {
+        flushAnswers();
+        if (preGenerator != null) {
+            preGenerator.cancel();
+        }
+    }
 }
\ No newline at end of file
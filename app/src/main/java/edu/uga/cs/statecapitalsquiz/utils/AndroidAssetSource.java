@@ -0,0 +1,32 @@
+package edu.uga.cs.statecapitalsquiz.utils;
+
+import android.content.Context;
+import android.content.res.AssetManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * {@link AssetSource} that reads files from the APK's assets folder.
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public class AndroidAssetSource implements AssetSource {
+
+    private final AssetManager assets;
+
+    /**
+     * Constructor
+     *
+     * @param context Any context; only its asset manager is kept
+     */
+    public AndroidAssetSource(Context context) {
+        this.assets = context.getApplicationContext().getAssets();
+    }
+
+    @Override
+    public InputStream open(String path) throws IOException {
+        return assets.open(path);
+    }
+}
@@ -0,0 +1,32 @@
+package edu.uga.cs.statecapitalsquiz.utils;
+
+import android.util.Log;
+
+/**
+ * {@link Logger} that writes to Logcat through {@code android.util.Log}.
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public final class AndroidLogger implements Logger {
+
+    public static final AndroidLogger INSTANCE = new AndroidLogger();
+
+    private AndroidLogger() {
+    }
+
+    @Override
+    public void d(String tag, String message) {
+        Log.d(tag, message);
+    }
+
+    @Override
+    public void w(String tag, String message) {
+        Log.w(tag, message);
+    }
+
+    @Override
+    public void e(String tag, String message, Throwable error) {
+        Log.e(tag, message, error);
+    }
+}
@@ -0,0 +1,91 @@
+import edu.uga.cs.statecapitalsquiz.utils.CsvFormatException
+import edu.uga.cs.statecapitalsquiz.utils.CsvReader
+import org.gradle.api.DefaultTask
+import org.gradle.api.GradleException
+import org.gradle.api.file.DirectoryProperty
+import org.gradle.api.file.RegularFileProperty
+import org.gradle.api.provider.Property
+import org.gradle.api.tasks.Input
+import org.gradle.api.tasks.InputFile
+import org.gradle.api.tasks.OutputDirectory
+import org.gradle.api.tasks.TaskAction
+
+/**
+ * Compiles assets/state_capitals.csv into a ready-to-use SQLite file that is
+ * packaged as assets/databases/state_seed.db. QuizDBHelper installs it on
+ * first launch so the app never has to parse the CSV on the device.
+ *
+ * <p>The CSV is read with the app's own CsvReader, so quoting, line endings and
+ * malformed rows are handled exactly as on the device; a row the app would reject
+ * fails the build instead of producing a different seed.</p>
+ */
+abstract class CompileSeedDatabase extends DefaultTask {
+    @InputFile
+    abstract RegularFileProperty getCsvFile()
+
+    @Input
+    abstract Property<Integer> getSeedVersion()
+
+    @OutputDirectory
+    abstract DirectoryProperty getOutputDir()
+
+    @TaskAction
+    void compile() {
+        File dbFile = new File(outputDir.get().asFile, 'databases/state_seed.db')
+        dbFile.parentFile.mkdirs()
+        dbFile.delete()
+
+        def connection = new org.sqlite.JDBC().connect("jdbc:sqlite:${dbFile.absolutePath}", new Properties())
+        try {
+            connection.autoCommit = false
+            connection.createStatement().executeUpdate(
+                    'CREATE TABLE states (' +
+                            'state_name TEXT NOT NULL, ' +
+                            'capital_city TEXT NOT NULL, ' +
+                            'city2 TEXT NOT NULL, ' +
+                            'city3 TEXT NOT NULL, ' +
+                            'statehood_year INTEGER, ' +
+                            'capital_since_year INTEGER, ' +
+                            'capital_rank INTEGER, ' +
+                            'latitude REAL, ' +
+                            'longitude REAL)')
+
+            def insert = connection.prepareStatement(
+                    'INSERT INTO states VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)')
+            int rows = 0
+            File csv = csvFile.get().asFile
+            new CsvReader(new FileInputStream(csv)).withCloseable { CsvReader reader ->
+                // Skip the header row
+                reader.next()
+                while (reader.next()) {
+                    for (int i = 0; i < 4; i++) {
+                        insert.setString(i + 1, reader.getString(i))
+                    }
+                    for (int i = 4; i < 7; i++) {
+                        insert.setInt(i + 1, reader.getInt(i, 0))
+                    }
+                    // Capital coordinates; NULL when missing
+                    for (int i = 7; i < 9; i++) {
+                        double value = reader.getDouble(i, Double.NaN)
+                        if (Double.isNaN(value)) {
+                            insert.setNull(i + 1, java.sql.Types.REAL)
+                        } else {
+                            insert.setDouble(i + 1, value)
+                        }
+                    }
+                    insert.addBatch()
+                    rows++
+                }
+            }
+            insert.executeBatch()
+
+            connection.createStatement().executeUpdate("PRAGMA user_version = ${seedVersion.get()}")
+            connection.commit()
+            logger.info("Compiled ${rows} states into ${dbFile}")
+        } catch (CsvFormatException e) {
+            throw new GradleException("${csvFile.get().asFile.name}: ${e.message}", e)
+        } finally {
+            connection.close()
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package edu.uga.cs.statecapitalsquiz.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import edu.uga.cs.statecapitalsquiz.models.QuizQuestion;
+import edu.uga.cs.statecapitalsquiz.utils.Logger;
+import edu.uga.cs.statecapitalsquiz.utils.QuizManager;
+
+/**
+ * Cost of scoring a whole quiz with {@link QuizManager#scoreQuiz()}, with
+ * roughly two thirds of the answers correct and one in six left blank.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AnswerScoringBenchmark {
+
+    @Param({"6", "50"})
+    int questionsPerQuiz;
+
+    private QuizManager quizManager;
+
+    @Setup
+    public void setUp() {
+        quizManager = new QuizManager(questionsPerQuiz, Logger.NONE, new Random(42));
+        quizManager.setAllStates(SyntheticCatalog.states(Math.max(50, questionsPerQuiz)));
+        quizManager.createNewQuiz();
+        List<QuizQuestion> questions = quizManager.getQuestions();
+
+        for (int i = 0; i < questions.size(); i++) {
+            QuizQuestion question = questions.get(i);
+            int correct = question.getCorrectAnswerIndex();
+            if (i % 6 == 5) {
+                question.setAnswerIndex(-1);
+            } else {
+                question.setAnswerIndex(i % 3 == 2 ? (correct + 1) % 3 : correct);
+            }
+        }
+    }
+
+    @Benchmark
+    public int scoreQuiz() {
+        return quizManager.scoreQuiz();
+    }
+}
@@ -0,0 +1,97 @@
+package edu.uga.cs.statecapitalsquiz.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import edu.uga.cs.statecapitalsquiz.models.StateItem;
+import edu.uga.cs.statecapitalsquiz.utils.BackupFormat;
+import edu.uga.cs.statecapitalsquiz.utils.BackupReader;
+import edu.uga.cs.statecapitalsquiz.utils.BackupWriter;
+
+/**
+ * Cost of encoding and decoding a quiz history backup of 50 states and
+ * {@code quizCount} six-question quizzes, in memory so only the codec (and the
+ * deflater, when compressed) is measured. {@link #write} discards its output.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+public class BackupCodecBenchmark {
+
+    private static final int QUESTIONS_PER_QUIZ = 6;
+    // What the app stores between answer choices
+    private static final String SEPARATOR = "\u001F";
+
+    @Param({"1000", "100000"})
+    int quizCount;
+
+    @Param({"false", "true"})
+    boolean compress;
+
+    private List<StateItem> states;
+    private byte[] backup;
+
+    @Setup
+    public void setUp() throws IOException {
+        states = SyntheticCatalog.states(50);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeBackup(out);
+        backup = out.toByteArray();
+    }
+
+    @Benchmark
+    public int write() throws IOException {
+        return writeBackup(OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public int read() throws IOException {
+        int answered = 0;
+        try (BackupReader reader = new BackupReader(Channels.newChannel(new ByteArrayInputStream(backup)))) {
+            for (int type = reader.next(); type != BackupFormat.END; type = reader.next()) {
+                if (type == BackupFormat.QUESTION && reader.getAnswerIndex() >= 0) {
+                    answered++;
+                }
+            }
+        }
+        return answered;
+    }
+
+    private int writeBackup(OutputStream out) throws IOException {
+        try (BackupWriter writer = new BackupWriter(Channels.newChannel(out), compress)) {
+            writer.writeDeck("us");
+            for (StateItem state : states) {
+                writer.writeState("us", state, 2, 0);
+            }
+            for (int quiz = 0; quiz < quizCount; quiz++) {
+                writer.writeQuiz("2025-01-" + (10 + quiz % 20) + " 12:00:00", quiz % 7, QUESTIONS_PER_QUIZ,
+                        QUESTIONS_PER_QUIZ);
+                for (int position = 0; position < QUESTIONS_PER_QUIZ; position++) {
+                    StateItem state = states.get((quiz * QUESTIONS_PER_QUIZ + position) % states.size());
+                    writer.writeQuestion(position, state.getId(), state.getCapitalCity() + SEPARATOR
+                            + state.getCity2() + SEPARATOR + state.getCity3(), position % 3, quiz % 3);
+                }
+            }
+            writer.finish();
+            return writer.getQuestionCount();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package edu.uga.cs.statecapitalsquiz.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import edu.uga.cs.statecapitalsquiz.models.QuizQuestion;
+import edu.uga.cs.statecapitalsquiz.models.StateItem;
+import edu.uga.cs.statecapitalsquiz.utils.Logger;
+import edu.uga.cs.statecapitalsquiz.utils.QuizManager;
+
+/**
+ * Cost of building one question: copying the three cities and shuffling them.
+ * States are visited in a fixed pseudo-random order, so larger catalogs show
+ * the effect of cache misses on scattered StateItem objects.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ChoiceShuffleBenchmark {
+
+    private static final int ORDER_LENGTH = 4096;
+
+    @Param({"50", "1000", "100000", "1000000"})
+    int catalogSize;
+
+    private QuizManager quizManager;
+    private List<StateItem> states;
+    private int[] order;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        quizManager = new QuizManager(6, Logger.NONE, new Random(42));
+        states = SyntheticCatalog.states(catalogSize);
+
+        Random random = new Random(7);
+        order = new int[ORDER_LENGTH];
+        for (int i = 0; i < ORDER_LENGTH; i++) {
+            order[i] = random.nextInt(catalogSize);
+        }
+    }
+
+    @Benchmark
+    public QuizQuestion shuffleChoices() {
+        StateItem state = states.get(order[next]);
+        next = (next + 1) & (ORDER_LENGTH - 1);
+        return quizManager.createQuestionForState(state);
+    }
+}
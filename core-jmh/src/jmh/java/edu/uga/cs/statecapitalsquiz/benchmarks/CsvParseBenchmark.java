@@ -0,0 +1,54 @@
+package edu.uga.cs.statecapitalsquiz.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import edu.uga.cs.statecapitalsquiz.models.StateItem;
+import edu.uga.cs.statecapitalsquiz.utils.AssetSource;
+import edu.uga.cs.statecapitalsquiz.utils.CSVParser;
+import edu.uga.cs.statecapitalsquiz.utils.Logger;
+
+/**
+ * Cost of parsing the states CSV into StateItems, read from memory so only
+ * decoding and object construction are measured. {@link #stream} hands each
+ * state to a sink the way the importer does, without collecting a list.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+public class CsvParseBenchmark {
+
+    @Param({"50", "1000", "100000", "1000000"})
+    int catalogSize;
+
+    private AssetSource assets;
+
+    @Setup
+    public void setUp() {
+        assets = SyntheticCatalog.assets(SyntheticCatalog.csv(catalogSize));
+    }
+
+    @Benchmark
+    public List<StateItem> parse() throws Exception {
+        return new CSVParser(assets, Logger.NONE).parseCSV();
+    }
+
+    @Benchmark
+    public int stream(Blackhole blackhole) throws Exception {
+        return new CSVParser(assets, Logger.NONE).parse(blackhole::consume);
+    }
+}
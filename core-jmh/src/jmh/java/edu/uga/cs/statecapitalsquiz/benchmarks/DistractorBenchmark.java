@@ -0,0 +1,66 @@
+package edu.uga.cs.statecapitalsquiz.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import edu.uga.cs.statecapitalsquiz.models.StateItem;
+import edu.uga.cs.statecapitalsquiz.models.StateTable;
+import edu.uga.cs.statecapitalsquiz.utils.DistractorEngine;
+
+/**
+ * Cost of choosing the wrong answers for a whole 50-question quiz with
+ * {@link DistractorEngine}, and of building its spatial index. Catalog rows have
+ * no second or third city, so every wrong answer comes from a k-d tree query.
+ * Per-quiz cost should stay well under a millisecond at every catalog size.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DistractorBenchmark {
+
+    private static final int QUESTIONS = 50;
+
+    @Param({"50", "1000", "100000", "1000000"})
+    int catalogSize;
+
+    private StateTable states;
+    private DistractorEngine engine;
+    private Random random;
+    private StateItem[] quiz;
+
+    @Setup
+    public void setUp() {
+        states = StateTable.of(SyntheticCatalog.states(catalogSize, false));
+        engine = new DistractorEngine(states);
+        random = new Random(42);
+
+        quiz = new StateItem[QUESTIONS];
+        for (int i = 0; i < QUESTIONS; i++) {
+            quiz[i] = states.getState(random.nextInt(catalogSize));
+        }
+    }
+
+    @Benchmark
+    public void distractorsForQuiz(Blackhole blackhole) {
+        for (StateItem state : quiz) {
+            blackhole.consume(engine.pickDistractors(state, 2, random));
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public DistractorEngine buildIndex() {
+        return new DistractorEngine(states);
+    }
+}
@@ -0,0 +1,49 @@
+package edu.uga.cs.statecapitalsquiz.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+import edu.uga.cs.statecapitalsquiz.utils.LatencyTimer;
+import edu.uga.cs.statecapitalsquiz.utils.Metrics;
+
+/**
+ * Overhead a timed block adds to the code it wraps, with metrics switched off
+ * (what release builds pay) and on (debug builds).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MetricsBenchmark {
+
+    private static final LatencyTimer TIMER = Metrics.timer("benchmark.timed_block");
+
+    @Param({"false", "true"})
+    boolean enabled;
+
+    @Setup
+    public void setUp() {
+        Metrics.setEnabled(enabled);
+    }
+
+    @TearDown
+    public void tearDown() {
+        Metrics.setEnabled(false);
+        Metrics.reset();
+    }
+
+    @Benchmark
+    public long timedBlock() {
+        long start = TIMER.start();
+        TIMER.stop(start);
+        return start;
+    }
+}
@@ -0,0 +1,48 @@
+package edu.uga.cs.statecapitalsquiz.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import edu.uga.cs.statecapitalsquiz.models.QuizQuestion;
+import edu.uga.cs.statecapitalsquiz.utils.Logger;
+import edu.uga.cs.statecapitalsquiz.utils.QuizManager;
+
+/**
+ * Cost of {@link QuizManager#createNewQuiz()}: picking the states and building
+ * every question. Should stay flat as the catalog grows.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class QuizGenerationBenchmark {
+
+    @Param({"50", "1000", "100000", "1000000"})
+    int catalogSize;
+
+    @Param({"6", "50"})
+    int questionsPerQuiz;
+
+    private QuizManager quizManager;
+
+    @Setup
+    public void setUp() {
+        quizManager = new QuizManager(questionsPerQuiz, Logger.NONE, new Random(42));
+        quizManager.setAllStates(SyntheticCatalog.states(catalogSize));
+    }
+
+    @Benchmark
+    public List<QuizQuestion> createQuiz() {
+        quizManager.createNewQuiz();
+        return quizManager.getQuestions();
+    }
+}
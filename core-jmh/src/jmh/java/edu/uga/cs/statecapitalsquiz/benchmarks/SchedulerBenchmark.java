@@ -0,0 +1,82 @@
+package edu.uga.cs.statecapitalsquiz.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import edu.uga.cs.statecapitalsquiz.models.QuizQuestion;
+import edu.uga.cs.statecapitalsquiz.models.StateTable;
+import edu.uga.cs.statecapitalsquiz.utils.Logger;
+import edu.uga.cs.statecapitalsquiz.utils.QuizManager;
+import edu.uga.cs.statecapitalsquiz.utils.RandomSampler;
+import edu.uga.cs.statecapitalsquiz.utils.StateScheduler;
+
+/**
+ * Picking the states for a quiz uniformly versus with the spaced-repetition
+ * {@link StateScheduler}, whose picks should stay flat as the catalog grows, and
+ * the cost of recording a finished quiz into it (which rebuilds its alias table).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SchedulerBenchmark {
+
+    @Param({"50", "1000", "100000", "1000000"})
+    int catalogSize;
+
+    @Param({"6", "50"})
+    int questionsPerQuiz;
+
+    private final Random random = new Random(42);
+    private StateTable states;
+    private StateScheduler scheduler;
+    private List<QuizQuestion> finishedQuiz;
+
+    @Setup
+    public void setUp() {
+        states = StateTable.of(SyntheticCatalog.states(catalogSize));
+
+        // A user part way through: states spread over every box and last asked at various times
+        scheduler = new StateScheduler(states);
+        scheduler.setQuizzesCompleted(100);
+        for (int row = 0; row < states.size(); row++) {
+            scheduler.setHistory(states.getId(row), random.nextInt(StateScheduler.MAX_BOX + 1),
+                    random.nextInt(101));
+        }
+
+        QuizManager quizManager = new QuizManager(questionsPerQuiz, Logger.NONE, random);
+        quizManager.setAllStates(states);
+        quizManager.createNewQuiz();
+        finishedQuiz = quizManager.getQuestions();
+        for (int i = 0; i < finishedQuiz.size(); i++) {
+            QuizQuestion question = finishedQuiz.get(i);
+            question.setAnswerIndex(i % 3 == 2 ? -1 : question.getCorrectAnswerIndex());
+        }
+        scheduler.sample(questionsPerQuiz, random);
+    }
+
+    @Benchmark
+    public int[] uniform() {
+        return RandomSampler.sampleIndices(states.size(), questionsPerQuiz, random);
+    }
+
+    @Benchmark
+    public int[] scheduled() {
+        return scheduler.sample(questionsPerQuiz, random);
+    }
+
+    @Benchmark
+    public StateScheduler recordQuiz() {
+        scheduler.recordQuiz(finishedQuiz);
+        return scheduler;
+    }
+}
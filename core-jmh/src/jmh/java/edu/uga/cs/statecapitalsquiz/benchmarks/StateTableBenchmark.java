@@ -0,0 +1,61 @@
+package edu.uga.cs.statecapitalsquiz.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import edu.uga.cs.statecapitalsquiz.models.StateItem;
+import edu.uga.cs.statecapitalsquiz.models.StateTable;
+
+/**
+ * Cost of reading a field from every state: one StateItem per row in a list
+ * versus the same rows in a columnar StateTable.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StateTableBenchmark {
+
+    @Param({"50", "1000", "100000", "1000000"})
+    int catalogSize;
+
+    private List<StateItem> list;
+    private StateTable table;
+
+    @Setup
+    public void setUp() {
+        list = SyntheticCatalog.states(catalogSize);
+        table = StateTable.of(list);
+    }
+
+    @Benchmark
+    public long sumYearsList() {
+        long sum = 0;
+        for (int i = 0; i < list.size(); i++) {
+            sum += list.get(i).getStatehoodYear();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long sumYearsTable() {
+        long sum = 0;
+        for (int row = 0; row < table.size(); row++) {
+            sum += table.getStatehoodYear(row);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public StateTable buildTable() {
+        return StateTable.of(list);
+    }
+}
@@ -0,0 +1,90 @@
+package edu.uga.cs.statecapitalsquiz.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.uga.cs.statecapitalsquiz.models.StateItem;
+import edu.uga.cs.statecapitalsquiz.utils.AssetSource;
+import edu.uga.cs.statecapitalsquiz.utils.CSVParser;
+
+/**
+ * Builds deterministic state catalogs of any size for the benchmarks.
+ * Rows look like the real asset: name, capital, two other cities, three numbers
+ * and capital coordinates scattered over the continental US.
+ */
+final class SyntheticCatalog {
+
+    private SyntheticCatalog() {
+    }
+
+    /**
+     * @param size Number of states
+     * @return Catalog with IDs 1..size
+     */
+    static List<StateItem> states(int size) {
+        return states(size, true);
+    }
+
+    /**
+     * @param size Number of states
+     * @param withCities false to leave the second and third cities blank, like the
+     *                   real asset, so every wrong answer comes from the distractor engine
+     * @return Catalog with IDs 1..size
+     */
+    static List<StateItem> states(int size, boolean withCities) {
+        List<StateItem> states = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            StateItem state = new StateItem(i + 1, "State " + i, "Capital " + i,
+                    withCities ? "City A" + i : "", withCities ? "City B" + i : "",
+                    1787 + i % 200, 1800 + i % 200, 1 + i % 10);
+            state.setLatitude(latitude(i));
+            state.setLongitude(longitude(i));
+            states.add(state);
+        }
+        return states;
+    }
+
+    /**
+     * @param size Number of data rows (a header row is added)
+     * @return The catalog encoded as state_capitals.csv bytes
+     */
+    static byte[] csv(int size) {
+        StringBuilder csv = new StringBuilder(size * 64);
+        csv.append("state,capital,city2,city3,statehood_year,capital_since_year,capital_rank,latitude,longitude\n");
+        for (int i = 0; i < size; i++) {
+            csv.append("State ").append(i).append(',')
+                    .append("Capital ").append(i).append(',')
+                    .append("City A").append(i).append(',')
+                    .append("City B").append(i).append(',')
+                    .append(1787 + i % 200).append(',')
+                    .append(1800 + i % 200).append(',')
+                    .append(1 + i % 10).append(',')
+                    .append(latitude(i)).append(',')
+                    .append(longitude(i)).append('\n');
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static double latitude(int i) {
+        return 25 + (i * 7919L % 2400) / 100.0;
+    }
+
+    private static double longitude(int i) {
+        return -124 + (i * 104729L % 5700) / 100.0;
+    }
+
+    /**
+     * @param csv Bytes served for the states asset
+     * @return Asset source that serves the bytes from memory
+     */
+    static AssetSource assets(byte[] csv) {
+        return path -> {
+            if (!CSVParser.STATES_ASSET.equals(path)) {
+                throw new java.io.FileNotFoundException(path);
+            }
+            return new ByteArrayInputStream(csv);
+        };
+    }
+}
@@ -0,0 +1,70 @@
+package edu.uga.cs.statecapitalsquiz.models;
+
+/**
+ * One quiz deck listed in the deck manifest: a set of places and their capitals
+ * (US states, Canadian provinces, ...), stored in its own CSV asset.
+ *
+ * <p>Every deck uses the same item schema as the states deck, one {@link StateItem}
+ * per row: the place name is the prompt, the capital is the answer, and the other
+ * columns are optional. A deck's rows live in their own partition of the states
+ * table, keyed by {@link #getId()}.</p>
+ *
+ * <p>Instances are immutable.</p>
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public final class Deck {
+
+    /**
+     * ID of the US states deck. Rows stored before decks existed belong to it.
+     */
+    public static final String DEFAULT_ID = "us_states";
+
+    /**
+     * The US states deck, used when the app has no manifest
+     */
+    public static final Deck DEFAULT =
+            new Deck(DEFAULT_ID, "US State Capitals", "state_capitals.csv", "states");
+
+    private final String id;
+    private final String title;
+    private final String asset;
+    private final String items;
+
+    /**
+     * Constructor
+     *
+     * @param id Stable key stored with the deck's rows; never change it once shipped
+     * @param title Name shown to the user
+     * @param asset CSV asset holding the deck's rows
+     * @param items Plural noun for the deck's items, such as "states"
+     */
+    public Deck(String id, String title, String asset, String items) {
+        this.id = id;
+        this.title = title;
+        this.asset = asset;
+        this.items = items;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getAsset() {
+        return asset;
+    }
+
+    public String getItems() {
+        return items;
+    }
+
+    @Override
+    public String toString() {
+        return "Deck{" + id + ", " + asset + "}";
+    }
+}
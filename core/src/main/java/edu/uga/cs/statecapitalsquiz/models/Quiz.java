@@ -1,42 +1,48 @@
 package edu.uga.cs.statecapitalsquiz.models;
 
 /**
- * Represents a quiz instance containing 6 randomly selected states.
- * Tracks the quiz score, date/time, and progress (questions answered).
+ * Represents a quiz instance containing a number of randomly selected states
+ * (6 by default). Tracks the quiz score, date/time, and progress (questions answered).
+ * The questions themselves are stored in the quiz_questions table.
  *
  * @author StateCapitalsQuiz Team
  * @version 1.0
  */
 public class Quiz {
+    public static final int DEFAULT_QUESTION_COUNT = 6;
+
     private int id;
     private String date;
     private int score;
     private int questionsAnswered;
-    private int[] stateIds;  // Array of 6 state IDs
+    private int questionCount;
+    private int[] stateIds;  // State ID of each question, in order
 
     /**
      * Default constructor
      */
     public Quiz() {
-        this.stateIds = new int[6];
+        this.stateIds = new int[0];
         this.score = 0;
         this.questionsAnswered = 0;
+        this.questionCount = DEFAULT_QUESTION_COUNT;
     }
 
     /**
-     * Constructor with state IDs
+     * Constructor with state IDs (one question per state)
      */
     public Quiz(int[] stateIds) {
         this.stateIds = stateIds;
         this.score = 0;
         this.questionsAnswered = 0;
+        this.questionCount = stateIds.length;
     }
 
     /**
-     * Check if quiz is complete (all 6 questions answered)
+     * Check if quiz is complete (every question answered)
      */
     public boolean isComplete() {
-        return questionsAnswered >= 6;
+        return questionsAnswered >= questionCount;
     }
 
     /**
@@ -86,6 +92,14 @@ public class Quiz {
         this.questionsAnswered = questionsAnswered;
     }
 
+    public int getQuestionCount() {
+        return questionCount;
+    }
+
+    public void setQuestionCount(int questionCount) {
+        this.questionCount = questionCount;
+    }
+
     public int[] getStateIds() {
         return stateIds;
     }
@@ -101,6 +115,7 @@ public class Quiz {
                 ", date='" + date + '\'' +
                 ", score=" + score +
                 ", questionsAnswered=" + questionsAnswered +
+                ", questionCount=" + questionCount +
                 '}';
     }
 }
\ No newline at end of file
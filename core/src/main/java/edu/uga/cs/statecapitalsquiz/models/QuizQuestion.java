@@ -11,6 +11,7 @@ public class QuizQuestion {
     private StateItem state;
     private String[] answerChoices;  // 3 cities in random order
     private int correctAnswerIndex;  // Index (0-2) of correct answer in choices array
+    private int answerIndex = -1;    // Index (0-2) of the user's answer, -1 if unanswered
 
     /**
      * Constructor with randomized answer choices
@@ -32,13 +33,35 @@ public class QuizQuestion {
     }
 
     /**
-     * Check if the given answer is correct
+     * Constructor for a question read back from the database
      *
-     * @param answer The city name chosen by the user
-     * @return true if answer matches the capital city
+     * @param state The state this question is about
+     * @param choices Answer choices in the order they were shown
+     * @param correctAnswerIndex Index of the capital in choices
+     */
+    public QuizQuestion(StateItem state, String[] choices, int correctAnswerIndex) {
+        this.state = state;
+        this.answerChoices = choices;
+        this.correctAnswerIndex = correctAnswerIndex;
+    }
+
+    /**
+     * Check if the given choice is correct
+     *
+     * @param choiceIndex Index (0-2) of a choice in {@link #getAnswerChoices()}
+     * @return true if that choice is the capital city
+     */
+    public boolean isCorrect(int choiceIndex) {
+        return choiceIndex >= 0 && choiceIndex == correctAnswerIndex;
+    }
+
+    /**
+     * Check if the user's recorded answer is correct
+     *
+     * @return true if answered with the capital city
      */
-    public boolean isCorrect(String answer) {
-        return answer != null && answer.equals(state.getCapitalCity());
+    public boolean isAnsweredCorrectly() {
+        return isCorrect(answerIndex);
     }
 
     /**
@@ -71,6 +94,18 @@ public class QuizQuestion {
         return correctAnswerIndex;
     }
 
+    public int getAnswerIndex() {
+        return answerIndex;
+    }
+
+    public void setAnswerIndex(int answerIndex) {
+        this.answerIndex = answerIndex;
+    }
+
+    public boolean isAnswered() {
+        return answerIndex >= 0;
+    }
+
     @Override
     public String toString() {
         return "QuizQuestion{" +
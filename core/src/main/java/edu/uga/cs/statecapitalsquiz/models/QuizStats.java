@@ -0,0 +1,175 @@
+package edu.uga.cs.statecapitalsquiz.models;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Snapshot of the user's statistics across every completed quiz: overall totals,
+ * the states answered least accurately, and per-day totals for recent days.
+ *
+ * <p>Read from the aggregate tables that are updated as each quiz is completed,
+ * so building one never scans the quiz history.</p>
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public class QuizStats {
+
+    private final int quizzesCompleted;
+    private final int questionsAsked;
+    private final int questionsAnswered;
+    private final int correctAnswers;
+    private final int bestPercent;
+    private final List<StateAccuracy> weakestStates;
+    private final List<DayTotals> recentDays;
+
+    /**
+     * Constructor
+     *
+     * @param quizzesCompleted Number of completed quizzes
+     * @param questionsAsked Questions in those quizzes
+     * @param questionsAnswered Questions the user answered
+     * @param correctAnswers Questions answered correctly (the sum of the quiz scores)
+     * @param bestPercent Best single quiz score, as a percentage of its questions
+     * @param weakestStates States with the lowest accuracy, worst first
+     * @param recentDays Totals for the most recent days with a completed quiz, newest first
+     */
+    public QuizStats(int quizzesCompleted, int questionsAsked, int questionsAnswered,
+                     int correctAnswers, int bestPercent,
+                     List<StateAccuracy> weakestStates, List<DayTotals> recentDays) {
+        this.quizzesCompleted = quizzesCompleted;
+        this.questionsAsked = questionsAsked;
+        this.questionsAnswered = questionsAnswered;
+        this.correctAnswers = correctAnswers;
+        this.bestPercent = bestPercent;
+        this.weakestStates = Collections.unmodifiableList(weakestStates);
+        this.recentDays = Collections.unmodifiableList(recentDays);
+    }
+
+    /**
+     * @return Stats for a user who has not completed a quiz
+     */
+    public static QuizStats empty() {
+        return new QuizStats(0, 0, 0, 0, 0,
+                Collections.<StateAccuracy>emptyList(), Collections.<DayTotals>emptyList());
+    }
+
+    /**
+     * @return Average quiz score as a percentage of the questions asked (0-100)
+     */
+    public int getAveragePercent() {
+        return percent(correctAnswers, questionsAsked);
+    }
+
+    public int getQuizzesCompleted() {
+        return quizzesCompleted;
+    }
+
+    public int getQuestionsAsked() {
+        return questionsAsked;
+    }
+
+    public int getQuestionsAnswered() {
+        return questionsAnswered;
+    }
+
+    public int getCorrectAnswers() {
+        return correctAnswers;
+    }
+
+    public int getBestPercent() {
+        return bestPercent;
+    }
+
+    public List<StateAccuracy> getWeakestStates() {
+        return weakestStates;
+    }
+
+    public List<DayTotals> getRecentDays() {
+        return recentDays;
+    }
+
+    private static int percent(int part, int whole) {
+        return whole > 0 ? (int) Math.round(part * 100.0 / whole) : 0;
+    }
+
+    /**
+     * How often one state has been asked and answered correctly
+     */
+    public static class StateAccuracy {
+        private final String stateName;
+        private final int attempts;
+        private final int correct;
+
+        public StateAccuracy(String stateName, int attempts, int correct) {
+            this.stateName = stateName;
+            this.attempts = attempts;
+            this.correct = correct;
+        }
+
+        public String getStateName() {
+            return stateName;
+        }
+
+        public int getAttempts() {
+            return attempts;
+        }
+
+        public int getCorrect() {
+            return correct;
+        }
+
+        /**
+         * @return Share of attempts answered correctly, as a percentage (0-100)
+         */
+        public int getPercent() {
+            return percent(correct, attempts);
+        }
+    }
+
+    /**
+     * Quizzes completed on one day and how well they went
+     */
+    public static class DayTotals {
+        private final String day;
+        private final int quizzesCompleted;
+        private final int questionsAsked;
+        private final int correctAnswers;
+
+        /**
+         * @param day Date as "yyyy-MM-dd"
+         * @param quizzesCompleted Quizzes completed that day
+         * @param questionsAsked Questions in those quizzes
+         * @param correctAnswers Questions answered correctly
+         */
+        public DayTotals(String day, int quizzesCompleted, int questionsAsked, int correctAnswers) {
+            this.day = day;
+            this.quizzesCompleted = quizzesCompleted;
+            this.questionsAsked = questionsAsked;
+            this.correctAnswers = correctAnswers;
+        }
+
+        public String getDay() {
+            return day;
+        }
+
+        public int getQuizzesCompleted() {
+            return quizzesCompleted;
+        }
+
+        public int getQuestionsAsked() {
+            return questionsAsked;
+        }
+
+        public int getCorrectAnswers() {
+            return correctAnswers;
+        }
+
+        /**
+         * @return Average score that day, as a percentage (0-100)
+         */
+        public int getPercent() {
+            return percent(correctAnswers, questionsAsked);
+        }
+    }
+}
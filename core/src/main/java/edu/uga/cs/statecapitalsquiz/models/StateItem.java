@@ -4,6 +4,8 @@ package edu.uga.cs.statecapitalsquiz.models;
  * Represents a US state with its capital and two additional large cities.
  * Used for quiz questions where the capital is the correct answer and
  * the other cities serve as plausible wrong answers.
+ * The capital's coordinates, when known, let nearby capitals be offered as
+ * wrong answers too.
  *
  * @author StateCapitalsQuiz Team
  * @version 1.0
@@ -17,6 +19,8 @@ public class StateItem {
     private int statehoodYear;
     private int capitalSinceYear;
     private int capitalRank;
+    private double latitude = Double.NaN;
+    private double longitude = Double.NaN;
 
     /**
      * Default constructor
@@ -104,6 +108,29 @@ public class StateItem {
         this.capitalRank = capitalRank;
     }
 
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(double latitude) {
+        this.latitude = latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(double longitude) {
+        this.longitude = longitude;
+    }
+
+    /**
+     * @return true if the capital's latitude and longitude are both known
+     */
+    public boolean hasCoordinates() {
+        return !Double.isNaN(latitude) && !Double.isNaN(longitude);
+    }
+
     @Override
     public String toString() {
         return "StateItem{" +
@@ -0,0 +1,342 @@
+package edu.uga.cs.statecapitalsquiz.models;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only, column-oriented table of states.
+ *
+ * <p>Each field is stored as one primitive array indexed by row, and the four text
+ * fields hold indexes into a shared string pool where each distinct name is kept
+ * once (blank cities, and cities that appear in several states, cost one reference).
+ * A catalog is therefore a dozen arrays instead of one StateItem and four Strings per
+ * row, which keeps large decks compact and gives the garbage collector almost
+ * nothing to trace.</p>
+ *
+ * <p>Rows are read through the row-indexed getters, which allocate nothing;
+ * {@link #getState(int)} builds a StateItem only for callers that need an object,
+ * such as a quiz question. Rows keep the order they were added in. Instances are
+ * immutable and safe to share between threads.</p>
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public final class StateTable {
+
+    private static final StateTable EMPTY = new Builder(0).build();
+
+    private final int size;
+    private final int[] ids;
+    private final int[] names;
+    private final int[] capitals;
+    private final int[] cities2;
+    private final int[] cities3;
+    private final int[] statehoodYears;
+    private final int[] capitalSinceYears;
+    private final int[] capitalRanks;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final String[] pool;
+
+    // Row of each ID: rowsById[id - minId] when IDs are dense, otherwise a
+    // binary search over sortedIds (with the matching rows in sortedRows)
+    private final int minId;
+    private final int[] rowsById;
+    private final int[] sortedIds;
+    private final int[] sortedRows;
+
+    private StateTable(Builder builder) {
+        size = builder.size;
+        ids = Arrays.copyOf(builder.ids, size);
+        names = Arrays.copyOf(builder.names, size);
+        capitals = Arrays.copyOf(builder.capitals, size);
+        cities2 = Arrays.copyOf(builder.cities2, size);
+        cities3 = Arrays.copyOf(builder.cities3, size);
+        statehoodYears = Arrays.copyOf(builder.statehoodYears, size);
+        capitalSinceYears = Arrays.copyOf(builder.capitalSinceYears, size);
+        capitalRanks = Arrays.copyOf(builder.capitalRanks, size);
+        latitudes = Arrays.copyOf(builder.latitudes, size);
+        longitudes = Arrays.copyOf(builder.longitudes, size);
+        pool = builder.pool.toArray(new String[0]);
+
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            min = Math.min(min, ids[i]);
+            max = Math.max(max, ids[i]);
+        }
+        minId = min;
+
+        // Rows loaded from SQLite have consecutive IDs, so a direct lookup is the norm
+        if (size > 0 && (long) max - min < 2L * size) {
+            rowsById = new int[max - min + 1];
+            Arrays.fill(rowsById, -1);
+            for (int row = size - 1; row >= 0; row--) {
+                rowsById[ids[row] - min] = row;
+            }
+            sortedIds = null;
+            sortedRows = null;
+        } else {
+            rowsById = null;
+            long[] pairs = new long[size];
+            for (int row = 0; row < size; row++) {
+                pairs[row] = ((long) ids[row] << 32) | row;
+            }
+            Arrays.sort(pairs);
+            sortedIds = new int[size];
+            sortedRows = new int[size];
+            for (int i = 0; i < size; i++) {
+                sortedIds[i] = (int) (pairs[i] >> 32);
+                sortedRows[i] = (int) pairs[i];
+            }
+        }
+    }
+
+    /**
+     * @return A table with no rows
+     */
+    public static StateTable empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Build a table from state objects, keeping their order
+     *
+     * @param states States to copy
+     * @return The table
+     */
+    public static StateTable of(List<StateItem> states) {
+        Builder builder = new Builder(states.size());
+        for (StateItem state : states) {
+            builder.add(state);
+        }
+        return builder.build();
+    }
+
+    /**
+     * @return Number of rows
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true if the table has no rows
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Find the row holding a state
+     *
+     * @param id State ID
+     * @return Row index, or -1 if no row has that ID
+     */
+    public int rowOf(int id) {
+        if (rowsById != null) {
+            long offset = (long) id - minId;
+            return offset < 0 || offset >= rowsById.length ? -1 : rowsById[(int) offset];
+        }
+        int i = Arrays.binarySearch(sortedIds, id);
+        return i >= 0 ? sortedRows[i] : -1;
+    }
+
+    // Row getters; row is a 0-based row index
+    public int getId(int row) {
+        return ids[row];
+    }
+
+    public String getStateName(int row) {
+        return pool[names[row]];
+    }
+
+    public String getCapitalCity(int row) {
+        return pool[capitals[row]];
+    }
+
+    public String getCity2(int row) {
+        return pool[cities2[row]];
+    }
+
+    public String getCity3(int row) {
+        return pool[cities3[row]];
+    }
+
+    public int getStatehoodYear(int row) {
+        return statehoodYears[row];
+    }
+
+    public int getCapitalSinceYear(int row) {
+        return capitalSinceYears[row];
+    }
+
+    public int getCapitalRank(int row) {
+        return capitalRanks[row];
+    }
+
+    public double getLatitude(int row) {
+        return latitudes[row];
+    }
+
+    public double getLongitude(int row) {
+        return longitudes[row];
+    }
+
+    /**
+     * @param row Row index
+     * @return true if the row's capital has a latitude and longitude
+     */
+    public boolean hasCoordinates(int row) {
+        return !Double.isNaN(latitudes[row]) && !Double.isNaN(longitudes[row]);
+    }
+
+    /**
+     * @return true if every row's capital has a latitude and longitude
+     */
+    public boolean hasAllCoordinates() {
+        for (int row = 0; row < size; row++) {
+            if (!hasCoordinates(row)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Copy one row into a new StateItem
+     *
+     * @param row Row index
+     * @return A StateItem with the row's values; changing it does not change the table
+     */
+    public StateItem getState(int row) {
+        StateItem state = new StateItem(ids[row], getStateName(row), getCapitalCity(row),
+                getCity2(row), getCity3(row), statehoodYears[row], capitalSinceYears[row],
+                capitalRanks[row]);
+        state.setLatitude(latitudes[row]);
+        state.setLongitude(longitudes[row]);
+        return state;
+    }
+
+    /**
+     * @return Number of distinct strings in the pool
+     */
+    public int getPoolSize() {
+        return pool.length;
+    }
+
+    /**
+     * Collects rows for a {@link StateTable}. Not thread-safe; discard after {@link #build()}.
+     */
+    public static final class Builder {
+        private int size = 0;
+        private int[] ids;
+        private int[] names;
+        private int[] capitals;
+        private int[] cities2;
+        private int[] cities3;
+        private int[] statehoodYears;
+        private int[] capitalSinceYears;
+        private int[] capitalRanks;
+        private double[] latitudes;
+        private double[] longitudes;
+
+        private final List<String> pool = new ArrayList<>();
+        private final Map<String, Integer> poolIndex = new HashMap<>();
+
+        /**
+         * Constructor
+         *
+         * @param expectedRows Initial capacity; the builder grows past it as needed
+         */
+        public Builder(int expectedRows) {
+            allocate(Math.max(expectedRows, 16));
+        }
+
+        /**
+         * Add a row
+         *
+         * @param id State ID
+         * @param stateName State name
+         * @param capitalCity Capital city
+         * @param city2 Second city ("" or null if none)
+         * @param city3 Third city ("" or null if none)
+         * @param statehoodYear Year of statehood
+         * @param capitalSinceYear Year the capital was established
+         * @param capitalRank Capital's population rank within the state
+         * @param latitude Capital latitude in degrees, or NaN
+         * @param longitude Capital longitude in degrees, or NaN
+         * @return This builder
+         */
+        public Builder add(int id, String stateName, String capitalCity, String city2, String city3,
+                           int statehoodYear, int capitalSinceYear, int capitalRank,
+                           double latitude, double longitude) {
+            if (size == ids.length) {
+                allocate(size * 2);
+            }
+            ids[size] = id;
+            names[size] = intern(stateName);
+            capitals[size] = intern(capitalCity);
+            cities2[size] = intern(city2);
+            cities3[size] = intern(city3);
+            statehoodYears[size] = statehoodYear;
+            capitalSinceYears[size] = capitalSinceYear;
+            capitalRanks[size] = capitalRank;
+            latitudes[size] = latitude;
+            longitudes[size] = longitude;
+            size++;
+            return this;
+        }
+
+        /**
+         * Add a row copied from a state object
+         *
+         * @param state State to copy
+         * @return This builder
+         */
+        public Builder add(StateItem state) {
+            return add(state.getId(), state.getStateName(), state.getCapitalCity(),
+                    state.getCity2(), state.getCity3(), state.getStatehoodYear(),
+                    state.getCapitalSinceYear(), state.getCapitalRank(),
+                    state.getLatitude(), state.getLongitude());
+        }
+
+        /**
+         * @return Immutable table of the rows added so far
+         */
+        public StateTable build() {
+            return new StateTable(this);
+        }
+
+        private int intern(String value) {
+            String key = value != null ? value : "";
+            Integer index = poolIndex.get(key);
+            if (index == null) {
+                index = pool.size();
+                pool.add(key);
+                poolIndex.put(key, index);
+            }
+            return index;
+        }
+
+        private void allocate(int capacity) {
+            ids = grow(ids, capacity);
+            names = grow(names, capacity);
+            capitals = grow(capitals, capacity);
+            cities2 = grow(cities2, capacity);
+            cities3 = grow(cities3, capacity);
+            statehoodYears = grow(statehoodYears, capacity);
+            capitalSinceYears = grow(capitalSinceYears, capacity);
+            capitalRanks = grow(capitalRanks, capacity);
+            latitudes = latitudes == null ? new double[capacity] : Arrays.copyOf(latitudes, capacity);
+            longitudes = longitudes == null ? new double[capacity] : Arrays.copyOf(longitudes, capacity);
+        }
+
+        private static int[] grow(int[] column, int capacity) {
+            return column == null ? new int[capacity] : Arrays.copyOf(column, capacity);
+        }
+    }
+}
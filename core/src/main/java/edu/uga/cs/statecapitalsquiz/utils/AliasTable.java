@@ -0,0 +1,105 @@
+package edu.uga.cs.statecapitalsquiz.utils;
+
+import java.util.Random;
+
+/**
+ * Draws indices in proportion to fixed weights in O(1) per draw.
+ *
+ * <p>Built with Vose's alias method: the weights are scaled so they average 1, then
+ * every index i gets one column holding its own share {@code probability[i]} and,
+ * for the rest of the column, an {@code alias[i]} whose weight overflowed elsewhere.
+ * A draw picks a column uniformly and flips one biased coin. Building the table is
+ * O(n); it has to be rebuilt whenever a weight changes.</p>
+ *
+ * <p>Instances are immutable; draws only read the arrays.</p>
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public final class AliasTable {
+
+    private final double[] probability;
+    private final int[] alias;
+
+    /**
+     * Build a table over weights[0 .. n)
+     *
+     * @param weights Non-negative weights, at least one of them positive
+     * @param n Number of weights to use
+     * @throws IllegalArgumentException if a weight is negative or not finite, or all are zero
+     */
+    public AliasTable(double[] weights, int n) {
+        double total = 0;
+        for (int i = 0; i < n; i++) {
+            double weight = weights[i];
+            if (!(weight >= 0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Invalid weight " + weight + " at " + i);
+            }
+            total += weight;
+        }
+        if (!(total > 0)) {
+            throw new IllegalArgumentException("Weights must not all be zero");
+        }
+
+        probability = new double[n];
+        alias = new int[n];
+
+        // Worklists of columns that are under- and over-full, sharing one array:
+        // small grows up from 0, large grows down from n - 1
+        int[] work = new int[n];
+        int small = 0;
+        int large = n;
+        double[] scaled = probability;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / total;
+            if (scaled[i] < 1.0) {
+                work[small++] = i;
+            } else {
+                work[--large] = i;
+            }
+        }
+
+        while (small > 0 && large < n) {
+            int less = work[--small];
+            int more = work[large++];
+            alias[less] = more;
+            // probability[less] keeps its scaled weight; the rest of its column is "more"
+            scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+            if (scaled[more] < 1.0) {
+                work[small++] = more;
+            } else {
+                work[--large] = more;
+            }
+        }
+
+        // Whatever is left is full up to rounding error
+        while (large < n) {
+            int i = work[large++];
+            probability[i] = 1.0;
+            alias[i] = i;
+        }
+        while (small > 0) {
+            int i = work[--small];
+            probability[i] = 1.0;
+            alias[i] = i;
+        }
+    }
+
+    /**
+     * @return Number of indices the table draws from
+     */
+    public int size() {
+        return probability.length;
+    }
+
+    /**
+     * Draw one index
+     *
+     * @param random Source of randomness
+     * @return An index in [0, size()), chosen with probability weight / total
+     */
+    public int sample(Random random) {
+        int column = random.nextInt(probability.length);
+        return random.nextDouble() < probability[column] ? column : alias[column];
+    }
+}
@@ -0,0 +1,23 @@
+package edu.uga.cs.statecapitalsquiz.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Opens bundled data files by path. On Android this reads the APK's assets;
+ * elsewhere it can read from the file system or memory.
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public interface AssetSource {
+
+    /**
+     * Open a data file for reading. The caller closes the stream.
+     *
+     * @param path Path relative to the asset root, e.g. "state_capitals.csv"
+     * @return Stream over the file's bytes
+     * @throws IOException if the file does not exist or cannot be read
+     */
+    InputStream open(String path) throws IOException;
+}
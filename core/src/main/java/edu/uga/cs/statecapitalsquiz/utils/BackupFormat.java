@@ -0,0 +1,64 @@
+package edu.uga.cs.statecapitalsquiz.utils;
+
+/**
+ * Layout of a quiz history backup, shared by {@link BackupWriter} and {@link BackupReader}.
+ *
+ * <pre>
+ *     file   = header body
+ *     header = "SCQB" version:u8 flags:u8      (never compressed)
+ *     body   = record* end                     (deflated if flags has COMPRESSED)
+ *     record = type:u8 length:varint payload
+ * </pre>
+ *
+ * <p>Payload fields, in order:</p>
+ * <ul>
+ *     <li>{@link #DECK}: deck ID. Every deck the states below belong to.</li>
+ *     <li>{@link #STATE}: ID, deck, name, capital, city 2, city 3, statehood year,
+ *         capital since, capital rank, latitude, longitude, Leitner box, last quiz.
+ *         In ascending ID order.</li>
+ *     <li>{@link #QUIZ}: completion date, score, questions answered, question count.</li>
+ *     <li>{@link #QUESTION}: position, state ID, choices, correct index, answer index
+ *         (-1 if unanswered). Belongs to the quiz record before it.</li>
+ *     <li>{@link #END}: number of state, quiz and question records, and the CRC-32 of
+ *         every record byte before the end record.</li>
+ * </ul>
+ *
+ * <p>Ints are zigzag varints, so small numbers take one byte. Strings are a varint
+ * byte length (-1 for null) followed by UTF-8, doubles are 8 big-endian bytes.
+ * Readers skip record types they do not know and payload bytes after the fields they
+ * know, so records and trailing fields can be added without changing {@link #VERSION};
+ * it only changes when an existing field changes meaning.</p>
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public final class BackupFormat {
+
+    /**
+     * Suggested file name extension
+     */
+    public static final String FILE_EXTENSION = ".scqb";
+
+    static final byte[] MAGIC = {'S', 'C', 'Q', 'B'};
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = MAGIC.length + 2;
+
+    // Header flags
+    static final int COMPRESSED = 1;
+
+    // Record types
+    public static final int END = 0;
+    public static final int DECK = 1;
+    public static final int STATE = 2;
+    public static final int QUIZ = 3;
+    public static final int QUESTION = 4;
+
+    // Reads and writes go through one buffer of this size; records must fit in it
+    static final int BUFFER_SIZE = 64 * 1024;
+    // Type byte plus the longest varint length
+    static final int MAX_RECORD_HEADER = 6;
+    static final int MAX_PAYLOAD = BUFFER_SIZE - MAX_RECORD_HEADER;
+
+    private BackupFormat() {
+    }
+}
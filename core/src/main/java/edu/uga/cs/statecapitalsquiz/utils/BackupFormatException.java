@@ -0,0 +1,24 @@
+package edu.uga.cs.statecapitalsquiz.utils;
+
+import java.io.IOException;
+
+/**
+ * A history backup that is not in the expected format: not a backup at all,
+ * written by a newer version of the app, truncated or corrupted.
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public class BackupFormatException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructor
+     *
+     * @param message What is wrong
+     */
+    public BackupFormatException(String message) {
+        super(message);
+    }
+}
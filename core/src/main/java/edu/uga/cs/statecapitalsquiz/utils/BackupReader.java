@@ -0,0 +1,404 @@
+package edu.uga.cs.statecapitalsquiz.utils;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import edu.uga.cs.statecapitalsquiz.models.StateItem;
+
+/**
+ * Streaming reader for a quiz history backup written by {@link BackupWriter}.
+ *
+ * <p>Bytes are read in blocks into one fixed-size buffer and records are decoded
+ * from it in place, one at a time, so a backup of any size is read in constant
+ * memory. {@link #next()} returns the type of the record it read, and the getters
+ * for that type return its fields until the next call.</p>
+ *
+ * <pre>
+ *     try (BackupReader reader = new BackupReader(channel)) {
+ *         for (int type = reader.next(); type != BackupFormat.END; type = reader.next()) {
+ *             if (type == BackupFormat.QUIZ) {
+ *                 String date = reader.getDate();
+ *             }
+ *         }
+ *     }
+ * </pre>
+ *
+ * <p>{@link BackupFormat#END} is only returned once the record counts and checksum in
+ * the end record match what was read, so a caller that applies records as they come
+ * (inside a transaction) can roll back on any exception and commit on END.</p>
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public final class BackupReader implements Closeable {
+
+    private final ReadableByteChannel channel;
+    private final Inflater inflater;
+    // Where records come from: the channel itself, or the inflater behind it
+    private final ReadableByteChannel in;
+    private final boolean compressed;
+
+    // Unread bytes are position..limit
+    private final ByteBuffer buffer = ByteBuffer.allocate(BackupFormat.BUFFER_SIZE);
+    private boolean endOfInput = false;
+    private final CRC32 crc = new CRC32();
+    // Buffer index just past the current record's payload
+    private int recordEnd;
+    private boolean ended = false;
+
+    private int states = 0;
+    private int quizzes = 0;
+    private int questions = 0;
+    private int lastStateId = Integer.MIN_VALUE;
+
+    // Fields of the current record
+    private String deck;
+    private StateItem state;
+    private int box;
+    private int lastQuiz;
+    private String date;
+    private int score;
+    private int questionsAnswered;
+    private int questionCount;
+    private int position;
+    private int stateId;
+    private String choices;
+    private int correctIndex;
+    private int answerIndex;
+
+    /**
+     * Constructor. Reads and checks the file header straight away.
+     *
+     * @param channel Source; closed by {@link #close()}
+     * @throws BackupFormatException if the source is not a backup this version can read
+     * @throws IOException if the source cannot be read
+     */
+    public BackupReader(ReadableByteChannel channel) throws IOException {
+        this.channel = channel;
+
+        ByteBuffer header = ByteBuffer.allocate(BackupFormat.HEADER_SIZE);
+        while (header.hasRemaining() && channel.read(header) >= 0) {
+            // Keep reading until the header is complete or the input ends
+        }
+        header.flip();
+        for (byte magic : BackupFormat.MAGIC) {
+            if (!header.hasRemaining() || header.get() != magic) {
+                throw new BackupFormatException("Not a quiz history backup");
+            }
+        }
+        if (header.remaining() < 2) {
+            throw new BackupFormatException("Backup is truncated");
+        }
+        int version = header.get() & 0xFF;
+        if (version > BackupFormat.VERSION) {
+            throw new BackupFormatException("Backup was written by a newer version of the app (format "
+                    + version + ")");
+        }
+        compressed = (header.get() & BackupFormat.COMPRESSED) != 0;
+
+        if (compressed) {
+            inflater = new Inflater();
+            in = Channels.newChannel(new InflaterInputStream(Channels.newInputStream(channel), inflater,
+                    BackupFormat.BUFFER_SIZE));
+        } else {
+            inflater = null;
+            in = channel;
+        }
+        buffer.limit(0);
+    }
+
+    /**
+     * @return true if the backup is deflated
+     */
+    public boolean isCompressed() {
+        return compressed;
+    }
+
+    /**
+     * Read the next record
+     *
+     * @return Its type, one of the record types in {@link BackupFormat}; {@link BackupFormat#END}
+     *         once the whole backup has been read and verified, and on every later call
+     * @throws BackupFormatException if the backup is truncated or corrupt
+     * @throws IOException if the source cannot be read
+     */
+    public int next() throws IOException {
+        while (!ended) {
+            fill(BackupFormat.MAX_RECORD_HEADER);
+            if (!buffer.hasRemaining()) {
+                throw new BackupFormatException("Backup is truncated");
+            }
+
+            int start = buffer.position();
+            int type = buffer.get() & 0xFF;
+            int length = readVarint(buffer.limit());
+            if (length < 0 || length > BackupFormat.MAX_PAYLOAD) {
+                throw corrupt();
+            }
+            // The end record carries the checksum of everything before it
+            int checksum = (int) crc.getValue();
+            crc.update(buffer.array(), start, buffer.position() - start);
+
+            if (!fill(length)) {
+                throw new BackupFormatException("Backup is truncated");
+            }
+            recordEnd = buffer.position() + length;
+            crc.update(buffer.array(), buffer.position(), length);
+
+            boolean known = true;
+            switch (type) {
+                case BackupFormat.DECK:
+                    deck = readString();
+                    break;
+                case BackupFormat.STATE:
+                    readState();
+                    break;
+                case BackupFormat.QUIZ:
+                    date = readString();
+                    score = readInt();
+                    questionsAnswered = readInt();
+                    questionCount = readInt();
+                    quizzes++;
+                    break;
+                case BackupFormat.QUESTION:
+                    if (quizzes == 0) {
+                        throw corrupt();
+                    }
+                    position = readInt();
+                    stateId = readInt();
+                    choices = readString();
+                    correctIndex = readInt();
+                    answerIndex = readInt();
+                    questions++;
+                    break;
+                case BackupFormat.END:
+                    if (readInt() != states || readInt() != quizzes || readInt() != questions
+                            || readInt() != checksum) {
+                        throw corrupt();
+                    }
+                    ended = true;
+                    break;
+                default:
+                    // Added by a later version; its readers know what to do with it
+                    known = false;
+                    break;
+            }
+
+            // Fields added by later versions are skipped
+            buffer.position(recordEnd);
+            if (known) {
+                return type;
+            }
+        }
+        return BackupFormat.END;
+    }
+
+    /**
+     * @return Deck ID of a {@link BackupFormat#DECK} record, or the deck of a
+     *         {@link BackupFormat#STATE} record
+     */
+    public String getDeck() {
+        return deck;
+    }
+
+    /**
+     * @return State of a {@link BackupFormat#STATE} record, with its ID in the backup;
+     *         a new object for every record
+     */
+    public StateItem getState() {
+        return state;
+    }
+
+    /**
+     * @return Leitner box of a {@link BackupFormat#STATE} record
+     */
+    public int getBox() {
+        return box;
+    }
+
+    /**
+     * @return Number of the last quiz that asked the state of a {@link BackupFormat#STATE} record
+     */
+    public int getLastQuiz() {
+        return lastQuiz;
+    }
+
+    /**
+     * @return Completion date of a {@link BackupFormat#QUIZ} record
+     */
+    public String getDate() {
+        return date;
+    }
+
+    /**
+     * @return Score of a {@link BackupFormat#QUIZ} record
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * @return Questions answered of a {@link BackupFormat#QUIZ} record
+     */
+    public int getQuestionsAnswered() {
+        return questionsAnswered;
+    }
+
+    /**
+     * @return Question count of a {@link BackupFormat#QUIZ} record
+     */
+    public int getQuestionCount() {
+        return questionCount;
+    }
+
+    /**
+     * @return 0-based position of a {@link BackupFormat#QUESTION} record
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    /**
+     * @return Backup state ID of a {@link BackupFormat#QUESTION} record
+     */
+    public int getStateId() {
+        return stateId;
+    }
+
+    /**
+     * @return Answer choices of a {@link BackupFormat#QUESTION} record, as stored in the database
+     */
+    public String getChoices() {
+        return choices;
+    }
+
+    /**
+     * @return Index of the correct choice of a {@link BackupFormat#QUESTION} record
+     */
+    public int getCorrectIndex() {
+        return correctIndex;
+    }
+
+    /**
+     * @return Index of the chosen answer of a {@link BackupFormat#QUESTION} record, or -1
+     */
+    public int getAnswerIndex() {
+        return answerIndex;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            channel.close();
+        } finally {
+            if (inflater != null) {
+                inflater.end();
+            }
+        }
+    }
+
+    private void readState() throws IOException {
+        int id = readInt();
+        if (id <= lastStateId) {
+            throw corrupt();
+        }
+        lastStateId = id;
+
+        deck = readString();
+        StateItem item = new StateItem();
+        item.setId(id);
+        item.setStateName(readString());
+        item.setCapitalCity(readString());
+        item.setCity2(readString());
+        item.setCity3(readString());
+        item.setStatehoodYear(readInt());
+        item.setCapitalSinceYear(readInt());
+        item.setCapitalRank(readInt());
+        item.setLatitude(readDouble());
+        item.setLongitude(readDouble());
+        state = item;
+        box = readInt();
+        lastQuiz = readInt();
+        states++;
+    }
+
+    /**
+     * Make sure at least the given number of bytes is buffered, reading more if needed
+     *
+     * @return false if the input ended first
+     */
+    private boolean fill(int bytes) throws IOException {
+        while (buffer.remaining() < bytes && !endOfInput) {
+            buffer.compact();
+            int read;
+            try {
+                read = in.read(buffer);
+            } catch (EOFException e) {
+                // The inflater ran out of input in the middle of a block
+                throw new BackupFormatException("Backup is truncated");
+            } finally {
+                buffer.flip();
+            }
+            if (read < 0) {
+                endOfInput = true;
+            }
+        }
+        return buffer.remaining() >= bytes;
+    }
+
+    private int readVarint(int limit) throws BackupFormatException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            if (buffer.position() >= limit) {
+                throw corrupt();
+            }
+            int b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                // The fifth byte only holds the top 4 bits; more would not fit in an int
+                if (shift == 28 && (b & 0x70) != 0) {
+                    throw corrupt();
+                }
+                return value;
+            }
+        }
+        throw corrupt();
+    }
+
+    private int readInt() throws BackupFormatException {
+        int bits = readVarint(recordEnd);
+        return (bits >>> 1) ^ -(bits & 1);
+    }
+
+    private double readDouble() throws BackupFormatException {
+        if (recordEnd - buffer.position() < 8) {
+            throw corrupt();
+        }
+        return buffer.getDouble();
+    }
+
+    private String readString() throws BackupFormatException {
+        int size = readInt();
+        if (size == -1) {
+            return null;
+        }
+        if (size < 0 || size > recordEnd - buffer.position()) {
+            throw corrupt();
+        }
+        int offset = buffer.position();
+        buffer.position(offset + size);
+        return new String(buffer.array(), offset, size, StandardCharsets.UTF_8);
+    }
+
+    private static BackupFormatException corrupt() {
+        return new BackupFormatException("Backup is corrupt");
+    }
+}
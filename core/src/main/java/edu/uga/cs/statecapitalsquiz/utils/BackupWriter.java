@@ -0,0 +1,326 @@
+package edu.uga.cs.statecapitalsquiz.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import edu.uga.cs.statecapitalsquiz.models.StateItem;
+
+/**
+ * Streams a quiz history backup to a channel, one record at a time.
+ *
+ * <p>Each record is encoded into a reusable scratch array and appended to one
+ * fixed-size buffer, which is written to the channel whenever it fills up. Strings
+ * are encoded to UTF-8 in place, so writing a record allocates nothing and memory
+ * use is the same for ten quizzes or a million. See {@link BackupFormat} for the
+ * layout.</p>
+ *
+ * <pre>
+ *     try (BackupWriter writer = new BackupWriter(channel, true)) {
+ *         writer.writeDeck(deck);
+ *         writer.writeState(deck, state, box, lastQuiz);
+ *         writer.writeQuiz(date, score, answered, questionCount);
+ *         writer.writeQuestion(0, stateId, choices, correctIndex, answerIndex);
+ *         writer.finish();
+ *     }
+ * </pre>
+ *
+ * <p>A backup is only complete once {@link #finish()} has returned; closing the
+ * writer without it leaves a file that {@link BackupReader} rejects as truncated.</p>
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public final class BackupWriter implements Closeable {
+
+    private final WritableByteChannel channel;
+    private final Deflater deflater;
+    private final DeflaterOutputStream deflating;
+    // Where records go: the channel itself, or the deflater in front of it
+    private final WritableByteChannel out;
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(BackupFormat.BUFFER_SIZE);
+    private final byte[] payload = new byte[BackupFormat.MAX_PAYLOAD];
+    private int length = 0;
+    private final CRC32 crc = new CRC32();
+
+    private int states = 0;
+    private int quizzes = 0;
+    private int questions = 0;
+    private boolean finished = false;
+
+    /**
+     * Constructor. Writes the file header straight away.
+     *
+     * @param channel Destination; closed by {@link #close()}
+     * @param compress true to deflate everything after the header
+     * @throws IOException if the header cannot be written
+     */
+    public BackupWriter(WritableByteChannel channel, boolean compress) throws IOException {
+        this.channel = channel;
+
+        ByteBuffer header = ByteBuffer.allocate(BackupFormat.HEADER_SIZE);
+        header.put(BackupFormat.MAGIC)
+                .put((byte) BackupFormat.VERSION)
+                .put((byte) (compress ? BackupFormat.COMPRESSED : 0));
+        header.flip();
+        writeFully(channel, header);
+
+        if (compress) {
+            // History is repetitive (dates, city names), so the fastest level already shrinks it several times
+            deflater = new Deflater(Deflater.BEST_SPEED);
+            deflating = new DeflaterOutputStream(Channels.newOutputStream(channel), deflater,
+                    BackupFormat.BUFFER_SIZE);
+            out = Channels.newChannel(deflating);
+        } else {
+            deflater = null;
+            deflating = null;
+            out = channel;
+        }
+    }
+
+    /**
+     * Write a deck that the following states belong to
+     *
+     * @param deck Deck ID
+     * @throws IOException if the channel cannot be written
+     */
+    public void writeDeck(String deck) throws IOException {
+        putString(deck);
+        writeRecord(BackupFormat.DECK);
+    }
+
+    /**
+     * Write a state with its spaced-repetition schedule. States must be written in
+     * ascending ID order, before the questions that refer to them.
+     *
+     * @param deck ID of the deck the state belongs to
+     * @param state The state; its ID is what questions refer to
+     * @param box Leitner box
+     * @param lastQuiz Number of the last quiz that asked the state
+     * @throws IOException if the channel cannot be written
+     */
+    public void writeState(String deck, StateItem state, int box, int lastQuiz) throws IOException {
+        putInt(state.getId());
+        putString(deck);
+        putString(state.getStateName());
+        putString(state.getCapitalCity());
+        putString(state.getCity2());
+        putString(state.getCity3());
+        putInt(state.getStatehoodYear());
+        putInt(state.getCapitalSinceYear());
+        putInt(state.getCapitalRank());
+        putDouble(state.getLatitude());
+        putDouble(state.getLongitude());
+        putInt(box);
+        putInt(lastQuiz);
+        writeRecord(BackupFormat.STATE);
+        states++;
+    }
+
+    /**
+     * Write a completed quiz. Its questions follow with {@link #writeQuestion}.
+     *
+     * @param date Completion date
+     * @param score Number of correct answers
+     * @param questionsAnswered Number of questions answered
+     * @param questionCount Number of questions
+     * @throws IOException if the channel cannot be written
+     */
+    public void writeQuiz(String date, int score, int questionsAnswered, int questionCount)
+            throws IOException {
+        putString(date);
+        putInt(score);
+        putInt(questionsAnswered);
+        putInt(questionCount);
+        writeRecord(BackupFormat.QUIZ);
+        quizzes++;
+    }
+
+    /**
+     * Write one question of the quiz written last
+     *
+     * @param position 0-based position in the quiz
+     * @param stateId ID of a state written earlier
+     * @param choices Answer choices as stored in the database
+     * @param correctIndex Index of the correct choice
+     * @param answerIndex Index of the chosen answer, or -1 if unanswered
+     * @throws IOException if the channel cannot be written
+     */
+    public void writeQuestion(int position, int stateId, String choices, int correctIndex,
+                              int answerIndex) throws IOException {
+        if (quizzes == 0) {
+            throw new IllegalStateException("Question written before any quiz");
+        }
+        putInt(position);
+        putInt(stateId);
+        putString(choices);
+        putInt(correctIndex);
+        putInt(answerIndex);
+        writeRecord(BackupFormat.QUESTION);
+        questions++;
+    }
+
+    /**
+     * Write the end record and push everything out to the channel
+     *
+     * @throws IOException if the channel cannot be written
+     */
+    public void finish() throws IOException {
+        putInt(states);
+        putInt(quizzes);
+        putInt(questions);
+        putInt((int) crc.getValue());
+        writeRecord(BackupFormat.END);
+        flush();
+        if (deflating != null) {
+            deflating.finish();
+        }
+        finished = true;
+    }
+
+    /**
+     * @return Number of quizzes written so far
+     */
+    public int getQuizCount() {
+        return quizzes;
+    }
+
+    /**
+     * @return Number of questions written so far
+     */
+    public int getQuestionCount() {
+        return questions;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            channel.close();
+        } finally {
+            if (deflater != null) {
+                deflater.end();
+            }
+        }
+    }
+
+    private void writeRecord(int type) throws IOException {
+        if (finished) {
+            throw new IllegalStateException("Backup already finished");
+        }
+        if (buffer.remaining() < BackupFormat.MAX_RECORD_HEADER + length) {
+            flush();
+        }
+        int start = buffer.position();
+        buffer.put((byte) type);
+        int size = length;
+        while ((size & ~0x7F) != 0) {
+            buffer.put((byte) ((size & 0x7F) | 0x80));
+            size >>>= 7;
+        }
+        buffer.put((byte) size);
+        buffer.put(payload, 0, length);
+        crc.update(buffer.array(), start, buffer.position() - start);
+        length = 0;
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        writeFully(out, buffer);
+        buffer.clear();
+    }
+
+    private static void writeFully(WritableByteChannel channel, ByteBuffer source) throws IOException {
+        while (source.hasRemaining()) {
+            channel.write(source);
+        }
+    }
+
+    private void require(int bytes) throws BackupFormatException {
+        if (length + bytes > payload.length) {
+            length = 0;
+            throw new BackupFormatException("Record is larger than " + payload.length + " bytes");
+        }
+    }
+
+    private void putInt(int value) throws BackupFormatException {
+        require(5);
+        // Zigzag, so -1 takes one byte too
+        int bits = (value << 1) ^ (value >> 31);
+        while ((bits & ~0x7F) != 0) {
+            payload[length++] = (byte) ((bits & 0x7F) | 0x80);
+            bits >>>= 7;
+        }
+        payload[length++] = (byte) bits;
+    }
+
+    private void putDouble(double value) throws BackupFormatException {
+        require(8);
+        long bits = Double.doubleToRawLongBits(value);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            payload[length++] = (byte) (bits >>> shift);
+        }
+    }
+
+    private void putString(String value) throws BackupFormatException {
+        if (value == null) {
+            putInt(-1);
+            return;
+        }
+        int size = utf8Length(value);
+        putInt(size);
+        require(size);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                payload[length++] = (byte) c;
+            } else if (c < 0x800) {
+                payload[length++] = (byte) (0xC0 | (c >> 6));
+                payload[length++] = (byte) (0x80 | (c & 0x3F));
+            } else if (isSurrogatePair(value, i)) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                payload[length++] = (byte) (0xF0 | (codePoint >> 18));
+                payload[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                payload[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                payload[length++] = (byte) (0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogate, replaced the way String.getBytes() does
+                payload[length++] = '?';
+            } else {
+                payload[length++] = (byte) (0xE0 | (c >> 12));
+                payload[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                payload[length++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private static int utf8Length(String value) {
+        int size = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                size += 1;
+            } else if (c < 0x800) {
+                size += 2;
+            } else if (isSurrogatePair(value, i)) {
+                size += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                size += 1;
+            } else {
+                size += 3;
+            }
+        }
+        return size;
+    }
+
+    private static boolean isSurrogatePair(String value, int index) {
+        return Character.isHighSurrogate(value.charAt(index)) && index + 1 < value.length()
+                && Character.isLowSurrogate(value.charAt(index + 1));
+    }
+}
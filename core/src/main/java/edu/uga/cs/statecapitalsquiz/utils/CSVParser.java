@@ -0,0 +1,137 @@
+package edu.uga.cs.statecapitalsquiz.utils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.uga.cs.statecapitalsquiz.models.Deck;
+import edu.uga.cs.statecapitalsquiz.models.StateItem;
+
+/**
+ * Utility class for parsing a deck's CSV file (by default state_capitals.csv) from
+ * the assets folder. Reads CSV data and converts it to StateItem objects.
+ * Has no Android dependencies: assets are read through an {@link AssetSource}.
+ *
+ * <p>Rows are streamed through a {@link CsvReader} and handed to a {@link StateSink}
+ * one at a time, so an importer can insert them as they are read instead of
+ * holding the whole deck in a list first.</p>
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public class CSVParser {
+
+    private static final String TAG = "CSVParser";
+    private static final LatencyTimer PARSE_TIMER = Metrics.timer(Metrics.CSV_PARSE);
+
+    /**
+     * Asset holding the state catalog
+     */
+    public static final String STATES_ASSET = Deck.DEFAULT.getAsset();
+
+    // State name and capital are required; every other column is optional
+    private static final int REQUIRED_FIELDS = 2;
+
+    private final AssetSource assets;
+    private final String asset;
+    private final Logger log;
+
+    /**
+     * Receives each state as soon as its row is parsed
+     */
+    public interface StateSink {
+        void accept(StateItem state);
+    }
+
+    /**
+     * Constructor for the states CSV
+     *
+     * @param assets Source for the CSV asset
+     * @param log Logger for progress and errors
+     */
+    public CSVParser(AssetSource assets, Logger log) {
+        this(assets, STATES_ASSET, log);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param assets Source for the CSV asset
+     * @param asset Path of the deck's CSV, see {@link Deck#getAsset()}
+     * @param log Logger for progress and errors
+     */
+    public CSVParser(AssetSource assets, String asset, Logger log) {
+        this.assets = assets;
+        this.asset = asset;
+        this.log = log;
+    }
+
+    /**
+     * Parse the CSV file and return list of StateItem objects
+     *
+     * @return List of every row with its data
+     * @throws IOException if file cannot be read or parsed
+     */
+    public List<StateItem> parseCSV() throws IOException {
+        List<StateItem> states = new ArrayList<>();
+        parse(states::add);
+        return states;
+    }
+
+    /**
+     * Parse the CSV file, passing each state to the sink in file order.
+     * The time recorded under {@link Metrics#CSV_PARSE} includes the sink's work.
+     *
+     * @param sink Receives every parsed state
+     * @return Number of states parsed
+     * @throws CsvFormatException if a row is malformed, with its line and column
+     * @throws IOException if file cannot be read
+     */
+    public int parse(StateSink sink) throws IOException {
+        long start = PARSE_TIMER.start();
+        int rows = 0;
+
+        try (CsvReader reader = new CsvReader(assets.open(asset))) {
+            // Skip header row
+            if (!reader.next()) {
+                return 0;
+            }
+
+            while (reader.next()) {
+                if (reader.getFieldCount() < REQUIRED_FIELDS) {
+                    throw new CsvFormatException("Expected at least " + REQUIRED_FIELDS
+                            + " fields but found " + reader.getFieldCount(), reader.getLineNumber(), 1);
+                }
+
+                StateItem state = new StateItem();
+                state.setStateName(reader.getString(0));
+                state.setCapitalCity(reader.getString(1));
+                state.setCity2(reader.getString(2));
+                state.setCity3(reader.getString(3));
+
+                // Optional year fields
+                state.setStatehoodYear(reader.getInt(4, 0));
+                state.setCapitalSinceYear(reader.getInt(5, 0));
+                state.setCapitalRank(reader.getInt(6, 0));
+
+                // Optional capital coordinates
+                if (!reader.isEmpty(7) && !reader.isEmpty(8)) {
+                    state.setLatitude(reader.getDouble(7, Double.NaN));
+                    state.setLongitude(reader.getDouble(8, Double.NaN));
+                }
+
+                sink.accept(state);
+                rows++;
+            }
+
+        } catch (IOException e) {
+            log.e(TAG, "Error parsing CSV", e);
+            throw e;
+        } finally {
+            PARSE_TIMER.stop(start);
+        }
+
+        log.d(TAG, "Total rows parsed from " + asset + ": " + rows);
+        return rows;
+    }
+}
@@ -0,0 +1,44 @@
+package edu.uga.cs.statecapitalsquiz.utils;
+
+import java.io.IOException;
+
+/**
+ * Malformed CSV input, with the position of the problem in the file.
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public class CsvFormatException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int line;
+    private final int column;
+
+    /**
+     * Constructor
+     *
+     * @param message What is wrong
+     * @param line 1-based line number
+     * @param column 1-based character column within the line
+     */
+    public CsvFormatException(String message, int line, int column) {
+        super(message + " at line " + line + ", column " + column);
+        this.line = line;
+        this.column = column;
+    }
+
+    /**
+     * @return 1-based line number of the problem
+     */
+    public int getLine() {
+        return line;
+    }
+
+    /**
+     * @return 1-based character column of the problem
+     */
+    public int getColumn() {
+        return column;
+    }
+}
@@ -0,0 +1,368 @@
+package edu.uga.cs.statecapitalsquiz.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Streaming RFC 4180 CSV reader that decodes one row at a time into reusable buffers.
+ *
+ * <p>Characters are read in large blocks into one char buffer, and the fields of the
+ * current row are copied into a second buffer that is reused for every row. No
+ * String[] or substring is made per row: numbers are parsed straight from the row
+ * buffer, and a String is only created when {@link #getString(int)} asks for one.</p>
+ *
+ * <p>Quoted fields may contain commas, doubled quotes and line breaks. LF, CRLF and
+ * CR line endings, blank lines and a leading byte order mark are accepted. Malformed
+ * input throws a {@link CsvFormatException} with the line and column of the problem.</p>
+ *
+ * <pre>
+ *     try (CsvReader reader = new CsvReader(in)) {
+ *         while (reader.next()) {
+ *             String name = reader.getString(0);
+ *             int year = reader.getInt(4, 0);
+ *         }
+ *     }
+ * </pre>
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public final class CsvReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+    private static final int END = -1;
+
+    // Powers of ten that are exact in a double, for the fast decimal path
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    // Largest mantissa that is exact in a double (2^53)
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position = 0;
+    private int limit = 0;
+    private boolean started = false;
+
+    // Position of the last character read
+    private int line = 1;
+    private int column = 0;
+
+    // Current row: field i is chars[fieldEnds[i - 1] .. fieldEnds[i])
+    private char[] chars = new char[256];
+    private int length = 0;
+    private int[] fieldEnds = new int[16];
+    private int[] fieldColumns = new int[16];
+    private int fieldCount = 0;
+    private int rowLine = 0;
+
+    /**
+     * Constructor
+     *
+     * @param in UTF-8 encoded CSV; closed by {@link #close()}
+     */
+    public CsvReader(InputStream in) {
+        this(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Constructor
+     *
+     * @param reader CSV text; closed by {@link #close()}. It does not need to be buffered.
+     */
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Read the next row
+     *
+     * @return true if a row was read, false at the end of the input
+     * @throws CsvFormatException if the row is malformed
+     * @throws IOException if the input cannot be read
+     */
+    public boolean next() throws IOException {
+        length = 0;
+        fieldCount = 0;
+
+        int c = read();
+        while (c == '\n' || c == '\r') {
+            endLine(c);
+            c = read();
+        }
+        if (c == END) {
+            return false;
+        }
+        rowLine = line;
+
+        while (true) {
+            int fieldColumn = column;
+            if (c == '"') {
+                c = readQuoted();
+                if (c != ',' && c != '\n' && c != '\r' && c != END) {
+                    throw new CsvFormatException("Unexpected character after closing quote", line, column);
+                }
+            } else {
+                while (c != ',' && c != '\n' && c != '\r' && c != END) {
+                    if (c == '"') {
+                        throw new CsvFormatException("Quote inside unquoted field", line, column);
+                    }
+                    append((char) c);
+                    c = read();
+                }
+            }
+            endField(fieldColumn);
+
+            if (c != ',') {
+                if (c != END) {
+                    endLine(c);
+                }
+                return true;
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * @return Number of fields in the current row
+     */
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * @return 1-based line number the current row starts on
+     */
+    public int getLineNumber() {
+        return rowLine;
+    }
+
+    /**
+     * @param field 0-based field index
+     * @return true if the field is empty or the row has fewer fields
+     */
+    public boolean isEmpty(int field) {
+        return field >= fieldCount || start(field) == fieldEnds[field];
+    }
+
+    /**
+     * @param field 0-based field index
+     * @return The field's text, or "" if the row has fewer fields
+     */
+    public String getString(int field) {
+        if (field >= fieldCount) {
+            return "";
+        }
+        int start = start(field);
+        return new String(chars, start, fieldEnds[field] - start);
+    }
+
+    /**
+     * Parse a field as a whole number without creating a String
+     *
+     * @param field 0-based field index
+     * @param defaultValue Value for an empty or missing field
+     * @return The number
+     * @throws CsvFormatException if the field is not a valid int
+     */
+    public int getInt(int field, int defaultValue) throws CsvFormatException {
+        if (isEmpty(field)) {
+            return defaultValue;
+        }
+        int i = start(field);
+        int end = fieldEnds[field];
+        boolean negative = chars[i] == '-';
+        if (negative || chars[i] == '+') {
+            i++;
+        }
+        if (i == end) {
+            throw numberError(field, "a whole number");
+        }
+
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = chars[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw numberError(field, "a whole number");
+            }
+            value = value * 10 + digit;
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                throw numberError(field, "a whole number in range");
+            }
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            throw numberError(field, "a whole number in range");
+        }
+        return (int) value;
+    }
+
+    /**
+     * Parse a field as a decimal number. Plain decimals with up to 15 significant
+     * digits (such as coordinates) are converted straight from the row buffer,
+     * correctly rounded; anything else goes through {@link Double#parseDouble}.
+     *
+     * @param field 0-based field index
+     * @param defaultValue Value for an empty or missing field
+     * @return The number
+     * @throws CsvFormatException if the field is not a valid number
+     */
+    public double getDouble(int field, double defaultValue) throws CsvFormatException {
+        if (isEmpty(field)) {
+            return defaultValue;
+        }
+        int i = start(field);
+        int end = fieldEnds[field];
+        boolean negative = chars[i] == '-';
+        if (negative || chars[i] == '+') {
+            i++;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (; i < end; i++) {
+            char ch = chars[i];
+            if (ch >= '0' && ch <= '9') {
+                mantissa = mantissa * 10 + (ch - '0');
+                digits++;
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+            } else if (ch == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else {
+                break;
+            }
+        }
+
+        if (i == end && digits > 0 && digits <= 15 && mantissa < MAX_EXACT_MANTISSA) {
+            double value = fractionDigits > 0 ? mantissa / POWERS_OF_TEN[fractionDigits] : mantissa;
+            return negative ? -value : value;
+        }
+
+        // Exponents, long mantissas, "NaN" and the like
+        try {
+            return Double.parseDouble(getString(field));
+        } catch (NumberFormatException e) {
+            throw numberError(field, "a number");
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private int start(int field) {
+        return field == 0 ? 0 : fieldEnds[field - 1];
+    }
+
+    private CsvFormatException numberError(int field, String expected) {
+        return new CsvFormatException("Expected " + expected + " in field " + (field + 1)
+                + " but found \"" + getString(field) + "\"", rowLine, fieldColumns[field]);
+    }
+
+    /**
+     * Read the rest of a quoted field, after its opening quote
+     *
+     * @return The character after the closing quote
+     */
+    private int readQuoted() throws IOException {
+        int startLine = line;
+        int startColumn = column;
+        while (true) {
+            int c = read();
+            if (c == END) {
+                throw new CsvFormatException("Unterminated quoted field", startLine, startColumn);
+            }
+            if (c == '"') {
+                c = read();
+                if (c != '"') {
+                    return c;
+                }
+            } else if (c == '\n' || (c == '\r' && !nextIsLineFeed())) {
+                // A CRLF pair counts once, at its LF
+                line++;
+                column = 0;
+            }
+            append((char) c);
+        }
+    }
+
+    private void append(char c) {
+        if (length == chars.length) {
+            char[] grown = new char[length * 2];
+            System.arraycopy(chars, 0, grown, 0, length);
+            chars = grown;
+        }
+        chars[length++] = c;
+    }
+
+    private void endField(int fieldColumn) {
+        if (fieldCount == fieldEnds.length) {
+            int[] grownEnds = new int[fieldCount * 2];
+            int[] grownColumns = new int[fieldCount * 2];
+            System.arraycopy(fieldEnds, 0, grownEnds, 0, fieldCount);
+            System.arraycopy(fieldColumns, 0, grownColumns, 0, fieldCount);
+            fieldEnds = grownEnds;
+            fieldColumns = grownColumns;
+        }
+        fieldEnds[fieldCount] = length;
+        fieldColumns[fieldCount] = fieldColumn;
+        fieldCount++;
+    }
+
+    /**
+     * Finish a line ended by c, consuming the LF of a CRLF pair
+     */
+    private void endLine(int c) throws IOException {
+        if (c == '\r' && nextIsLineFeed()) {
+            position++;
+        }
+        line++;
+        column = 0;
+    }
+
+    /**
+     * @return true if the next character is LF, without reading it
+     */
+    private boolean nextIsLineFeed() throws IOException {
+        return (position < limit || fill()) && buffer[position] == '\n';
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return END;
+        }
+        column++;
+        return buffer[position++];
+    }
+
+    private boolean fill() throws IOException {
+        int read;
+        do {
+            read = reader.read(buffer, 0, buffer.length);
+        } while (read == 0);
+        if (read < 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+
+        if (!started) {
+            started = true;
+            if (buffer[0] == '\uFEFF') {
+                position = 1;
+                return limit > 1 || fill();
+            }
+        }
+        return true;
+    }
+}
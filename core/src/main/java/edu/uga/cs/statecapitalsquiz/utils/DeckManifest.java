@@ -0,0 +1,139 @@
+package edu.uga.cs.statecapitalsquiz.utils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import edu.uga.cs.statecapitalsquiz.models.Deck;
+
+/**
+ * The list of quiz decks bundled with the app, read from {@link #MANIFEST_ASSET}.
+ *
+ * <p>The manifest is a small CSV with one row per deck: ID, title, CSV asset and the
+ * plural name of its items. Only the manifest is read when the app starts; a deck's
+ * own CSV is parsed when that deck is first played, so adding decks does not add to
+ * startup time.</p>
+ *
+ * <pre>
+ *     Id,Title,Asset,Items
+ *     us_states,US State Capitals,state_capitals.csv,states
+ * </pre>
+ *
+ * <p>Instances are immutable.</p>
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public final class DeckManifest {
+
+    private static final String TAG = "DeckManifest";
+
+    /**
+     * Asset listing every deck
+     */
+    public static final String MANIFEST_ASSET = "decks.csv";
+
+    private static final int REQUIRED_FIELDS = 4;
+
+    private final List<Deck> decks;
+
+    /**
+     * Constructor
+     *
+     * @param decks Decks in the order they are offered; the first is the default
+     * @throws IllegalArgumentException if there are no decks or two share an ID
+     */
+    public DeckManifest(List<Deck> decks) {
+        if (decks.isEmpty()) {
+            throw new IllegalArgumentException("A manifest needs at least one deck");
+        }
+        for (int i = 0; i < decks.size(); i++) {
+            for (int j = 0; j < i; j++) {
+                if (decks.get(i).getId().equals(decks.get(j).getId())) {
+                    throw new IllegalArgumentException("Duplicate deck " + decks.get(i).getId());
+                }
+            }
+        }
+        this.decks = Collections.unmodifiableList(new ArrayList<>(decks));
+    }
+
+    /**
+     * Read the manifest asset
+     *
+     * @param assets Source for the manifest
+     * @return The manifest
+     * @throws CsvFormatException if a row is malformed or repeats a deck ID
+     * @throws IOException if the manifest cannot be read
+     */
+    public static DeckManifest read(AssetSource assets) throws IOException {
+        List<Deck> decks = new ArrayList<>();
+        try (CsvReader reader = new CsvReader(assets.open(MANIFEST_ASSET))) {
+            // Skip header row
+            if (!reader.next()) {
+                throw new CsvFormatException("Empty deck manifest", 1, 1);
+            }
+
+            while (reader.next()) {
+                if (reader.getFieldCount() < REQUIRED_FIELDS) {
+                    throw new CsvFormatException("Expected " + REQUIRED_FIELDS + " fields but found "
+                            + reader.getFieldCount(), reader.getLineNumber(), 1);
+                }
+                decks.add(new Deck(reader.getString(0), reader.getString(1),
+                        reader.getString(2), reader.getString(3)));
+            }
+            return new DeckManifest(decks);
+
+        } catch (IllegalArgumentException e) {
+            throw new CsvFormatException(e.getMessage(), 1, 1);
+        }
+    }
+
+    /**
+     * Read the manifest asset, falling back to the US states deck alone if it is
+     * missing or malformed
+     *
+     * @param assets Source for the manifest
+     * @param log Logger for errors
+     * @return The manifest
+     */
+    public static DeckManifest load(AssetSource assets, Logger log) {
+        try {
+            DeckManifest manifest = read(assets);
+            log.d(TAG, "Read " + manifest.decks.size() + " decks");
+            return manifest;
+        } catch (IOException e) {
+            log.e(TAG, "Cannot read deck manifest, using " + Deck.DEFAULT_ID + " only", e);
+            return new DeckManifest(Collections.singletonList(Deck.DEFAULT));
+        }
+    }
+
+    /**
+     * @return Every deck, in manifest order
+     */
+    public List<Deck> getDecks() {
+        return decks;
+    }
+
+    /**
+     * @return The deck played when the user has not chosen one
+     */
+    public Deck getDefault() {
+        return decks.get(0);
+    }
+
+    /**
+     * Find a deck by ID
+     *
+     * @param id Deck ID, or null
+     * @return The deck, or null if the manifest has no such deck
+     */
+    public Deck find(String id) {
+        for (int i = 0; i < decks.size(); i++) {
+            if (decks.get(i).getId().equals(id)) {
+                return decks.get(i);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,193 @@
+package edu.uga.cs.statecapitalsquiz.utils;
+
+import java.util.Random;
+
+import edu.uga.cs.statecapitalsquiz.models.StateItem;
+import edu.uga.cs.statecapitalsquiz.models.StateTable;
+
+/**
+ * Picks plausible wrong answers for a state's capital question.
+ *
+ * <p>A state's own second and third cities are used first when the catalog has
+ * them. Remaining slots are filled from the capitals of nearby states, found with
+ * a {@link KdTree} built once over the catalog's capital coordinates. The nearest
+ * {@link #NEIGHBORS} capitals are weighted by closeness and by how much their names
+ * look like the right answer (Columbia/Columbus, Charleston/Carson City), and the
+ * distractors are drawn from them at random by weight, so the same state does not
+ * always get the same wrong answers. A question therefore costs one tree query and
+ * a handful of string comparisons, never a scan of the catalog.</p>
+ *
+ * <p>States without coordinates get other capitals chosen uniformly at random.</p>
+ *
+ * <p>Immutable after construction and safe to share between threads.</p>
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public final class DistractorEngine {
+
+    /**
+     * Nearby capitals considered for each question
+     */
+    public static final int NEIGHBORS = 8;
+
+    // How much a perfect name match adds to a candidate's weight, relative to proximity
+    private static final double SIMILARITY_WEIGHT = 1.5;
+
+    private final StateTable states;
+    private final KdTree tree;
+
+    /**
+     * Build the engine and its spatial index
+     *
+     * @param states The full catalog
+     */
+    public DistractorEngine(StateTable states) {
+        this.states = states;
+
+        int n = states.size();
+        double[] latitudes = new double[n];
+        double[] longitudes = new double[n];
+        int[] indices = new int[n];
+        int located = 0;
+        for (int row = 0; row < n; row++) {
+            if (states.hasCoordinates(row)) {
+                latitudes[located] = states.getLatitude(row);
+                longitudes[located] = states.getLongitude(row);
+                indices[located] = row;
+                located++;
+            }
+        }
+        tree = new KdTree(latitudes, longitudes, indices, located);
+    }
+
+    /**
+     * Choose wrong answers for a state's capital
+     *
+     * @param state State being asked about
+     * @param count Number of wrong answers wanted
+     * @param random Source of randomness
+     * @return Distinct wrong answers, never the capital itself; shorter than count
+     *         only if the catalog has too few other capitals
+     */
+    public String[] pickDistractors(StateItem state, int count, Random random) {
+        String capital = state.getCapitalCity();
+        String[] picked = new String[count];
+        int filled = 0;
+
+        filled = addIfNew(picked, filled, capital, state.getCity2());
+        filled = addIfNew(picked, filled, capital, state.getCity3());
+
+        if (filled < count && state.hasCoordinates() && tree.size() > 1) {
+            filled = pickNearby(state, capital, picked, filled, random);
+        }
+        if (filled < count) {
+            filled = pickAnywhere(capital, picked, filled, random);
+        }
+
+        if (filled < count) {
+            String[] shorter = new String[filled];
+            System.arraycopy(picked, 0, shorter, 0, filled);
+            return shorter;
+        }
+        return picked;
+    }
+
+    private int pickNearby(StateItem state, String capital, String[] picked, int filled, Random random) {
+        // One extra neighbour, since the state itself is normally the nearest
+        int[] nearest = new int[Math.min(NEIGHBORS + 1, tree.size())];
+        int found = tree.nearest(state.getLatitude(), state.getLongitude(), nearest);
+
+        String[] names = new String[found];
+        double[] weights = new double[found];
+        double total = 0;
+        for (int i = 0; i < found; i++) {
+            String name = states.getCapitalCity(nearest[i]);
+            names[i] = name;
+            if (name == null || name.equalsIgnoreCase(capital)) {
+                continue;
+            }
+            // Closer neighbours weigh more: found, found - 1, ..., 1
+            weights[i] = (found - i) * (1 + SIMILARITY_WEIGHT * similarity(capital, name));
+            total += weights[i];
+        }
+
+        // Weighted draws without replacement; each draw removes one candidate
+        for (int draw = 0; draw < found && filled < picked.length && total > 0; draw++) {
+            double r = random.nextDouble() * total;
+            int choice = -1;
+            for (int i = 0; i < found; i++) {
+                if (weights[i] > 0) {
+                    choice = i;
+                    r -= weights[i];
+                    if (r < 0) {
+                        break;
+                    }
+                }
+            }
+            if (choice < 0) {
+                break;
+            }
+            filled = addIfNew(picked, filled, capital, names[choice]);
+            total -= weights[choice];
+            weights[choice] = 0;
+        }
+        return filled;
+    }
+
+    private int pickAnywhere(String capital, String[] picked, int filled, Random random) {
+        int n = states.size();
+        // Extra samples cover the state's own row and any duplicates
+        int samples = Math.min(n, picked.length + 4);
+        int[] indices = RandomSampler.sampleIndices(n, samples, random);
+        for (int i = 0; i < indices.length && filled < picked.length; i++) {
+            filled = addIfNew(picked, filled, capital, states.getCapitalCity(indices[i]));
+        }
+        return filled;
+    }
+
+    /**
+     * Append a candidate unless it is blank, the right answer, or already picked
+     *
+     * @return New number of picked answers
+     */
+    private static int addIfNew(String[] picked, int filled, String capital, String candidate) {
+        if (filled >= picked.length || candidate == null || candidate.trim().isEmpty()
+                || candidate.equalsIgnoreCase(capital)) {
+            return filled;
+        }
+        for (int i = 0; i < filled; i++) {
+            if (picked[i].equalsIgnoreCase(candidate)) {
+                return filled;
+            }
+        }
+        picked[filled] = candidate;
+        return filled + 1;
+    }
+
+    /**
+     * Dice coefficient over case-insensitive character bigrams, from 0 (nothing in
+     * common) to 1 (same bigrams). Compares in place without building bigram sets.
+     */
+    static double similarity(String a, String b) {
+        int bigramsA = a.length() - 1;
+        int bigramsB = b.length() - 1;
+        if (bigramsA < 1 || bigramsB < 1) {
+            return 0;
+        }
+
+        int shared = 0;
+        for (int i = 0; i < bigramsA; i++) {
+            char a0 = Character.toLowerCase(a.charAt(i));
+            char a1 = Character.toLowerCase(a.charAt(i + 1));
+            for (int j = 0; j < bigramsB; j++) {
+                if (a0 == Character.toLowerCase(b.charAt(j))
+                        && a1 == Character.toLowerCase(b.charAt(j + 1))) {
+                    shared++;
+                    break;
+                }
+            }
+        }
+        return Math.min(1.0, 2.0 * shared / (bigramsA + bigramsB));
+    }
+}
@@ -0,0 +1,237 @@
+package edu.uga.cs.statecapitalsquiz.utils;
+
+/**
+ * Static 3-d tree for nearest-neighbour queries over points on the unit sphere.
+ *
+ * <p>Latitude/longitude pairs are stored as 3-D unit vectors, so straight-line
+ * distance orders points exactly like great-circle distance and longitude
+ * wrap-around needs no special handling. The tree is built once, in place, by
+ * median partitioning: node {@code mid} of a range splits it, with the left half
+ * below it and the right half above it on the range's axis. No node objects are
+ * allocated, and a k-nearest query touches O(log n + k) points on average.</p>
+ *
+ * <p>Immutable after construction and safe to query from several threads.</p>
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public final class KdTree {
+
+    // x, y, z of each point in tree order
+    private final double[] coords;
+    // Caller's index of each point in tree order
+    private final int[] ids;
+    private final int size;
+
+    /**
+     * Build the tree
+     *
+     * @param latitudes Latitudes in degrees
+     * @param longitudes Longitudes in degrees
+     * @param ids Value returned for each point (e.g. its index in a list)
+     * @param size Number of points to use from the arrays
+     */
+    public KdTree(double[] latitudes, double[] longitudes, int[] ids, int size) {
+        this.size = size;
+        this.coords = new double[size * 3];
+        this.ids = new int[size];
+        for (int i = 0; i < size; i++) {
+            toUnitVector(latitudes[i], longitudes[i], coords, i * 3);
+            this.ids[i] = ids[i];
+        }
+        build(0, size, 0);
+    }
+
+    /**
+     * @return Number of points in the tree
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Find the points nearest to a location
+     *
+     * @param latitude Latitude in degrees
+     * @param longitude Longitude in degrees
+     * @param outIds Receives the ids of the nearest points, nearest first;
+     *               its length is the number of points wanted
+     * @return Number of ids written (less than outIds.length only if the tree is smaller)
+     */
+    public int nearest(double latitude, double longitude, int[] outIds) {
+        double[] query = new double[3];
+        toUnitVector(latitude, longitude, query, 0);
+
+        // Max-heap of the best candidates so far, worst at the root
+        int[] heapIds = new int[outIds.length];
+        double[] heapDist = new double[outIds.length];
+        int found = search(0, size, 0, query, heapIds, heapDist, 0);
+
+        // Pop the heap from worst to best
+        for (int n = found; n > 0; n--) {
+            outIds[n - 1] = heapIds[0];
+            swapHeap(heapIds, heapDist, 0, n - 1);
+            siftDown(heapIds, heapDist, 0, n - 1);
+        }
+        return found;
+    }
+
+    private int search(int lo, int hi, int axis, double[] q, int[] heapIds, double[] heapDist, int count) {
+        if (lo >= hi) {
+            return count;
+        }
+        int mid = (lo + hi) >>> 1;
+        int p = mid * 3;
+
+        double dx = q[0] - coords[p];
+        double dy = q[1] - coords[p + 1];
+        double dz = q[2] - coords[p + 2];
+        count = offer(heapIds, heapDist, count, ids[mid], dx * dx + dy * dy + dz * dz);
+
+        double diff = q[axis] - coords[p + axis];
+        int next = axis == 2 ? 0 : axis + 1;
+        if (diff < 0) {
+            count = search(lo, mid, next, q, heapIds, heapDist, count);
+            if (count < heapIds.length || diff * diff < heapDist[0]) {
+                count = search(mid + 1, hi, next, q, heapIds, heapDist, count);
+            }
+        } else {
+            count = search(mid + 1, hi, next, q, heapIds, heapDist, count);
+            if (count < heapIds.length || diff * diff < heapDist[0]) {
+                count = search(lo, mid, next, q, heapIds, heapDist, count);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Add a candidate to the bounded heap if it beats the current worst
+     *
+     * @return New number of entries in the heap
+     */
+    private static int offer(int[] heapIds, double[] heapDist, int count, int id, double dist) {
+        if (count < heapIds.length) {
+            // Sift up
+            int i = count;
+            heapIds[i] = id;
+            heapDist[i] = dist;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heapDist[parent] >= heapDist[i]) {
+                    break;
+                }
+                swapHeap(heapIds, heapDist, i, parent);
+                i = parent;
+            }
+            return count + 1;
+        }
+        if (dist < heapDist[0]) {
+            heapIds[0] = id;
+            heapDist[0] = dist;
+            siftDown(heapIds, heapDist, 0, count);
+        }
+        return count;
+    }
+
+    private static void siftDown(int[] heapIds, double[] heapDist, int i, int count) {
+        while (true) {
+            int largest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < count && heapDist[left] > heapDist[largest]) {
+                largest = left;
+            }
+            if (right < count && heapDist[right] > heapDist[largest]) {
+                largest = right;
+            }
+            if (largest == i) {
+                return;
+            }
+            swapHeap(heapIds, heapDist, i, largest);
+            i = largest;
+        }
+    }
+
+    private static void swapHeap(int[] heapIds, double[] heapDist, int a, int b) {
+        int id = heapIds[a];
+        heapIds[a] = heapIds[b];
+        heapIds[b] = id;
+        double dist = heapDist[a];
+        heapDist[a] = heapDist[b];
+        heapDist[b] = dist;
+    }
+
+    /**
+     * Arrange [lo, hi) so its middle point is the median on the axis, then recurse
+     */
+    private void build(int lo, int hi, int axis) {
+        while (hi - lo > 1) {
+            int mid = (lo + hi) >>> 1;
+            select(lo, hi - 1, mid, axis);
+            int next = axis == 2 ? 0 : axis + 1;
+            build(lo, mid, next);
+            // Loop on the right half instead of recursing
+            lo = mid + 1;
+            axis = next;
+        }
+    }
+
+    /**
+     * Quickselect: put the k-th smallest point of [left, right] on the axis at k
+     */
+    private void select(int left, int right, int k, int axis) {
+        while (right > left) {
+            // Median of three pivot keeps sorted input from going quadratic
+            int middle = (left + right) >>> 1;
+            if (value(middle, axis) < value(left, axis)) swap(middle, left);
+            if (value(right, axis) < value(left, axis)) swap(right, left);
+            if (value(right, axis) < value(middle, axis)) swap(right, middle);
+            double pivot = value(middle, axis);
+
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (value(i, axis) < pivot) i++;
+                while (value(j, axis) > pivot) j--;
+                if (i <= j) {
+                    swap(i, j);
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private double value(int point, int axis) {
+        return coords[point * 3 + axis];
+    }
+
+    private void swap(int a, int b) {
+        int pa = a * 3;
+        int pb = b * 3;
+        for (int d = 0; d < 3; d++) {
+            double c = coords[pa + d];
+            coords[pa + d] = coords[pb + d];
+            coords[pb + d] = c;
+        }
+        int id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+    }
+
+    private static void toUnitVector(double latitude, double longitude, double[] out, int offset) {
+        double lat = Math.toRadians(latitude);
+        double lon = Math.toRadians(longitude);
+        double cosLat = Math.cos(lat);
+        out[offset] = cosLat * Math.cos(lon);
+        out[offset + 1] = cosLat * Math.sin(lon);
+        out[offset + 2] = Math.sin(lat);
+    }
+}
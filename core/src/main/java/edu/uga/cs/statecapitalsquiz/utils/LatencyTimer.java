@@ -0,0 +1,173 @@
+package edu.uga.cs.statecapitalsquiz.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Latency histogram for one operation, registered in {@link Metrics}.
+ *
+ * <p>Durations are counted in log-linear buckets: every power of two of nanoseconds
+ * is split into {@link #SUB_BUCKETS} equal slices, so any percentile is reported to
+ * within 12.5% using a fixed 4 KB of counters however many samples arrive.
+ * Recording is lock-free (a few atomic increments) and safe from any thread.</p>
+ *
+ * <p>Typical use:</p>
+ * <pre>
+ *     long start = TIMER.start();
+ *     try {
+ *         ...
+ *     } finally {
+ *         TIMER.stop(start);
+ *     }
+ * </pre>
+ * <p>While metrics are disabled, {@link #start()} returns 0 without reading the clock
+ * and {@link #stop(long)} ignores it, so the pair costs one volatile read.</p>
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public final class LatencyTimer {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    /**
+     * Buckets per power of two
+     */
+    public static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = 64 * SUB_BUCKETS;
+
+    private final String name;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    LatencyTimer(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return Name the timer is registered under
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return Start timestamp to pass to {@link #stop(long)}, or 0 if metrics are disabled
+     */
+    public long start() {
+        return Metrics.isEnabled() ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Record the time since a {@link #start()}
+     *
+     * @param startNanos Value returned by start(); 0 records nothing
+     */
+    public void stop(long startNanos) {
+        if (startNanos != 0) {
+            record(System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Record one duration measured elsewhere
+     *
+     * @param nanos Duration in nanoseconds
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        buckets.incrementAndGet(bucketIndex(nanos));
+        count.incrementAndGet();
+        totalNanos.addAndGet(nanos);
+
+        long max = maxNanos.get();
+        while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+            max = maxNanos.get();
+        }
+    }
+
+    /**
+     * @return Number of recorded durations
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * @return Mean duration in nanoseconds, or 0 if nothing was recorded
+     */
+    public long getMeanNanos() {
+        long n = count.get();
+        return n == 0 ? 0 : totalNanos.get() / n;
+    }
+
+    /**
+     * @return Longest recorded duration in nanoseconds
+     */
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Duration below which the given share of samples fall, rounded up to the
+     * top of its bucket (never more than the longest sample)
+     *
+     * @param percentile Percentile, 0 to 100
+     * @return Duration in nanoseconds, or 0 if nothing was recorded
+     */
+    public long getPercentileNanos(double percentile) {
+        long total = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(bucketUpperBound(i), maxNanos.get());
+            }
+        }
+        return maxNanos.get();
+    }
+
+    /**
+     * Clear every recorded sample
+     */
+    void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        count.set(0);
+        totalNanos.set(0);
+        maxNanos.set(0);
+    }
+
+    static int bucketIndex(long nanos) {
+        if (nanos < SUB_BUCKETS) {
+            return (int) nanos;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (nanos >>> shift) & (SUB_BUCKETS - 1);
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long subBucket = index % SUB_BUCKETS;
+        return ((SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,46 @@
+package edu.uga.cs.statecapitalsquiz.utils;
+
+/**
+ * Logging interface used by the core quiz logic, so it does not depend on
+ * {@code android.util.Log}. The app passes an implementation backed by Logcat;
+ * benchmarks and other JVM callers can use {@link #NONE}.
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public interface Logger {
+
+    /**
+     * Logger that discards everything
+     */
+    Logger NONE = new Logger() {
+        @Override
+        public void d(String tag, String message) {
+        }
+
+        @Override
+        public void w(String tag, String message) {
+        }
+
+        @Override
+        public void e(String tag, String message, Throwable error) {
+        }
+    };
+
+    /**
+     * Log a debug message
+     */
+    void d(String tag, String message);
+
+    /**
+     * Log a warning
+     */
+    void w(String tag, String message);
+
+    /**
+     * Log an error
+     *
+     * @param error Cause, or null
+     */
+    void e(String tag, String message, Throwable error);
+}
@@ -0,0 +1,175 @@
+package edu.uga.cs.statecapitalsquiz.utils;
+
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process registry of latency timers and event counters for the app's hot paths.
+ *
+ * <p>Call sites look their {@link LatencyTimer} up once, usually into a static final
+ * field, so recording never touches the registry. Everything is off until
+ * {@link #setEnabled(boolean)} is called. While off, a timed block costs one volatile
+ * read, so the instrumentation can ship in release builds.</p>
+ *
+ * <p>{@link #dump(PrintWriter)} prints a table for {@code adb shell dumpsys} and
+ * {@link #toJson()} exports the same numbers for tooling.</p>
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public final class Metrics {
+
+    // Timer names used across the app
+    public static final String STARTUP_SPLASH_TO_READY = "startup.splash_to_ready";
+    public static final String CSV_PARSE = "csv.parse";
+    public static final String DB_OPEN = "db.open";
+    public static final String QUIZ_GENERATE = "quiz.generate";
+    public static final String QUIZ_SAVE_RESULTS = "quiz.save_results";
+    // Prefix for one timer per QuizData query
+    public static final String DB_QUERY_PREFIX = "db.query.";
+
+    private static final double[] PERCENTILES = {50, 90, 99};
+
+    private static volatile boolean enabled = false;
+
+    private static final ConcurrentHashMap<String, LatencyTimer> timers = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    private Metrics() {
+    }
+
+    /**
+     * @return true if timers and counters are recording
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turn recording on or off. Samples already recorded are kept.
+     *
+     * @param on true to record
+     */
+    public static void setEnabled(boolean on) {
+        enabled = on;
+    }
+
+    /**
+     * Get or create a timer
+     *
+     * @param name Dotted name, e.g. "db.query.getAllStates"
+     * @return The timer registered under that name
+     */
+    public static LatencyTimer timer(String name) {
+        LatencyTimer timer = timers.get(name);
+        return timer != null ? timer : timers.computeIfAbsent(name, LatencyTimer::new);
+    }
+
+    /**
+     * Count an event (no-op while disabled)
+     *
+     * @param name Dotted name, e.g. "answers.flushed"
+     * @param delta Amount to add
+     */
+    public static void count(String name, long delta) {
+        if (!enabled) {
+            return;
+        }
+        AtomicLong counter = counters.get(name);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(name, key -> new AtomicLong());
+        }
+        counter.addAndGet(delta);
+    }
+
+    /**
+     * Clear every timer and counter
+     */
+    public static void reset() {
+        for (LatencyTimer timer : timers.values()) {
+            timer.reset();
+        }
+        counters.clear();
+    }
+
+    /**
+     * Print every timer that has samples, and every counter, as a table
+     *
+     * @param writer Destination, e.g. the writer passed to Activity.dump()
+     */
+    public static void dump(PrintWriter writer) {
+        writer.println("Metrics (" + (enabled ? "enabled" : "disabled") + ", times in ms)");
+        writer.println(String.format(Locale.US, "  %-36s %8s %9s %9s %9s %9s %9s",
+                "timer", "count", "mean", "p50", "p90", "p99", "max"));
+        for (LatencyTimer timer : sortedTimers().values()) {
+            writer.println(String.format(Locale.US, "  %-36s %8d %9.3f %9.3f %9.3f %9.3f %9.3f",
+                    timer.getName(), timer.getCount(), millis(timer.getMeanNanos()),
+                    millis(timer.getPercentileNanos(PERCENTILES[0])),
+                    millis(timer.getPercentileNanos(PERCENTILES[1])),
+                    millis(timer.getPercentileNanos(PERCENTILES[2])),
+                    millis(timer.getMaxNanos())));
+        }
+        for (Map.Entry<String, AtomicLong> counter : new TreeMap<>(counters).entrySet()) {
+            writer.println(String.format(Locale.US, "  %-36s %8d", counter.getKey(), counter.getValue().get()));
+        }
+        writer.flush();
+    }
+
+    /**
+     * Export every timer that has samples, and every counter, as JSON:
+     * {"enabled":true,"timers":{"name":{"count":..,"mean_ms":..,"p50_ms":..,...}},"counters":{"name":n}}
+     *
+     * @return JSON object text
+     */
+    public static String toJson() {
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"enabled\":").append(enabled).append(",\"timers\":{");
+        boolean first = true;
+        for (LatencyTimer timer : sortedTimers().values()) {
+            if (!first) {
+                json.append(',');
+            }
+            first = false;
+            json.append('"').append(timer.getName()).append("\":{")
+                    .append("\"count\":").append(timer.getCount())
+                    .append(",\"mean_ms\":").append(format(timer.getMeanNanos()));
+            for (double percentile : PERCENTILES) {
+                json.append(",\"p").append((int) percentile).append("_ms\":")
+                        .append(format(timer.getPercentileNanos(percentile)));
+            }
+            json.append(",\"max_ms\":").append(format(timer.getMaxNanos())).append('}');
+        }
+        json.append("},\"counters\":{");
+        first = true;
+        for (Map.Entry<String, AtomicLong> counter : new TreeMap<>(counters).entrySet()) {
+            if (!first) {
+                json.append(',');
+            }
+            first = false;
+            json.append('"').append(counter.getKey()).append("\":").append(counter.getValue().get());
+        }
+        return json.append("}}").toString();
+    }
+
+    private static Map<String, LatencyTimer> sortedTimers() {
+        Map<String, LatencyTimer> sorted = new TreeMap<>();
+        for (LatencyTimer timer : timers.values()) {
+            if (timer.getCount() > 0) {
+                sorted.put(timer.getName(), timer);
+            }
+        }
+        return sorted;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static String format(long nanos) {
+        return String.format(Locale.US, "%.3f", millis(nanos));
+    }
+}
@@ -0,0 +1,324 @@
+package edu.uga.cs.statecapitalsquiz.utils;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import edu.uga.cs.statecapitalsquiz.models.Quiz;
+import edu.uga.cs.statecapitalsquiz.models.QuizQuestion;
+import edu.uga.cs.statecapitalsquiz.models.StateItem;
+import edu.uga.cs.statecapitalsquiz.models.StateTable;
+
+/**
+ * QuizManager handles quiz creation and question generation logic.
+ * Works with the Quiz and QuizQuestion models to create randomized quizzes.
+ * Plain Java with no Android dependencies, so it can be benchmarked on a desktop JVM.
+ *
+ * <p><b>Key responsibilities:</b></p>
+ * <ul>
+ *   <li>Generate a quiz of N random unique questions from state data, weighted
+ *       toward weak states when a {@link StateScheduler} is set</li>
+ *   <li>Fill in wrong answers with a {@link DistractorEngine} and randomize their order</li>
+ *   <li>Track quiz state and scoring</li>
+ * </ul>
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public class QuizManager {
+
+    private static final String TAG = "QuizManager";
+    private static final LatencyTimer GENERATE_TIMER = Metrics.timer(Metrics.QUIZ_GENERATE);
+
+    /**
+     * Quiz lengths offered to the user
+     */
+    public static final int[] QUIZ_LENGTHS = {Quiz.DEFAULT_QUESTION_COUNT, 10, 25, 50};
+
+    private final int questionsPerQuiz;
+    private final Logger log;
+
+    private StateTable allStates;
+    private DistractorEngine distractors;
+    private StateScheduler scheduler;
+    private Quiz currentQuiz;
+    private List<QuizQuestion> currentQuestions;
+    private Random random;
+    private SimpleDateFormat dateFormat;
+
+    /**
+     * Constructor for quizzes of the default length, without logging
+     */
+    public QuizManager() {
+        this(Quiz.DEFAULT_QUESTION_COUNT, Logger.NONE);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param questionsPerQuiz Number of questions in each quiz
+     * @param log Logger for quiz events
+     */
+    public QuizManager(int questionsPerQuiz, Logger log) {
+        this(questionsPerQuiz, log, new Random());
+    }
+
+    /**
+     * Constructor with a specific source of randomness (e.g. seeded, for benchmarks)
+     *
+     * @param questionsPerQuiz Number of questions in each quiz
+     * @param log Logger for quiz events
+     * @param random Source of randomness for state selection and choice order
+     */
+    public QuizManager(int questionsPerQuiz, Logger log, Random random) {
+        this.questionsPerQuiz = questionsPerQuiz;
+        this.log = log;
+        this.random = random;
+        this.dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.US);
+    }
+
+    /**
+     * Set available states for quiz generation
+     *
+     * @param states List of all states from database
+     */
+    public void setAllStates(List<StateItem> states) {
+        setAllStates(StateTable.of(states));
+    }
+
+    /**
+     * Set available states for quiz generation
+     *
+     * @param states Table of all states
+     */
+    public void setAllStates(StateTable states) {
+        setAllStates(states, new DistractorEngine(states));
+    }
+
+    /**
+     * Set available states together with a distractor engine already built over
+     * them, so a cached catalog's spatial index is not rebuilt for every quiz
+     *
+     * @param states Table of all states
+     * @param distractors Engine built from the same table
+     */
+    public void setAllStates(StateTable states, DistractorEngine distractors) {
+        this.allStates = states;
+        this.distractors = distractors;
+        log.d(TAG, "Loaded " + states.size() + " states");
+    }
+
+    /**
+     * Pick quiz states with a spaced-repetition scheduler instead of uniformly
+     *
+     * @param scheduler Scheduler built over the table passed to setAllStates(), or null
+     *                  for uniform picks
+     */
+    public void setScheduler(StateScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Create a new quiz with random unique questions.
+     * The quiz is not dated until it is completed (see {@link #completeQuiz()}).
+     *
+     * @return New Quiz object
+     * @throws IllegalStateException if not enough states available
+     */
+    public Quiz createNewQuiz() {
+        if (allStates == null || allStates.size() < questionsPerQuiz) {
+            log.e(TAG, "Not enough states to create quiz", null);
+            throw new IllegalStateException("Need at least " + questionsPerQuiz + " states");
+        }
+
+        long start = GENERATE_TIMER.start();
+
+        // Select unique states without copying or shuffling the whole list
+        int[] picks = scheduler != null && scheduler.getStates() == allStates
+                ? scheduler.sample(questionsPerQuiz, random)
+                : RandomSampler.sampleIndices(allStates.size(), questionsPerQuiz, random);
+        List<StateItem> selectedStates = new ArrayList<>(questionsPerQuiz);
+        int[] stateIds = new int[questionsPerQuiz];
+        for (int i = 0; i < picks.length; i++) {
+            // Only the picked rows become objects
+            StateItem state = allStates.getState(picks[i]);
+            selectedStates.add(state);
+            stateIds[i] = state.getId();
+        }
+
+        currentQuiz = new Quiz(stateIds);
+
+        // Generate questions
+        currentQuestions = new ArrayList<>(questionsPerQuiz);
+        for (StateItem state : selectedStates) {
+            QuizQuestion question = createQuestionForState(state);
+            currentQuestions.add(question);
+        }
+        GENERATE_TIMER.stop(start);
+
+        log.d(TAG, "Created new quiz with " + currentQuestions.size() + " questions");
+        return currentQuiz;
+    }
+
+    /**
+     * Continue a quiz that was saved before it was finished. Its score and answered
+     * count are recomputed from the questions' answers by {@link #scoreQuiz()}.
+     *
+     * @param quiz The saved, incomplete quiz
+     * @param questions Its questions in order, with any recorded answers
+     */
+    public void resumeQuiz(Quiz quiz, List<QuizQuestion> questions) {
+        currentQuiz = quiz;
+        currentQuestions = questions;
+        log.d(TAG, "Resumed quiz " + quiz.getId() + " with " + questions.size() + " questions");
+    }
+
+    /**
+     * Create a question for the given state with randomized answer choices.
+     * Wrong answers come from the distractor engine once states are set;
+     * before that, the state's own second and third cities are used as-is.
+     *
+     * @param state The state for this question
+     * @return QuizQuestion with 3 randomized choices
+     */
+    public QuizQuestion createQuestionForState(StateItem state) {
+        String[] choices = new String[] {
+                state.getCapitalCity(),
+                state.getCity2(),
+                state.getCity3()
+        };
+        if (distractors != null) {
+            String[] wrong = distractors.pickDistractors(state, 2, random);
+            for (int i = 0; i < wrong.length; i++) {
+                choices[i + 1] = wrong[i];
+            }
+        }
+
+        // Randomize order
+        List<String> choiceList = new ArrayList<>();
+        choiceList.add(choices[0]);
+        choiceList.add(choices[1]);
+        choiceList.add(choices[2]);
+        Collections.shuffle(choiceList, random);
+
+        String[] randomizedChoices = choiceList.toArray(new String[3]);
+
+        // Create QuizQuestion with StateItem and randomized choices
+        return new QuizQuestion(state, randomizedChoices);
+    }
+
+    /**
+     * Set the current quiz's score and questions answered from the answer index
+     * recorded on each question.
+     *
+     * <p>The result depends only on the recorded answers, so calling this again (for
+     * example when the results screen is recreated) gives the same score and never
+     * counts an answer twice. Answers are compared by choice index; the pass is
+     * O(questions) and allocates nothing.</p>
+     *
+     * @return Number of correct answers
+     */
+    public int scoreQuiz() {
+        if (currentQuiz == null || currentQuestions == null) {
+            log.e(TAG, "No active quiz", null);
+            return 0;
+        }
+
+        int answered = 0;
+        int correct = 0;
+        for (int i = 0, n = currentQuestions.size(); i < n; i++) {
+            QuizQuestion question = currentQuestions.get(i);
+            if (question.isAnswered()) {
+                answered++;
+                if (question.isAnsweredCorrectly()) {
+                    correct++;
+                }
+            }
+        }
+
+        currentQuiz.setQuestionsAnswered(answered);
+        currentQuiz.setScore(correct);
+        return correct;
+    }
+
+    /**
+     * Stamp the current quiz with its completion date/time.
+     * A quiz that already has a date keeps it.
+     */
+    public void completeQuiz() {
+        if (currentQuiz != null && currentQuiz.getDate() == null) {
+            currentQuiz.setDate(dateFormat.format(new Date()));
+        }
+    }
+
+    /**
+     * Get the generated questions for this quiz
+     *
+     * @return List of QuizQuestions, or null if quiz not created yet
+     */
+    public List<QuizQuestion> getQuestions() {
+        return currentQuestions;
+    }
+
+    /**
+     * Get a specific question by index (0-based)
+     *
+     * @param index Question index (0-based)
+     * @return QuizQuestion, or null if invalid index
+     */
+    public QuizQuestion getQuestion(int index) {
+        if (currentQuestions != null && index >= 0 && index < currentQuestions.size()) {
+            return currentQuestions.get(index);
+        }
+        return null;
+    }
+
+    /**
+     * Get current quiz
+     *
+     * @return Quiz object, or null if not created
+     */
+    public Quiz getCurrentQuiz() {
+        return currentQuiz;
+    }
+
+    /**
+     * Get final score
+     *
+     * @return Score (0 to the number of questions)
+     */
+    public int getFinalScore() {
+        return currentQuiz != null ? currentQuiz.getScore() : 0;
+    }
+
+    /**
+     * Check if quiz is complete
+     *
+     * @return true if every question answered
+     */
+    public boolean isQuizComplete() {
+        return currentQuiz != null && currentQuiz.isComplete();
+    }
+
+    /**
+     * Get number of questions per quiz
+     *
+     * @return Questions per quiz
+     */
+    public int getQuestionCount() {
+        return questionsPerQuiz;
+    }
+
+    /**
+     * Reset manager for new quiz
+     */
+    public void reset() {
+        currentQuiz = null;
+        currentQuestions = null;
+        log.d(TAG, "QuizManager reset");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,109 @@
+package edu.uga.cs.statecapitalsquiz.utils;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Picks k distinct items out of n in O(k) time and memory.
+ *
+ * <p>Uses Robert Floyd's sampling algorithm: for each j from n-k to n-1, draw t in [0, j];
+ * take t unless it was already taken, in which case take j (which cannot have been taken
+ * yet). The chosen indices are then shuffled so their order is uniformly random too.
+ * Nothing proportional to n is ever allocated, so the cost of starting a quiz does not
+ * grow with the size of the deck.</p>
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public final class RandomSampler {
+
+    private RandomSampler() {
+    }
+
+    /**
+     * Choose k distinct indices from [0, n) in random order
+     *
+     * @param n Population size
+     * @param k Number of indices to pick (0 &lt;= k &lt;= n)
+     * @param random Source of randomness
+     * @return Array of k distinct indices
+     * @throws IllegalArgumentException if k is negative or larger than n
+     */
+    public static int[] sampleIndices(int n, int k, Random random) {
+        if (k < 0 || k > n) {
+            throw new IllegalArgumentException("Cannot pick " + k + " of " + n + " items");
+        }
+
+        int[] result = new int[k];
+        IntSet chosen = new IntSet(k);
+        int size = 0;
+
+        for (int j = n - k; j < n; j++) {
+            int t = random.nextInt(j + 1);
+            if (!chosen.add(t)) {
+                t = j;
+                chosen.add(j);
+            }
+            result[size++] = t;
+        }
+
+        // Floyd's picks are a uniform subset but not in uniform order
+        for (int i = k - 1; i > 0; i--) {
+            int swap = random.nextInt(i + 1);
+            int tmp = result[i];
+            result[i] = result[swap];
+            result[swap] = tmp;
+        }
+        return result;
+    }
+
+    /**
+     * Choose k distinct values from the inclusive range [min, max] in random order
+     *
+     * @param min Smallest value
+     * @param max Largest value
+     * @param k Number of values to pick
+     * @param random Source of randomness
+     * @return Array of k distinct values
+     */
+    public static int[] sampleRange(int min, int max, int k, Random random) {
+        int[] values = sampleIndices(max - min + 1, k, random);
+        for (int i = 0; i < values.length; i++) {
+            values[i] += min;
+        }
+        return values;
+    }
+
+    /**
+     * Minimal open-addressing set of non-negative ints sized for k entries.
+     * Avoids boxing every candidate into a HashSet&lt;Integer&gt;.
+     */
+    private static final class IntSet {
+        private static final int EMPTY = -1;
+        private final int[] slots;
+        private final int mask;
+
+        IntSet(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(expected, 1) * 2 + 1) << 1;
+            slots = new int[capacity];
+            mask = capacity - 1;
+            Arrays.fill(slots, EMPTY);
+        }
+
+        /**
+         * @return true if the value was added, false if it was already present
+         */
+        boolean add(int value) {
+            int hash = value * 0x9E3779B9;
+            int i = (hash ^ (hash >>> 16)) & mask;
+            while (slots[i] != EMPTY) {
+                if (slots[i] == value) {
+                    return false;
+                }
+                i = (i + 1) & mask;
+            }
+            slots[i] = value;
+            return true;
+        }
+    }
+}
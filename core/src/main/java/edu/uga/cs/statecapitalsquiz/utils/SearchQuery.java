@@ -0,0 +1,81 @@
+package edu.uga.cs.statecapitalsquiz.utils;
+
+import java.util.Locale;
+
+/**
+ * Turns what the user typed into a full-text MATCH expression for the states
+ * search index.
+ *
+ * <p>The text is split into words the same way the index's unicode61 tokenizer splits
+ * names: letters, digits and combining marks form words, anything else separates them.
+ * Every word becomes a prefix term, so "new yo" becomes {@code new* yo*} and matches
+ * "New York" while the user is still typing. Terms are lowercased, which also keeps
+ * words like "and" or "or" from being read as query operators, and nothing the user
+ * types can produce quotes, parentheses or other query syntax. Case and accents are
+ * ignored by the tokenizer, so "quebec" and "Québec" find each other.</p>
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public final class SearchQuery {
+
+    /**
+     * Words beyond this many are ignored; each term is one more index lookup
+     */
+    public static final int MAX_TERMS = 8;
+
+    private SearchQuery() {
+    }
+
+    /**
+     * Build a prefix MATCH expression
+     *
+     * @param text Text typed by the user, may be null
+     * @return Expression such as {@code "new* yo*"}, or null if the text has no words
+     */
+    public static String toPrefixMatch(String text) {
+        if (text == null) {
+            return null;
+        }
+
+        StringBuilder match = new StringBuilder(text.length() + MAX_TERMS * 2);
+        int terms = 0;
+        boolean inWord = false;
+        for (int i = 0; i < text.length(); ) {
+            int c = text.codePointAt(i);
+            i += Character.charCount(c);
+
+            if (isWordChar(c)) {
+                if (!inWord) {
+                    if (terms == MAX_TERMS) {
+                        break;
+                    }
+                    if (terms > 0) {
+                        match.append(' ');
+                    }
+                    inWord = true;
+                    terms++;
+                }
+                match.appendCodePoint(c);
+            } else if (inWord) {
+                match.append('*');
+                inWord = false;
+            }
+        }
+        if (inWord) {
+            match.append('*');
+        }
+
+        return terms == 0 ? null : match.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isWordChar(int c) {
+        if (Character.isLetterOrDigit(c)) {
+            return true;
+        }
+        // Accents typed as separate combining marks belong to the word; the index drops them
+        int type = Character.getType(c);
+        return type == Character.NON_SPACING_MARK || type == Character.COMBINING_SPACING_MARK
+                || type == Character.ENCLOSING_MARK;
+    }
+}
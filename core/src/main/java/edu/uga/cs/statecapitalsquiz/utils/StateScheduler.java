@@ -0,0 +1,255 @@
+package edu.uga.cs.statecapitalsquiz.utils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import edu.uga.cs.statecapitalsquiz.models.QuizQuestion;
+import edu.uga.cs.statecapitalsquiz.models.StateTable;
+
+/**
+ * Spaced-repetition scheduler that decides which states a new quiz asks about.
+ *
+ * <p>Each state sits in a Leitner box from 0 to {@link #MAX_BOX}. States start in
+ * {@link #NEW_BOX}; a correct answer moves a state up one box and a wrong or missing
+ * answer drops it to box 0. A state's weight halves with every box, so capitals the
+ * user keeps missing come up often and mastered ones rarely, and it grows with the
+ * number of quizzes since the state was last asked (up to {@link #MAX_RECENCY} times),
+ * so nothing is left out for long.</p>
+ *
+ * <p>Quizzes are drawn from a {@link AliasTable} over the weights in O(1) per state.
+ * Completing a quiz updates only the states it asked ({@link #recordQuiz(List)}), and
+ * the alias table is rebuilt there, on the thread that saved the quiz, so generating
+ * a quiz never does work proportional to the catalog or to the history.</p>
+ *
+ * <p>Rows are the rows of the {@link StateTable} the scheduler was built for.
+ * Thread-safe.</p>
+ *
+ * @author StateCapitalsQuiz Team
+ * @version 1.0
+ */
+public final class StateScheduler {
+
+    /**
+     * Box of a state that has never been asked
+     */
+    public static final int NEW_BOX = 2;
+    /**
+     * Highest box; correct answers beyond it do not lower the weight further
+     */
+    public static final int MAX_BOX = 5;
+
+    // Quizzes without seeing a state that add 100% to its weight, and the cap on that boost
+    private static final double RECENCY_QUIZZES = 5.0;
+    private static final double MAX_RECENCY = 4.0;
+
+    private final StateTable states;
+    private final int[] boxes;
+    // Quiz number (1-based count of completed quizzes) that last asked each state, 0 if never
+    private final int[] lastQuizzes;
+    private final double[] weights;
+    private int quizzesCompleted = 0;
+
+    private AliasTable table;
+
+    // Rows already drawn for the quiz being sampled are stamped with the current epoch
+    private final int[] drawn;
+    private int epoch = 0;
+
+    /**
+     * Constructor for a user with no history: every state is new
+     *
+     * @param states Catalog the scheduler picks rows from
+     */
+    public StateScheduler(StateTable states) {
+        this.states = states;
+        int n = states.size();
+        boxes = new int[n];
+        lastQuizzes = new int[n];
+        weights = new double[n];
+        drawn = new int[n];
+        for (int row = 0; row < n; row++) {
+            boxes[row] = NEW_BOX;
+        }
+    }
+
+    /**
+     * Restore one state's saved history (call before the first quiz is drawn)
+     *
+     * @param stateId State ID; ignored if the catalog has no such state
+     * @param box Saved Leitner box
+     * @param lastQuiz Quiz number that last asked it, or 0 if never
+     */
+    public synchronized void setHistory(int stateId, int box, int lastQuiz) {
+        int row = states.rowOf(stateId);
+        if (row >= 0) {
+            boxes[row] = Math.max(0, Math.min(box, MAX_BOX));
+            lastQuizzes[row] = lastQuiz;
+            table = null;
+        }
+    }
+
+    /**
+     * Restore the number of quizzes completed so far
+     *
+     * @param count Completed quizzes
+     */
+    public synchronized void setQuizzesCompleted(int count) {
+        quizzesCompleted = count;
+        table = null;
+    }
+
+    /**
+     * @return The table rows are drawn from
+     */
+    public StateTable getStates() {
+        return states;
+    }
+
+    /**
+     * @param row Row index
+     * @return The state's Leitner box
+     */
+    public synchronized int getBox(int row) {
+        return boxes[row];
+    }
+
+    /**
+     * @param row Row index
+     * @return The state's current weight relative to the others
+     */
+    public synchronized double getWeight(int row) {
+        return weight(row);
+    }
+
+    /**
+     * Move the states a completed quiz asked between boxes, mark them as just asked,
+     * and rebuild the sampling table. Costs O(questions) plus one O(states) rebuild.
+     *
+     * @param questions The quiz's questions with the user's answers
+     */
+    public synchronized void recordQuiz(List<QuizQuestion> questions) {
+        quizzesCompleted++;
+        for (int i = 0; i < questions.size(); i++) {
+            QuizQuestion question = questions.get(i);
+            int row = states.rowOf(question.getState().getId());
+            if (row < 0) {
+                continue;
+            }
+            boxes[row] = nextBox(boxes[row], question.isAnsweredCorrectly());
+            lastQuizzes[row] = quizzesCompleted;
+        }
+        rebuild();
+    }
+
+    /**
+     * Box a state moves to after an answer
+     *
+     * @param box Current box
+     * @param correct true if the answer was correct
+     * @return New box
+     */
+    public static int nextBox(int box, boolean correct) {
+        return correct ? Math.min(box + 1, MAX_BOX) : 0;
+    }
+
+    /**
+     * Choose distinct rows for a quiz, each drawn in proportion to its weight, in
+     * random order.
+     *
+     * <p>Rows are drawn from the alias table and redrawn if already taken, which takes
+     * O(count) draws unless the quiz covers most of the catalog's weight. If redraws
+     * pile up, the remaining rows are drawn from the rows not yet taken by a linear
+     * scan instead.</p>
+     *
+     * @param count Number of rows (0 &lt;= count &lt;= catalog size)
+     * @param random Source of randomness
+     * @return Distinct row indices
+     * @throws IllegalArgumentException if count is negative or larger than the catalog
+     */
+    public synchronized int[] sample(int count, Random random) {
+        int n = states.size();
+        if (count < 0 || count > n) {
+            throw new IllegalArgumentException("Cannot pick " + count + " of " + n + " states");
+        }
+        if (count == 0) {
+            return new int[0];
+        }
+        if (table == null) {
+            rebuild();
+        }
+
+        if (++epoch == 0) {
+            Arrays.fill(drawn, 0);
+            epoch = 1;
+        }
+
+        int[] result = new int[count];
+        int picked = 0;
+        int maxDraws = 4 * count + 16;
+        for (int draws = 0; picked < count && draws < maxDraws; draws++) {
+            int row = table.sample(random);
+            if (drawn[row] != epoch) {
+                drawn[row] = epoch;
+                result[picked++] = row;
+            }
+        }
+
+        while (picked < count) {
+            result[picked++] = drawRemaining(random);
+        }
+
+        // Heavier rows tend to be drawn first; ask them in random order
+        for (int i = count - 1; i > 0; i--) {
+            int swap = random.nextInt(i + 1);
+            int tmp = result[i];
+            result[i] = result[swap];
+            result[swap] = tmp;
+        }
+        return result;
+    }
+
+    /**
+     * Draw one row not yet taken this epoch, in proportion to weight, by linear scan
+     */
+    private int drawRemaining(Random random) {
+        int n = states.size();
+        double total = 0;
+        int last = -1;
+        for (int row = 0; row < n; row++) {
+            if (drawn[row] != epoch) {
+                total += weights[row];
+                last = row;
+            }
+        }
+
+        double target = random.nextDouble() * total;
+        for (int row = 0; row < n; row++) {
+            if (drawn[row] != epoch) {
+                target -= weights[row];
+                if (target < 0) {
+                    drawn[row] = epoch;
+                    return row;
+                }
+            }
+        }
+        // Rounding left a sliver at the end
+        drawn[last] = epoch;
+        return last;
+    }
+
+    private void rebuild() {
+        int n = states.size();
+        for (int row = 0; row < n; row++) {
+            weights[row] = weight(row);
+        }
+        table = n > 0 ? new AliasTable(weights, n) : null;
+    }
+
+    private double weight(int row) {
+        double boxWeight = Math.scalb(1.0, NEW_BOX - boxes[row]);
+        int quizzesSince = Math.max(0, quizzesCompleted - lastQuizzes[row]);
+        double recency = Math.min(1.0 + quizzesSince / RECENCY_QUIZZES, MAX_RECENCY);
+        return boxWeight * recency;
+    }
+}
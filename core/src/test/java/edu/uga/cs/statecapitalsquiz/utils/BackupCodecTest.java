@@ -0,0 +1,411 @@
+package edu.uga.cs.statecapitalsquiz.utils;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.DeflaterOutputStream;
+
+import edu.uga.cs.statecapitalsquiz.models.StateItem;
+
+import static org.junit.Assert.*;
+
+/**
+ * Round trips backups through {@link BackupWriter} and {@link BackupReader}, and
+ * feeds the reader hand-built, truncated and corrupted files.
+ */
+public class BackupCodecTest {
+
+    private static final String UNICODE = "Québec – Montréal 😀 日本";
+
+    @Test
+    public void roundTrip_keepsEveryField() throws IOException {
+        for (boolean compress : new boolean[]{false, true}) {
+            BackupReader reader = reader(sampleBackup(compress));
+            assertEquals(compress, reader.isCompressed());
+
+            assertEquals(BackupFormat.DECK, reader.next());
+            assertEquals("us_states", reader.getDeck());
+            assertEquals(BackupFormat.DECK, reader.next());
+            assertEquals(UNICODE, reader.getDeck());
+
+            assertEquals(BackupFormat.STATE, reader.next());
+            StateItem georgia = reader.getState();
+            assertEquals("us_states", reader.getDeck());
+            assertEquals(3, georgia.getId());
+            assertEquals("Georgia", georgia.getStateName());
+            assertEquals("Atlanta", georgia.getCapitalCity());
+            assertEquals("Savannah", georgia.getCity2());
+            assertEquals("", georgia.getCity3());
+            assertEquals(1788, georgia.getStatehoodYear());
+            assertEquals(1868, georgia.getCapitalSinceYear());
+            assertEquals(1, georgia.getCapitalRank());
+            assertEquals(33.749, georgia.getLatitude(), 0);
+            assertEquals(-84.388, georgia.getLongitude(), 0);
+            assertEquals(4, reader.getBox());
+            assertEquals(17, reader.getLastQuiz());
+
+            assertEquals(BackupFormat.STATE, reader.next());
+            StateItem unknown = reader.getState();
+            assertEquals(UNICODE, reader.getDeck());
+            assertEquals(70000, unknown.getId());
+            assertEquals(UNICODE, unknown.getStateName());
+            assertNull(unknown.getCapitalCity());
+            assertNull(unknown.getCity2());
+            assertEquals(-5, unknown.getStatehoodYear());
+            assertEquals(Integer.MIN_VALUE, unknown.getCapitalSinceYear());
+            assertEquals(Integer.MAX_VALUE, unknown.getCapitalRank());
+            assertTrue(Double.isNaN(unknown.getLatitude()));
+            assertEquals(Double.NEGATIVE_INFINITY, unknown.getLongitude(), 0);
+            assertEquals(0, reader.getBox());
+            assertEquals(0, reader.getLastQuiz());
+
+            assertEquals(BackupFormat.QUIZ, reader.next());
+            assertEquals("2025-10-02 18:40:12", reader.getDate());
+            assertEquals(5, reader.getScore());
+            assertEquals(6, reader.getQuestionsAnswered());
+            assertEquals(6, reader.getQuestionCount());
+
+            assertEquals(BackupFormat.QUESTION, reader.next());
+            assertEquals(0, reader.getPosition());
+            assertEquals(3, reader.getStateId());
+            assertEquals("Atlanta\u001FSavannah\u001FMacon", reader.getChoices());
+            assertEquals(0, reader.getCorrectIndex());
+            assertEquals(2, reader.getAnswerIndex());
+
+            assertEquals(BackupFormat.QUESTION, reader.next());
+            assertEquals(5, reader.getPosition());
+            assertEquals(70000, reader.getStateId());
+            assertNull(reader.getChoices());
+            assertEquals(-1, reader.getAnswerIndex());
+
+            assertEquals(BackupFormat.QUIZ, reader.next());
+            assertEquals(UNICODE, reader.getDate());
+
+            assertEquals(BackupFormat.END, reader.next());
+            assertEquals(BackupFormat.END, reader.next());
+            reader.close();
+        }
+    }
+
+    @Test
+    public void unpairedSurrogate_isWrittenAsQuestionMark() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (BackupWriter writer = new BackupWriter(Channels.newChannel(out), false)) {
+            writer.writeDeck("a\uD83Db\uDE00");
+            writer.finish();
+        }
+        try (BackupReader reader = reader(out.toByteArray())) {
+            assertEquals(BackupFormat.DECK, reader.next());
+            assertEquals("a?b?", reader.getDeck());
+        }
+    }
+
+    @Test
+    public void largeBackup_crossesBufferBoundaries() throws IOException {
+        for (boolean compress : new boolean[]{false, true}) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (BackupWriter writer = new BackupWriter(Channels.newChannel(out), compress)) {
+                for (int quiz = 0; quiz < 5000; quiz++) {
+                    writer.writeQuiz("2025-01-01 00:00:" + quiz, quiz % 7, 6, 6);
+                    for (int position = 0; position < 6; position++) {
+                        writer.writeQuestion(position, quiz * 6 + position, UNICODE + quiz, position % 3,
+                                quiz % 4 - 1);
+                    }
+                }
+                writer.finish();
+                assertEquals(5000, writer.getQuizCount());
+                assertEquals(30000, writer.getQuestionCount());
+            }
+
+            int quizzes = 0;
+            int questions = 0;
+            try (BackupReader reader = reader(out.toByteArray())) {
+                for (int type = reader.next(); type != BackupFormat.END; type = reader.next()) {
+                    if (type == BackupFormat.QUIZ) {
+                        assertEquals("2025-01-01 00:00:" + quizzes, reader.getDate());
+                        quizzes++;
+                    } else {
+                        assertEquals(BackupFormat.QUESTION, type);
+                        assertEquals(questions, reader.getStateId());
+                        assertEquals(UNICODE + (quizzes - 1), reader.getChoices());
+                        assertEquals((quizzes - 1) % 4 - 1, reader.getAnswerIndex());
+                        questions++;
+                    }
+                }
+            }
+            assertEquals(5000, quizzes);
+            assertEquals(30000, questions);
+        }
+    }
+
+    @Test
+    public void unknownRecordsAndTrailingFields_areSkipped() throws IOException {
+        RawBackup raw = new RawBackup();
+        raw.record(9, new Payload().string("from a later version").integer(42));
+        raw.record(BackupFormat.DECK, new Payload().string("us_states").integer(7).string("extra"));
+        raw.record(BackupFormat.QUIZ, new Payload().string("2025-10-02 18:40:12")
+                .integer(5).integer(6).integer(6).string("trailing").integer(-3));
+        raw.record(200, new Payload());
+        raw.record(BackupFormat.QUESTION, new Payload().integer(0).integer(1).string("a")
+                .integer(2).integer(-1).integer(99));
+        raw.end(0, 1, 1);
+
+        for (byte[] backup : new byte[][]{raw.toBytes(), raw.toCompressedBytes()}) {
+            try (BackupReader reader = reader(backup)) {
+                assertEquals(BackupFormat.DECK, reader.next());
+                assertEquals("us_states", reader.getDeck());
+                assertEquals(BackupFormat.QUIZ, reader.next());
+                assertEquals(5, reader.getScore());
+                assertEquals(6, reader.getQuestionCount());
+                assertEquals(BackupFormat.QUESTION, reader.next());
+                assertEquals(2, reader.getCorrectIndex());
+                assertEquals(-1, reader.getAnswerIndex());
+                assertEquals(BackupFormat.END, reader.next());
+            }
+        }
+    }
+
+    @Test
+    public void truncatedBackup_isRejectedAtEveryLength() throws IOException {
+        for (boolean compress : new boolean[]{false, true}) {
+            byte[] backup = sampleBackup(compress);
+            for (int length = 0; length < backup.length; length++) {
+                String message = readFully(Arrays.copyOf(backup, length));
+                assertNotNull((compress ? "Compressed" : "Plain") + " backup cut to " + length
+                        + " bytes was accepted", message);
+            }
+            assertNull(readFully(backup));
+        }
+    }
+
+    @Test
+    public void truncatedBackup_saysSo() throws IOException {
+        for (boolean compress : new boolean[]{false, true}) {
+            byte[] backup = sampleBackup(compress);
+            assertEquals("Backup is truncated", readFully(Arrays.copyOf(backup, backup.length - 1)));
+            assertEquals("Backup is truncated", readFully(Arrays.copyOf(backup, BackupFormat.HEADER_SIZE)));
+        }
+    }
+
+    @Test
+    public void flippedBit_failsTheChecksum() throws IOException {
+        byte[] backup = sampleBackup(false);
+        for (int i = BackupFormat.HEADER_SIZE; i < backup.length; i++) {
+            byte[] corrupt = backup.clone();
+            corrupt[i] ^= 0x10;
+            assertNotNull("Flipped bit at byte " + i + " was accepted", readFully(corrupt));
+        }
+    }
+
+    @Test
+    public void checksumMismatch_isCorrupt() throws IOException {
+        RawBackup raw = new RawBackup();
+        raw.record(BackupFormat.QUIZ, new Payload().string("2025-10-02").integer(1).integer(1).integer(1));
+        raw.record(BackupFormat.END, new Payload().integer(0).integer(1).integer(0).integer(12345));
+        assertEquals("Backup is corrupt", readFully(raw.toBytes()));
+    }
+
+    @Test
+    public void countMismatch_isCorrupt() throws IOException {
+        RawBackup raw = new RawBackup();
+        raw.record(BackupFormat.QUIZ, new Payload().string("2025-10-02").integer(1).integer(1).integer(1));
+        raw.end(0, 2, 0);
+        assertEquals("Backup is corrupt", readFully(raw.toBytes()));
+
+        raw = new RawBackup();
+        raw.record(BackupFormat.QUIZ, new Payload().string("2025-10-02").integer(1).integer(1).integer(1));
+        raw.end(1, 1, 0);
+        assertEquals("Backup is corrupt", readFully(raw.toBytes()));
+    }
+
+    @Test
+    public void outOfOrderRecords_areCorrupt() throws IOException {
+        RawBackup raw = new RawBackup();
+        raw.record(BackupFormat.QUESTION, new Payload().integer(0).integer(1).string("a").integer(0).integer(0));
+        raw.end(0, 0, 1);
+        assertEquals("Backup is corrupt", readFully(raw.toBytes()));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (BackupWriter writer = new BackupWriter(Channels.newChannel(out), false)) {
+            writer.writeState("us_states", state(5, "B"), 2, 0);
+            writer.writeState("us_states", state(5, "A"), 2, 0);
+            writer.finish();
+        }
+        assertEquals("Backup is corrupt", readFully(out.toByteArray()));
+    }
+
+    @Test
+    public void otherFiles_areNotBackups() throws IOException {
+        assertEquals("Not a quiz history backup", readFully(new byte[0]));
+        assertEquals("Not a quiz history backup",
+                readFully("State,Capital\n".getBytes(StandardCharsets.UTF_8)));
+
+        byte[] newer = sampleBackup(false);
+        newer[BackupFormat.MAGIC.length] = (byte) (BackupFormat.VERSION + 1);
+        String message = readFully(newer);
+        assertTrue(message, message.startsWith("Backup was written by a newer version"));
+    }
+
+    @Test
+    public void writer_rejectsMisuse() throws IOException {
+        try (BackupWriter writer = new BackupWriter(Channels.newChannel(new ByteArrayOutputStream()), false)) {
+            try {
+                writer.writeQuestion(0, 1, "a", 0, 0);
+                fail("Question before any quiz was written");
+            } catch (IllegalStateException expected) {
+                // Expected
+            }
+
+            char[] huge = new char[BackupFormat.MAX_PAYLOAD];
+            Arrays.fill(huge, 'x');
+            try {
+                writer.writeDeck(new String(huge));
+                fail("Record larger than the buffer was written");
+            } catch (BackupFormatException expected) {
+                // Expected
+            }
+
+            // The failed record left nothing behind
+            writer.writeDeck("us_states");
+            writer.finish();
+            try {
+                writer.writeDeck("late");
+                fail("Record written after finish()");
+            } catch (IllegalStateException expected) {
+                // Expected
+            }
+        }
+    }
+
+    /**
+     * A backup with two decks, two states, two quizzes and two questions, using
+     * unicode, null strings, extreme ints and non-finite doubles
+     */
+    private static byte[] sampleBackup(boolean compress) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (BackupWriter writer = new BackupWriter(Channels.newChannel(out), compress)) {
+            writer.writeDeck("us_states");
+            writer.writeDeck(UNICODE);
+
+            StateItem georgia = new StateItem(3, "Georgia", "Atlanta", "Savannah", "", 1788, 1868, 1);
+            georgia.setLatitude(33.749);
+            georgia.setLongitude(-84.388);
+            writer.writeState("us_states", georgia, 4, 17);
+
+            StateItem unknown = new StateItem(70000, UNICODE, null, null, null, -5,
+                    Integer.MIN_VALUE, Integer.MAX_VALUE);
+            unknown.setLatitude(Double.NaN);
+            unknown.setLongitude(Double.NEGATIVE_INFINITY);
+            writer.writeState(UNICODE, unknown, 0, 0);
+
+            writer.writeQuiz("2025-10-02 18:40:12", 5, 6, 6);
+            writer.writeQuestion(0, 3, "Atlanta\u001FSavannah\u001FMacon", 0, 2);
+            writer.writeQuestion(5, 70000, null, 1, -1);
+            writer.writeQuiz(UNICODE, 0, 0, 0);
+            writer.finish();
+        }
+        return out.toByteArray();
+    }
+
+    private static StateItem state(int id, String name) {
+        StateItem state = new StateItem(id, name, "Capital", "", "", 1800, 1800, 1);
+        state.setLatitude(Double.NaN);
+        state.setLongitude(Double.NaN);
+        return state;
+    }
+
+    private static BackupReader reader(byte[] backup) throws IOException {
+        return new BackupReader(Channels.newChannel(new ByteArrayInputStream(backup)));
+    }
+
+    /**
+     * Read a backup to the end
+     *
+     * @return null if it was read and verified, otherwise the format error's message
+     */
+    private static String readFully(byte[] backup) throws IOException {
+        try (BackupReader reader = reader(backup)) {
+            for (int type = reader.next(); type != BackupFormat.END; type = reader.next()) {
+                // Read every record
+            }
+            return null;
+        } catch (BackupFormatException e) {
+            return e.getMessage();
+        }
+    }
+
+    /**
+     * Encodes payload fields the way {@link BackupFormat} describes
+     */
+    private static final class Payload {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        Payload integer(int value) {
+            varint((value << 1) ^ (value >> 31));
+            return this;
+        }
+
+        Payload string(String value) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            integer(utf8.length);
+            bytes.write(utf8, 0, utf8.length);
+            return this;
+        }
+
+        void varint(int bits) {
+            while ((bits & ~0x7F) != 0) {
+                bytes.write((bits & 0x7F) | 0x80);
+                bits >>>= 7;
+            }
+            bytes.write(bits);
+        }
+    }
+
+    /**
+     * Builds an uncompressed backup record by record, without {@link BackupWriter}
+     */
+    private static final class RawBackup {
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        void record(int type, Payload payload) {
+            Payload header = new Payload();
+            header.bytes.write(type);
+            header.varint(payload.bytes.size());
+            body.write(header.bytes.toByteArray(), 0, header.bytes.size());
+            body.write(payload.bytes.toByteArray(), 0, payload.bytes.size());
+        }
+
+        void end(int states, int quizzes, int questions) {
+            CRC32 crc = new CRC32();
+            crc.update(body.toByteArray());
+            record(BackupFormat.END, new Payload().integer(states).integer(quizzes).integer(questions)
+                    .integer((int) crc.getValue()));
+        }
+
+        byte[] toBytes() {
+            ByteArrayOutputStream file = new ByteArrayOutputStream();
+            file.write(BackupFormat.MAGIC, 0, BackupFormat.MAGIC.length);
+            file.write(BackupFormat.VERSION);
+            file.write(0);
+            file.write(body.toByteArray(), 0, body.size());
+            return file.toByteArray();
+        }
+
+        byte[] toCompressedBytes() throws IOException {
+            ByteArrayOutputStream file = new ByteArrayOutputStream();
+            file.write(BackupFormat.MAGIC, 0, BackupFormat.MAGIC.length);
+            file.write(BackupFormat.VERSION);
+            file.write(BackupFormat.COMPRESSED);
+            try (DeflaterOutputStream deflating = new DeflaterOutputStream(file)) {
+                body.writeTo(deflating);
+            }
+            return file.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package edu.uga.cs.statecapitalsquiz.utils;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Parses RFC 4180 edge cases and checks the number fast paths against the JDK.
+ */
+public class CsvReaderTest {
+
+    @Test
+    public void plainRows_splitOnCommas() throws IOException {
+        assertEquals(Arrays.asList(
+                        Arrays.asList("State", "Capital"),
+                        Arrays.asList("Georgia", "Atlanta"),
+                        Arrays.asList("", "", "")),
+                rows("State,Capital\nGeorgia,Atlanta\n,,\n"));
+    }
+
+    @Test
+    public void quotedFields_keepCommasQuotesAndLineBreaks() throws IOException {
+        assertEquals(Arrays.asList(
+                        Arrays.asList("Washington, D.C.", "say \"hi\"", ""),
+                        Arrays.asList("two\nlines", "cr\ronly", "crlf\r\nkept")),
+                rows("\"Washington, D.C.\",\"say \"\"hi\"\"\",\"\"\n"
+                        + "\"two\nlines\",\"cr\ronly\",\"crlf\r\nkept\"\n"));
+    }
+
+    @Test
+    public void lineEndings_crlfCrAndBlankLinesAreAccepted() throws IOException {
+        List<List<String>> expected = Arrays.asList(Arrays.asList("a", "b"), Arrays.asList("c", "d"));
+        assertEquals(expected, rows("a,b\r\nc,d\r\n"));
+        assertEquals(expected, rows("a,b\rc,d\r"));
+        assertEquals(expected, rows("\n\r\na,b\n\n\r\nc,d"));
+    }
+
+    @Test
+    public void byteOrderMark_isSkipped() throws IOException {
+        byte[] bytes = "﻿State,Capital\nOhio,Columbus\n".getBytes(StandardCharsets.UTF_8);
+        try (CsvReader reader = new CsvReader(new ByteArrayInputStream(bytes))) {
+            assertTrue(reader.next());
+            assertEquals("State", reader.getString(0));
+            assertTrue(reader.next());
+            assertEquals("Columbus", reader.getString(1));
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test
+    public void blockBoundaries_doNotSplitTokens() throws IOException {
+        String csv = "﻿\"a,\"\"b\"\"\",c\r\nd,\"e\r\nf\"\r\n";
+        List<List<String>> expected = Arrays.asList(
+                Arrays.asList("a,\"b\"", "c"), Arrays.asList("d", "e\r\nf"));
+        assertEquals(expected, rows(new OneCharReader(csv)));
+
+        // CRLF straddling the 16K block the reader fills at a time
+        StringBuilder longField = new StringBuilder();
+        for (int i = 0; i < 16 * 1024 - 3; i++) {
+            longField.append('x');
+        }
+        assertEquals(Arrays.asList(Arrays.asList("a", longField.toString()), Arrays.asList("b")),
+                rows("a," + longField + "\r\nb"));
+    }
+
+    @Test
+    public void lineNumbers_countBreaksInsideQuotedFields() throws IOException {
+        try (CsvReader reader = new CsvReader(new StringReader(
+                "a\n\"x\ny\"\n\"cr\rcr\"\n\"crlf\r\ncrlf\"\nlast\n"))) {
+            assertTrue(reader.next());
+            assertEquals(1, reader.getLineNumber());
+            assertTrue(reader.next());
+            assertEquals(2, reader.getLineNumber());
+            assertTrue(reader.next());
+            assertEquals(4, reader.getLineNumber());
+            assertTrue(reader.next());
+            assertEquals(6, reader.getLineNumber());
+            assertTrue(reader.next());
+            assertEquals(8, reader.getLineNumber());
+        }
+    }
+
+    @Test
+    public void errorAfterQuotedCarriageReturn_reportsTheRightLine() throws IOException {
+        CsvFormatException e = assertFormatError("\"a\rb\",c\nd,e\"f\n");
+        assertEquals(3, e.getLine());
+        assertEquals(4, e.getColumn());
+    }
+
+    @Test
+    public void malformedQuotes_areRejectedWithTheirPosition() throws IOException {
+        CsvFormatException e = assertFormatError("ok\nab\"c\n");
+        assertEquals(2, e.getLine());
+        assertEquals(3, e.getColumn());
+
+        e = assertFormatError("\"closed\"x,y\n");
+        assertEquals(1, e.getLine());
+        assertEquals(9, e.getColumn());
+
+        e = assertFormatError("a\n\"never closed,\nmore\n");
+        assertEquals(2, e.getLine());
+        assertEquals(1, e.getColumn());
+    }
+
+    @Test
+    public void getInt_parsesWholeNumbers() throws IOException {
+        try (CsvReader reader = reader("1819,-7,+42,2147483647,-2147483648,,0\n")) {
+            assertTrue(reader.next());
+            assertEquals(1819, reader.getInt(0, 0));
+            assertEquals(-7, reader.getInt(1, 0));
+            assertEquals(42, reader.getInt(2, 0));
+            assertEquals(Integer.MAX_VALUE, reader.getInt(3, 0));
+            assertEquals(Integer.MIN_VALUE, reader.getInt(4, 0));
+            assertEquals(99, reader.getInt(5, 99));
+            assertEquals(0, reader.getInt(6, 99));
+            assertEquals(5, reader.getInt(7, 5));
+        }
+    }
+
+    @Test
+    public void getInt_rejectsBadNumbers() throws IOException {
+        for (String value : new String[]{"2147483648", "-2147483649", "12a", "-", "1.5", " 1"}) {
+            try (CsvReader reader = reader("x," + value + "\n")) {
+                assertTrue(reader.next());
+                try {
+                    reader.getInt(1, 0);
+                    fail("Accepted " + value);
+                } catch (CsvFormatException e) {
+                    assertEquals(1, e.getLine());
+                    assertEquals(3, e.getColumn());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void getDouble_matchesParseDouble() throws IOException {
+        List<String> values = new ArrayList<>(Arrays.asList(
+                "0", "-0", "0.0", "32.3777", "-86.3006", "+1.5", ".5", "5.", "-134.4197",
+                "0.1", "0.3", "999999999999999", "12345.6789012345", "1e3", "-2.5E-3",
+                "12345678901234567890", "0.12345678901234567", "NaN", "-Infinity"));
+        Random random = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            int scale = random.nextInt(16);
+            long mantissa = (long) (random.nextDouble() * Math.pow(10, 1 + random.nextInt(15)));
+            StringBuilder value = new StringBuilder(Long.toString(mantissa));
+            while (value.length() <= scale) {
+                value.insert(0, '0');
+            }
+            if (scale > 0) {
+                value.insert(value.length() - scale, '.');
+            }
+            values.add(random.nextBoolean() ? "-" + value : value.toString());
+        }
+
+        StringBuilder csv = new StringBuilder();
+        for (String value : values) {
+            csv.append(value).append('\n');
+        }
+        try (CsvReader reader = reader(csv.toString())) {
+            for (String value : values) {
+                assertTrue(reader.next());
+                double expected = Double.parseDouble(value);
+                assertEquals(value, Double.doubleToLongBits(expected),
+                        Double.doubleToLongBits(reader.getDouble(0, Double.NaN)));
+            }
+            assertFalse(reader.next());
+        }
+    }
+
+    @Test
+    public void getDouble_handlesEmptyAndBadFields() throws IOException {
+        try (CsvReader reader = reader(",abc,1.2.3,-\n")) {
+            assertTrue(reader.next());
+            assertTrue(Double.isNaN(reader.getDouble(0, Double.NaN)));
+            assertTrue(Double.isNaN(reader.getDouble(9, Double.NaN)));
+            for (int field = 1; field <= 3; field++) {
+                try {
+                    reader.getDouble(field, 0);
+                    fail("Accepted " + reader.getString(field));
+                } catch (CsvFormatException expected) {
+                    // Expected
+                }
+            }
+        }
+    }
+
+    private static CsvReader reader(String csv) {
+        return new CsvReader(new StringReader(csv));
+    }
+
+    private static List<List<String>> rows(String csv) throws IOException {
+        return rows(new StringReader(csv));
+    }
+
+    private static List<List<String>> rows(Reader in) throws IOException {
+        List<List<String>> rows = new ArrayList<>();
+        try (CsvReader reader = new CsvReader(in)) {
+            while (reader.next()) {
+                List<String> row = new ArrayList<>();
+                for (int i = 0; i < reader.getFieldCount(); i++) {
+                    row.add(reader.getString(i));
+                }
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    private static CsvFormatException assertFormatError(String csv) throws IOException {
+        try (CsvReader reader = reader(csv)) {
+            while (reader.next()) {
+                // Read until the malformed row
+            }
+            fail("Accepted malformed CSV");
+            return null;
+        } catch (CsvFormatException e) {
+            return e;
+        }
+    }
+
+    /**
+     * Hands out one character per read, so every token crosses a block boundary
+     */
+    private static final class OneCharReader extends Reader {
+        private final String text;
+        private int position = 0;
+
+        OneCharReader(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (position == text.length()) {
+                return -1;
+            }
+            buffer[offset] = text.charAt(position++);
+            return 1;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}